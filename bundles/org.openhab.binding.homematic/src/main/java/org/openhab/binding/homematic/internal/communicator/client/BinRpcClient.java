@@ -13,7 +13,6 @@
 package org.openhab.binding.homematic.internal.communicator.client;
 
 import java.io.IOException;
-import java.net.Socket;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
@@ -61,10 +60,11 @@ public class BinRpcClient extends RpcClient<byte[]> {
     }
 
     /**
-     * Sends a BIN-RPC message and parses the response to see if there was an error.
+     * Sends a BIN-RPC message and parses the response to see if there was an error. Messages of different threads are
+     * sent in parallel over the pooled sockets.
      */
     @Override
-    protected synchronized Object[] sendMessage(int port, RpcRequest<byte[]> request) throws IOException {
+    protected Object[] sendMessage(int port, RpcRequest<byte[]> request) throws IOException {
         if (logger.isTraceEnabled()) {
             logger.trace("Client BinRpcRequest:\n{}", request);
         }
@@ -77,9 +77,15 @@ public class BinRpcClient extends RpcClient<byte[]> {
     private Object[] sendMessage(int port, RpcRequest<byte[]> request, int rpcRetryCounter) throws IOException {
         BinRpcMessage resp = null;
         try {
-            Socket socket = socketHandler.getSocket(port);
-            socket.getOutputStream().write(request.createMessage());
-            resp = new BinRpcMessage(socket.getInputStream(), false, config.getEncoding());
+            SocketInfo socketInfo = socketHandler.getSocket(port);
+            try {
+                socketInfo.getSocket().getOutputStream().write(request.createMessage());
+                resp = new BinRpcMessage(socketInfo.getSocket().getInputStream(), false, config.getEncoding());
+            } catch (IOException | RuntimeException ex) {
+                socketHandler.closeSocket(port, socketInfo);
+                throw ex;
+            }
+            socketHandler.releaseSocket(port, socketInfo);
             return new RpcResponseParser(request).parse(resp.getResponseData());
         } catch (UnknownRpcFailureException | UnknownParameterSetException rpcEx) {
             // throw immediately, don't retry the message
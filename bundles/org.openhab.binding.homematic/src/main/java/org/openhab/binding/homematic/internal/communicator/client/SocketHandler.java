@@ -13,8 +13,11 @@
 package org.openhab.binding.homematic.internal.communicator.client;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,14 +26,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Simple socket cache class.
+ * Socket pool for the connections to the Homematic gateway.
+ * <p>
+ * Up to {@link #MAX_SOCKETS_PER_PORT} sockets are opened per port, so requests of different threads don't wait for
+ * each other. A socket is used by one request at a time and kept open for the next request until the max alive time
+ * is reached.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class SocketHandler {
     private final Logger logger = LoggerFactory.getLogger(SocketHandler.class);
 
-    private Map<Integer, SocketInfo> socketsPerPort = new HashMap<>();
+    static final int MAX_SOCKETS_PER_PORT = 4;
+
+    private Map<Integer, SocketPool> socketsPerPort = new HashMap<>();
     private HomematicConfig config;
 
     public SocketHandler(HomematicConfig config) {
@@ -38,54 +47,116 @@ public class SocketHandler {
     }
 
     /**
-     * Returns a socket for the given port, (re)creates it if required.
+     * Returns an idle socket for the given port or creates a new one. Waits for a socket to be released if the maximum
+     * number of sockets is in use. The socket must be returned with {@link #releaseSocket(int, SocketInfo)} or
+     * {@link #closeSocket(int, SocketInfo)}.
      */
-    public Socket getSocket(int port) throws IOException {
-        SocketInfo socketInfo = socketsPerPort.get(port);
-        if (socketInfo == null) {
+    public SocketInfo getSocket(int port) throws IOException {
+        long timeout = config.getTimeout() * 1000L;
+        long deadline = System.currentTimeMillis() + timeout;
+        synchronized (this) {
+            SocketPool pool = socketsPerPort.computeIfAbsent(port, p -> new SocketPool());
+            while (true) {
+                SocketInfo socketInfo;
+                while ((socketInfo = pool.idle.pollFirst()) != null) {
+                    if (!isMaxAliveReached(socketInfo)) {
+                        logger.trace("Returning socket for port {}", port);
+                        return socketInfo;
+                    }
+                    logger.debug("Max alive time reached for socket on port {}", port);
+                    pool.open--;
+                    closeSilent(socketInfo.getSocket());
+                }
+                if (pool.open < MAX_SOCKETS_PER_PORT) {
+                    pool.open++;
+                    break;
+                }
+                long wait = deadline - System.currentTimeMillis();
+                if (wait <= 0) {
+                    throw new IOException("No socket available for port " + port + " within " + timeout + "ms");
+                }
+                try {
+                    wait(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a socket for port " + port);
+                }
+            }
+        }
+
+        // connect outside of the lock, so other requests can use the idle sockets meanwhile
+        Socket socket = new Socket();
+        try {
             logger.trace("Creating new socket for port {}", port);
-            Socket socket = new Socket();
             socket.setSoTimeout(config.getTimeout() * 1000);
             socket.setReuseAddress(true);
             socket.connect(new InetSocketAddress(config.getGatewayAddress(), port), socket.getSoTimeout());
-            socketInfo = new SocketInfo(socket);
-            socketsPerPort.put(port, socketInfo);
-        } else {
-            boolean isMaxAliveReached = System.currentTimeMillis()
-                    - socketInfo.getCreated() > (config.getSocketMaxAlive() * 1000);
+            return new SocketInfo(socket);
+        } catch (IOException e) {
+            closeSilent(socket);
+            releaseSlot(port);
+            throw e;
+        }
+    }
 
-            if (isMaxAliveReached) {
-                logger.debug("Max alive time reached for socket on port {}", port);
-                removeSocket(port);
-                return getSocket(port);
-            }
-            logger.trace("Returning socket for port {}", port);
+    /**
+     * Returns the socket to the pool after a successful request.
+     */
+    public synchronized void releaseSocket(int port, SocketInfo socketInfo) {
+        SocketPool pool = socketsPerPort.get(port);
+        if (pool == null || socketInfo.getCreated() <= pool.flushed || isMaxAliveReached(socketInfo)) {
+            closeSocket(port, socketInfo);
+        } else {
+            pool.idle.addFirst(socketInfo);
+            notifyAll();
         }
-        return socketInfo.getSocket();
     }
 
     /**
-     * Removes the socket for the given port from the cache.
+     * Closes the socket after a failed request.
+     */
+    public synchronized void closeSocket(int port, SocketInfo socketInfo) {
+        logger.trace("Closing Socket on port {}", port);
+        closeSilent(socketInfo.getSocket());
+        releaseSlot(port);
+    }
+
+    /**
+     * Closes all sockets for the given port, sockets in use are closed when they are released.
      */
-    public void removeSocket(int port) {
-        SocketInfo socketInfo = socketsPerPort.get(port);
-        if (socketInfo != null) {
-            logger.trace("Closing Socket on port {}", port);
-            socketsPerPort.remove(port);
-            closeSilent(socketInfo.getSocket());
+    public synchronized void removeSocket(int port) {
+        SocketPool pool = socketsPerPort.get(port);
+        if (pool != null) {
+            logger.trace("Closing Sockets on port {}", port);
+            pool.flushed = System.currentTimeMillis();
+            SocketInfo socketInfo;
+            while ((socketInfo = pool.idle.pollFirst()) != null) {
+                closeSilent(socketInfo.getSocket());
+                pool.open--;
+            }
+            notifyAll();
         }
     }
 
     /**
      * Removes all cached sockets.
      */
-    public void flush() {
-        synchronized (SocketHandler.class) {
-            Integer[] portsToRemove = socketsPerPort.keySet().toArray(new Integer[0]);
-            for (Integer key : portsToRemove) {
-                removeSocket(key);
-            }
+    public synchronized void flush() {
+        for (Integer port : socketsPerPort.keySet()) {
+            removeSocket(port);
+        }
+    }
+
+    private synchronized void releaseSlot(int port) {
+        SocketPool pool = socketsPerPort.get(port);
+        if (pool != null && pool.open > 0) {
+            pool.open--;
         }
+        notifyAll();
+    }
+
+    private boolean isMaxAliveReached(SocketInfo socketInfo) {
+        return System.currentTimeMillis() - socketInfo.getCreated() > (config.getSocketMaxAlive() * 1000);
     }
 
     /**
@@ -98,4 +169,13 @@ public class SocketHandler {
             // ignore
         }
     }
+
+    /**
+     * The sockets of a port.
+     */
+    private static class SocketPool {
+        private final Deque<SocketInfo> idle = new ArrayDeque<>();
+        private int open;
+        private long flushed;
+    }
 }
@@ -46,9 +46,12 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         RESPONSE
     }
 
+    public static final int HEADER_LENGTH = 8;
+
     private Object[] messageData;
     private byte[] binRpcData;
     private int offset;
+    private int length;
 
     private String methodName;
     private TYPE type;
@@ -74,57 +77,81 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, Charset encoding) throws IOException {
         this.encoding = encoding;
-        byte[] sig = new byte[8];
-        int length = is.read(sig, 0, 4);
-        if (length != 4) {
-            throw new EOFException("Only " + length + " bytes received reading signature");
+        byte[] sig = new byte[HEADER_LENGTH];
+        int read = readFully(is, sig, 0, 4);
+        if (read != 4) {
+            throw new EOFException("Only " + read + " bytes received reading signature");
         }
         validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
-        if (length != 4) {
-            throw new EOFException("Only " + length + " bytes received reading message length");
+        read = readFully(is, sig, 4, 4);
+        if (read != 4) {
+            throw new EOFException("Only " + read + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(Arrays.copyOfRange(sig, 4, 8))).intValue();
-        byte[] payload = new byte[datasize];
-        int offset = 0;
-        int currentLength;
+        int datasize = getPayloadLength(sig);
 
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
-            offset += currentLength;
-        }
-        if (offset != datasize) {
-            throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
+        // the payload is read behind the header, the message is decoded from this array without further copies
+        byte[] message = Arrays.copyOf(sig, HEADER_LENGTH + datasize);
+        read = readFully(is, message, HEADER_LENGTH, datasize);
+        if (read != datasize) {
+            throw new EOFException("Only " + read + " bytes received while reading message payload, expected "
                     + datasize + " bytes");
         }
-        byte[] message = new byte[sig.length + payload.length];
-        System.arraycopy(sig, 0, message, 0, sig.length);
-        System.arraycopy(payload, 0, message, sig.length, payload.length);
 
-        decodeMessage(message, methodHeader);
+        decodeMessage(message, message.length, methodHeader);
+    }
+
+    private static int readFully(InputStream is, byte[] buffer, int offset, int length) throws IOException {
+        int read = 0;
+        int currentLength;
+        while (read < length && (currentLength = is.read(buffer, offset + read, length - read)) != -1) {
+            read += currentLength;
+        }
+        return read;
     }
 
-    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
+    private static void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
         if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
             throw new UnsupportedEncodingException("No BinX signature");
         }
     }
 
+    /**
+     * Validates the header of a BIN-RPC message and returns the length of the payload which follows the header.
+     */
+    public static int getPayloadLength(byte[] header) throws IOException {
+        validateBinXSignature(header);
+        int datasize = getInt(header, 4);
+        if (datasize < 0) {
+            throw new IOException("Invalid message length " + datasize);
+        }
+        return datasize;
+    }
+
     /**
      * Decodes a BIN-RPC message from the given byte array.
      */
     public BinRpcMessage(byte[] message, boolean methodHeader, Charset encoding) throws IOException, ParseException {
+        this(message, message.length, methodHeader, encoding);
+    }
+
+    /**
+     * Decodes a BIN-RPC message from the first bytes of the given array. The array is not copied, so it must not be
+     * modified while the message is used.
+     */
+    public BinRpcMessage(byte[] message, int length, boolean methodHeader, Charset encoding) throws IOException {
         this.encoding = encoding;
-        if (message.length < 8) {
-            throw new EOFException("Only " + message.length + " bytes received");
+        if (length < HEADER_LENGTH) {
+            throw new EOFException("Only " + length + " bytes received");
         }
         validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
+        decodeMessage(message, length, methodHeader);
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
+    private void decodeMessage(byte[] message, int length, boolean methodHeader) throws IOException {
         binRpcData = message;
+        this.length = length;
 
-        offset = 8;
+        offset = HEADER_LENGTH;
 
         if (methodHeader) {
             methodName = readString();
@@ -140,7 +167,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private void generateResponseData() throws IOException {
         offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
         List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
+        while (offset < length) {
             values.add(readRpcValue());
         }
         messageData = values.toArray();
@@ -189,9 +216,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private void trimBinRpcData() {
-        byte[] trimmed = new byte[offset];
-        System.arraycopy(binRpcData, 0, trimmed, 0, offset);
-        binRpcData = trimmed;
+        if (binRpcData.length != offset) {
+            binRpcData = Arrays.copyOf(binRpcData, offset);
+        }
+        length = offset;
     }
 
     @Override
@@ -200,18 +228,21 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     // read rpc values
+    private static int getInt(byte[] data, int position) {
+        return (data[position] & 0xFF) << 24 | (data[position + 1] & 0xFF) << 16 | (data[position + 2] & 0xFF) << 8
+                | (data[position + 3] & 0xFF);
+    }
+
     private int readInt() {
-        byte[] bi = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
+        int value = getInt(binRpcData, offset);
         offset += 4;
-        return (new BigInteger(bi)).intValue();
+        return value;
     }
 
     private long readInt64() {
-        byte[] bi = new byte[8];
-        System.arraycopy(binRpcData, offset, bi, 0, 8);
-        offset += 8;
-        return (new BigInteger(bi)).longValue();
+        long high = readInt();
+        long low = readInt() & 0xFFFFFFFFL;
+        return high << 32 | low;
     }
 
     private String readString() {
@@ -242,11 +273,11 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             case 0x100:
                 // Array
                 int numElements = readInt();
-                Collection<Object> array = new ArrayList<>();
-                while (numElements-- > 0) {
-                    array.add(readRpcValue());
+                Object[] array = new Object[numElements];
+                for (int i = 0; i < numElements; i++) {
+                    array[i] = readRpcValue();
                 }
-                return array.toArray();
+                return array;
             case 0x101:
                 // Struct
                 numElements = readInt();
@@ -258,7 +289,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
+                for (int i = 0; i < length; i++) {
                     logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
                 }
                 throw new IOException("Unknown data type " + type);
@@ -272,20 +303,23 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         offset = temp;
     }
 
-    private void addByte(byte b) {
-        if (offset == binRpcData.length) {
-            byte[] newdata = new byte[binRpcData.length * 2];
-            System.arraycopy(binRpcData, 0, newdata, 0, binRpcData.length);
-            binRpcData = newdata;
+    private void ensureCapacity(int additionalBytes) {
+        if (offset + additionalBytes > binRpcData.length) {
+            binRpcData = Arrays.copyOf(binRpcData, Math.max(binRpcData.length * 2, offset + additionalBytes));
         }
+    }
+
+    private void addByte(byte b) {
+        ensureCapacity(1);
         binRpcData[offset++] = b;
     }
 
     private void addInt(int value) {
-        addByte((byte) (value >> 24));
-        addByte((byte) (value >> 16));
-        addByte((byte) (value >> 8));
-        addByte((byte) (value));
+        ensureCapacity(4);
+        binRpcData[offset++] = (byte) (value >> 24);
+        binRpcData[offset++] = (byte) (value >> 16);
+        binRpcData[offset++] = (byte) (value >> 8);
+        binRpcData[offset++] = (byte) value;
     }
 
     private void addDouble(double value) {
@@ -312,9 +346,9 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     private void addString(String string) {
         byte[] sd = string.getBytes(encoding);
-        for (byte ch : sd) {
-            addByte(ch);
-        }
+        ensureCapacity(sd.length);
+        System.arraycopy(sd, 0, binRpcData, offset, sd.length);
+        offset += sd.length;
     }
 
     private void addList(Collection<?> collection) {
@@ -12,32 +12,53 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
-import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway and passes them to the {@link BinRpcResponseHandler} of the
+ * connection.
+ * <p>
+ * All connections are served by a single thread with non-blocking channels. The messages are received into pooled
+ * buffers and decoded from there without copying them.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte[] BIN_EMPTY_STRING = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte[] BIN_EMPTY_ARRAY = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte[] BIN_EMPTY_EVENT_LIST = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
-    private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    // large enough for a multicall with some hundred events, larger messages get a buffer of their own
+    private static final int POOLED_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 4;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final Deque<ByteBuffer> bufferPool = new ArrayDeque<>();
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
@@ -45,9 +66,18 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBinCallbackPort()));
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            serverChannel.bind(new InetSocketAddress(config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            closeSilent(serverChannel);
+            selector.close();
+            throw e;
+        }
 
         this.rpcResponseHandler = new RpcResponseHandler<>(listener) {
 
@@ -74,18 +104,82 @@ public class BinRpcNetworkService implements Runnable {
     }
 
     /**
-     * Listening for events and starts the callbackHandler if an event received.
+     * Listening for events and calls the handler of the connection if data can be read or written.
      */
     @Override
     public void run() {
-        while (accept) {
-            try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
-            } catch (IOException ex) {
-                // ignore
+        try {
+            while (accept && !Thread.currentThread().isInterrupted()) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        acceptConnection();
+                    } else if (key.isValid()) {
+                        handleConnection(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            // ignore
+        } finally {
+            close();
+        }
+    }
+
+    private void acceptConnection() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new BinRpcResponseHandler(channel, rpcResponseHandler, config, this));
             }
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+
+    private void handleConnection(SelectionKey key) {
+        BinRpcResponseHandler handler = (BinRpcResponseHandler) key.attachment();
+        try {
+            if (key.isReadable()) {
+                handler.read(key);
+            } else if (key.isWritable()) {
+                handler.write(key);
+            }
+        } catch (EOFException eof) {
+            handler.close();
+        } catch (Exception e) {
+            logger.warn("{}", e.getMessage(), e);
+            handler.close();
+        }
+    }
+
+    /**
+     * Returns a buffer with the given limit, a pooled one if possible.
+     */
+    ByteBuffer acquireBuffer(int size) {
+        if (size > POOLED_BUFFER_SIZE) {
+            return ByteBuffer.allocate(size);
+        }
+        ByteBuffer buffer = bufferPool.pollFirst();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(POOLED_BUFFER_SIZE);
+        }
+        buffer.limit(size);
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer to the pool.
+     */
+    void releaseBuffer(ByteBuffer buffer) {
+        if (buffer.capacity() == POOLED_BUFFER_SIZE && bufferPool.size() < MAX_POOLED_BUFFERS) {
+            buffer.clear();
+            bufferPool.addFirst(buffer);
         }
     }
 
@@ -94,8 +188,28 @@ public class BinRpcNetworkService implements Runnable {
      */
     public void shutdown() {
         accept = false;
+        rpcResponseHandler.dispose();
+        selector.wakeup();
+    }
+
+    private void close() {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof BinRpcResponseHandler handler) {
+                    handler.close();
+                }
+            }
+            selector.close();
+        } catch (IOException | ClosedSelectorException ioe) {
+            // ignore
+        }
+        closeSilent(serverChannel);
+        bufferPool.clear();
+    }
+
+    private void closeSilent(ServerSocketChannel channel) {
         try {
-            serverSocket.close();
+            channel.close();
         } catch (IOException ioe) {
             // ignore
         }
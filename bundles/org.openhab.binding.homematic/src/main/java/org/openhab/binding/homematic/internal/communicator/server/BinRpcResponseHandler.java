@@ -14,7 +14,9 @@ package org.openhab.binding.homematic.internal.communicator.server;
 
 import java.io.EOFException;
 import java.io.IOException;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
@@ -22,53 +24,111 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Reads a BIN-RPC message from the socket and handles the method call.
+ * Reads BIN-RPC messages from a connection and handles the method calls.
+ * <p>
+ * The methods are called by the {@link BinRpcNetworkService} if the channel is ready, so a message may be received
+ * with several calls. The next message is read after the response has been written.
  *
  * @author Gerhard Riegler - Initial contribution
  */
-public class BinRpcResponseHandler implements Runnable {
+public class BinRpcResponseHandler {
     private final Logger logger = LoggerFactory.getLogger(BinRpcResponseHandler.class);
 
-    private Socket socket;
+    private SocketChannel channel;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
     private HomematicConfig config;
+    private BinRpcNetworkService networkService;
     private long created;
 
-    public BinRpcResponseHandler(Socket socket, RpcResponseHandler<byte[]> rpcResponseHandler, HomematicConfig config) {
-        this.socket = socket;
+    private final ByteBuffer header = ByteBuffer.allocate(BinRpcMessage.HEADER_LENGTH);
+    private ByteBuffer message;
+    private ByteBuffer response;
+
+    public BinRpcResponseHandler(SocketChannel channel, RpcResponseHandler<byte[]> rpcResponseHandler,
+            HomematicConfig config, BinRpcNetworkService networkService) {
+        this.channel = channel;
         this.rpcResponseHandler = rpcResponseHandler;
         this.config = config;
+        this.networkService = networkService;
         this.created = System.currentTimeMillis();
     }
 
     /**
-     * Reads the event from the Homematic gateway and handles the method call.
+     * Reads the available data of the message and handles the method call if the message is complete.
      */
-    @Override
-    public void run() {
-        try {
-            boolean isMaxAliveReached;
-            do {
-                BinRpcMessage message = new BinRpcMessage(socket.getInputStream(), true, config.getEncoding());
-                logger.trace("Event BinRpcMessage: {}", message);
-                byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
-                        message.getResponseData());
-                if (returnValue != null) {
-                    socket.getOutputStream().write(returnValue);
-                }
-                isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
-            } while (!isMaxAliveReached);
-
-        } catch (EOFException eof) {
-            // ignore
-        } catch (Exception e) {
-            logger.warn("{}", e.getMessage(), e);
-        } finally {
+    public void read(SelectionKey key) throws IOException {
+        if (message == null) {
+            if (channel.read(header) < 0) {
+                throw new EOFException("Connection closed by Homematic gateway");
+            }
+            if (header.hasRemaining()) {
+                return;
+            }
+            int datasize = BinRpcMessage.getPayloadLength(header.array());
+            message = networkService.acquireBuffer(BinRpcMessage.HEADER_LENGTH + datasize);
+            header.flip();
+            message.put(header);
+            header.clear();
+        }
+        if (message.hasRemaining() && channel.read(message) < 0) {
+            throw new EOFException("Connection closed by Homematic gateway while reading message payload");
+        }
+        if (!message.hasRemaining()) {
             try {
-                socket.close();
-            } catch (IOException ioe) {
-                // ignore
+                handleMessage(key);
+            } finally {
+                releaseMessage();
             }
         }
     }
+
+    /**
+     * Writes the remaining data of the response.
+     */
+    public void write(SelectionKey key) throws IOException {
+        channel.write(response);
+        if (response.hasRemaining()) {
+            key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+        response = null;
+
+        boolean isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
+        if (isMaxAliveReached) {
+            close();
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Decodes the message from the receive buffer and handles the method call.
+     */
+    private void handleMessage(SelectionKey key) throws IOException {
+        BinRpcMessage rpcMessage = new BinRpcMessage(message.array(), message.limit(), true, config.getEncoding());
+        logger.trace("Event BinRpcMessage: {}", rpcMessage);
+        byte[] returnValue = rpcResponseHandler.handleMethodCall(rpcMessage.getMethodName(),
+                rpcMessage.getResponseData());
+        response = ByteBuffer.wrap(returnValue != null ? returnValue : new byte[0]);
+        write(key);
+    }
+
+    private void releaseMessage() {
+        if (message != null) {
+            networkService.releaseBuffer(message);
+            message = null;
+        }
+    }
+
+    /**
+     * Closes the connection.
+     */
+    public void close() {
+        releaseMessage();
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            // ignore
+        }
+    }
 }
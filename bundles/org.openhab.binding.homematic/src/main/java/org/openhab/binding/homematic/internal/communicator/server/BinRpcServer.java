@@ -27,6 +27,8 @@ import org.slf4j.LoggerFactory;
 public class BinRpcServer implements RpcServer {
     private final Logger logger = LoggerFactory.getLogger(BinRpcServer.class);
 
+    private static final long SHUTDOWN_TIMEOUT_MS = 2000;
+
     private Thread networkServiceThread;
     private BinRpcNetworkService networkService;
     private final HomematicConfig config;
@@ -63,6 +65,14 @@ public class BinRpcServer implements RpcServer {
             }
             networkService.shutdown();
             networkService = null;
+            if (networkServiceThread != null) {
+                try {
+                    // wait until the port is released, so the server can be started again immediately
+                    networkServiceThread.join(SHUTDOWN_TIMEOUT_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
         }
     }
 }
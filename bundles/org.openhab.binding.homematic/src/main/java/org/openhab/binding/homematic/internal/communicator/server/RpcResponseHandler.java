@@ -19,17 +19,28 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.binding.homematic.internal.communicator.parser.DeleteDevicesParser;
 import org.openhab.binding.homematic.internal.communicator.parser.EventParser;
 import org.openhab.binding.homematic.internal.communicator.parser.NewDevicesParser;
 import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Common RPC response methods.
+ * <p>
+ * The messages are parsed and answered immediately, the listener is called in the order of the messages by a separate
+ * thread. Otherwise the Homematic gateway would wait for the processing of all events of a multicall (or even for
+ * requests the listener sends back to the gateway) and run into a timeout during event storms. At most
+ * {@value #MAX_PENDING_EVENTS} messages are queued. Messages are never dropped, because the gateway does not send them
+ * again: if the queue is full, the RPC thread waits until the listener has caught up.
  *
  * @author Gerhard Riegler - Initial contribution
  */
@@ -37,12 +48,37 @@ import org.slf4j.LoggerFactory;
 public abstract class RpcResponseHandler<T> {
     private final Logger logger = LoggerFactory.getLogger(RpcResponseHandler.class);
 
+    private static final String EVENT_THREAD_NAME = "homematicEvents";
+    private static final int MAX_PENDING_EVENTS = 1000;
+
     private RpcEventListener listener;
+    private final ThreadPoolExecutor eventDispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_PENDING_EVENTS), new NamedThreadFactory(EVENT_THREAD_NAME),
+            (call, executor) -> {
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException();
+                }
+                logger.debug("{} messages from Homematic gateway are waiting to be processed, blocking the RPC server",
+                        MAX_PENDING_EVENTS);
+                try {
+                    executor.getQueue().put(call);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException(e);
+                }
+            });
 
     public RpcResponseHandler(RpcEventListener listener) {
         this.listener = listener;
     }
 
+    /**
+     * Stops the dispatching of events, pending events are discarded.
+     */
+    public void dispose() {
+        eventDispatcher.shutdownNow();
+    }
+
     /**
      * Returns a valid result of the method called by the Homematic gateway.
      */
@@ -95,7 +131,8 @@ public abstract class RpcResponseHandler<T> {
     private T handleEvent(Object[] message) throws IOException {
         EventParser eventParser = new EventParser();
         HmDatapointInfo dpInfo = eventParser.parse(message);
-        listener.eventReceived(dpInfo, eventParser.getValue());
+        Object value = eventParser.getValue();
+        dispatch(() -> listener.eventReceived(dpInfo, value));
         return getEmptyStringResult();
     }
 
@@ -105,7 +142,7 @@ public abstract class RpcResponseHandler<T> {
     private T handleNewDevice(Object[] message) throws IOException {
         NewDevicesParser ndParser = new NewDevicesParser();
         List<String> adresses = ndParser.parse(message);
-        listener.newDevices(adresses);
+        dispatch(() -> listener.newDevices(adresses));
         return getEmptyArrayResult();
     }
 
@@ -115,10 +152,27 @@ public abstract class RpcResponseHandler<T> {
     private T handleDeleteDevice(Object[] message) throws IOException {
         DeleteDevicesParser ddParser = new DeleteDevicesParser();
         List<String> adresses = ddParser.parse(message);
-        listener.deleteDevices(adresses);
+        dispatch(() -> listener.deleteDevices(adresses));
         return getEmptyArrayResult();
     }
 
+    /**
+     * Calls the listener in the order the messages have been received.
+     */
+    private void dispatch(Runnable call) {
+        try {
+            eventDispatcher.execute(() -> {
+                try {
+                    call.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Processing message from Homematic gateway failed: {}", e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Ignoring message from Homematic gateway, the RPC server has been stopped");
+        }
+    }
+
     /**
      * Returns a predefined result for an empty string.
      */
@@ -103,6 +103,7 @@ public class XmlRpcServer implements RpcServer {
                 logger.error("{}", ex.getMessage(), ex);
             }
         }
+        rpcResponseHander.dispose();
     }
 
     /**
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Replays the messages of a Homematic gateway to the {@link BinRpcNetworkService}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+public class BinRpcNetworkServiceTest {
+    private static final int THERMOSTATS = 200;
+
+    private final HomematicConfig config = new HomematicConfig();
+    private final List<HmDatapointInfo> events = Collections.synchronizedList(new ArrayList<>());
+    private final List<Object> values = Collections.synchronizedList(new ArrayList<>());
+    private CountDownLatch eventsReceived = new CountDownLatch(THERMOSTATS);
+
+    private BinRpcNetworkService networkService;
+    private Thread networkServiceThread;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            config.setBinCallbackPort(socket.getLocalPort());
+        }
+        networkService = new BinRpcNetworkService(new RpcEventListener() {
+            @Override
+            public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+                events.add(dpInfo);
+                values.add(newValue);
+                eventsReceived.countDown();
+            }
+
+            @Override
+            public void newDevices(List<String> adresses) {
+            }
+
+            @Override
+            public void deleteDevices(List<String> addresses) {
+            }
+        }, config);
+        networkServiceThread = new Thread(networkService);
+        networkServiceThread.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        networkService.shutdown();
+        networkServiceThread.join(2000);
+    }
+
+    @Test
+    public void multicallEventsAreDispatchedInOrder() throws Exception {
+        byte[] multicall = createMulticall(0, THERMOSTATS);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), config.getBinCallbackPort())) {
+            // the gateway sends large messages in several packets
+            OutputStream out = socket.getOutputStream();
+            out.write(multicall, 0, 5);
+            out.flush();
+            Thread.sleep(50);
+            out.write(multicall, 5, multicall.length / 2);
+            out.flush();
+            Thread.sleep(50);
+            out.write(multicall, 5 + multicall.length / 2, multicall.length - 5 - multicall.length / 2);
+
+            assertEventListResponse(socket);
+        }
+
+        assertThat(eventsReceived.await(5, TimeUnit.SECONDS), is(true));
+        for (int i = 0; i < THERMOSTATS; i++) {
+            assertThat(events.get(i).getAddress(), is(String.format("NEQ%07d", i)));
+            assertThat(events.get(i).getChannel(), is(4));
+            assertThat(events.get(i).getName(), is("ACTUAL_TEMPERATURE"));
+            assertThat(values.get(i), is(20.5));
+        }
+    }
+
+    @Test
+    public void connectionIsKeptForFurtherMessages() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), config.getBinCallbackPort())) {
+            for (int i = 0; i < THERMOSTATS; i += 50) {
+                socket.getOutputStream().write(createMulticall(i, 50));
+                assertEventListResponse(socket);
+            }
+        }
+
+        assertThat(eventsReceived.await(5, TimeUnit.SECONDS), is(true));
+        for (int i = 0; i < THERMOSTATS; i++) {
+            assertThat(events.get(i).getAddress(), is(String.format("NEQ%07d", i)));
+        }
+    }
+
+    private void assertEventListResponse(Socket socket) throws IOException {
+        BinRpcMessage response = new BinRpcMessage(socket.getInputStream(), false, config.getEncoding());
+        Object[] result = (Object[]) response.getResponseData()[0];
+        assertThat(result.length, is(1));
+        assertThat(result[0], is("event"));
+    }
+
+    private byte[] createMulticall(int first, int count) {
+        List<Object> calls = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            calls.add(Map.of("methodName", RPC_METHODNAME_EVENT, "params",
+                    List.of("openHAB", String.format("NEQ%07d:4", i), "ACTUAL_TEMPERATURE", 20.5)));
+        }
+        BinRpcMessage message = new BinRpcMessage(RPC_METHODNAME_SYSTEM_MULTICALL, config.getEncoding());
+        message.addArg(calls);
+        return message.createMessage();
+    }
+}
@@ -40,6 +40,7 @@ import org.eclipse.jetty.client.util.DigestAuthentication;
 import org.openhab.binding.http.internal.config.HttpChannelConfig;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.binding.http.internal.http.HttpAuthException;
+import org.openhab.binding.http.internal.http.HttpResponseCache;
 import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
@@ -90,6 +91,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
     private final RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
     private final TimeZoneProvider timeZoneProvider;
+    private final HttpResponseCache responseCache;
 
     private HttpThingConfig config = new HttpThingConfig();
     private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
@@ -98,12 +100,13 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
-            TimeZoneProvider timeZoneProvider) {
+            TimeZoneProvider timeZoneProvider, HttpResponseCache responseCache) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClientProvider.getSecureClient(), scheduler);
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
         this.timeZoneProvider = timeZoneProvider;
+        this.responseCache = responseCache;
     }
 
     @Override
@@ -133,6 +136,8 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
         } else {
             try {
                 itemValueConverter.send(command);
+                // the channels need the next refresh result, even if the remote did not accept the command
+                urlHandlers.values().forEach(RefreshingUrlCache::forceUpdate);
             } catch (IllegalArgumentException e) {
                 logger.warn("Failed to convert command '{}' to channel '{}' for sending", command, channelUID);
             } catch (IllegalStateException e) {
@@ -335,7 +340,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
             Objects.requireNonNull(
                     urlHandlers.computeIfAbsent(key,
                             k -> new RefreshingUrlCache(rateLimitedHttpClient, stateUrl, config,
-                                    channelConfig.stateContent, config.contentType, this)))
+                                    channelConfig.stateContent, config.contentType, this, responseCache)))
                     .addConsumer(itemValueConverter::process);
         }
 
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.console;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.HttpResponseCache;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link HttpCommandExtension} is responsible for handling console commands
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class HttpCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String STATISTICS = "statistics";
+
+    private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(List.of(STATISTICS), false);
+
+    private final HttpResponseCache responseCache;
+
+    @Activate
+    public HttpCommandExtension(final @Reference HttpResponseCache responseCache) {
+        super("http", "Interact with the HTTP binding.");
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && STATISTICS.equals(args[0])) {
+            console.println("State requests served from the cache: " + responseCache.getHitCount());
+            console.println("Requests answered with 304 (Not Modified): " + responseCache.getNotModifiedCount());
+            console.println("Requests that received the full content: " + responseCache.getMissCount());
+            console.println("Results skipped because the content was unchanged: " + responseCache.getUnchangedCount());
+            console.println("Content bytes not transferred: " + responseCache.getBytesSaved());
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(STATISTICS, "show the statistics of the shared response cache"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return (args, cursorArgumentIndex, cursorPosition, candidates) -> cursorArgumentIndex <= 0
+                && SUBCMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.http.HttpMethod;
+import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+
+/**
+ * The {@link HttpResponseCache} holds the last successful response for each state request of the binding.
+ * <p>
+ * It is shared by all {@link RefreshingUrlCache}s, so things requesting the same resource with different refresh
+ * times can use the response of each other instead of requesting it again. The stored validators (ETag and
+ * Last-Modified) are used for conditional requests. The statistics are shown by the {@code openhab:http} console
+ * command.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = HttpResponseCache.class)
+public class HttpResponseCache {
+
+    /**
+     * Everything that makes a request unique. The client identifies the HTTP client, authentication and encoding
+     * settings of the thing, so responses are never shared between things with different credentials.
+     */
+    public record Key(HttpMethod method, String uri, Map<String, String> headers, String content,
+            @Nullable String contentType, String client) {
+
+        @Override
+        public String toString() {
+            // headers and client may contain credentials
+            return "Key{method=" + method + ", uri=" + uri + "}";
+        }
+    }
+
+    /**
+     * A successful response
+     *
+     * @param content the content passed to the consumers
+     * @param rawContent the received data
+     * @param eTag the ETag header of the response (if any)
+     * @param lastModified the Last-Modified header of the response (if any)
+     * @param requested the time the request was started
+     * @param retention the time the entry is kept for conditional requests
+     */
+    public record Entry(ChannelHandlerContent content, byte[] rawContent, @Nullable String eTag,
+            @Nullable String lastModified, Instant requested, Duration retention) {
+
+        public boolean isFresh(Duration maxAge, Instant now) {
+            return requested.plus(maxAge).isAfter(now);
+        }
+
+        public boolean hasValidator() {
+            return eTag != null || lastModified != null;
+        }
+
+        private boolean isExpired(Instant now) {
+            return !isFresh(retention, now);
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong unchangedCount = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public @Nullable Entry get(Key key) {
+        return entries.get(key);
+    }
+
+    public void put(Key key, Entry entry) {
+        Instant now = Instant.now();
+        entries.values().removeIf(e -> e.isExpired(now));
+        entries.put(key, entry);
+    }
+
+    @Deactivate
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * record that a fresh entry was used instead of sending a request
+     */
+    void recordHit(Entry entry) {
+        hitCount.incrementAndGet();
+        bytesSaved.addAndGet(entry.rawContent().length);
+    }
+
+    /**
+     * record that the server confirmed the cached entry is still valid
+     */
+    void recordNotModified(Entry entry) {
+        notModifiedCount.incrementAndGet();
+        bytesSaved.addAndGet(entry.rawContent().length);
+    }
+
+    /**
+     * record that the full content was received
+     */
+    void recordMiss() {
+        missCount.incrementAndGet();
+    }
+
+    /**
+     * record that the consumers were not called because the content did not change
+     */
+    void recordUnchanged() {
+        unchangedCount.incrementAndGet();
+    }
+
+    /**
+     * @return the number of state refreshes served from the cache without a request
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of conditional requests answered with 304 (Not Modified)
+     */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    /**
+     * @return the number of requests that received the full content
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of results not passed to the consumers because the content was unchanged
+     */
+    public long getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    /**
+     * @return the number of content bytes not transferred because of cache hits and 304 responses
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    @Override
+    public String toString() {
+        return "HttpResponseCache{entries=" + entries.size() + ", hits=" + hitCount + ", notModified="
+                + notModifiedCount + ", misses=" + missCount + ", unchanged=" + unchangedCount + ", bytesSaved="
+                + bytesSaved + "}";
+    }
+}
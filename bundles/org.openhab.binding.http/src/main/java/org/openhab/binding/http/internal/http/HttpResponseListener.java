@@ -23,6 +23,7 @@ import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BufferingResponseListener;
 import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpStatus;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
 import org.slf4j.Logger;
@@ -39,6 +40,11 @@ public class HttpResponseListener extends BufferingResponseListener {
     private final CompletableFuture<@Nullable ChannelHandlerContent> future;
     private final HttpStatusListener httpStatusListener;
     private final String fallbackEncoding;
+    private final @Nullable ChannelHandlerContent cachedContent;
+
+    private @Nullable String eTag;
+    private @Nullable String lastModified;
+    private boolean notModified;
 
     /**
      * the HttpResponseListener is responsible
@@ -49,10 +55,46 @@ public class HttpResponseListener extends BufferingResponseListener {
      */
     public HttpResponseListener(CompletableFuture<@Nullable ChannelHandlerContent> future,
             @Nullable String fallbackEncoding, int bufferSize, HttpStatusListener httpStatusListener) {
+        this(future, fallbackEncoding, bufferSize, httpStatusListener, null);
+    }
+
+    /**
+     * the HttpResponseListener for conditional requests
+     *
+     * @param future Content future to complete with the result of the request
+     * @param fallbackEncoding a fallback encoding for the content (UTF-8 if null)
+     * @param bufferSize the buffer size for the content in kB (default 2048 kB)
+     * @param cachedContent the content the future is completed with if the server answers 304 (Not Modified)
+     */
+    public HttpResponseListener(CompletableFuture<@Nullable ChannelHandlerContent> future,
+            @Nullable String fallbackEncoding, int bufferSize, HttpStatusListener httpStatusListener,
+            @Nullable ChannelHandlerContent cachedContent) {
         super(bufferSize * 1024);
         this.future = future;
         this.fallbackEncoding = fallbackEncoding != null ? fallbackEncoding : StandardCharsets.UTF_8.name();
         this.httpStatusListener = httpStatusListener;
+        this.cachedContent = cachedContent;
+    }
+
+    /**
+     * @return the ETag header of the response (if any)
+     */
+    public @Nullable String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return the Last-Modified header of the response (if any)
+     */
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return true if the future was completed with the cached content because the server answered 304
+     */
+    public boolean isNotModified() {
+        return notModified;
     }
 
     @Override
@@ -68,6 +110,13 @@ public class HttpResponseListener extends BufferingResponseListener {
             future.complete(null);
             httpStatusListener.onHttpError(result.getFailure().getMessage());
         } else {
+            ChannelHandlerContent cachedContent = this.cachedContent;
+            if (response.getStatus() == HttpStatus.NOT_MODIFIED_304 && cachedContent != null) {
+                notModified = true;
+                future.complete(cachedContent);
+                httpStatusListener.onHttpSuccess();
+                return;
+            }
             switch (response.getStatus()) {
                 case HttpStatus.OK_200:
                 case HttpStatus.CREATED_201:
@@ -79,6 +128,8 @@ public class HttpResponseListener extends BufferingResponseListener {
                 case HttpStatus.MULTI_STATUS_207:
                     byte[] content = getContent();
                     String encoding = getEncoding();
+                    eTag = response.getHeaders().get(HttpHeader.ETAG);
+                    lastModified = response.getHeaders().get(HttpHeader.LAST_MODIFIED);
                     if (content != null) {
                         future.complete(new ChannelHandlerContent(content,
                                 encoding == null ? fallbackEncoding : encoding, getMediaType()));
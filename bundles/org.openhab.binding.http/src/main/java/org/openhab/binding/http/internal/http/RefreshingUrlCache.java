@@ -15,7 +15,14 @@ package org.openhab.binding.http.internal.http;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -29,6 +36,7 @@ import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -39,6 +47,10 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
  * channels
+ * <p>
+ * GET requests use the binding-wide {@link HttpResponseCache}: a response that another thing received within the
+ * refresh time is used without a request, otherwise a conditional request is sent if a validator is known. If
+ * configured, consumers are only called if the content changed.
  *
  * @author Jan N. Klug - Initial contribution
  */
@@ -49,6 +61,7 @@ public class RefreshingUrlCache {
     private final String url;
     private final RateLimitedHttpClient httpClient;
     private final boolean strictErrorHandling;
+    private final boolean skipUnchanged;
     private final int timeout;
     private final int bufferSize;
     private final @Nullable String fallbackEncoding;
@@ -58,15 +71,21 @@ public class RefreshingUrlCache {
     private final String httpContent;
     private final @Nullable String httpContentType;
     private final HttpStatusListener httpStatusListener;
+    private final HttpResponseCache responseCache;
+    private final String client;
 
     private @Nullable ScheduledFuture<?> future;
     private @Nullable ChannelHandlerContent lastContent;
+    private byte @Nullable [] lastRawContent;
+    private Duration refreshInterval = Duration.ZERO;
 
     public RefreshingUrlCache(RateLimitedHttpClient httpClient, String url, HttpThingConfig thingConfig,
-            String httpContent, @Nullable String httpContentType, HttpStatusListener httpStatusListener) {
+            String httpContent, @Nullable String httpContentType, HttpStatusListener httpStatusListener,
+            HttpResponseCache responseCache) {
         this.httpClient = httpClient;
         this.url = url;
         this.strictErrorHandling = thingConfig.strictErrorHandling;
+        this.skipUnchanged = thingConfig.skipUnchanged;
         this.timeout = thingConfig.timeout;
         this.bufferSize = thingConfig.bufferSize;
         this.httpMethod = thingConfig.stateMethod;
@@ -74,7 +93,24 @@ public class RefreshingUrlCache {
         this.httpContent = httpContent;
         this.httpContentType = httpContentType;
         this.httpStatusListener = httpStatusListener;
+        this.responseCache = responseCache;
         fallbackEncoding = thingConfig.encoding;
+        // responses must only be shared between things that would be allowed to receive the same content
+        this.client = thingConfig.ignoreSSLErrors + "$" + thingConfig.authMode + "$"
+                + digest(thingConfig.username + "$" + thingConfig.password) + "$" + fallbackEncoding;
+    }
+
+    /**
+     * The credentials are part of the cache key, so only a digest of them is kept in memory.
+     */
+    private static String digest(String credentials) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(credentials.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 
     public void start(ScheduledExecutorService executor, int refreshTime) {
@@ -82,6 +118,7 @@ public class RefreshingUrlCache {
             logger.warn("Starting refresh task requested but it is already started. This is bug.");
             return;
         }
+        refreshInterval = Duration.ofSeconds(refreshTime);
         future = executor.scheduleWithFixedDelay(this::refresh, 1, refreshTime, TimeUnit.SECONDS);
         logger.trace("Started refresh task for URL '{}' with interval {}s", url, refreshTime);
     }
@@ -108,14 +145,44 @@ public class RefreshingUrlCache {
 
         // format URL
         try {
-            URI uri = Util.uriFromString(Util.wrappedStringFormat(this.url, new Date()));
+            Instant requested = Instant.now();
+            URI uri = Util.uriFromString(Util.wrappedStringFormat(this.url, Date.from(requested)));
+
+            // only GET requests are safe to share and can be conditional
+            HttpResponseCache.Key key = httpMethod == HttpMethod.GET
+                    ? new HttpResponseCache.Key(httpMethod, uri.toString(), headers, httpContent, httpContentType,
+                            client)
+                    : null;
+            HttpResponseCache.Entry cached = key != null ? responseCache.get(key) : null;
+            if (!isRetry && cached != null && cached.isFresh(refreshInterval, requested)) {
+                logger.trace("Using cached response for '{}' requested at {}", uri, cached.requested());
+                responseCache.recordHit(cached);
+                httpStatusListener.onHttpSuccess();
+                processResult(cached.content(), cached.rawContent());
+                return;
+            }
+            HttpResponseCache.Entry validated = cached != null && cached.hasValidator() ? cached : null;
+
             logger.trace("Requesting refresh (retry={}) from '{}' with timeout {}ms", isRetry, uri, timeout);
 
             httpClient.newRequest(uri, httpMethod, httpContent, httpContentType).thenAccept(request -> {
                 request.timeout(timeout, TimeUnit.MILLISECONDS);
                 headers.forEach(request::header);
+                if (validated != null) {
+                    String eTag = validated.eTag();
+                    if (eTag != null) {
+                        request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                    }
+                    String lastModified = validated.lastModified();
+                    if (lastModified != null) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
 
                 CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
+                HttpResponseListener responseListener = new HttpResponseListener(responseContentFuture,
+                        fallbackEncoding, bufferSize, httpStatusListener,
+                        validated != null ? validated.content() : null);
                 responseContentFuture.exceptionally(t -> {
                     if (t instanceof HttpAuthException) {
                         if (isRetry || !httpClient.reAuth(uri)) {
@@ -126,14 +193,13 @@ public class RefreshingUrlCache {
                         }
                     }
                     return null;
-                }).thenAccept(this::processResult);
+                }).thenAccept(content -> processResponse(content, responseListener, key, validated, requested));
 
                 if (logger.isTraceEnabled()) {
                     logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
                 }
 
-                request.send(new HttpResponseListener(responseContentFuture, fallbackEncoding, bufferSize,
-                        httpStatusListener));
+                request.send(responseListener);
             }).exceptionally(e -> {
                 if (e instanceof CancellationException) {
                     logger.debug("Request to URL {} was cancelled by thing handler.", uri);
@@ -155,7 +221,46 @@ public class RefreshingUrlCache {
         return Optional.ofNullable(lastContent);
     }
 
-    private void processResult(@Nullable ChannelHandlerContent content) {
+    /**
+     * force passing the next result to the consumers, even if the content did not change (e.g. after a command was
+     * sent, because the consumers' state might differ from the content now)
+     */
+    public void forceUpdate() {
+        lastRawContent = null;
+    }
+
+    private void processResponse(@Nullable ChannelHandlerContent content, HttpResponseListener responseListener,
+            HttpResponseCache.@Nullable Key key, HttpResponseCache.@Nullable Entry validated, Instant requested) {
+        if (content == null) {
+            processResult(null, null);
+            return;
+        }
+        if (responseListener.isNotModified() && validated != null) {
+            logger.trace("Content of '{}' not modified", url);
+            responseCache.recordNotModified(validated);
+            if (key != null) {
+                responseCache.put(key, new HttpResponseCache.Entry(validated.content(), validated.rawContent(),
+                        validated.eTag(), validated.lastModified(), requested, refreshInterval.multipliedBy(2)));
+            }
+            processResult(validated.content(), validated.rawContent());
+            return;
+        }
+        byte[] rawContent = responseListener.getContent();
+        responseCache.recordMiss();
+        if (key != null) {
+            responseCache.put(key, new HttpResponseCache.Entry(content, rawContent, responseListener.getETag(),
+                    responseListener.getLastModified(), requested, refreshInterval.multipliedBy(2)));
+        }
+        processResult(content, rawContent);
+    }
+
+    private void processResult(@Nullable ChannelHandlerContent content, byte @Nullable [] rawContent) {
+        if (skipUnchanged && content != null && rawContent != null && Arrays.equals(rawContent, lastRawContent)) {
+            // skip transformations if nothing changed
+            responseCache.recordUnchanged();
+            lastContent = content;
+            return;
+        }
         if (content != null || strictErrorHandling) {
             for (Consumer<@Nullable ChannelHandlerContent> consumer : consumers) {
                 try {
@@ -166,5 +271,6 @@ public class RefreshingUrlCache {
             }
         }
         lastContent = content;
+        lastRawContent = content != null ? rawContent : null;
     }
 }
@@ -13,6 +13,7 @@
 package org.openhab.binding.http;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
@@ -43,6 +44,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
+import org.openhab.binding.http.internal.http.HttpResponseCache;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
@@ -63,6 +65,7 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
     private @NonNullByDefault({}) HttpThingConfig thingConfig;
     private @NonNullByDefault({}) String url;
     private @NonNullByDefault({}) HttpStatusListener statusListener;
+    private @NonNullByDefault({}) HttpResponseCache responseCache;
 
     private final List<@Nullable ChannelHandlerContent> contentWrappers = new CopyOnWriteArrayList<>();
 
@@ -75,6 +78,7 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
         rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         rateLimitedHttpClient.setDelay(0);
         statusListener = mock(HttpStatusListener.class);
+        responseCache = new HttpResponseCache();
 
         // initialize thing config with some default values
         thingConfig = new HttpThingConfig();
@@ -245,6 +249,71 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
         assertTrue(returnedQueryValue.matches("\\d{4}-\\d{2}-\\d{2}"));
     }
 
+    @Test
+    public void testConditionalRequestOnETag() {
+        stubFor(get(urlEqualTo(TEST_LOCATION))
+                .willReturn(aResponse().withHeader("ETag", "\"1\"").withBody(TEST_CONTENT)));
+        stubFor(get(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo("\"1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // wait until the content was confirmed twice
+        waitForAssert(() -> assertTrue(responseCache.getNotModifiedCount() >= 2));
+        urlCache.stop();
+
+        // the confirmed content is passed to the consumers again
+        verify(statusListener, never()).onHttpError(any());
+        assertTrue(contentWrappers.size() >= 2);
+        assertTrue(contentWrappers.stream().map(Objects::requireNonNull).map(ChannelHandlerContent::getAsString)
+                .allMatch(TEST_CONTENT::equals));
+        assertTrue(responseCache.getBytesSaved() >= 2 * TEST_CONTENT.length());
+    }
+
+    @Test
+    public void testUnchangedContentIsSkipped() {
+        stubFor(get(urlEqualTo(TEST_LOCATION))
+                .willReturn(aResponse().withHeader("ETag", "\"1\"").withBody(TEST_CONTENT)));
+        stubFor(get(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo("\"1\""))
+                .willReturn(aResponse().withStatus(304)));
+        thingConfig.skipUnchanged = true;
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // wait until the content was confirmed twice
+        waitForAssert(() -> assertTrue(responseCache.getNotModifiedCount() >= 2));
+        urlCache.stop();
+
+        // the unchanged content was passed to the consumers only once
+        verify(statusListener, never()).onHttpError(any());
+        assertEquals(1, contentWrappers.size());
+        assertEquals(TEST_CONTENT, Objects.requireNonNull(contentWrappers.get(0)).getAsString());
+        assertEquals(TEST_CONTENT, urlCache.get().map(ChannelHandlerContent::getAsString).orElse(null));
+        assertTrue(responseCache.getBytesSaved() >= 2 * TEST_CONTENT.length());
+    }
+
+    @Test
+    public void testResponseIsSharedBetweenCaches() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+        waitForAssert(() -> assertFalse(contentWrappers.isEmpty()));
+
+        // a second cache with a longer refresh time uses the response of the first one
+        List<@Nullable ChannelHandlerContent> otherContentWrappers = new CopyOnWriteArrayList<>();
+        RefreshingUrlCache otherUrlCache = new RefreshingUrlCache(rateLimitedHttpClient, url, thingConfig,
+                TEST_CONTENT, null, statusListener, responseCache);
+        otherUrlCache.addConsumer(otherContentWrappers::add);
+        otherUrlCache.start(scheduler, 5);
+
+        waitForAssert(() -> assertFalse(otherContentWrappers.isEmpty()));
+        urlCache.stop();
+        otherUrlCache.stop();
+
+        assertEquals(TEST_CONTENT, Objects.requireNonNull(otherContentWrappers.get(0)).getAsString());
+        assertTrue(responseCache.getHitCount() >= 1);
+    }
+
     /**
      * helper method to create a {@link RefreshingUrlCache} and add a test listener
      *
@@ -253,7 +322,7 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
      */
     private RefreshingUrlCache getUrlCache(String content) {
         RefreshingUrlCache urlCache = new RefreshingUrlCache(rateLimitedHttpClient, url, thingConfig, content, null,
-                statusListener);
+                statusListener, responseCache);
         urlCache.addConsumer(contentWrappers::add);
         urlCache.start(scheduler, thingConfig.refresh);
         return urlCache;
@@ -69,14 +69,18 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
     private static final String SCENES = "scenes";
     private static final String APPLICATION_KEY = "applicationkey";
     private static final String THINGS = "things";
+    private static final String STATISTICS = "statistics";
+    private static final String RESET = "reset";
 
     private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(List.of(USER_NAME, SCENES), false);
 
     private static final StringsCompleter SUBCMD_COMPLETER_2 = new StringsCompleter(
-            List.of(APPLICATION_KEY, THINGS, SCENES), false);
+            List.of(APPLICATION_KEY, THINGS, SCENES, STATISTICS), false);
 
     private static final StringsCompleter SCENES_COMPLETER = new StringsCompleter(List.of(SCENES), false);
 
+    private static final StringsCompleter RESET_COMPLETER = new StringsCompleter(List.of(RESET), false);
+
     private final ThingRegistry thingRegistry;
 
     public static final Set<ResourceType> SUPPORTED_RESOURCES = Set.of(ResourceType.DEVICE, ResourceType.ROOM,
@@ -90,7 +94,7 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
 
     @Override
     public void execute(String[] args, Console console) {
-        if (args.length == 2) {
+        if (args.length == 2 || (args.length == 3 && STATISTICS.equals(args[1]) && RESET.equals(args[2]))) {
             Thing thing = getThing(args[0]);
             ThingHandler thingHandler = null;
             HueBridgeHandler bridgeHandler = null;
@@ -161,6 +165,15 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
                             }
                             return;
 
+                        case STATISTICS:
+                            console.println("SSE event dispatch statistics of bridge " + thing.getUID() + ":");
+                            clip2BridgeHandler.listEventStatisticsForConsole().forEach(console::println);
+                            if (args.length == 3) {
+                                clip2BridgeHandler.resetEventStatistics();
+                                console.println("Statistics have been reset");
+                            }
+                            return;
+
                         case THINGS:
                             console.println(String.format(FMT_BRIDGE, thing.getUID(), ipAddress, applicationKey));
 
@@ -231,6 +244,8 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
                 buildCommandUsage("<bridgeUID> " + APPLICATION_KEY, "show the API v2 application key"),
                 buildCommandUsage("<bridgeUID> " + SCENES, "list all the scenes with their id"),
                 buildCommandUsage("<bridgeUID> " + THINGS, "list all the API v2 device/room/zone things with their id"),
+                buildCommandUsage("<bridgeUID> " + STATISTICS + " [" + RESET + "]",
+                        "show the API v2 SSE event dispatch statistics, and optionally reset them"),
                 buildCommandUsage("<groupThingUID> " + SCENES, "list all the scenes from this group with their id") });
     }
 
@@ -257,6 +272,8 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
             } else if (thing != null && THING_TYPE_GROUP.equals(thing.getThingTypeUID())) {
                 return SCENES_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             }
+        } else if (cursorArgumentIndex == 2 && STATISTICS.equals(args[1])) {
+            return RESET_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
         }
         return false;
     }
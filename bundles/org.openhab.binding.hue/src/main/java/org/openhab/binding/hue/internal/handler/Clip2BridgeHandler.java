@@ -122,6 +122,7 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     private final Map<String, Resource> automationsCache = new ConcurrentHashMap<>();
     private final Set<String> automationScriptIds = ConcurrentHashMap.newKeySet();
     private final ChannelGroupUID automationChannelGroupUID;
+    private final Clip2EventDispatcher eventDispatcher = new Clip2EventDispatcher();
 
     private @Nullable Clip2Bridge clip2Bridge;
     private @Nullable ServiceRegistration<?> trustManagerRegistration;
@@ -258,6 +259,14 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof Clip2ThingHandler clip2ThingHandler) {
+            eventDispatcher.unsubscribe(clip2ThingHandler);
+        }
+        super.childHandlerDisposed(childHandler, childThing);
+    }
+
     /**
      * If a child thing has been added, and the bridge is online, update the child's data.
      */
@@ -523,6 +532,22 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         checkConnectionTask = scheduler.submit(() -> checkConnection());
     }
 
+    /**
+     * Return the SSE event dispatch statistics for the console.
+     *
+     * @return a list of lines.
+     */
+    public List<String> listEventStatisticsForConsole() {
+        return eventDispatcher.getStatistics();
+    }
+
+    /**
+     * Reset the SSE event dispatch statistics from the console.
+     */
+    public void resetEventStatistics() {
+        eventDispatcher.resetStatistics();
+    }
+
     /**
      * Called when the connection goes offline. Schedule a reconnection.
      */
@@ -543,24 +568,25 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Called when an SSE event message comes in with a valid list of resources. For each resource received, inform all
-     * child thing handlers with the respective resource.
+     * Called when an SSE event message comes in with a valid list of resources. For each resource received, inform the
+     * child thing handlers that subscribed to the respective resource.
      *
      * @param resources a list of incoming resource objects.
      */
     public void onResourcesEvent(List<Resource> resources) {
         if (assetsLoaded) {
+            long receivedNanos = System.nanoTime();
             synchronized (resourcesEventTasks) {
                 int index = resourcesEventTasks.size();
                 resourcesEventTasks.put(index, scheduler.submit(() -> {
-                    onResourcesEventTask(resources);
+                    onResourcesEventTask(resources, receivedNanos);
                     resourcesEventTasks.remove(index);
                 }));
             }
         }
     }
 
-    private void onResourcesEventTask(List<Resource> resources) {
+    private void onResourcesEventTask(List<Resource> resources, long receivedNanos) {
         int numberOfResources = resources.size();
         logger.debug("onResourcesEventTask() resource count {}", numberOfResources);
         Setters.mergeLightResources(resources);
@@ -570,11 +596,7 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         if (onResources(resources)) {
             updateAutomationChannelsNow();
         }
-        getThing().getThings().forEach(thing -> {
-            if (thing.getHandler() instanceof Clip2ThingHandler clip2ThingHandler) {
-                clip2ThingHandler.onResources(resources);
-            }
-        });
+        eventDispatcher.dispatch(resources, receivedNanos);
     }
 
     /**
@@ -620,6 +642,16 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         this.discoveryService = discoveryService;
     }
 
+    /**
+     * Set the resource IDs whose SSE events shall be forwarded to the given child thing handler.
+     *
+     * @param handler the child thing handler.
+     * @param resourceIds the IDs of all resources that the handler consumes.
+     */
+    public void subscribeResources(Clip2ThingHandler handler, Set<String> resourceIds) {
+        eventDispatcher.subscribe(handler, resourceIds);
+    }
+
     /**
      * Unregister the discovery service.
      */
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+import org.openhab.binding.hue.internal.api.dto.clip2.ResourceReference;
+
+/**
+ * Routes the resources of incoming SSE events to the {@link Clip2ThingHandler}s that consume them. Each thing handler
+ * subscribes to the set of resource IDs it is interested in, i.e. its own resource ID plus the IDs of its service and
+ * scene contributors. A resource is forwarded to the handlers subscribed to its own ID, to the ID of its owner (e.g.
+ * the device of a light service), or to the ID of its group (e.g. the room of a newly added scene), so that each event
+ * only reaches the few things it concerns instead of all things of the bridge.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class Clip2EventDispatcher {
+
+    private final Map<String, Set<Clip2ThingHandler>> handlersByResourceId = new ConcurrentHashMap<>();
+    private final Map<Clip2ThingHandler, Set<String>> resourceIdsByHandler = new ConcurrentHashMap<>();
+
+    private final LongAdder eventCount = new LongAdder();
+    private final LongAdder resourceCount = new LongAdder();
+    private final LongAdder deliveryCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private volatile Instant statisticsStart = Instant.now();
+
+    /**
+     * Replace the set of resource IDs to which the given handler is subscribed.
+     *
+     * @param handler the thing handler.
+     * @param resourceIds the IDs of all resources that the handler consumes.
+     */
+    public synchronized void subscribe(Clip2ThingHandler handler, Set<String> resourceIds) {
+        Set<String> oldResourceIds = resourceIdsByHandler.put(handler, Set.copyOf(resourceIds));
+        if (Objects.nonNull(oldResourceIds)) {
+            oldResourceIds.stream().filter(id -> !resourceIds.contains(id)).forEach(id -> removeIndex(id, handler));
+        }
+        resourceIds.forEach(id -> handlersByResourceId.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet())
+                .add(handler));
+    }
+
+    /**
+     * Remove all subscriptions of the given handler.
+     *
+     * @param handler the thing handler.
+     */
+    public synchronized void unsubscribe(Clip2ThingHandler handler) {
+        Set<String> oldResourceIds = resourceIdsByHandler.remove(handler);
+        if (Objects.nonNull(oldResourceIds)) {
+            oldResourceIds.forEach(id -> removeIndex(id, handler));
+        }
+    }
+
+    private void removeIndex(String resourceId, Clip2ThingHandler handler) {
+        handlersByResourceId.computeIfPresent(resourceId, (id, handlers) -> {
+            handlers.remove(handler);
+            return handlers.isEmpty() ? null : handlers;
+        });
+    }
+
+    /**
+     * Forward the resources of an SSE event to the subscribed handlers. Each handler receives one call with the sub
+     * list of the resources that concern it, in their original order.
+     *
+     * @param resources the (already merged) resources of the event.
+     * @param receivedNanos the {@link System#nanoTime()} at which the event was received.
+     */
+    public void dispatch(List<Resource> resources, long receivedNanos) {
+        Map<Clip2ThingHandler, List<Resource>> deliveries = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            addDelivery(deliveries, resource, resource.getId());
+            addDelivery(deliveries, resource, resource.getOwner());
+            addDelivery(deliveries, resource, resource.getGroup());
+        }
+        deliveries.forEach((handler, handlerResources) -> handler.onResources(handlerResources));
+
+        long latencyNanos = System.nanoTime() - receivedNanos;
+        eventCount.increment();
+        resourceCount.add(resources.size());
+        deliveryCount.add(deliveries.size());
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    private void addDelivery(Map<Clip2ThingHandler, List<Resource>> deliveries, Resource resource,
+            @Nullable ResourceReference reference) {
+        if (Objects.nonNull(reference)) {
+            String id = reference.getId();
+            if (Objects.nonNull(id)) {
+                addDelivery(deliveries, resource, id);
+            }
+        }
+    }
+
+    private void addDelivery(Map<Clip2ThingHandler, List<Resource>> deliveries, Resource resource, String id) {
+        Set<Clip2ThingHandler> handlers = handlersByResourceId.get(id);
+        if (Objects.nonNull(handlers)) {
+            for (Clip2ThingHandler handler : handlers) {
+                List<Resource> handlerResources = deliveries.computeIfAbsent(handler, h -> new ArrayList<>());
+                // the resource may already have been added via its own ID, its owner or its group
+                if (handlerResources.isEmpty() || handlerResources.get(handlerResources.size() - 1) != resource) {
+                    handlerResources.add(resource);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the dispatch statistics since the last reset as lines of text for the console.
+     *
+     * @return a list of lines.
+     */
+    public List<String> getStatistics() {
+        long seconds = Math.max(1, Duration.between(statisticsStart, Instant.now()).toSeconds());
+        long events = eventCount.sum();
+        double averageMillis = events > 0 ? totalLatencyNanos.sum() / 1e6 / events : 0;
+        return List.of(String.format("  Subscribed things: %d, resource IDs: %d", resourceIdsByHandler.size(),
+                handlersByResourceId.size()),
+                String.format("  Events: %d in %d s (%.2f per second)", events, seconds, (double) events / seconds),
+                String.format("  Resources: %d, handler deliveries: %d", resourceCount.sum(), deliveryCount.sum()),
+                String.format("  Dispatch latency: average %.3f ms, maximum %.3f ms", averageMillis,
+                        maxLatencyNanos.get() / 1e6));
+    }
+
+    /**
+     * Reset the dispatch statistics.
+     */
+    public void resetStatistics() {
+        eventCount.reset();
+        resourceCount.reset();
+        deliveryCount.reset();
+        totalLatencyNanos.reset();
+        maxLatencyNanos.set(0);
+        statisticsStart = Instant.now();
+    }
+}
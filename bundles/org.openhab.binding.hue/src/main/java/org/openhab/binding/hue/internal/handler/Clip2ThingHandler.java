@@ -634,6 +634,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
         if (Objects.nonNull(bridge)) {
             BridgeHandler bridgeHandler = bridge.getHandler();
             if (bridgeHandler instanceof Clip2BridgeHandler) {
+                updateSubscriptions();
                 ((Clip2BridgeHandler) bridgeHandler).childInitialized();
             }
         }
@@ -727,6 +728,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                     sceneContributorsCache.put(sceneResource.getId(), sceneResource);
                     sceneResourceEntries.put(sceneResource.getName(), sceneResource);
                     updateSceneChannelStateDescription();
+                    updateSubscriptions();
                     return FLAG_SCENE_ADD;
                 }
                 break;
@@ -735,6 +737,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                 if (Objects.nonNull(deletedScene)) {
                     sceneResourceEntries.remove(deletedScene.getName());
                     updateSceneChannelStateDescription();
+                    updateSubscriptions();
                     return FLAG_SCENE_DELETE;
                 }
             default:
@@ -1176,6 +1179,8 @@ public class Clip2ThingHandler extends BaseThingHandler {
             commandResourceIds.clear();
             commandResourceIds.putAll(services.stream() // use a 'mergeFunction' to prevent duplicates
                     .collect(Collectors.toMap(ResourceReference::getType, ResourceReference::getId, (r1, r2) -> r1)));
+
+            updateSubscriptions();
         }
     }
 
@@ -1307,6 +1312,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
             if (!scenes.isEmpty()) {
                 sceneContributorsCache.putAll(scenes.stream().collect(Collectors.toMap(s -> s.getId(), s -> s)));
                 sceneResourceEntries.putAll(scenes.stream().collect(Collectors.toMap(s -> s.getName(), s -> s)));
+                updateSubscriptions();
 
                 State state = Objects.requireNonNull(
                         scenes.stream().filter(s -> Objects.requireNonNullElse(s.getSceneActive(), false))
@@ -1385,6 +1391,21 @@ public class Clip2ThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Subscribe to the SSE events of all resources that contribute to this thing, i.e. the thing resource itself plus
+     * its service and scene contributors. The bridge handler only forwards events of those resources to this thing.
+     */
+    private void updateSubscriptions() {
+        Set<String> resourceIds = new HashSet<>(serviceContributorsCache.keySet());
+        resourceIds.addAll(sceneContributorsCache.keySet());
+        resourceIds.add(resourceId);
+        try {
+            getBridgeHandler().subscribeResources(this, resourceIds);
+        } catch (AssetNotLoadedException e) {
+            logger.debug("{} -> updateSubscriptions() {}", resourceId, e.getMessage());
+        }
+    }
+
     /**
      * Check if a PROPERTY_LEGACY_THING_UID value was set by the discovery process, and if so, clone the legacy thing's
      * settings into this thing.
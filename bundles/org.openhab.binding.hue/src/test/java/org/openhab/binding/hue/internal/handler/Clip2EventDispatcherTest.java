@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for {@link Clip2EventDispatcher}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class Clip2EventDispatcherTest {
+
+    private static final Gson GSON = new Gson();
+
+    private static Resource resource(String id, String type, @Nullable String ownerId, @Nullable String groupId) {
+        StringBuilder json = new StringBuilder("{\"id\":\"" + id + "\",\"type\":\"" + type + "\"");
+        if (ownerId != null) {
+            json.append(",\"owner\":{\"rid\":\"" + ownerId + "\",\"rtype\":\"device\"}");
+        }
+        if (groupId != null) {
+            json.append(",\"group\":{\"rid\":\"" + groupId + "\",\"rtype\":\"room\"}");
+        }
+        return GSON.fromJson(json.append("}").toString(), Resource.class);
+    }
+
+    @Test
+    public void testDispatchBySubscribedOwnerAndGroupIds() {
+        Clip2ThingHandler device = mock(Clip2ThingHandler.class);
+        Clip2ThingHandler room = mock(Clip2ThingHandler.class);
+        Clip2ThingHandler idle = mock(Clip2ThingHandler.class);
+
+        Clip2EventDispatcher dispatcher = new Clip2EventDispatcher();
+        dispatcher.subscribe(device, Set.of("device1", "light1"));
+        dispatcher.subscribe(room, Set.of("room1", "grouped1"));
+        dispatcher.subscribe(idle, Set.of("device9"));
+
+        Resource light = resource("light1", "light", "device1", null);
+        Resource connectivity = resource("zigbee1", "zigbee_connectivity", "device1", null);
+        Resource grouped = resource("grouped1", "grouped_light", "room1", null);
+        Resource scene = resource("scene1", "scene", null, "room1");
+        Resource other = resource("light2", "light", "device2", null);
+
+        dispatcher.dispatch(List.of(light, connectivity, grouped, scene, other), System.nanoTime());
+
+        // the light is addressed via its own ID and its owner, but is delivered once only
+        verify(device).onResources(eq(List.of(light, connectivity)));
+        verify(room).onResources(eq(List.of(grouped, scene)));
+        verify(idle, never()).onResources(any());
+    }
+
+    @Test
+    public void testResubscribeAndUnsubscribe() {
+        Clip2ThingHandler handler = mock(Clip2ThingHandler.class);
+
+        Clip2EventDispatcher dispatcher = new Clip2EventDispatcher();
+        dispatcher.subscribe(handler, Set.of("device1", "scene1"));
+        dispatcher.subscribe(handler, Set.of("device1"));
+
+        Resource scene = resource("scene1", "scene", null, "room2");
+        dispatcher.dispatch(List.of(scene), System.nanoTime());
+        verify(handler, never()).onResources(any());
+
+        Resource device = resource("device1", "device", null, null);
+        dispatcher.dispatch(List.of(device), System.nanoTime());
+        verify(handler).onResources(eq(List.of(device)));
+
+        dispatcher.unsubscribe(handler);
+        dispatcher.dispatch(List.of(device), System.nanoTime());
+        verify(handler, times(1)).onResources(any());
+    }
+
+    @Test
+    public void testStatistics() {
+        Clip2EventDispatcher dispatcher = new Clip2EventDispatcher();
+        dispatcher.subscribe(mock(Clip2ThingHandler.class), Set.of("device1", "light1"));
+        dispatcher.dispatch(List.of(resource("light1", "light", "device1", null)), System.nanoTime());
+        dispatcher.dispatch(List.of(resource("light2", "light", "device2", null)), System.nanoTime());
+
+        List<String> statistics = dispatcher.getStatistics();
+        assertEquals("  Subscribed things: 1, resource IDs: 2", statistics.get(0));
+        assertTrue(statistics.get(1).startsWith("  Events: 2 in "));
+        assertEquals("  Resources: 2, handler deliveries: 1", statistics.get(2));
+
+        // the counters start again, the subscriptions are kept
+        dispatcher.resetStatistics();
+        statistics = dispatcher.getStatistics();
+        assertEquals("  Subscribed things: 1, resource IDs: 2", statistics.get(0));
+        assertTrue(statistics.get(1).startsWith("  Events: 0 in "));
+        assertEquals("  Resources: 0, handler deliveries: 0", statistics.get(2));
+    }
+}
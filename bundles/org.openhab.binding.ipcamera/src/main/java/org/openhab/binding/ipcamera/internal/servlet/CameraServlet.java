@@ -15,8 +15,10 @@ package org.openhab.binding.ipcamera.internal.servlet;
 import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.HLS_STARTUP_DELAY_MS;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.Map;
@@ -46,11 +48,15 @@ public class CameraServlet extends IpCameraServlet {
     private static final long serialVersionUID = -134658667574L;
     private static final Dictionary<Object, Object> INIT_PARAMETERS = new Hashtable<>(
             Map.of("async-supported", "true"));
+    // far above any JPEG ffmpeg creates for a stream, only protects the memory from a broken sender
+    private static final int MAX_FRAME_SIZE = 64 * 1024 * 1024;
 
     private final IpCameraHandler handler;
     public OpenStreams openStreams = new OpenStreams();
     private OpenStreams openSnapshotStreams = new OpenStreams();
     private OpenStreams openAutoFpsStreams = new OpenStreams();
+    // size of the last frame from ffmpeg, to read the next one into a buffer of the right size
+    private volatile int expectedFrameSize = 64 * 1024;
 
     public CameraServlet(IpCameraHandler handler, HttpService httpService) {
         super(handler, httpService, INIT_PARAMETERS);
@@ -70,7 +76,10 @@ public class CameraServlet extends IpCameraServlet {
             case "/ipcamera.jpg":
                 // ffmpeg sends data here for ipcamera.mjpeg streams when camera has no native stream.
                 ServletInputStream snapshotData = req.getInputStream();
-                openStreams.queueFrame(snapshotData.readAllBytes());
+                if (!readFrame(snapshotData, req.getContentLength())) {
+                    logger.debug("Frame from ffmpeg is larger than {} bytes and has been rejected", MAX_FRAME_SIZE);
+                    resp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                }
                 snapshotData.close();
                 break;
             case "/snapshot.jpg":
@@ -89,6 +98,40 @@ public class CameraServlet extends IpCameraServlet {
         }
     }
 
+    /**
+     * Reads a frame into a buffer of the expected size and passes it on without copying it again. The buffer grows as
+     * needed, the size of the last frame only decides where it starts.
+     *
+     * @return false if the frame is larger than {@link #MAX_FRAME_SIZE} and has been dropped
+     */
+    private boolean readFrame(InputStream input, int contentLength) throws IOException {
+        if (contentLength > MAX_FRAME_SIZE) {
+            return false;
+        }
+        byte[] frame = new byte[contentLength > 0 ? contentLength
+                : Math.min(expectedFrameSize + expectedFrameSize / 4, MAX_FRAME_SIZE)];
+        int length = 0;
+        int read;
+        while ((read = input.read(frame, length, frame.length - length)) != -1) {
+            length += read;
+            if (length == frame.length) {
+                if (contentLength > 0) {
+                    break;
+                } else if (length == MAX_FRAME_SIZE) {
+                    // the stream must end here, one more byte and the frame is too large
+                    if (input.read() != -1) {
+                        return false;
+                    }
+                    break;
+                }
+                frame = Arrays.copyOf(frame, (int) Math.min(frame.length * 2L, MAX_FRAME_SIZE));
+            }
+        }
+        expectedFrameSize = Math.max(length, 1024);
+        openStreams.queueFrame(frame, length);
+        return true;
+    }
+
     @Override
     protected void doGet(@Nullable HttpServletRequest req, @Nullable HttpServletResponse resp) throws IOException {
         if (req == null || resp == null) {
@@ -208,6 +251,8 @@ public class CameraServlet extends IpCameraServlet {
                     } catch (InterruptedException | IOException e) {
                         // Never stop streaming until IOException. Occurs when browser stops the stream.
                         openStreams.removeStream(output);
+                        logger.debug("Stream sent {} frames ({} bytes), {} frames were skipped as it was too slow.",
+                                output.getFramesSent(), output.getBytesSent(), output.getFramesDropped());
                         logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
                         if (openStreams.isEmpty()) {
                             if (output.isSnapshotBased) {
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link FrameRing} holds the latest frames of a stream for all clients. Each client reads with its own cursor,
+ * so a frame is stored once no matter how many clients are connected. The oldest frames are dropped when the ring
+ * is full, a client that falls too far behind skips to the latest sync point instead of buffering.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class FrameRing {
+    static final int MAX_FRAMES = 256;
+    static final long MAX_BYTES = 4 * 1024 * 1024;
+    // a client with more data than this waiting skips ahead
+    static final long MAX_LAG_BYTES = MAX_BYTES / 2;
+
+    /**
+     * A frame or chunk of a stream.
+     *
+     * @param sequence the number of the frame in the stream
+     * @param position the number of bytes of the stream before this frame
+     * @param data the buffer holding the frame
+     * @param length the number of valid bytes in the buffer
+     * @param syncOffset the position of the first part boundary in the frame, or -1 if there is none
+     */
+    public record Frame(long sequence, long position, byte[] data, int length, int syncOffset) {
+    }
+
+    private final @Nullable Frame[] frames = new Frame[MAX_FRAMES];
+    private long firstSequence;
+    private long nextSequence;
+    private long nextPosition;
+    private long bytes;
+
+    /**
+     * Adds a frame to the ring. The buffer must not be changed afterwards, as clients may still be sending it.
+     */
+    public synchronized void add(byte[] data, int length, int syncOffset) {
+        while (firstSequence < nextSequence
+                && (nextSequence - firstSequence >= MAX_FRAMES || bytes + length > MAX_BYTES)) {
+            removeFirst();
+        }
+        frames[index(nextSequence)] = new Frame(nextSequence, nextPosition, data, length, syncOffset);
+        nextSequence++;
+        nextPosition += length;
+        bytes += length;
+        notifyAll();
+    }
+
+    /**
+     * @return the sequence of the next frame that will be added
+     */
+    public synchronized long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Waits for the frame with the given sequence. If the client is too far behind or the frame has already been
+     * dropped, the latest frame with a sync point is returned instead (or the latest frame, if none of the frames the
+     * client has not sent yet has one).
+     *
+     * @param sequence the sequence of the frame the client wants to send next
+     * @param toSyncPoint if a skipping client must continue at a part boundary
+     * @param timeout the maximum time in milliseconds to wait for the frame
+     * @return the frame or null if none was added within the timeout
+     */
+    public synchronized @Nullable Frame take(long sequence, boolean toSyncPoint, long timeout)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (sequence >= nextSequence || firstSequence == nextSequence) {
+            long wait = deadline - System.currentTimeMillis();
+            if (wait <= 0) {
+                return null;
+            }
+            wait(wait);
+        }
+        Frame frame = sequence >= firstSequence ? frames[index(sequence)] : null;
+        if (frame == null || nextPosition - frame.position() > MAX_LAG_BYTES) {
+            frame = getLatest(toSyncPoint, sequence);
+        }
+        return frame;
+    }
+
+    /**
+     * Drops all frames, the sequence continues.
+     */
+    public synchronized void clear() {
+        while (firstSequence < nextSequence) {
+            removeFirst();
+        }
+    }
+
+    private @Nullable Frame getLatest(boolean syncPoint, long from) {
+        if (syncPoint) {
+            for (long sequence = nextSequence - 1; sequence >= Math.max(firstSequence, from); sequence--) {
+                Frame frame = frames[index(sequence)];
+                if (frame != null && frame.syncOffset() >= 0) {
+                    return frame;
+                }
+            }
+        }
+        return frames[index(nextSequence - 1)];
+    }
+
+    private void removeFirst() {
+        int index = index(firstSequence);
+        Frame frame = frames[index];
+        if (frame != null) {
+            bytes -= frame.length();
+            frames[index] = null;
+        }
+        firstSequence++;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % MAX_FRAMES);
+    }
+}
@@ -12,29 +12,38 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all streams to allow
+ * 1 to many streams without needing to open more than 1 source stream. The frames are kept once in a
+ * {@link FrameRing} that all streams read from.
  *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
 public class OpenStreams {
     private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<>());
+    private final FrameRing frameRing = new FrameRing();
     public String boundary = "thisMjpegStream";
+    private volatile byte[] boundaryBytes = boundary.getBytes(StandardCharsets.US_ASCII);
 
     public synchronized void addStream(StreamOutput stream) {
+        stream.attach(frameRing);
         openStreams.add(stream);
     }
 
     public synchronized void removeStream(StreamOutput stream) {
         openStreams.remove(stream);
+        if (openStreams.isEmpty()) {
+            frameRing.clear();
+        }
     }
 
     public synchronized int getNumberOfStreams() {
@@ -47,15 +56,25 @@ public class OpenStreams {
 
     public synchronized void updateContentType(String contentType, String boundary) {
         this.boundary = boundary;
+        boundaryBytes = boundary.getBytes(StandardCharsets.US_ASCII);
         for (StreamOutput stream : openStreams) {
             stream.updateContentType(contentType);
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
-        for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+    public void queueFrame(byte[] frame) {
+        queueFrame(frame, frame.length);
+    }
+
+    /**
+     * Passes the first bytes of the buffer to all streams. The buffer is not copied, so it must not be changed
+     * afterwards.
+     */
+    public void queueFrame(byte[] frame, int length) {
+        if (openStreams.isEmpty()) {
+            return;
         }
+        frameRing.add(frame, length, findBoundary(frame, length));
     }
 
     public synchronized void closeAllStreams() {
@@ -63,5 +82,24 @@ public class OpenStreams {
             stream.close();
         }
         openStreams.clear();
+        frameRing.clear();
+    }
+
+    /**
+     * Returns the position of the first part boundary, so a stream that skipped frames can continue with a new
+     * picture.
+     */
+    private int findBoundary(byte[] frame, int length) {
+        byte[] pattern = boundaryBytes;
+        if (pattern.length == 0) {
+            return -1;
+        }
+        for (int i = 0; i <= length - pattern.length; i++) {
+            if (frame[i] == pattern[0] && Arrays.equals(frame, i, i + pattern.length, pattern, 0, pattern.length)) {
+                // include the leading dashes of the delimiter
+                return i >= 2 && frame[i - 1] == '-' && frame[i - 2] == '-' ? i - 2 : i;
+            }
+        }
+        return -1;
     }
 }
@@ -13,31 +13,39 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.FrameRing.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link StreamOutput} Streams mjpeg out to a client
+ * The {@link StreamOutput} Streams mjpeg out to a client. The frames are read from the {@link FrameRing} of the
+ * {@link OpenStreams} the stream was added to, a client that can't keep up skips frames.
  *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
 public class StreamOutput {
+    private static final long FRAME_TIMEOUT_MS = 1000;
+
     public final Logger logger = LoggerFactory.getLogger(getClass());
     private final HttpServletResponse response;
     private final String boundary;
     private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<>(50);
+    private @Nullable FrameRing frameRing;
+    private long nextSequence;
+    private volatile boolean closed = false;
     private boolean connected = false;
     public boolean isSnapshotBased = false;
+    private long framesSent;
+    private long bytesSent;
+    private long framesDropped;
 
     public StreamOutput(HttpServletResponse response) throws IOException {
         boundary = "thisMjpegStream";
@@ -59,29 +67,33 @@ public class StreamOutput {
     }
 
     public void sendSnapshotBasedFrame(byte[] currentSnapshot) throws IOException {
+        sendSnapshotBasedFrame(currentSnapshot, currentSnapshot.length);
+    }
+
+    private void sendSnapshotBasedFrame(byte[] currentSnapshot, int length) throws IOException {
         String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
-                + currentSnapshot.length + "\r\n\r\n";
+                + length + "\r\n\r\n";
         if (!connected) {
             sendInitialHeaders();
             // iOS needs to have two jpgs sent for the picture to appear instantly.
             output.write(header.getBytes());
-            output.write(currentSnapshot);
+            output.write(currentSnapshot, 0, length);
             output.write("\r\n".getBytes());
             connected = true;
         }
         output.write(header.getBytes());
-        output.write(currentSnapshot);
+        output.write(currentSnapshot, 0, length);
         output.write("\r\n".getBytes());
+        framesSent++;
+        bytesSent += length;
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
-        }
+    /**
+     * Starts reading from the given ring with the next frame that will be added.
+     */
+    public void attach(FrameRing frameRing) {
+        nextSequence = frameRing.getNextSequence();
+        this.frameRing = frameRing;
     }
 
     public void updateContentType(String contentType) {
@@ -93,13 +105,56 @@ public class StreamOutput {
     }
 
     public void sendFrame() throws IOException, InterruptedException {
+        FrameRing localRing = frameRing;
+        if (localRing == null) {
+            throw new IOException("Stream has not been opened");
+        }
+        Frame frame;
+        do {
+            if (closed) {
+                throw new IOException("Stream has been closed");
+            }
+            frame = localRing.take(nextSequence, !isSnapshotBased, FRAME_TIMEOUT_MS);
+        } while (frame == null);
+
+        boolean skipped = frame.sequence() != nextSequence;
+        if (skipped) {
+            framesDropped += frame.sequence() - nextSequence;
+            logger.trace("Client is too slow, skipped {} frames", frame.sequence() - nextSequence);
+        }
+        nextSequence = frame.sequence() + 1;
         if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
+            sendSnapshotBasedFrame(frame.data(), frame.length());
         } else if (connected) {
-            output.write(fifo.take());
+            // continue at a part boundary after skipping, so the client doesn't get half a picture
+            int offset = skipped && frame.syncOffset() >= 0 ? frame.syncOffset() : 0;
+            output.write(frame.data(), offset, frame.length() - offset);
+            bytesSent += frame.length() - offset;
+            framesSent++;
         }
     }
 
+    /**
+     * @return the number of frames sent to the client
+     */
+    public long getFramesSent() {
+        return framesSent;
+    }
+
+    /**
+     * @return the number of bytes of frames sent to the client
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * @return the number of frames skipped because the client could not keep up
+     */
+    public long getFramesDropped() {
+        return framesDropped;
+    }
+
     private void sendInitialHeaders() {
         response.setContentType(contentType);
         response.setHeader("Access-Control-Allow-Origin", "*");
@@ -107,6 +162,7 @@ public class StreamOutput {
     }
 
     public void close() {
+        closed = true;
         try {
             output.close();
         } catch (IOException e) {
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.servlet.FrameRing.Frame;
+
+/**
+ * Tests for {@link FrameRing}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class FrameRingTest {
+
+    private final FrameRing ring = new FrameRing();
+
+    @Test
+    public void framesAreTakenInOrder() throws InterruptedException {
+        ring.add(new byte[10], 10, 0);
+        ring.add(new byte[20], 20, -1);
+
+        Frame first = take(0, true);
+        assertEquals(0, first.sequence());
+        assertEquals(0, first.position());
+        Frame second = take(1, true);
+        assertEquals(1, second.sequence());
+        assertEquals(10, second.position());
+        assertEquals(20, second.length());
+    }
+
+    @Test
+    public void takeTimesOutWithoutNewFrame() throws InterruptedException {
+        ring.add(new byte[10], 10, 0);
+
+        assertNull(ring.take(1, true, 10));
+    }
+
+    @Test
+    public void wrapAroundDropsOldestFrames() throws InterruptedException {
+        int count = FrameRing.MAX_FRAMES + 10;
+        for (int i = 0; i < count; i++) {
+            ring.add(new byte[] { (byte) i }, 1, i == 5 || i == 20 ? 0 : -1);
+        }
+        assertEquals(count, ring.getNextSequence());
+
+        // the slot of frame 5 has been reused, a client still waiting for it continues at the latest sync point
+        Frame skipped = take(5, true);
+        assertEquals(20, skipped.sequence());
+        // frames after the wrap around are found in their reused slots
+        Frame wrapped = take(FrameRing.MAX_FRAMES + 3, true);
+        assertEquals(FrameRing.MAX_FRAMES + 3, wrapped.sequence());
+        assertEquals((byte) (FrameRing.MAX_FRAMES + 3), wrapped.data()[0]);
+        Frame oldest = take(10, true);
+        assertEquals(10, oldest.sequence());
+    }
+
+    @Test
+    public void laggingClientSkipsToLatestSyncFrame() throws InterruptedException {
+        int size = (int) (FrameRing.MAX_LAG_BYTES / 4);
+        for (int i = 0; i < 6; i++) {
+            ring.add(new byte[size], size, i % 2 == 0 ? 0 : -1);
+        }
+
+        Frame frame = take(0, true);
+        assertEquals(4, frame.sequence());
+        assertTrue(frame.syncOffset() >= 0);
+        // a client without part boundaries continues with the newest frame
+        assertEquals(5, take(0, false).sequence());
+    }
+
+    @Test
+    public void laggingClientFallsBackToNewestFrameWithoutSyncFrame() throws InterruptedException {
+        int size = (int) (FrameRing.MAX_LAG_BYTES / 4);
+        ring.add(new byte[size], size, 0);
+        for (int i = 0; i < 5; i++) {
+            ring.add(new byte[size], size, -1);
+        }
+
+        // the sync frame 0 is before the frames the client has not sent yet
+        assertEquals(5, take(1, true).sequence());
+    }
+
+    @Test
+    public void clearKeepsSequence() throws InterruptedException {
+        ring.add(new byte[10], 10, 0);
+        ring.add(new byte[10], 10, 0);
+        ring.clear();
+
+        assertNull(ring.take(0, true, 10));
+        ring.add(new byte[10], 10, 0);
+        assertEquals(2, take(0, true).sequence());
+    }
+
+    private Frame take(long sequence, boolean toSyncPoint) throws InterruptedException {
+        Frame frame = ring.take(sequence, toSyncPoint, 10);
+        assertNotNull(frame);
+        return frame;
+    }
+}
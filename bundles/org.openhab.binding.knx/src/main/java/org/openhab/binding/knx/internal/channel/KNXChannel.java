@@ -52,6 +52,7 @@ public abstract class KNXChannel {
     private final Map<String, GroupAddressConfiguration> groupAddressConfigurations = new LinkedHashMap<>();
     private final List<GroupAddress> listenAddresses = new ArrayList<>();
     private final List<GroupAddress> writeAddresses = new ArrayList<>();
+    private final List<ListenSpecImpl> listenSpecs = new ArrayList<>();
     private final String channelType;
     private final ChannelUID channelUID;
     private final boolean isControl;
@@ -89,6 +90,8 @@ public abstract class KNXChannel {
                 // store address configuration for re-use
                 listenAddresses.addAll(groupAddressConfiguration.getListenGAs());
                 writeAddresses.add(groupAddressConfiguration.getMainGA());
+                // bind the decoder once instead of for every telegram
+                listenSpecs.add(new ListenSpecImpl(groupAddressConfiguration, getDefaultDPT(key), preferredType));
             }
         });
     }
@@ -163,10 +166,13 @@ public abstract class KNXChannel {
                 .filter(spec -> !spec.getGroupAddresses().isEmpty()).collect(toList());
     }
 
-    public final @Nullable InboundSpec getListenSpec(GroupAddress groupAddress) {
-        return groupAddressConfigurations.entrySet().stream()
-                .map(entry -> new ListenSpecImpl(entry.getValue(), getDefaultDPT(entry.getKey())))
-                .filter(spec -> spec.getGroupAddresses().contains(groupAddress)).findFirst().orElse(null);
+    public final @Nullable ListenSpecImpl getListenSpec(GroupAddress groupAddress) {
+        for (ListenSpecImpl listenSpec : listenSpecs) {
+            if (listenSpec.getGroupAddresses().contains(groupAddress)) {
+                return listenSpec;
+            }
+        }
+        return null;
     }
 
     public final @Nullable OutboundSpec getResponseSpec(GroupAddress groupAddress, Type value) {
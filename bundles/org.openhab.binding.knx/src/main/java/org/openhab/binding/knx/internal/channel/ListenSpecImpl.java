@@ -17,6 +17,8 @@ import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.InboundSpec;
+import org.openhab.binding.knx.internal.dpt.DPTDecoder;
+import org.openhab.core.types.Type;
 
 import tuwien.auto.calimero.GroupAddress;
 
@@ -30,10 +32,13 @@ import tuwien.auto.calimero.GroupAddress;
 public class ListenSpecImpl implements InboundSpec {
     private final String dpt;
     private final Set<GroupAddress> listenAddresses;
+    private final DPTDecoder decoder;
 
-    public ListenSpecImpl(GroupAddressConfiguration groupAddressConfiguration, String defaultDPT) {
+    public ListenSpecImpl(GroupAddressConfiguration groupAddressConfiguration, String defaultDPT,
+            Class<? extends Type> preferredType) {
         this.dpt = Objects.requireNonNullElse(groupAddressConfiguration.getDPT(), defaultDPT);
         this.listenAddresses = groupAddressConfiguration.getListenGAs();
+        this.decoder = DPTDecoder.of(dpt, preferredType);
     }
 
     @Override
@@ -45,4 +50,13 @@ public class ListenSpecImpl implements InboundSpec {
     public Set<GroupAddress> getGroupAddresses() {
         return listenAddresses;
     }
+
+    /**
+     * Get the decoder for the data received on the listen addresses.
+     *
+     * @return the decoder for the datapoint type and the preferred type of the channel
+     */
+    public DPTDecoder getDecoder() {
+        return decoder;
+    }
 }
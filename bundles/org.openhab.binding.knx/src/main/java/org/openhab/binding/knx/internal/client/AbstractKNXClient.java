@@ -18,10 +18,10 @@ import java.time.Duration;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -86,6 +86,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     private static final int MAX_SEND_ATTEMPTS = 2;
 
+    // reads slower than this are considered a sign of a busy bus, and the pause between reads is increased
+    private static final long SLOW_READ_MILLIS = 250;
+    // upper limit of the adaptive pause between reads
+    private static final long MAX_READING_PAUSE_MILLIS = 2000;
+
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
 
     private final ThingUID thingUID;
@@ -108,7 +113,16 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final ReadQueue readDatapoints = new ReadQueue();
+    // guarded by readDatapoints
+    private boolean readJobActive;
+    private boolean readJobScheduled;
+    private volatile long currentReadingPause;
+    private volatile long lastReadNanos;
+    private volatile long averageReadNanos;
+    private volatile long averageWaitNanos;
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder readFailures = new LongAdder();
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -149,6 +163,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
+        this.currentReadingPause = readingPause;
+        this.lastReadNanos = System.nanoTime();
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
@@ -256,9 +272,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             // register this class, callbacks will be triggered
             link.addLinkListener(this);
 
-            // create a job carrying out read requests
-            busJob = knxScheduler.scheduleWithFixedDelay(this::readNextQueuedDatapoint, 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            // start the job carrying out read requests, it runs while reads are queued
+            synchronized (readDatapoints) {
+                readJobActive = true;
+                currentReadingPause = readingPause;
+                scheduleReadJob(0);
+            }
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             connectJob = null;
@@ -312,8 +331,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (tmpLink != null) {
             tmpLink.removeLinkListener(this);
         }
-        readDatapoints.clear();
-        busJob = nullify(busJob, j -> j.cancel(true));
+        synchronized (readDatapoints) {
+            readJobActive = false;
+            readJobScheduled = false;
+            readDatapoints.clear();
+            busJob = nullify(busJob, j -> j.cancel(true));
+        }
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, ManagementProcedures::detach);
         managementClient = nullify(managementClient, ManagementClient::detach);
@@ -364,9 +387,30 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
-    // datapoint is null at end of the list, warning is misleading
-    @SuppressWarnings("null")
+    /**
+     * Schedules the read job, unless it is already scheduled. Must be called while holding the lock of
+     * {@link #readDatapoints}.
+     */
+    private void scheduleReadJob(long delayMillis) {
+        if (readJobActive && !readJobScheduled && !readDatapoints.isEmpty()) {
+            readJobScheduled = true;
+            busJob = knxScheduler.schedule(this::readNextQueuedDatapoint, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
     private void readNextQueuedDatapoint() {
+        try {
+            readQueuedDatapoint();
+        } finally {
+            lastReadNanos = System.nanoTime();
+            synchronized (readDatapoints) {
+                readJobScheduled = false;
+                scheduleReadJob(currentReadingPause);
+            }
+        }
+    }
+
+    private void readQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
             return;
         }
@@ -384,12 +428,17 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             }
 
             datapoint.incrementRetries();
+            long start = System.nanoTime();
+            averageWaitNanos = average(averageWaitNanos, start - datapoint.getQueuedNanos());
             try {
                 logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
+                reads.increment();
                 processCommunicator.read(datapoint.getDatapoint());
+                onReadCompleted(System.nanoTime() - start);
             } catch (KNXException e) {
                 // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
                 // KnxIllegalArgumentException
+                onReadFailed();
                 if (datapoint.getRetries() < datapoint.getLimit()) {
                     readDatapoints.add(datapoint);
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
@@ -404,12 +453,49 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
                 // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
                 // Not catching this would end the scheduled read for all DPs in case of an error.
                 // Severity is warning as this is likely caused by a configuration error.
+                onReadFailed();
                 logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(),
                         e.getMessage());
             }
         }
     }
 
+    /**
+     * Adapts the pause between reads to the response time of the bus: slow responses increase the pause, fast
+     * responses decrease it again down to the configured reading pause.
+     */
+    private void onReadCompleted(long nanos) {
+        averageReadNanos = average(averageReadNanos, nanos);
+        long pause = currentReadingPause;
+        if (TimeUnit.NANOSECONDS.toMillis(nanos) > SLOW_READ_MILLIS) {
+            pause = Math.min(MAX_READING_PAUSE_MILLIS, Math.max(pause + pause / 2, readingPause + 10));
+        } else {
+            pause = Math.max(readingPause, pause - pause / 4);
+        }
+        currentReadingPause = pause;
+    }
+
+    /**
+     * Backs off after a failed read, e.g. a timeout or a negative confirmation from a busy bus.
+     */
+    private void onReadFailed() {
+        readFailures.increment();
+        currentReadingPause = Math.min(MAX_READING_PAUSE_MILLIS,
+                Math.max(currentReadingPause * 2, readingPause + 10));
+    }
+
+    private static long average(long average, long sample) {
+        return average == 0 ? sample : (average * 7 + sample) / 8;
+    }
+
+    @Override
+    public ReadStatistics getReadStatistics() {
+        return new ReadStatistics(readDatapoints.size(), readDatapoints.size(ReadPriority.USER),
+                readDatapoints.size(ReadPriority.STARTUP), readDatapoints.size(ReadPriority.PERIODIC), reads.sum(),
+                readFailures.sum(), TimeUnit.NANOSECONDS.toMillis(averageReadNanos),
+                TimeUnit.NANOSECONDS.toMillis(averageWaitNanos), currentReadingPause);
+    }
+
     public void dispose() {
         state = ClientState.DISPOSE;
 
@@ -509,12 +595,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        synchronized (readDatapoints) {
+            readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
+            // keep the pause to the previous read if the job was idle
+            long sinceLastRead = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastReadNanos);
+            scheduleReadJob(Math.max(0, currentReadingPause - sinceLastRead));
         }
     }
 
@@ -78,8 +78,16 @@ public interface KNXClient {
      * Schedule the given data point for asynchronous reading.
      *
      * @param datapoint the datapoint
+     * @param priority the priority of the read, pending reads with higher priority are read first
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
+
+    /**
+     * Get statistics about the queued and completed read requests.
+     *
+     * @return the read statistics
+     */
+    ReadStatistics getReadStatistics();
 
     /**
      * Write a command to the KNX bus.
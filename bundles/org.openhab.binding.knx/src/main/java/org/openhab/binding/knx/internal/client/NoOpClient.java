@@ -57,7 +57,12 @@ public class NoOpClient implements KNXClient {
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+    }
+
+    @Override
+    public ReadStatistics getReadStatistics() {
+        return ReadStatistics.EMPTY;
     }
 
     @Override
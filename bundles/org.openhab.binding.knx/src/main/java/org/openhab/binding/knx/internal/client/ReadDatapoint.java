@@ -28,11 +28,19 @@ public class ReadDatapoint {
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private ReadPriority priority;
+    private long queuedNanos;
 
     public ReadDatapoint(Datapoint datapoint, int limit) {
+        this(datapoint, limit, ReadPriority.USER);
+    }
+
+    public ReadDatapoint(Datapoint datapoint, int limit, ReadPriority priority) {
         this.datapoint = datapoint;
         this.retries = 0;
         this.limit = limit;
+        this.priority = priority;
+        this.queuedNanos = System.nanoTime();
     }
 
     public Datapoint getDatapoint() {
@@ -51,6 +59,21 @@ public class ReadDatapoint {
         return limit;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(ReadPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * @return value of {@link System#nanoTime()} when the read was queued
+     */
+    public long getQueuedNanos() {
+        return queuedNanos;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Priority of a queued read request. Requests are read in the order of the constants, i.e. a pending {@link #USER}
+ * request is read before all {@link #STARTUP} and {@link #PERIODIC} requests.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public enum ReadPriority {
+    /** read triggered by the user, e.g. a REFRESH command */
+    USER,
+    /** initial read of a channel after the thing has been initialized or the channel has been linked */
+    STARTUP,
+    /** recurring read according to the readInterval of a thing */
+    PERIODIC
+}
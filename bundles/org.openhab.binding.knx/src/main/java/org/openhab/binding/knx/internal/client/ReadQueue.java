@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of {@link ReadDatapoint}s waiting to be read from the KNX bus.
+ * <p>
+ * Reads are returned by {@link ReadPriority}, and in the order they were queued within the same priority. A group
+ * address is queued at most once: queuing it again while it is pending only raises its priority if needed.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class ReadQueue {
+
+    private final Map<ReadPriority, ArrayDeque<ReadDatapoint>> queues = new EnumMap<>(ReadPriority.class);
+    private final Map<GroupAddress, ReadDatapoint> pending = new HashMap<>();
+
+    public ReadQueue() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queues a read.
+     *
+     * @param datapoint the read to queue
+     * @return <code>true</code> if the group address was not pending yet
+     */
+    public synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        ReadDatapoint queued = pending.get(address);
+        if (queued == null) {
+            pending.put(address, datapoint);
+            queue(datapoint.getPriority()).add(datapoint);
+            return true;
+        }
+        if (datapoint.getPriority().compareTo(queued.getPriority()) < 0) {
+            queue(queued.getPriority()).remove(queued);
+            queued.setPriority(datapoint.getPriority());
+            queue(queued.getPriority()).add(queued);
+        }
+        return false;
+    }
+
+    /**
+     * Removes the next read from the queue.
+     *
+     * @return the read with the highest priority, or <code>null</code> if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            ReadDatapoint datapoint = queue(priority).poll();
+            if (datapoint != null) {
+                pending.remove(datapoint.getDatapoint().getMainAddress());
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    public synchronized void clear() {
+        queues.values().forEach(ArrayDeque::clear);
+        pending.clear();
+    }
+
+    public synchronized boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    public synchronized int size(ReadPriority priority) {
+        return queue(priority).size();
+    }
+
+    private ArrayDeque<ReadDatapoint> queue(ReadPriority priority) {
+        ArrayDeque<ReadDatapoint> queue = queues.get(priority);
+        if (queue == null) {
+            // cannot happen, all priorities are initialized in the constructor
+            throw new IllegalStateException("No queue for priority " + priority);
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Statistics of the read requests sent by a {@link KNXClient}.
+ *
+ * @param queued number of reads waiting in the queue
+ * @param queuedUser number of queued reads with priority {@link ReadPriority#USER}
+ * @param queuedStartup number of queued reads with priority {@link ReadPriority#STARTUP}
+ * @param queuedPeriodic number of queued reads with priority {@link ReadPriority#PERIODIC}
+ * @param reads number of read requests sent
+ * @param failures number of read requests which failed
+ * @param averageLatencyMillis moving average of the time between sending a read request and receiving the response
+ * @param averageWaitMillis moving average of the time a read waited in the queue
+ * @param pauseMillis current pause between two read requests
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public record ReadStatistics(int queued, int queuedUser, int queuedStartup, int queuedPeriodic, long reads,
+        long failures, long averageLatencyMillis, long averageWaitMillis, long pauseMillis) {
+
+    public static final ReadStatistics EMPTY = new ReadStatistics(0, 0, 0, 0, 0, 0, 0, 0, 0);
+}
@@ -18,6 +18,7 @@ import java.util.Map.Entry;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.KNXBindingConstants;
+import org.openhab.binding.knx.internal.client.ReadStatistics;
 import org.openhab.binding.knx.internal.factory.KNXHandlerFactory;
 import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler;
 import org.openhab.core.io.console.Console;
@@ -39,7 +40,9 @@ import org.osgi.service.component.annotations.Reference;
 public class KNXCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
 
     private static final String CMD_LIST_UNKNOWN_GA = "list-unknown-ga";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST_UNKNOWN_GA), false);
+    private static final String CMD_READ_STATISTICS = "read-statistics";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST_UNKNOWN_GA, CMD_READ_STATISTICS), false);
 
     private final KNXHandlerFactory knxHandlerFactory;
 
@@ -60,14 +63,29 @@ public class KNXCommandExtension extends AbstractConsoleCommandExtension impleme
                 }
             }
             return;
+        } else if (args.length == 1 && CMD_READ_STATISTICS.equalsIgnoreCase(args[0])) {
+            for (KNXBridgeBaseThingHandler bridgeHandler : knxHandlerFactory.getBridges()) {
+                ReadStatistics statistics = bridgeHandler.getReadStatistics();
+                console.println("KNX bridge \"" + bridgeHandler.getThing().getLabel() + "\":");
+                console.println(String.format("  queued reads: %d (user %d, startup %d, periodic %d)",
+                        statistics.queued(), statistics.queuedUser(), statistics.queuedStartup(),
+                        statistics.queuedPeriodic()));
+                console.println(String.format("  reads sent: %d, failed: %d", statistics.reads(),
+                        statistics.failures()));
+                console.println(String.format("  average response time: %d ms, average time in queue: %d ms",
+                        statistics.averageLatencyMillis(), statistics.averageWaitMillis()));
+                console.println(String.format("  current pause between reads: %d ms", statistics.pauseMillis()));
+            }
+            return;
         }
         printUsage(console);
     }
 
     @Override
     public List<String> getUsages() {
-        return List
-                .of(buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"));
+        return List.of(
+                buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"),
+                buildCommandUsage(CMD_READ_STATISTICS, "show queue depth and response times of read requests"));
     }
 
     @Override
@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import static org.openhab.binding.knx.internal.KNXBindingConstants.disableUoM;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.DPTXlator64BitSigned;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * The {@link DPTDecoder} converts raw data of one DPT to the openHAB type preferred by a channel.
+ * <p>
+ * Everything that only depends on the DPT and the preferred type (parsing the DPT id, creating the translator,
+ * looking up the allowed types and the unit) is done once, when the decoder is created. The common DPTs (1.x, the
+ * numeric DPTs and 232.600) are decoded directly from the raw data, without creating the string representation of
+ * the value. All other DPTs, and all data that cannot be decoded on the fast path, are passed to
+ * {@link ValueDecoder#decode(String, byte[], Class)}, so the result is always the same.
+ * <p>
+ * Decoders are immutable (apart from the synchronized use of the translator) and shared between channels.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public abstract class DPTDecoder {
+    private static final Map<Key, DPTDecoder> DECODERS = new ConcurrentHashMap<>();
+
+    // main types handled by ValueDecoder#handleNumericDpt without special cases
+    private static final Set<String> NUMERIC_MAIN_TYPES = Set.of("5", "7", "8", "9", "12", "13", "14", "29");
+
+    private record Key(String dptId, Class<? extends Type> preferredType) {
+    }
+
+    protected final String dptId;
+    protected final Class<? extends Type> preferredType;
+    private final boolean supported;
+
+    private DPTDecoder(String dptId, Class<? extends Type> preferredType) {
+        this.dptId = dptId;
+        this.preferredType = preferredType;
+        this.supported = !DPTUtil.getAllowedTypes(dptId).isEmpty();
+    }
+
+    /**
+     * get the decoder for the given DPT and preferred type
+     *
+     * @param dptId the DPT of the data
+     * @param preferredType the preferred datatype for the conversion
+     * @return the decoder
+     */
+    public static DPTDecoder of(String dptId, Class<? extends Type> preferredType) {
+        return DECODERS.computeIfAbsent(new Key(dptId, preferredType), key -> create(dptId, preferredType));
+    }
+
+    /**
+     * @return whether the DPT is supported by the binding
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    public String getDPT() {
+        return dptId;
+    }
+
+    /**
+     * convert the raw value received to the corresponding openHAB value
+     *
+     * @param data a byte array containing the value
+     * @return the data converted to an openHAB Type (or null if conversion failed)
+     */
+    public abstract @Nullable Type decode(byte[] data);
+
+    protected @Nullable Type decodeGeneric(byte[] data) {
+        return ValueDecoder.decode(dptId, data, preferredType);
+    }
+
+    private static DPTDecoder create(String dptId, Class<? extends Type> preferredType) {
+        Matcher m = DPTUtil.DPT_PATTERN.matcher(dptId);
+        String subType = m.matches() ? m.group("sub") : null;
+        if (subType == null) {
+            return new GenericDecoder(dptId, preferredType);
+        }
+        String mainType = m.group("main");
+
+        DPTXlator translator;
+        try {
+            translator = TranslatorTypes.createTranslator(0, DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
+        } catch (KNXException e) {
+            // not supported by Calimero, let ValueDecoder report or handle it
+            return new GenericDecoder(dptId, preferredType);
+        }
+
+        if ("1".equals(mainType)) {
+            Type off = ValueDecoder.decode(dptId, new byte[] { 0 }, preferredType);
+            Type on = ValueDecoder.decode(dptId, new byte[] { 1 }, preferredType);
+            if (off != null && on != null) {
+                return new BooleanDecoder(dptId, preferredType, off, on);
+            }
+        } else if (NUMERIC_MAIN_TYPES.contains(mainType)) {
+            Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(dptId);
+            Unit<?> unit = null;
+            String unitString = DPTUnits.getUnitForDpt(dptId);
+            if (allowedTypes.contains(QuantityType.class) && unitString != null) {
+                try {
+                    // parse the unit the same way as the values decoded by ValueDecoder
+                    unit = new QuantityType<>("0 " + unitString).getUnit();
+                } catch (IllegalArgumentException e) {
+                    return new GenericDecoder(dptId, preferredType);
+                }
+            }
+            return new NumericDecoder(dptId, preferredType, translator, allowedTypes, unit);
+        } else if ("232".equals(mainType)) {
+            return new RgbDecoder(dptId, preferredType, subType);
+        }
+        return new GenericDecoder(dptId, preferredType);
+    }
+
+    /**
+     * Decoder for DPTs without fast path
+     */
+    private static class GenericDecoder extends DPTDecoder {
+        GenericDecoder(String dptId, Class<? extends Type> preferredType) {
+            super(dptId, preferredType);
+        }
+
+        @Override
+        public @Nullable Type decode(byte[] data) {
+            return decodeGeneric(data);
+        }
+    }
+
+    /**
+     * Decoder for DPT 1.x, the two possible values are determined in advance
+     */
+    private static class BooleanDecoder extends DPTDecoder {
+        private final Type off;
+        private final Type on;
+
+        BooleanDecoder(String dptId, Class<? extends Type> preferredType, Type off, Type on) {
+            super(dptId, preferredType);
+            this.off = off;
+            this.on = on;
+        }
+
+        @Override
+        public @Nullable Type decode(byte[] data) {
+            if (data.length != 1) {
+                return decodeGeneric(data);
+            }
+            return (data[0] & 0x01) != 0 ? on : off;
+        }
+    }
+
+    /**
+     * Decoder for numeric DPTs, using a single translator and the unit determined in advance
+     */
+    private static class NumericDecoder extends DPTDecoder {
+        private final DPTXlator translator;
+        private final boolean percent;
+        private final boolean decimal;
+        private final @Nullable Unit<?> unit;
+
+        NumericDecoder(String dptId, Class<? extends Type> preferredType, DPTXlator translator,
+                Set<Class<? extends Type>> allowedTypes, @Nullable Unit<?> unit) {
+            super(dptId, preferredType);
+            this.translator = translator;
+            this.percent = allowedTypes.contains(PercentType.class)
+                    && (HSBType.class.equals(preferredType) || PercentType.class.equals(preferredType));
+            this.decimal = allowedTypes.contains(DecimalType.class);
+            this.unit = unit;
+        }
+
+        @Override
+        public @Nullable Type decode(byte[] data) {
+            Unit<?> localUnit = disableUoM ? null : unit;
+            if (!percent && localUnit == null && !decimal) {
+                // let ValueDecoder report the missing type
+                return decodeGeneric(data);
+            }
+            try {
+                synchronized (translator) {
+                    translator.setData(data);
+                    if (translator instanceof DPTXlator64BitSigned translatorSigned) {
+                        // prevent loss of precision, do not represent 64bit decimal using double
+                        long value = translatorSigned.getValueSigned();
+                        return localUnit != null ? new QuantityType<>(value, localUnit) : new DecimalType(value);
+                    }
+                    double value = translator.getNumericValue();
+                    if (percent) {
+                        return new PercentType(BigDecimal.valueOf(Math.round(value)));
+                    }
+                    return localUnit != null ? new QuantityType<>(value, localUnit) : new DecimalType(value);
+                }
+            } catch (KNXException | RuntimeException e) {
+                // broken or invalid data, let ValueDecoder report it
+                return decodeGeneric(data);
+            }
+        }
+    }
+
+    /**
+     * Decoder for DPT 232.600, reading the color components directly from the data
+     */
+    private static class RgbDecoder extends DPTDecoder {
+        private final String subType;
+
+        RgbDecoder(String dptId, Class<? extends Type> preferredType, String subType) {
+            super(dptId, preferredType);
+            this.subType = subType;
+        }
+
+        @Override
+        public @Nullable Type decode(byte[] data) {
+            if (data.length != 3) {
+                return decodeGeneric(data);
+            }
+            return ValueDecoder.decodeRgb(data[0] & 0xff, data[1] & 0xff, data[2] & 0xff, subType);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author Martin Gerczuk - Initial contribution
+ *
+ */
+@NonNullByDefault
+class ReadQueueTest {
+
+    private static ReadDatapoint read(int address, ReadPriority priority) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(address), "test", 0, "1.001"), 3, priority);
+    }
+
+    private static int pollAddress(ReadQueue queue) {
+        ReadDatapoint datapoint = queue.poll();
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress().getRawAddress();
+    }
+
+    @Test
+    void testPriorityOrder() {
+        ReadQueue queue = new ReadQueue();
+        queue.add(read(1, ReadPriority.PERIODIC));
+        queue.add(read(2, ReadPriority.STARTUP));
+        queue.add(read(3, ReadPriority.USER));
+        queue.add(read(4, ReadPriority.STARTUP));
+
+        assertEquals(4, queue.size());
+        assertEquals(2, queue.size(ReadPriority.STARTUP));
+        assertEquals(3, pollAddress(queue));
+        assertEquals(2, pollAddress(queue));
+        assertEquals(4, pollAddress(queue));
+        assertEquals(1, pollAddress(queue));
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testDuplicateIsIgnored() {
+        ReadQueue queue = new ReadQueue();
+        assertTrue(queue.add(read(1, ReadPriority.STARTUP)));
+        assertFalse(queue.add(read(1, ReadPriority.PERIODIC)));
+        assertEquals(1, queue.size());
+        assertEquals(1, queue.size(ReadPriority.STARTUP));
+    }
+
+    @Test
+    void testDuplicateRaisesPriority() {
+        ReadQueue queue = new ReadQueue();
+        queue.add(read(1, ReadPriority.PERIODIC));
+        queue.add(read(2, ReadPriority.PERIODIC));
+        assertFalse(queue.add(read(2, ReadPriority.USER)));
+
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.size(ReadPriority.USER));
+        assertEquals(2, pollAddress(queue));
+        assertEquals(1, pollAddress(queue));
+    }
+
+    @Test
+    void testReadCanBeQueuedAgainAfterPoll() {
+        ReadQueue queue = new ReadQueue();
+        queue.add(read(1, ReadPriority.USER));
+        pollAddress(queue);
+        assertTrue(queue.add(read(1, ReadPriority.USER)));
+    }
+}
@@ -25,15 +25,20 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.Type;
 import org.openhab.core.util.ColorUtil;
 
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
@@ -528,6 +533,51 @@ class DPTTest {
         assertNotEquals(DPTXlator64BitSigned.DPT_REACTIVE_ENERGY.getUnit(), Units.VAR_HOUR.toString());
     }
 
+    private static Stream<Arguments> decoderProvider() {
+        return Stream.of( //
+                Arguments.of("1.001", new byte[] { 0 }, OnOffType.class), //
+                Arguments.of("1.001", new byte[] { 1 }, OnOffType.class), //
+                Arguments.of("1.001", new byte[] { 1 }, OpenClosedType.class), //
+                Arguments.of("1.008", new byte[] { 1 }, OnOffType.class), //
+                Arguments.of("1.009", new byte[] { 0 }, OnOffType.class), //
+                Arguments.of("1.022", new byte[] { 1 }, DecimalType.class), //
+                Arguments.of("1.001", new byte[] { 0, 1 }, OnOffType.class), //
+                Arguments.of("5.001", new byte[] { (byte) 0x80 }, QuantityType.class), //
+                Arguments.of("5.001", new byte[] { (byte) 0x80 }, PercentType.class), //
+                Arguments.of("5.001", new byte[] { (byte) 0x80 }, HSBType.class), //
+                Arguments.of("5.010", new byte[] { 42 }, DecimalType.class), //
+                Arguments.of("7.001", new byte[] { 1, 2 }, DecimalType.class), //
+                Arguments.of("8.010", new byte[] { (byte) 0x80, 0 }, QuantityType.class), //
+                Arguments.of("9.001", new byte[] { 0x0c, 0x1a }, QuantityType.class), //
+                Arguments.of("9.001", new byte[] { 0x7f, (byte) 0xff }, QuantityType.class), //
+                Arguments.of("9.001", new byte[] { 0x0c }, QuantityType.class), //
+                Arguments.of("13.010", new byte[] { 0, 1, 2, 3 }, QuantityType.class), //
+                Arguments.of("14.019", new byte[] { 0x3f, (byte) 0xc0, 0, 0 }, QuantityType.class), //
+                Arguments.of("14.056", new byte[] { 0x44, 0x7a, 0x20, 0 }, DecimalType.class), //
+                Arguments.of("29.010", new byte[] { 0, 0, 0, 0, 0, 0, 1, 0 }, QuantityType.class), //
+                Arguments.of("232.600", new byte[] { 10, 20, 30 }, HSBType.class), //
+                Arguments.of("232.60000", new byte[] { 10, 20, 30 }, HSBType.class), //
+                Arguments.of("232.600", new byte[] { 10, 20 }, HSBType.class), //
+                Arguments.of("6.020", new byte[] { 9 }, StringType.class), //
+                Arguments.of("10.001", new byte[] { 0x11, 0x1e, 0 }, DateTimeType.class), //
+                Arguments.of("1.091", new byte[] { 0 }, DecimalType.class));
+    }
+
+    @ParameterizedTest
+    @MethodSource("decoderProvider")
+    public void decoderMatchesValueDecoder(String dpt, byte[] data, Class<? extends Type> preferredType) {
+        DPTDecoder decoder = DPTDecoder.of(dpt, preferredType);
+        assertSame(decoder, DPTDecoder.of(dpt, preferredType));
+        assertEquals(Objects.toString(ValueDecoder.decode(dpt, data.clone(), preferredType)),
+                Objects.toString(decoder.decode(data.clone())));
+    }
+
+    @Test
+    public void decoderSupported() {
+        assertTrue(DPTDecoder.of("9.001", QuantityType.class).isSupported());
+        assertFalse(DPTDecoder.of("1234.001", QuantityType.class).isSupported());
+    }
+
     private static Stream<Map.Entry<String, String>> unitProvider() {
         return DPTUnits.getAllUnitStrings();
     }
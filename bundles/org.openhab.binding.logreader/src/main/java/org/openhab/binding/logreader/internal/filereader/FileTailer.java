@@ -12,72 +12,60 @@
  */
 package org.openhab.binding.logreader.internal.filereader;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListener;
-import org.apache.commons.io.input.TailerListenerAdapter;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Apache Tailer based log file reader implementation.
+ * {@link FileChannel} based log file reader implementation.
+ * <p>
+ * New content is read in large blocks and split into lines without intermediate copies. The file is detected as
+ * rotated if it got shorter or if the path refers to another file than the one being read. In that case the rest of
+ * the old file is read before continuing with the new one. Lines longer than {@link #MAX_LINE_LENGTH} bytes are split.
  *
  * @author Pauli Anttila - Initial contribution
  */
 @NonNullByDefault
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    static final int MAX_LINE_LENGTH = 1024 * 1024;
+    private static final String THREAD_NAME = "logreader";
+
     private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
+    private final Charset charset = Charset.defaultCharset();
 
-    private @Nullable Tailer tailer;
     private @Nullable ExecutorService executor;
-
-    TailerListener logListener = new TailerListenerAdapter() {
-
-        @Override
-        public void handle(@Nullable String line) {
-            if (line == null) {
-                return;
-            }
-
-            sendLineToListeners(line);
-        }
-
-        @Override
-        public void fileNotFound() {
-            sendFileNotFoundToListeners();
-        }
-
-        @Override
-        public void handle(@Nullable Exception e) {
-            if (e == null) {
-                return;
-            }
-
-            sendExceptionToListeners(e);
-        }
-
-        @Override
-        public void fileRotated() {
-            sendFileRotationToListeners();
-        }
-    };
+    private volatile boolean run;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
 
     @Override
     public void start(String filePath, long refreshRate) throws FileReaderException {
-        Tailer localTailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
-        executor = Executors.newSingleThreadExecutor();
         try {
+            Path path = Path.of(filePath);
+            ExecutorService localExecutor = Executors
+                    .newSingleThreadExecutor(new NamedThreadFactory(THREAD_NAME, true));
+            executor = localExecutor;
+            run = true;
             logger.debug("Start executor");
-            executor.execute(localTailer);
+            localExecutor.execute(() -> tail(path, refreshRate));
             logger.debug("Executor started");
-            this.tailer = localTailer;
         } catch (Exception e) {
             throw new FileReaderException(e);
         }
@@ -86,12 +74,141 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
     @Override
     public void stop() {
         logger.debug("Shutdown");
-        if (tailer != null) {
-            tailer.stop();
-        }
-        if (executor != null) {
-            executor.shutdown();
+        run = false;
+        ExecutorService localExecutor = executor;
+        if (localExecutor != null) {
+            localExecutor.shutdownNow();
         }
         logger.debug("Shutdown complite");
     }
+
+    private void tail(Path path, long refreshRate) {
+        FileChannel channel = null;
+        try {
+            while (run && channel == null) {
+                try {
+                    channel = FileChannel.open(path, StandardOpenOption.READ);
+                } catch (NoSuchFileException e) {
+                    sendFileNotFoundToListeners();
+                    Thread.sleep(refreshRate);
+                }
+            }
+            if (channel == null) {
+                return;
+            }
+            // start at the end of the file
+            long position = channel.size();
+            Object fileKey = readAttributes(path).fileKey();
+
+            while (run) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = readAttributes(path);
+                } catch (NoSuchFileException e) {
+                    // moved away, but not replaced by a new file yet
+                    position = readLines(channel, position);
+                    sendFileNotFoundToListeners();
+                    Thread.sleep(refreshRate);
+                    continue;
+                }
+
+                if (attributes.size() < position
+                        || (fileKey != null && !Objects.equals(fileKey, attributes.fileKey()))) {
+                    sendFileRotationToListeners();
+                    FileChannel rotated;
+                    try {
+                        rotated = FileChannel.open(path, StandardOpenOption.READ);
+                    } catch (NoSuchFileException e) {
+                        // continue with the previous file
+                        sendFileNotFoundToListeners();
+                        Thread.sleep(refreshRate);
+                        continue;
+                    }
+                    // finish reading the old file, then start with the new one
+                    try (FileChannel old = channel) {
+                        readLines(old, position);
+                    } catch (IOException e) {
+                        sendExceptionToListeners(e);
+                    }
+                    channel = rotated;
+                    position = 0;
+                    fileKey = attributes.fileKey();
+                    continue;
+                }
+
+                if (channel.size() > position) {
+                    position = readLines(channel, position);
+                }
+                Thread.sleep(refreshRate);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (run) {
+                sendExceptionToListeners(e);
+            }
+        } catch (Exception e) {
+            if (run) {
+                sendExceptionToListeners(e);
+            }
+        } finally {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    logger.debug("Closing log file failed: {}", e.getMessage());
+                }
+            }
+            run = false;
+        }
+    }
+
+    private BasicFileAttributes readAttributes(Path path) throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class);
+    }
+
+    /**
+     * Read the complete lines from the given position to the end of the file.
+     *
+     * @return the position after the last complete line, an incomplete line is read again next time
+     */
+    private long readLines(FileChannel channel, long position) throws IOException {
+        ByteBuffer localBuffer = buffer;
+        localBuffer.clear();
+        long lineStart = position;
+        long readPosition = position;
+        int read;
+        while (run && (read = channel.read(localBuffer, readPosition)) > 0) {
+            readPosition += read;
+            byte[] data = localBuffer.array();
+            int end = localBuffer.position();
+            int start = 0;
+            for (int i = 0; i < end; i++) {
+                if (data[i] == '\n') {
+                    // swallow CR before LF
+                    int lineEnd = i > start && data[i - 1] == '\r' ? i - 1 : i;
+                    sendLineToListeners(new String(data, start, lineEnd - start, charset));
+                    start = i + 1;
+                }
+            }
+            lineStart += start;
+
+            if (start == 0 && end == localBuffer.capacity()) {
+                if (end < MAX_LINE_LENGTH) {
+                    // line is longer than the buffer
+                    localBuffer = ByteBuffer.allocate(Math.min(end * 2, MAX_LINE_LENGTH)).put(localBuffer.flip());
+                    buffer = localBuffer;
+                } else {
+                    logger.debug("Splitting line longer than {} bytes", MAX_LINE_LENGTH);
+                    sendLineToListeners(new String(data, 0, end, charset));
+                    lineStart += end;
+                    localBuffer.clear();
+                }
+            } else {
+                // keep the incomplete line for the next read
+                localBuffer.limit(end).position(start);
+                localBuffer.compact();
+            }
+        }
+        return lineStart;
+    }
 }
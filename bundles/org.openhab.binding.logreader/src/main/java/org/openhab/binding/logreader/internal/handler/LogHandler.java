@@ -14,7 +14,12 @@ package org.openhab.binding.logreader.internal.handler;
 
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -25,7 +30,9 @@ import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
 import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
@@ -46,6 +53,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
+    private static final int STATISTICS_INTERVAL_SECONDS = 10;
+
     private final Logger logger = LoggerFactory.getLogger(LogHandler.class);
 
     private final LogFileReader fileReader;
@@ -56,6 +65,11 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private @Nullable SearchEngine warningEngine;
     private @Nullable SearchEngine customEngine;
 
+    private final AtomicLong lineCount = new AtomicLong();
+    private final AtomicLong matchedLineCount = new AtomicLong();
+    private Instant statisticsStart = Instant.now();
+    private @Nullable ScheduledFuture<?> statisticsJob;
+
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
         this.fileReader = fileReader;
@@ -115,6 +129,9 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             fileReader.registerListener(this);
             fileReader.start(configuration.filePath, configuration.refreshRate);
             updateStatus(ThingStatus.ONLINE);
+            statisticsStart = Instant.now();
+            statisticsJob = scheduler.scheduleWithFixedDelay(this::updateStatistics, STATISTICS_INTERVAL_SECONDS,
+                    STATISTICS_INTERVAL_SECONDS, TimeUnit.SECONDS);
         } catch (Exception e) {
             logger.debug("Exception occurred during initalization: {}. ", e.getMessage(), e);
             shutdown();
@@ -160,7 +177,28 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         }
     }
 
+    /**
+     * Update the throughput channels with the lines read since the last update.
+     */
+    private void updateStatistics() {
+        Instant now = Instant.now();
+        long millis = Duration.between(statisticsStart, now).toMillis();
+        statisticsStart = now;
+        long lines = lineCount.getAndSet(0);
+        long matchedLines = matchedLineCount.getAndSet(0);
+        if (millis > 0) {
+            updateChannelIfLinked(CHANNEL_LINES_PER_SECOND, new DecimalType(lines * 1000.0 / millis));
+        }
+        updateChannelIfLinked(CHANNEL_MATCH_RATE,
+                new QuantityType<>(lines > 0 ? matchedLines * 100.0 / lines : 0, Units.PERCENT));
+    }
+
     private void shutdown() {
+        ScheduledFuture<?> job = statisticsJob;
+        if (job != null) {
+            job.cancel(true);
+            statisticsJob = null;
+        }
         logger.debug("Stop file reader");
         fileReader.unregisterListener(this);
         fileReader.stop();
@@ -188,20 +226,28 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             updateStatus(ThingStatus.ONLINE);
         }
 
+        lineCount.incrementAndGet();
+        boolean matched = false;
         if (errorEngine != null && errorEngine.isMatching(line)) {
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
             triggerChannel(CHANNEL_NEWERROR, line);
+            matched = true;
         }
         if (warningEngine != null && warningEngine.isMatching(line)) {
             updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
             triggerChannel(CHANNEL_NEWWARNING, line);
+            matched = true;
         }
         if (customEngine != null && customEngine.isMatching(line)) {
             updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
             triggerChannel(CHANNEL_NEWCUSTOM, line);
+            matched = true;
+        }
+        if (matched) {
+            matchedLineCount.incrementAndGet();
         }
     }
 
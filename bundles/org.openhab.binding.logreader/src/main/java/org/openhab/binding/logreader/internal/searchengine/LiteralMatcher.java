@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Aho-Corasick automaton to find any of several literal strings with a single pass over the data.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+class LiteralMatcher {
+
+    private static class State {
+        private final Map<Character, State> next = new HashMap<>();
+        private @Nullable State fail;
+        private boolean match;
+    }
+
+    private final State root = new State();
+
+    /**
+     * Build the automaton.
+     *
+     * @param literals strings to search, must not be empty.
+     */
+    LiteralMatcher(Collection<String> literals) {
+        for (String literal : literals) {
+            State state = root;
+            for (int i = 0; i < literal.length(); i++) {
+                state = state.next.computeIfAbsent(literal.charAt(i), c -> new State());
+            }
+            state.match = true;
+        }
+
+        // breadth first, so the fail state of the parent is known
+        Deque<State> queue = new ArrayDeque<>();
+        for (State child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            State state = queue.poll();
+            for (Map.Entry<Character, State> entry : state.next.entrySet()) {
+                State child = entry.getValue();
+                child.fail = transition(state.fail, entry.getKey());
+                child.match |= child.fail.match;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Check if data contains one of the literals.
+     *
+     * @param data data against search will be done.
+     * @return true if one of the literals found.
+     */
+    boolean find(String data) {
+        State state = root;
+        for (int i = 0; i < data.length(); i++) {
+            state = transition(state, data.charAt(i));
+            if (state.match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private State transition(@Nullable State from, char c) {
+        State state = from;
+        while (state != null) {
+            State next = state.next.get(c);
+            if (next != null) {
+                return next;
+            }
+            state = state.fail;
+        }
+        return root;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Matches data against a set of patterns with as few passes over the data as possible.
+ * <p>
+ * Literal patterns are searched with a single {@link LiteralMatcher}, all other patterns are combined to one
+ * alternation. Patterns that can't be combined without changing their meaning (e.g. because of back references) are
+ * matched one by one.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+class MultiPatternMatcher {
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final Pattern NOT_COMBINABLE = Pattern.compile("\\\\(?:[1-9]|k<|Q)|#");
+
+    private final @Nullable LiteralMatcher literalMatcher;
+    private final @Nullable String literal;
+    private final @Nullable Pattern combinedPattern;
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    /**
+     * Precompile search patterns.
+     *
+     * @param patternStrings patterns which will handled.
+     */
+    MultiPatternMatcher(List<String> patternStrings) throws PatternSyntaxException {
+        List<String> literals = new ArrayList<>();
+        List<String> combinable = new ArrayList<>();
+        for (String patternStr : patternStrings) {
+            // compile every pattern on its own first, so a syntax error refers to the pattern given by the user
+            Pattern pattern = Pattern.compile(patternStr);
+            String literalStr = toLiteral(patternStr);
+            if (literalStr != null) {
+                literals.add(literalStr);
+            } else if (NOT_COMBINABLE.matcher(patternStr).find()) {
+                patterns.add(pattern);
+            } else {
+                combinable.add(patternStr);
+            }
+        }
+
+        literal = literals.size() == 1 ? literals.get(0) : null;
+        literalMatcher = literals.size() > 1 ? new LiteralMatcher(literals) : null;
+
+        Pattern combined = null;
+        if (combinable.size() == 1) {
+            combined = Pattern.compile(combinable.get(0));
+        } else if (combinable.size() > 1) {
+            try {
+                combined = Pattern.compile(combinable.stream().collect(Collectors.joining(")|(?:", "(?:", ")")));
+            } catch (PatternSyntaxException e) {
+                // e.g. duplicate group names
+                combinable.forEach(p -> patterns.add(Pattern.compile(p)));
+            }
+        }
+        combinedPattern = combined;
+    }
+
+    /**
+     * Check if data is matching to one of the patterns.
+     *
+     * @param data data against search will be done.
+     * @return true if one of the patterns found.
+     */
+    boolean find(String data) {
+        String localLiteral = literal;
+        if (localLiteral != null && data.contains(localLiteral)) {
+            return true;
+        }
+        LiteralMatcher localLiteralMatcher = literalMatcher;
+        if (localLiteralMatcher != null && localLiteralMatcher.find(data)) {
+            return true;
+        }
+        Pattern localCombinedPattern = combinedPattern;
+        if (localCombinedPattern != null && localCombinedPattern.matcher(data).find()) {
+            return true;
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the string a pattern searches for, if it does not use any regular expression features. A repetition of
+     * the last character (like the default pattern ERROR+) is found whenever the string without it is found.
+     *
+     * @return the literal or null if the pattern is no literal.
+     */
+    static @Nullable String toLiteral(String pattern) {
+        String literalStr = pattern.endsWith("+") ? pattern.substring(0, pattern.length() - 1) : pattern;
+        if (literalStr.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < literalStr.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(literalStr.charAt(i)) >= 0) {
+                return null;
+            }
+        }
+        return literalStr;
+    }
+}
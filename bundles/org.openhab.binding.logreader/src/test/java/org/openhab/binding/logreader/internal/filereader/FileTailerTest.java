@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+import org.openhab.core.test.java.JavaTest;
+
+/**
+ * Tests for {@link FileTailer}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class FileTailerTest extends JavaTest {
+
+    // appended until the tailer reads it, because the tailer starts at the end of the file
+    private static final String SYNC = "sync";
+
+    private @TempDir @NonNullByDefault({}) Path folder;
+    private @NonNullByDefault({}) Path file;
+
+    private final FileTailer tailer = new FileTailer();
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+    private final AtomicInteger rotations = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException, FileReaderException {
+        file = folder.resolve("openhab.log");
+        Files.writeString(file, "existing line\n", Charset.defaultCharset());
+
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+            }
+
+            @Override
+            public void fileRotated() {
+                rotations.incrementAndGet();
+            }
+
+            @Override
+            public void handle(@Nullable String line) {
+                if (line != null) {
+                    lines.add(line);
+                }
+            }
+
+            @Override
+            public void handle(@Nullable Exception ex) {
+            }
+        });
+        tailer.start(file.toString(), 10);
+        waitForAssert(() -> {
+            append(SYNC + "\n");
+            assertTrue(lines.contains(SYNC));
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tailer.stop();
+    }
+
+    @Test
+    public void testAppendedLinesAreRead() {
+        append("first\nsecond\r\n");
+
+        waitForAssert(() -> assertEquals(List.of("first", "second"), lines()));
+    }
+
+    @Test
+    public void testPartialLastLineIsReadWhenComplete() throws InterruptedException {
+        append("incomp");
+        // give the tailer a few refreshes to read the incomplete line
+        Thread.sleep(100);
+        assertEquals(List.of(), lines());
+
+        append("lete\n");
+
+        waitForAssert(() -> assertEquals(List.of("incomplete"), lines()));
+    }
+
+    @Test
+    public void testTruncatedFileIsReadFromStart() throws IOException {
+        append("before\n");
+        waitForAssert(() -> assertEquals(List.of("before"), lines()));
+
+        Files.writeString(file, "after\n", Charset.defaultCharset(), StandardOpenOption.TRUNCATE_EXISTING);
+
+        waitForAssert(() -> assertEquals(List.of("before", "after"), lines()));
+        assertEquals(1, rotations.get());
+    }
+
+    @Test
+    public void testRotatedFileIsReadToTheEnd() throws IOException {
+        append("last line of old file\n");
+        Files.move(file, folder.resolve("openhab.log.1"));
+        Files.writeString(file, "first line of new file\n", Charset.defaultCharset());
+
+        waitForAssert(() -> assertEquals(List.of("last line of old file", "first line of new file"), lines()));
+        assertEquals(1, rotations.get());
+
+        append("appended to new file\n");
+
+        waitForAssert(() -> assertEquals(
+                List.of("last line of old file", "first line of new file", "appended to new file"), lines()));
+    }
+
+    @Test
+    public void testLongLineIsSplit() {
+        append("x".repeat(FileTailer.MAX_LINE_LENGTH + 10) + "\nnext\n");
+
+        waitForAssert(() -> assertEquals(3, lines().size()));
+        List<String> lines = lines();
+        assertEquals(FileTailer.MAX_LINE_LENGTH, lines.get(0).length());
+        assertEquals("x".repeat(10), lines.get(1));
+        assertEquals("next", lines.get(2));
+    }
+
+    /**
+     * @return the lines read after the tailer started, without the lines used to wait for it
+     */
+    private List<String> lines() {
+        return lines.stream().filter(line -> !SYNC.equals(line)).toList();
+    }
+
+    private void append(String content) {
+        try {
+            Files.writeString(file, content, Charset.defaultCharset(), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
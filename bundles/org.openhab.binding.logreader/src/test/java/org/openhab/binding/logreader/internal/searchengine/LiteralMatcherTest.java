@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link LiteralMatcher}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class LiteralMatcherTest {
+
+    @Test
+    public void testOverlappingKeywords() {
+        List<String> keywords = List.of("he", "she", "his", "hers");
+        LiteralMatcher matcher = new LiteralMatcher(keywords);
+
+        for (String data : List.of("ushers", "ahishers", "shis", "hi", "sh", "s", "", "HE", "xhxexs")) {
+            assertEquals(keywords.stream().anyMatch(data::contains), matcher.find(data), data);
+        }
+    }
+
+    @Test
+    public void testMatchFoundThroughFailureLink() {
+        // "bce" is only found after falling back from the partial match of "abcd"
+        LiteralMatcher matcher = new LiteralMatcher(List.of("abcd", "bce"));
+
+        assertTrue(matcher.find("abce"));
+        assertTrue(matcher.find("xabcd"));
+        assertFalse(matcher.find("abcx"));
+    }
+
+    @Test
+    public void testKeywordContainingAnotherKeyword() {
+        LiteralMatcher matcher = new LiteralMatcher(List.of("abcd", "bc"));
+
+        assertTrue(matcher.find("abcx"));
+        assertFalse(matcher.find("acbd"));
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link MultiPatternMatcher} finds the same lines as searching with each pattern on its own.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class MultiPatternMatcherTest {
+
+    private static final List<String> LINES = List.of("", "2024-01-01 10:00:00.000 [ERROR] [core] Failed",
+            "2024-01-01 10:00:00.000 [WARN ] [core] Exception in thread", "[INFO ] Startup took 123 ms",
+            "Start of something", "ERR", "ERRORRR", "error", "ushers", "ahishe", "his", "h", "abce", "abcx", "aa",
+            "abab", "a b", "ab", "a.b", "axb", "c d", "cd", "DEF", "def");
+
+    @Test
+    public void testLiterals() {
+        assertEquivalent(List.of("ERROR+", "WARN", "Exception"));
+        assertEquivalent(List.of("ERROR+"));
+        assertEquivalent(List.of("Failed", "took"));
+    }
+
+    @Test
+    public void testOverlappingLiterals() {
+        assertEquivalent(List.of("he", "she", "his", "hers"));
+        assertEquivalent(List.of("abcd", "bce"));
+        assertEquivalent(List.of("abcd", "bc"));
+        assertEquivalent(List.of("a", "aa", "aaa"));
+    }
+
+    @Test
+    public void testRegularExpressions() {
+        assertEquivalent(List.of("ERR(OR)?\\b", "\\d{3} ms", "^Start"));
+        assertEquivalent(List.of("a.b", "[A-Z]{3}$"));
+        assertEquivalent(List.of("(?i)def", "c d"));
+        assertEquivalent(List.of("(?x) a b", "c d"));
+    }
+
+    @Test
+    public void testLiteralsAndRegularExpressions() {
+        assertEquivalent(List.of("ERROR+", "WARN", "\\d{3} ms", "a.b", "his"));
+    }
+
+    @Test
+    public void testPatternsThatCannotBeCombined() {
+        // back references, quoting and comments
+        assertEquivalent(List.of("(\\w)\\1", "(?<x>b)\\k<x>", "\\Qa.b\\E", "(?x) a b # comment", "c d"));
+        // duplicate group names
+        assertEquivalent(List.of("(?<n>a)b", "(?<n>c) d"));
+    }
+
+    @Test
+    public void testToLiteral() {
+        assertEquals("ERROR", MultiPatternMatcher.toLiteral("ERROR+"));
+        assertEquals("Exception", MultiPatternMatcher.toLiteral("Exception"));
+        assertNull(MultiPatternMatcher.toLiteral("a.b"));
+        assertNull(MultiPatternMatcher.toLiteral("a\\+"));
+        assertNull(MultiPatternMatcher.toLiteral("+"));
+    }
+
+    @Test
+    public void testInvalidPattern() {
+        assertThrows(PatternSyntaxException.class, () -> new MultiPatternMatcher(List.of("ERROR", "(unclosed")));
+    }
+
+    private void assertEquivalent(List<String> patterns) {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+        List<Pattern> compiled = patterns.stream().map(Pattern::compile).toList();
+        for (String line : LINES) {
+            boolean expected = compiled.stream().anyMatch(pattern -> pattern.matcher(line).find());
+            assertEquals(expected, matcher.find(line), () -> "Patterns " + patterns + " on '" + line + "'");
+        }
+    }
+}
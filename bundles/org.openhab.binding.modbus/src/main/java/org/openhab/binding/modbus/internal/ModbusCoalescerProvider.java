@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+
+/**
+ * Implemented by the endpoint thing handlers of this binding that merge the polls and writes of their endpoint
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusCoalescerProvider {
+
+    /**
+     * Get the {@link ModbusPollCoalescer} that merges the regular polls of this endpoint
+     *
+     * @return poll coalescer, or <code>null</code> if polls should be registered directly with the
+     *         {@link ModbusCommunicationInterface}
+     */
+    @Nullable
+    ModbusPollCoalescer getPollCoalescer();
+
+    /**
+     * Get the {@link ModbusWriteCoalescer} that batches the one-time writes of this endpoint
+     *
+     * @return write coalescer, or <code>null</code> if writes should be submitted directly to the
+     *         {@link ModbusCommunicationInterface}
+     */
+    @Nullable
+    ModbusWriteCoalescer getWriteCoalescer();
+}
@@ -0,0 +1,340 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModbusPollCoalescer} merges the regular polls of an endpoint.
+ * <p>
+ * Polls of the same slave, function code and poll period whose ranges are adjacent or overlap are read with a single
+ * request, as long as the merged request stays within the protocol limits. The result of the merged request is split
+ * and passed to the callbacks of the individual polls, so the callbacks receive the same data as if their requests
+ * had been executed on their own.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescer {
+
+    /**
+     * A regular poll registered with the coalescer
+     */
+    public static final class Registration {
+        private final ModbusReadRequestBlueprint request;
+        private final long pollPeriodMillis;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private Registration(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+                ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        int getStart() {
+            return request.getReference();
+        }
+
+        int getEnd() {
+            return request.getReference() + request.getDataLength();
+        }
+    }
+
+    private record GroupKey(int unitId, ModbusReadFunctionCode functionCode, long pollPeriodMillis) {
+    }
+
+    /**
+     * Callback of a merged request, passing the relevant part of the data to each registration
+     */
+    private class MergedPoll implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final ModbusReadRequestBlueprint request;
+        private final List<Registration> members;
+
+        MergedPoll(ModbusReadRequestBlueprint request, List<Registration> members) {
+            this.request = request;
+            this.members = members;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            transactions.increment();
+            mergedRequests.add(members.size() - 1);
+            result.getRegisters().ifPresent(registers -> {
+                bytesRead.add(registers.size() * 2L);
+                byte[] bytes = registers.getBytes();
+                for (Registration member : members) {
+                    int from = (member.getStart() - request.getReference()) * 2;
+                    int to = from + member.getRequest().getDataLength() * 2;
+                    if (to > bytes.length) {
+                        handleMemberFailure(member, new IllegalStateException(String
+                                .format("Merged response has %d registers, expected %d", registers.size(), to / 2)));
+                        continue;
+                    }
+                    member.resultCallback.handle(new AsyncModbusReadResult(member.getRequest(),
+                            new ModbusRegisterArray(Arrays.copyOfRange(bytes, from, to))));
+                }
+            });
+            result.getBits().ifPresent(bits -> {
+                bytesRead.add((bits.size() + 7) / 8);
+                for (Registration member : members) {
+                    int offset = member.getStart() - request.getReference();
+                    int length = member.getRequest().getDataLength();
+                    if (offset + length > bits.size()) {
+                        handleMemberFailure(member, new IllegalStateException(String
+                                .format("Merged response has %d bits, expected %d", bits.size(), offset + length)));
+                        continue;
+                    }
+                    BitArray memberBits = new BitArray(length);
+                    for (int i = 0; i < length; i++) {
+                        memberBits.setBit(i, bits.getBit(offset + i));
+                    }
+                    member.resultCallback.handle(new AsyncModbusReadResult(member.getRequest(), memberBits));
+                }
+            });
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            transactions.increment();
+            failures.increment();
+            for (Registration member : members) {
+                handleMemberFailure(member, failure.getCause());
+            }
+        }
+
+        private void handleMemberFailure(Registration member, Exception cause) {
+            member.failureCallback.handle(new AsyncModbusFailure<>(member.getRequest(), cause));
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final Map<GroupKey, List<Registration>> registrations = new HashMap<>();
+    // poll tasks of each group, by the registrations read with the task
+    private final Map<GroupKey, Map<List<Registration>, PollTask>> pollTasks = new HashMap<>();
+
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder mergedRequests = new LongAdder();
+
+    public ModbusPollCoalescer(ModbusCommunicationInterface comms) {
+        this.comms = comms;
+    }
+
+    /**
+     * Registers a regular poll, see
+     * {@link ModbusCommunicationInterface#registerRegularPoll(ModbusReadRequestBlueprint, long, long, ModbusReadCallback, ModbusFailureCallback)}
+     *
+     * @return the registration, to be passed to {@link #unregisterRegularPoll(Registration)}
+     */
+    public synchronized Registration registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        Registration registration = new Registration(request, pollPeriodMillis, resultCallback, failureCallback);
+        GroupKey key = keyOf(registration);
+        registrations.computeIfAbsent(key, k -> new ArrayList<>()).add(registration);
+        reschedule(key);
+        return registration;
+    }
+
+    /**
+     * Unregisters a regular poll
+     *
+     * @param registration the registration returned by
+     *            {@link #registerRegularPoll(ModbusReadRequestBlueprint, long, ModbusReadCallback, ModbusFailureCallback)}
+     * @return whether the poll was registered
+     */
+    public synchronized boolean unregisterRegularPoll(Registration registration) {
+        GroupKey key = keyOf(registration);
+        List<Registration> group = registrations.get(key);
+        if (group == null || !group.remove(registration)) {
+            return false;
+        }
+        if (group.isEmpty()) {
+            registrations.remove(key);
+        }
+        reschedule(key);
+        return true;
+    }
+
+    /**
+     * Unregisters all polls
+     */
+    public synchronized void close() {
+        pollTasks.values().forEach(tasks -> tasks.values().forEach(comms::unregisterRegularPoll));
+        pollTasks.clear();
+        registrations.clear();
+    }
+
+    /**
+     * @return number of merged requests executed
+     */
+    public long getTransactionCount() {
+        return transactions.sum();
+    }
+
+    /**
+     * @return number of failed merged requests
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return number of data bytes read by merged requests
+     */
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * @return number of requests that were saved by merging
+     */
+    public long getMergedRequestCount() {
+        return mergedRequests.sum();
+    }
+
+    /**
+     * Updates the poll tasks of a group after a registration was added or removed. Only the tasks whose registrations
+     * changed are replaced, all other tasks keep their schedule.
+     */
+    private void reschedule(GroupKey key) {
+        Map<List<Registration>, PollTask> previousTasks = pollTasks.getOrDefault(key, Map.of());
+        List<List<Registration>> merged = merge(registrations.getOrDefault(key, List.of()),
+                maxLength(key.functionCode()));
+
+        previousTasks.forEach((members, task) -> {
+            if (!merged.contains(members)) {
+                comms.unregisterRegularPoll(task);
+            }
+        });
+        Map<List<Registration>, PollTask> tasks = new LinkedHashMap<>();
+        for (List<Registration> members : merged) {
+            PollTask task = previousTasks.get(members);
+            tasks.put(members, task != null ? task : register(key, members));
+        }
+        if (tasks.isEmpty()) {
+            pollTasks.remove(key);
+        } else {
+            pollTasks.put(key, tasks);
+        }
+    }
+
+    private PollTask register(GroupKey key, List<Registration> members) {
+        ModbusReadRequestBlueprint request;
+        ModbusReadCallback resultCallback;
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        if (members.size() == 1) {
+            Registration registration = members.get(0);
+            request = registration.getRequest();
+            resultCallback = registration.resultCallback;
+            failureCallback = registration.failureCallback;
+        } else {
+            int start = members.get(0).getStart();
+            int end = members.stream().mapToInt(Registration::getEnd).max().orElse(start);
+            int maxTries = members.stream().mapToInt(r -> r.getRequest().getMaxTries()).max().orElse(1);
+            request = new ModbusReadRequestBlueprint(key.unitId(), key.functionCode(), start, end - start, maxTries);
+            MergedPoll mergedPoll = new MergedPoll(request, List.copyOf(members));
+            resultCallback = mergedPoll;
+            failureCallback = mergedPoll;
+            logger.debug("Merged {} polls into request {}", members.size(), request);
+        }
+        return comms.registerRegularPoll(request, key.pollPeriodMillis(), 0, resultCallback, failureCallback);
+    }
+
+    /**
+     * Groups registrations whose ranges are adjacent or overlap. The ranges of a group span at most the given length.
+     *
+     * @param registrations registrations of the same slave, function code and poll period
+     * @param maxLength maximum number of registers or bits of a single request
+     * @return the groups of registrations, ordered by start
+     */
+    static List<List<Registration>> merge(List<Registration> registrations, int maxLength) {
+        List<Registration> sorted = new ArrayList<>(registrations);
+        sorted.sort(Comparator.comparingInt(Registration::getStart).thenComparingInt(Registration::getEnd));
+
+        List<List<Registration>> groups = new ArrayList<>();
+        List<Registration> current = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (Registration registration : sorted) {
+            if (!current.isEmpty() && registration.getStart() <= end
+                    && Math.max(end, registration.getEnd()) - start <= maxLength) {
+                current.add(registration);
+                end = Math.max(end, registration.getEnd());
+            } else {
+                if (!current.isEmpty()) {
+                    groups.add(current);
+                }
+                current = new ArrayList<>();
+                current.add(registration);
+                start = registration.getStart();
+                end = registration.getEnd();
+            }
+        }
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+        return groups;
+    }
+
+    static Registration registration(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        return new Registration(request, pollPeriodMillis, resultCallback, failureCallback);
+    }
+
+    private static GroupKey keyOf(Registration registration) {
+        ModbusReadRequestBlueprint request = registration.getRequest();
+        return new GroupKey(request.getUnitID(), request.getFunctionCode(), registration.pollPeriodMillis);
+    }
+
+    private static int maxLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            default:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModbusWriteCoalescer} batches the one-time writes of an endpoint.
+ * <p>
+ * Register writes are held back for a short window. Within the window, a write to the same registers as the write
+ * submitted just before replaces it, and consecutive writes to contiguous registers of the same slave are merged into a
+ * single "write multiple registers" request. Writes are always sent in the order they were submitted. Only writes that
+ * use "write multiple registers" themselves are merged, so that slaves which only support "write single register" are
+ * never sent a merged request. Every submitted write receives exactly one callback: the result of the request that
+ * finally wrote its registers. Coil writes are not batched; they first send all pending register writes.
+ * <p>
+ * The number of write requests submitted to the {@link ModbusCommunicationInterface} at the same time is limited, so
+ * a burst of commands does not fill the queue of the endpoint ahead of the regular polls.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusWriteCoalescer {
+
+    private record Submission(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
+            ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+    }
+
+    /**
+     * Latest register write to a range of registers, together with all writes it replaced
+     */
+    private static final class PendingWrite {
+        private ModbusWriteRegisterRequestBlueprint request;
+        private final List<Submission> submissions = new ArrayList<>();
+
+        PendingWrite(ModbusWriteRegisterRequestBlueprint request) {
+            this.request = request;
+        }
+
+        int getStart() {
+            return request.getReference();
+        }
+
+        int getEnd() {
+            return request.getReference() + request.getRegisters().size();
+        }
+
+        boolean hasSameRegisters(ModbusWriteRegisterRequestBlueprint other) {
+            return request.getUnitID() == other.getUnitID() && request.getReference() == other.getReference()
+                    && request.getRegisters().size() == other.getRegisters().size();
+        }
+
+        boolean overlaps(ModbusWriteRegisterRequestBlueprint other) {
+            return request.getUnitID() == other.getUnitID()
+                    && getStart() < other.getReference() + other.getRegisters().size()
+                    && other.getReference() < getEnd();
+        }
+
+        boolean isMergeable() {
+            return request.getFunctionCode() == ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS;
+        }
+    }
+
+    /**
+     * A request submitted to the communication interface and the writes it covers
+     */
+    private class Batch implements ModbusWriteCallback, ModbusFailureCallback<ModbusWriteRequestBlueprint> {
+        private final ModbusWriteRequestBlueprint request;
+        private final List<Submission> submissions;
+
+        Batch(ModbusWriteRequestBlueprint request, List<Submission> submissions) {
+            this.request = request;
+            this.submissions = submissions;
+        }
+
+        @Override
+        public void handle(AsyncModbusWriteResult result) {
+            completed();
+            for (Submission submission : submissions) {
+                submission.resultCallback()
+                        .handle(new AsyncModbusWriteResult(submission.request(), result.getResponse()));
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusWriteRequestBlueprint> failure) {
+            failures.increment();
+            completed();
+            for (Submission submission : submissions) {
+                submission.failureCallback().handle(new AsyncModbusFailure<>(submission.request(), failure.getCause()));
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusWriteCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int maxInFlight;
+
+    private final List<PendingWrite> pending = new ArrayList<>();
+    private final Deque<Batch> queue = new ArrayDeque<>();
+    private int inFlight;
+    private @Nullable ScheduledFuture<?> flushJob;
+    private boolean closed;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * @param comms communication interface of the endpoint
+     * @param scheduler scheduler used to flush the pending writes
+     * @param windowMillis how long register writes are held back to be merged
+     * @param maxInFlight maximum number of write requests submitted to the communication interface at the same time
+     */
+    public ModbusWriteCoalescer(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler,
+            long windowMillis, int maxInFlight) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * Submits a one-time write, see
+     * {@link ModbusCommunicationInterface#submitOneTimeWrite(ModbusWriteRequestBlueprint, ModbusWriteCallback, ModbusFailureCallback)}
+     */
+    public synchronized void submitOneTimeWrite(ModbusWriteRequestBlueprint request, ModbusWriteCallback resultCallback,
+            ModbusFailureCallback<ModbusWriteRequestBlueprint> failureCallback) {
+        submitted.increment();
+        Submission submission = new Submission(request, resultCallback, failureCallback);
+        if (closed || !(request instanceof ModbusWriteRegisterRequestBlueprint registerRequest)) {
+            // writes submitted earlier must not be overtaken
+            flush();
+            queue.add(new Batch(request, List.of(submission)));
+            dispatch();
+            return;
+        }
+
+        PendingWrite pendingWrite = pending.isEmpty() ? null : pending.get(pending.size() - 1);
+        if (pendingWrite != null && pendingWrite.hasSameRegisters(registerRequest)) {
+            logger.trace("Write {} replaces pending write {}", registerRequest, pendingWrite.request);
+            pendingWrite.request = registerRequest;
+        } else {
+            if (overlapsPending(registerRequest)) {
+                // keep the order of writes to the same registers
+                flush();
+            }
+            pendingWrite = new PendingWrite(registerRequest);
+            pending.add(pendingWrite);
+        }
+        pendingWrite.submissions.add(submission);
+
+        if (flushJob == null) {
+            flushJob = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Submits all pending writes and stops batching
+     */
+    public synchronized void close() {
+        closed = true;
+        flush();
+    }
+
+    /**
+     * @return number of writes submitted to the coalescer
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return number of write requests executed
+     */
+    public long getTransactionCount() {
+        return transactions.sum();
+    }
+
+    /**
+     * @return number of failed write requests
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    private boolean overlapsPending(ModbusWriteRegisterRequestBlueprint request) {
+        for (PendingWrite other : pending) {
+            if (other.overlaps(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void flush() {
+        ScheduledFuture<?> localFlushJob = flushJob;
+        if (localFlushJob != null) {
+            localFlushJob.cancel(false);
+            flushJob = null;
+        }
+        if (!pending.isEmpty()) {
+            List<PendingWrite> writes = new ArrayList<>(pending);
+            pending.clear();
+            for (List<PendingWrite> members : merge(writes, ModbusConstants.MAX_REGISTERS_WRITE_COUNT)) {
+                queue.add(toBatch(members));
+            }
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (!queue.isEmpty() && (closed || inFlight < maxInFlight)) {
+            Batch batch = queue.poll();
+            inFlight++;
+            transactions.increment();
+            logger.trace("Submitting write {} covering {} writes", batch.request, batch.submissions.size());
+            try {
+                comms.submitOneTimeWrite(batch.request, batch, batch);
+            } catch (RuntimeException e) {
+                // e.g. the communication interface is already closed, let the failure callback run without the lock
+                scheduler.execute(() -> batch.handle(new AsyncModbusFailure<>(batch.request, e)));
+            }
+        }
+    }
+
+    private synchronized void completed() {
+        inFlight--;
+        dispatch();
+    }
+
+    private Batch toBatch(List<PendingWrite> members) {
+        List<Submission> submissions = new ArrayList<>();
+        members.forEach(member -> submissions.addAll(member.submissions));
+        if (members.size() == 1) {
+            return new Batch(members.get(0).request, submissions);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int maxTries = 1;
+        for (PendingWrite member : members) {
+            bytes.writeBytes(member.request.getRegisters().getBytes());
+            maxTries = Math.max(maxTries, member.request.getMaxTries());
+        }
+        ModbusWriteRegisterRequestBlueprint first = members.get(0).request;
+        ModbusWriteRegisterRequestBlueprint request = new ModbusWriteRegisterRequestBlueprint(first.getUnitID(),
+                first.getReference(), new ModbusRegisterArray(bytes.toByteArray()), true, maxTries);
+        logger.debug("Merged {} writes into request {}", submissions.size(), request);
+        return new Batch(request, submissions);
+    }
+
+    /**
+     * Groups consecutive writes to contiguous registers of the same slave, keeping their order. The writes of a group
+     * cover at most the given number of registers. Writes that do not use "write multiple registers" form groups of
+     * their own.
+     *
+     * @param writes pending writes without overlapping ranges, in submission order
+     * @param maxLength maximum number of registers written by a single request
+     * @return the groups of writes
+     */
+    private static List<List<PendingWrite>> merge(List<PendingWrite> writes, int maxLength) {
+        List<List<PendingWrite>> groups = new ArrayList<>();
+        List<PendingWrite> current = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            if (!current.isEmpty()) {
+                PendingWrite first = current.get(0);
+                PendingWrite last = current.get(current.size() - 1);
+                if (last.isMergeable() && write.isMergeable() && last.request.getUnitID() == write.request.getUnitID()
+                        && last.getEnd() == write.getStart() && write.getEnd() - first.getStart() <= maxLength) {
+                    current.add(write);
+                    continue;
+                }
+                groups.add(current);
+                current = new ArrayList<>();
+            }
+            current.add(write);
+        }
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+        return groups;
+    }
+}
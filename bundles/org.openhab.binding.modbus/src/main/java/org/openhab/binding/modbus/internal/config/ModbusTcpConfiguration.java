@@ -33,6 +33,9 @@ public class ModbusTcpConfiguration {
     private int afterConnectionDelayMillis;
     private int connectTimeoutMillis = 10_000;
     private boolean enableDiscovery;
+    private boolean mergePolls;
+    private int writeCoalesceMillis;
+    private int maxWritesInFlight = 1;
     private boolean rtuEncoded;
 
     public boolean getRtuEncoded() {
@@ -118,4 +121,28 @@ public class ModbusTcpConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isMergePolls() {
+        return mergePolls;
+    }
+
+    public void setMergePolls(boolean mergePolls) {
+        this.mergePolls = mergePolls;
+    }
+
+    public int getWriteCoalesceMillis() {
+        return writeCoalesceMillis;
+    }
+
+    public void setWriteCoalesceMillis(int writeCoalesceMillis) {
+        this.writeCoalesceMillis = writeCoalesceMillis;
+    }
+
+    public int getMaxWritesInFlight() {
+        return maxWritesInFlight;
+    }
+
+    public void setMaxWritesInFlight(int maxWritesInFlight) {
+        this.maxWritesInFlight = maxWritesInFlight;
+    }
 }
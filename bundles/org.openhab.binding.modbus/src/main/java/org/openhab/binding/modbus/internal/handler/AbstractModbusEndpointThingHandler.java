@@ -17,6 +17,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusCoalescerProvider;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -40,7 +43,7 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEndpoint, C> extends BaseBridgeHandler
-        implements ModbusEndpointThingHandler {
+        implements ModbusEndpointThingHandler, ModbusCoalescerProvider {
 
     protected volatile @Nullable C config;
     protected volatile @Nullable E endpoint;
@@ -48,6 +51,8 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusPollCoalescer pollCoalescer;
+    private volatile @Nullable ModbusWriteCoalescer writeCoalescer;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +81,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    pollCoalescer = isMergePollsEnabled() ? new ModbusPollCoalescer(comms) : null;
+                    int writeCoalesceMillis = getWriteCoalesceMillis();
+                    writeCoalescer = writeCoalesceMillis > 0
+                            ? new ModbusWriteCoalescer(comms, scheduler, writeCoalesceMillis, getMaxWritesInFlight())
+                            : null;
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -93,6 +103,23 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ModbusPollCoalescer localPollCoalescer = pollCoalescer;
+        if (localPollCoalescer != null) {
+            logger.debug("Endpoint {} saved {} requests by merging polls into {} requests ({} failed, {} bytes)",
+                    getThing().getUID(), localPollCoalescer.getMergedRequestCount(),
+                    localPollCoalescer.getTransactionCount(), localPollCoalescer.getFailureCount(),
+                    localPollCoalescer.getBytesRead());
+            localPollCoalescer.close();
+            pollCoalescer = null;
+        }
+        ModbusWriteCoalescer localWriteCoalescer = writeCoalescer;
+        if (localWriteCoalescer != null) {
+            logger.debug("Endpoint {} executed {} writes with {} requests ({} failed)", getThing().getUID(),
+                    localWriteCoalescer.getSubmittedCount(), localWriteCoalescer.getTransactionCount(),
+                    localWriteCoalescer.getFailureCount());
+            localWriteCoalescer.close();
+            writeCoalescer = null;
+        }
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -110,6 +137,16 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    @Override
+    public @Nullable ModbusPollCoalescer getPollCoalescer() {
+        return pollCoalescer;
+    }
+
+    @Override
+    public @Nullable ModbusWriteCoalescer getWriteCoalescer() {
+        return writeCoalescer;
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -123,6 +160,22 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
      */
     protected abstract void configure() throws ModbusConfigurationException;
 
+    /**
+     * Whether regular polls of this endpoint should be merged, see {@link ModbusPollCoalescer}
+     */
+    protected abstract boolean isMergePollsEnabled();
+
+    /**
+     * How long one-time writes of this endpoint are held back to be merged, see {@link ModbusWriteCoalescer}. Zero
+     * disables batching of writes.
+     */
+    protected abstract int getWriteCoalesceMillis();
+
+    /**
+     * Maximum number of batched write requests executing at the same time
+     */
+    protected abstract int getMaxWritesInFlight();
+
     /**
      * Format error message in case some other endpoint has been configured with different
      * {@link EndpointPoolConfiguration}
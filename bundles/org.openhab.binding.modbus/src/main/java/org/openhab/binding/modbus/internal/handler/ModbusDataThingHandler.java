@@ -33,8 +33,10 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusCoalescerProvider;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
 import org.openhab.binding.modbus.internal.ModbusTransformation;
+import org.openhab.binding.modbus.internal.ModbusWriteCoalescer;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
@@ -70,6 +72,7 @@ import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.ThingStatusInfo;
+import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.BaseThingHandler;
 import org.openhab.core.thing.binding.BridgeHandler;
 import org.openhab.core.thing.binding.ThingHandlerCallback;
@@ -129,6 +132,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ModbusTransformation writeTransformation;
     private volatile Optional<Integer> readIndex = Optional.empty();
     private volatile Optional<Integer> readSubIndex = Optional.empty();
+    // index of the read value in the polled data, see validateReadIndex
+    private volatile int extractIndex;
     private volatile Optional<Integer> writeStart = Optional.empty();
     private volatile Optional<Integer> writeSubIndex = Optional.empty();
     private volatile int pollStart;
@@ -137,6 +142,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ModbusReadRequestBlueprint readRequest;
     private volatile long updateUnchangedValuesEveryMillis;
     private volatile @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusWriteCoalescer writeCoalescer;
     private volatile boolean isWriteEnabled;
     private volatile boolean isReadEnabled;
     private volatile boolean writeParametersHavingTransformationOnly;
@@ -218,7 +224,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
 
         logger.trace("Submitting write task {} to endpoint {}", request, comms.getEndpoint());
-        comms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        submitOneTimeWrite(comms, request);
     }
 
     /**
@@ -385,10 +391,19 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         requests.stream().forEach(request -> {
             logger.trace("Submitting write request: {} to endpoint {} (based from transformation {})", request,
                     localComms.getEndpoint(), transformOutput);
-            localComms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+            submitOneTimeWrite(localComms, request);
         });
     }
 
+    private void submitOneTimeWrite(ModbusCommunicationInterface comms, ModbusWriteRequestBlueprint request) {
+        ModbusWriteCoalescer localWriteCoalescer = writeCoalescer;
+        if (localWriteCoalescer != null) {
+            localWriteCoalescer.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        } else {
+            comms.submitOneTimeWrite(request, this::onWriteResponse, this::handleWriteError);
+        }
+    }
+
     @Override
     public synchronized void initialize() {
         // Initialize the thing. If done set status to ONLINE to indicate proper working.
@@ -414,6 +429,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             if (bridgeHandler instanceof ModbusEndpointThingHandler endpointHandler) {
                 slaveId = endpointHandler.getSlaveId();
                 comms = endpointHandler.getCommunicationInterface();
+                writeCoalescer = getWriteCoalescer(endpointHandler);
                 childOfEndpoint = true;
                 functionCode = null;
                 readRequest = null;
@@ -432,6 +448,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 slaveId = localReadRequest.getUnitID();
                 functionCode = localReadRequest.getFunctionCode();
                 comms = localPollerHandler.getCommunicationInterface();
+                writeCoalescer = getWriteCoalescer(getEndpointHandler(bridge));
                 pollStart = localReadRequest.getReference();
                 childOfEndpoint = false;
             } else {
@@ -454,6 +471,23 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Get the handler of the endpoint a poller bridge belongs to
+     */
+    private @Nullable BridgeHandler getEndpointHandler(Bridge pollerBridge) {
+        ThingUID endpointUID = pollerBridge.getBridgeUID();
+        ThingHandlerCallback callback = getCallback();
+        if (endpointUID == null || callback == null) {
+            return null;
+        }
+        Bridge endpointBridge = callback.getBridge(endpointUID);
+        return endpointBridge == null ? null : endpointBridge.getHandler();
+    }
+
+    private static @Nullable ModbusWriteCoalescer getWriteCoalescer(@Nullable Object endpointHandler) {
+        return endpointHandler instanceof ModbusCoalescerProvider provider ? provider.getWriteCoalescer() : null;
+    }
+
     @Override
     public synchronized void dispose() {
         config = null;
@@ -463,11 +497,13 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         writeTransformation = null;
         readIndex = Optional.empty();
         readSubIndex = Optional.empty();
+        extractIndex = 0;
         writeStart = Optional.empty();
         writeSubIndex = Optional.empty();
         pollStart = 0;
         slaveId = 0;
         comms = null;
+        writeCoalescer = null;
         functionCode = null;
         readRequest = null;
         isWriteEnabled = false;
@@ -746,6 +782,25 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                     readIndex.get());
             throw new ModbusConfigurationException(errmsg);
         }
+
+        // extractIndex:
+        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
+        // of register 10)
+        // bit of second register)
+        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
+        //
+        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
+        // respectively.
+        // with >=16 bit types, this is index of first register
+        // with coils and discrete inputs, this is the index of the bit
+        //
+        // The index only depends on the configuration, it is computed once here instead of on every poll.
+        int relativeReadIndex = readIndex.get() - readRequest.getReference();
+        if (bitQuery || valueTypeBitCount >= 16) {
+            extractIndex = relativeReadIndex;
+        } else {
+            extractIndex = relativeReadIndex * (16 / valueTypeBitCount) + readSubIndex.orElse(0);
+        }
     }
 
     private void validateWriteIndex() throws ModbusConfigurationException {
@@ -815,26 +870,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         State numericState;
-
-        // extractIndex:
-        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
-        // of register 10)
-        // bit of second register)
-        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
-        //
-        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
-        // respectively.
-        // with >=16 bit types, this is index of first register
-        int extractIndex;
-        if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
-            assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
-        } else {
-            int subIndex = readSubIndex.orElse(0);
-            int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
-        }
+        int extractIndex = this.extractIndex;
         numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
                 .map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
@@ -851,7 +887,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         } else if (!isReadEnabled) {
             return;
         }
-        boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        boolean boolValue = bits.getBit(extractIndex);
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
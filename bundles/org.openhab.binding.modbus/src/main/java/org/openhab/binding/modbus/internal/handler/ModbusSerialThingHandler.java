@@ -86,6 +86,24 @@ public class ModbusSerialThingHandler
         }
     }
 
+    @Override
+    protected boolean isMergePollsEnabled() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig != null && localConfig.isMergePolls();
+    }
+
+    @Override
+    protected int getWriteCoalesceMillis() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig == null ? 0 : localConfig.getWriteCoalesceMillis();
+    }
+
+    @Override
+    protected int getMaxWritesInFlight() {
+        ModbusSerialConfiguration localConfig = config;
+        return localConfig == null ? 1 : localConfig.getMaxWritesInFlight();
+    }
+
     @SuppressWarnings("null") // Since endpoint in Optional.map cannot be null
     @Override
     protected String formatConflictingParameterError() {
@@ -63,6 +63,24 @@ public class ModbusTcpThingHandler
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
     }
 
+    @Override
+    protected boolean isMergePollsEnabled() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig != null && localConfig.isMergePolls();
+    }
+
+    @Override
+    protected int getWriteCoalesceMillis() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig == null ? 0 : localConfig.getWriteCoalesceMillis();
+    }
+
+    @Override
+    protected int getMaxWritesInFlight() {
+        ModbusTcpConfiguration localConfig = config;
+        return localConfig == null ? 1 : localConfig.getMaxWritesInFlight();
+    }
+
     @SuppressWarnings("null") // since Optional.map is always called with NonNull argument
     @Override
     protected String formatConflictingParameterError() {
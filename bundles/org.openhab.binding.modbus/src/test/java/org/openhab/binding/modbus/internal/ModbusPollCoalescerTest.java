@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer.Registration;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescerTest {
+
+    private final List<AsyncModbusReadResult> results = new ArrayList<>();
+    private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+    private Registration registration(int start, int length) {
+        return ModbusPollCoalescer.registration(request(start, length), 1000, results::add, failures::add);
+    }
+
+    private static ModbusReadRequestBlueprint request(int start, int length) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, 1);
+    }
+
+    @Test
+    public void testMergeAdjacentAndOverlapping() {
+        Registration first = registration(0, 2);
+        Registration second = registration(2, 3);
+        Registration third = registration(4, 2);
+        List<List<Registration>> groups = ModbusPollCoalescer.merge(List.of(third, first, second), 125);
+        assertThat(groups.size(), is(equalTo(1)));
+        assertThat(groups.get(0), is(equalTo(List.of(first, second, third))));
+    }
+
+    @Test
+    public void testGapIsNotMerged() {
+        Registration first = registration(0, 2);
+        Registration second = registration(3, 2);
+        List<List<Registration>> groups = ModbusPollCoalescer.merge(List.of(first, second), 125);
+        assertThat(groups, is(equalTo(List.of(List.of(first), List.of(second)))));
+    }
+
+    @Test
+    public void testMaxLengthIsRespected() {
+        Registration first = registration(0, 100);
+        Registration second = registration(100, 25);
+        Registration third = registration(125, 1);
+        List<List<Registration>> groups = ModbusPollCoalescer.merge(List.of(first, second, third), 125);
+        assertThat(groups, is(equalTo(List.of(List.of(first, second), List.of(third)))));
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "null" })
+    public void testMergedResultIsSplit() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms);
+        List<AsyncModbusReadResult> firstResults = new ArrayList<>();
+        List<AsyncModbusReadResult> secondResults = new ArrayList<>();
+        ModbusReadRequestBlueprint firstRequest = request(10, 1);
+        coalescer.registerRegularPoll(firstRequest, 1000, firstResults::add, failures::add);
+        coalescer.registerRegularPoll(request(11, 2), 1000, secondResults::add, failures::add);
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> request = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> callback = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, times(2)).registerRegularPoll(request.capture(), eq(1000L), eq(0L), callback.capture(),
+                any(ModbusFailureCallback.class));
+        // the first poll is replaced by the merged poll
+        verify(comms, times(1)).unregisterRegularPoll(any());
+        assertThat(request.getValue().getReference(), is(equalTo(10)));
+        assertThat(request.getValue().getDataLength(), is(equalTo(3)));
+
+        ModbusRegisterArray registers = new ModbusRegisterArray(new byte[] { 1, 2, 3, 4, 5, 6 });
+        callback.getValue().handle(new AsyncModbusReadResult(request.getValue(), registers));
+        assertThat(firstResults.size(), is(equalTo(1)));
+        assertThat(firstResults.get(0).getRegisters().get().getBytes(), is(equalTo(new byte[] { 1, 2 })));
+        assertThat(firstResults.get(0).getRequest(), is(sameInstance(firstRequest)));
+        assertThat(secondResults.size(), is(equalTo(1)));
+        assertThat(secondResults.get(0).getRegisters().get().getBytes(), is(equalTo(new byte[] { 3, 4, 5, 6 })));
+        assertThat(coalescer.getTransactionCount(), is(equalTo(1L)));
+        assertThat(coalescer.getMergedRequestCount(), is(equalTo(1L)));
+        assertThat(failures.isEmpty(), is(true));
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "null" })
+    public void testOnlyAffectedPollsAreRescheduled() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> mock(PollTask.class));
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms);
+        coalescer.registerRegularPoll(request(10, 1), 1000, results::add, failures::add);
+        Registration separate = coalescer.registerRegularPoll(request(20, 1), 1000, results::add, failures::add);
+        verify(comms, times(2)).registerRegularPoll(any(), eq(1000L), eq(0L), any(), any());
+        verify(comms, never()).unregisterRegularPoll(any());
+
+        // a poll next to the first one only replaces the poll of the first one
+        coalescer.registerRegularPoll(request(11, 1), 1000, results::add, failures::add);
+        verify(comms, times(3)).registerRegularPoll(any(), eq(1000L), eq(0L), any(), any());
+        verify(comms, times(1)).unregisterRegularPoll(any());
+
+        // removing the separate poll leaves the merged poll alone
+        coalescer.unregisterRegularPoll(separate);
+        verify(comms, times(3)).registerRegularPoll(any(), eq(1000L), eq(0L), any(), any());
+        verify(comms, times(2)).unregisterRegularPoll(any());
+    }
+}
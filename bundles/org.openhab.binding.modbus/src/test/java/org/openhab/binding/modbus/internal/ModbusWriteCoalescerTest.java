@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusWriteResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.ModbusResponse;
+import org.openhab.core.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.core.io.transport.modbus.ModbusWriteCoilRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusWriteRequestBlueprint;
+
+/**
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings({ "unchecked", "null" })
+public class ModbusWriteCoalescerTest {
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private final List<AsyncModbusWriteResult> results = new ArrayList<>();
+    private final List<AsyncModbusFailure<ModbusWriteRequestBlueprint>> failures = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        scheduler = mock(ScheduledExecutorService.class);
+    }
+
+    private static ModbusWriteRegisterRequestBlueprint write(int reference, int value) {
+        return new ModbusWriteRegisterRequestBlueprint(1, reference, new ModbusRegisterArray(value), true, 1);
+    }
+
+    private static ModbusWriteRegisterRequestBlueprint writeSingle(int reference, int value) {
+        return new ModbusWriteRegisterRequestBlueprint(1, reference, new ModbusRegisterArray(value), false, 1);
+    }
+
+    private void submit(ModbusWriteCoalescer coalescer, ModbusWriteRequestBlueprint request) {
+        coalescer.submitOneTimeWrite(request, results::add, failures::add);
+    }
+
+    private void flush() {
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, atLeastOnce()).schedule(flush.capture(), eq(100L), eq(TimeUnit.MILLISECONDS));
+        flush.getValue().run();
+    }
+
+    @Test
+    public void testSameRegisterKeepsLatestValue() {
+        ModbusWriteCoalescer coalescer = new ModbusWriteCoalescer(comms, scheduler, 100, 1);
+        ModbusWriteRegisterRequestBlueprint latest = write(5, 3);
+        submit(coalescer, write(5, 1));
+        submit(coalescer, write(5, 2));
+        submit(coalescer, latest);
+        verifyNoInteractions(comms);
+        flush();
+
+        ArgumentCaptor<ModbusWriteRequestBlueprint> request = ArgumentCaptor
+                .forClass(ModbusWriteRequestBlueprint.class);
+        ArgumentCaptor<ModbusWriteCallback> callback = ArgumentCaptor.forClass(ModbusWriteCallback.class);
+        verify(comms).submitOneTimeWrite(request.capture(), callback.capture(), any(ModbusFailureCallback.class));
+        assertThat(request.getValue(), is(sameInstance(latest)));
+
+        callback.getValue().handle(new AsyncModbusWriteResult(request.getValue(), mock(ModbusResponse.class)));
+        // every submitted write gets a callback
+        assertThat(results.size(), is(equalTo(3)));
+        assertThat(coalescer.getSubmittedCount(), is(equalTo(3L)));
+        assertThat(coalescer.getTransactionCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testContiguousRegistersAreMerged() {
+        ModbusWriteCoalescer coalescer = new ModbusWriteCoalescer(comms, scheduler, 100, 1);
+        ModbusWriteRegisterRequestBlueprint separate = write(20, 3);
+        submit(coalescer, write(10, 1));
+        submit(coalescer, write(11, 2));
+        submit(coalescer, separate);
+        flush();
+
+        ArgumentCaptor<ModbusWriteRequestBlueprint> request = ArgumentCaptor
+                .forClass(ModbusWriteRequestBlueprint.class);
+        ArgumentCaptor<ModbusWriteCallback> callback = ArgumentCaptor.forClass(ModbusWriteCallback.class);
+        // only one request is in flight at a time
+        verify(comms).submitOneTimeWrite(request.capture(), callback.capture(), any(ModbusFailureCallback.class));
+        ModbusWriteRegisterRequestBlueprint merged = (ModbusWriteRegisterRequestBlueprint) request.getValue();
+        assertThat(merged.getReference(), is(equalTo(10)));
+        assertThat(merged.getRegisters().getBytes(), is(equalTo(new byte[] { 0, 1, 0, 2 })));
+        assertThat(merged.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS)));
+
+        callback.getValue().handle(new AsyncModbusWriteResult(request.getValue(), mock(ModbusResponse.class)));
+        verify(comms, times(2)).submitOneTimeWrite(request.capture(), callback.capture(),
+                any(ModbusFailureCallback.class));
+        assertThat(request.getValue(), is(sameInstance(separate)));
+        assertThat(results.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testSubmissionOrderIsKept() {
+        ModbusWriteCoalescer coalescer = new ModbusWriteCoalescer(comms, scheduler, 100, 3);
+        ModbusWriteRegisterRequestBlueprint first = write(11, 1);
+        ModbusWriteRegisterRequestBlueprint second = write(10, 2);
+        ModbusWriteRegisterRequestBlueprint third = write(12, 3);
+        submit(coalescer, first);
+        submit(coalescer, second);
+        submit(coalescer, third);
+        flush();
+
+        // the write to register 10 is not moved ahead of the write to register 11
+        ArgumentCaptor<ModbusWriteRequestBlueprint> request = ArgumentCaptor
+                .forClass(ModbusWriteRequestBlueprint.class);
+        verify(comms, times(3)).submitOneTimeWrite(request.capture(), any(ModbusWriteCallback.class),
+                any(ModbusFailureCallback.class));
+        assertThat(request.getAllValues().get(0), is(sameInstance(first)));
+        assertThat(request.getAllValues().get(1), is(sameInstance(second)));
+        assertThat(request.getAllValues().get(2), is(sameInstance(third)));
+    }
+
+    @Test
+    public void testCoilWriteSendsPendingWritesFirst() {
+        ModbusWriteCoalescer coalescer = new ModbusWriteCoalescer(comms, scheduler, 100, 3);
+        ModbusWriteRegisterRequestBlueprint value = write(10, 1);
+        ModbusWriteCoilRequestBlueprint trigger = new ModbusWriteCoilRequestBlueprint(1, 0, true, false, 1);
+        submit(coalescer, value);
+        submit(coalescer, trigger);
+
+        ArgumentCaptor<ModbusWriteRequestBlueprint> request = ArgumentCaptor
+                .forClass(ModbusWriteRequestBlueprint.class);
+        verify(comms, times(2)).submitOneTimeWrite(request.capture(), any(ModbusWriteCallback.class),
+                any(ModbusFailureCallback.class));
+        assertThat(request.getAllValues().get(0), is(sameInstance(value)));
+        assertThat(request.getAllValues().get(1), is(sameInstance(trigger)));
+    }
+
+    @Test
+    public void testSingleRegisterWritesAreNotMerged() {
+        ModbusWriteCoalescer coalescer = new ModbusWriteCoalescer(comms, scheduler, 100, 3);
+        ModbusWriteRegisterRequestBlueprint first = writeSingle(10, 1);
+        ModbusWriteRegisterRequestBlueprint second = write(11, 2);
+        ModbusWriteRegisterRequestBlueprint third = writeSingle(12, 3);
+        submit(coalescer, first);
+        submit(coalescer, second);
+        submit(coalescer, third);
+        flush();
+
+        ArgumentCaptor<ModbusWriteRequestBlueprint> request = ArgumentCaptor
+                .forClass(ModbusWriteRequestBlueprint.class);
+        verify(comms, times(3)).submitOneTimeWrite(request.capture(), any(ModbusWriteCallback.class),
+                any(ModbusFailureCallback.class));
+        assertThat(request.getAllValues().get(0), is(sameInstance(first)));
+        assertThat(request.getAllValues().get(1), is(sameInstance(second)));
+        assertThat(request.getAllValues().get(2), is(sameInstance(third)));
+        assertThat(first.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_SINGLE_REGISTER)));
+    }
+
+    @Test
+    public void testFailureIsPassedToAllWrites() {
+        ModbusWriteCoalescer coalescer = new ModbusWriteCoalescer(comms, scheduler, 100, 1);
+        ModbusWriteRegisterRequestBlueprint first = write(10, 1);
+        ModbusWriteRegisterRequestBlueprint second = write(11, 2);
+        submit(coalescer, first);
+        submit(coalescer, second);
+        flush();
+
+        ArgumentCaptor<ModbusWriteRequestBlueprint> request = ArgumentCaptor
+                .forClass(ModbusWriteRequestBlueprint.class);
+        ArgumentCaptor<ModbusFailureCallback<ModbusWriteRequestBlueprint>> callback = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms).submitOneTimeWrite(request.capture(), any(ModbusWriteCallback.class), callback.capture());
+        callback.getValue().handle(new AsyncModbusFailure<>(request.getValue(), new Exception("failure")));
+        assertThat(failures.size(), is(equalTo(2)));
+        assertThat(failures.get(0).getRequest(), is(sameInstance(first)));
+        assertThat(failures.get(1).getRequest(), is(sameInstance(second)));
+        assertThat(coalescer.getFailureCount(), is(equalTo(1L)));
+    }
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -31,14 +32,20 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
-import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.InvalidInputException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * Provides a channel transformation for a Home Assistant channel with a
  * Jinja2 template, providing the additional context and extensions required by Home Assistant
  * Based in part on the JinjaTransformationService
+ * <p>
+ * Parsed templates are cached by the transformation, and the value is only parsed as JSON if the template refers to
+ * <code>value_json</code>.
  *
  * @author Cody Cutrer - Initial contribution
  */
@@ -50,12 +57,25 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         }
     }
 
+    private static final String VALUE_JSON = "value_json";
+    // a transformation usually renders a single template, only a few components render several
+    private static final int MAX_CACHED_TEMPLATES = 16;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantChannelTransformation.class);
 
     private final Jinjava jinjava;
     private final AbstractComponent component;
     private final String template;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // the binding embeds its own Jinjava, so it cannot share the template cache of the JINJA transformation
+    private final Map<String, Node> parsedTemplates = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Node> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
 
     public HomeAssistantChannelTransformation(Jinjava jinjava, AbstractComponent component, String template) {
         super((String) null);
@@ -81,11 +101,13 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
 
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = objectMapper.readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        if (template.contains(VALUE_JSON)) {
+            try {
+                JsonNode tree = OBJECT_MAPPER.readTree(value);
+                bindings.put(VALUE_JSON, toObject(tree));
+            } catch (IOException e) {
+                // ok, then value_json is null...
+            }
         }
 
         return apply(template, bindings);
@@ -94,21 +116,32 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     public Optional<String> apply(String template, Map<String, @Nullable Object> bindings) {
         String transformationResult;
 
+        Context context = new Context(jinjava.getGlobalContext(), bindings, jinjava.getGlobalConfig().getDisabled());
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
         try {
-            transformationResult = jinjava.render(template, bindings);
-        } catch (FatalTemplateErrorsException e) {
-            var error = e.getErrors().iterator();
-            Exception exception = null;
-            if (error.hasNext()) {
-                exception = error.next().getException();
+            Node root;
+            synchronized (parsedTemplates) {
+                root = parsedTemplates.get(template);
             }
-            if (exception instanceof UndefinedException) {
-                // They used the is_defined filter; it's expected to return null, with no warning
-                return Optional.empty();
+            if (root == null) {
+                root = interpreter.parse(template);
+                if (getFatalError(interpreter) == null) {
+                    synchronized (parsedTemplates) {
+                        parsedTemplates.put(template, root);
+                    }
+                }
             }
-            logger.warn("Applying template {} for component {} failed: {} ({})", template,
-                    component.getHaID().toShortTopic(), e.getMessage(), e.getClass());
-            return Optional.empty();
+            transformationResult = interpreter.render(root);
+        } catch (RuntimeException e) {
+            return handleError(template, e);
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+
+        TemplateError error = getFatalError(interpreter);
+        if (error != null) {
+            return handleError(template, error.getException());
         }
 
         logger.debug("transformation resulted in '{}'", transformationResult);
@@ -116,6 +149,21 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         return Optional.of(transformationResult);
     }
 
+    private static @Nullable TemplateError getFatalError(JinjavaInterpreter interpreter) {
+        return interpreter.getErrorsCopy().stream().filter(error -> error.getSeverity() == ErrorType.FATAL)
+                .findFirst().orElse(null);
+    }
+
+    private Optional<String> handleError(String template, @Nullable Exception exception) {
+        if (exception instanceof UndefinedException) {
+            // They used the is_defined filter; it's expected to return null, with no warning
+            return Optional.empty();
+        }
+        logger.warn("Applying template {} for component {} failed: {}", template, component.getHaID().toShortTopic(),
+                exception != null ? exception.getMessage() : "unknown error");
+        return Optional.empty();
+    }
+
     private static @Nullable Object toObject(JsonNode node) {
         switch (node.getNodeType()) {
             case ARRAY: {
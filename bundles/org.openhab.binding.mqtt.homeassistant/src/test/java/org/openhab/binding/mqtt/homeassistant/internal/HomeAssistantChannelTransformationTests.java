@@ -100,6 +100,29 @@ public class HomeAssistantChannelTransformationTests {
         assertThat(transform("{{ 'hi' | is_defined }}", "{}"), is("hi"));
     }
 
+    @Test
+    public void testValueJson() {
+        assertThat(transform("{{ value_json.val }}", "{\"val\": 21.5}"), is("21.5"));
+        assertThat(transform("{{ value_json[1] }}", "[1, 2]"), is("2"));
+        // the cached template is rendered with the newly parsed value
+        assertThat(transform("{{ value_json.val }}", "{\"val\": \"on\"}"), is("on"));
+    }
+
+    @Test
+    public void testValueJsonIsOnlyParsedWhenUsed() {
+        // values that are no JSON can be used as long as the template does not refer to value_json
+        assertThat(transform("{{ value }}", "not json"), is("not json"));
+        assertThat(transform("{{ value | int + 1 }}", "41"), is("42"));
+        assertThat(transform("{{ value_json is none }}", "not json"), is("true"));
+    }
+
+    @Test
+    public void testTemplateWithSyntaxError() {
+        assertThat(transform("{% if %}", ""), is(nullValue()));
+        // templates with errors are not cached, so they fail again
+        assertThat(transform("{% if %}", ""), is(nullValue()));
+    }
+
     protected @Nullable String transform(String template, String value) {
         return transformation.apply(template, value).orElse(null);
     }
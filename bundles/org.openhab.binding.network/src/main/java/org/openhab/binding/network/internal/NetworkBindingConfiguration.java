@@ -17,8 +17,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.BatchPinger;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.core.common.ThreadPoolManager;
 
 /**
  * Contains the binding configuration and default values. The field names represent the configuration names,
@@ -34,10 +37,13 @@ public class NetworkBindingConfiguration {
     public BigDecimal cacheDeviceStateTimeInMS = BigDecimal.valueOf(2000);
     public String arpPingToolPath = "arping";
     public ArpPingUtilEnum arpPingUtilMethod = ArpPingUtilEnum.DISABLED;
+    public String fpingToolPath = "fping";
     // For backwards compatibility reasons, the default is to use the ping method execution time as latency value
     public boolean preferResponseTimeAsLatency = false;
 
     private List<NetworkBindingConfigurationListener> listeners = new ArrayList<>();
+    private @Nullable BatchPinger batchPinger;
+    private @Nullable PresenceRefreshScheduler refreshScheduler;
 
     public void update(NetworkBindingConfiguration newConfiguration) {
         this.allowSystemPings = newConfiguration.allowSystemPings;
@@ -45,13 +51,49 @@ public class NetworkBindingConfiguration {
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
         this.preferResponseTimeAsLatency = newConfiguration.preferResponseTimeAsLatency;
+        this.fpingToolPath = newConfiguration.fpingToolPath;
 
         NetworkUtils networkUtils = new NetworkUtils();
         this.arpPingUtilMethod = networkUtils.determineNativeArpPingMethod(arpPingToolPath);
 
+        dispose();
+        if (networkUtils.isFpingAvailable(fpingToolPath)) {
+            batchPinger = new BatchPinger(fpingToolPath, ThreadPoolManager.getScheduledPool("network"));
+        }
+
         notifyListeners();
     }
 
+    /**
+     * Returns the {@link BatchPinger} for system pings, or <code>null</code> if the fping tool is not available.
+     */
+    public @Nullable BatchPinger getBatchPinger() {
+        return batchPinger;
+    }
+
+    /**
+     * Returns the {@link PresenceRefreshScheduler} shared by all Things of the binding.
+     */
+    public synchronized PresenceRefreshScheduler getRefreshScheduler() {
+        PresenceRefreshScheduler refreshScheduler = this.refreshScheduler;
+        if (refreshScheduler == null) {
+            refreshScheduler = new PresenceRefreshScheduler(ThreadPoolManager.getScheduledPool("network"));
+            this.refreshScheduler = refreshScheduler;
+        }
+        return refreshScheduler;
+    }
+
+    /**
+     * Stops the {@link BatchPinger}, if any.
+     */
+    public void dispose() {
+        BatchPinger batchPinger = this.batchPinger;
+        if (batchPinger != null) {
+            batchPinger.dispose();
+            this.batchPinger = null;
+        }
+    }
+
     public void addNetworkBindingConfigurationListener(NetworkBindingConfigurationListener listener) {
         listeners.add(listener);
     }
@@ -65,6 +107,6 @@ public class NetworkBindingConfiguration {
         return "NetworkBindingConfiguration{" + "allowSystemPings=" + allowSystemPings + ", allowDHCPlisten="
                 + allowDHCPlisten + ", cacheDeviceStateTimeInMS=" + cacheDeviceStateTimeInMS + ", arpPingToolPath='"
                 + arpPingToolPath + '\'' + ", arpPingUtilMethod=" + arpPingUtilMethod + ", preferResponseTimeAsLatency="
-                + preferResponseTimeAsLatency + '}';
+                + preferResponseTimeAsLatency + ", fpingToolPath='" + fpingToolPath + '\'' + '}';
     }
 }
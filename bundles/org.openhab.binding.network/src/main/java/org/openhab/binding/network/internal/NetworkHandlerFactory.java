@@ -60,6 +60,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     @Override
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
+        configuration.dispose();
         super.deactivate(componentContext);
     }
 
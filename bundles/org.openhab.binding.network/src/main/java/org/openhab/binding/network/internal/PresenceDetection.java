@@ -34,6 +34,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -41,6 +42,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.DHCPPacketListenerServer;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
+import org.openhab.binding.network.internal.utils.BatchPinger;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
@@ -72,6 +74,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     protected String arpPingUtilPath = "";
     private ArpPingUtilEnum arpPingMethod = ArpPingUtilEnum.DISABLED;
     protected @Nullable IpPingMethodEnum pingMethod = null;
+    private @Nullable BatchPinger batchPinger;
     private boolean iosDevice;
     private Set<Integer> tcpPorts = new HashSet<>();
 
@@ -93,6 +96,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     private Set<String> networkInterfaceNames = Set.of();
     private @Nullable ScheduledFuture<?> refreshJob;
+    private @Nullable PresenceRefreshScheduler refreshScheduler;
+    private @Nullable PresenceRefreshScheduler activeRefreshScheduler;
     protected @Nullable ExecutorService detectionExecutorService;
     protected @Nullable ExecutorService waitForResultExecutorService;
     private String dhcpState = "off";
@@ -200,6 +205,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
     }
 
+    /**
+     * Sets the {@link BatchPinger} used for system pings of IPv4 addresses. System pings are executed together with
+     * the pings of other devices then, instead of starting a ping process per device.
+     *
+     * @param batchPinger the batch pinger or <code>null</code> to start a ping process per device
+     */
+    public void setBatchPinger(@Nullable BatchPinger batchPinger) {
+        this.batchPinger = batchPinger;
+        IpPingMethodEnum pingMethod = this.pingMethod;
+        if (pingMethod != null && pingMethod != IpPingMethodEnum.JAVA_PING) {
+            ipPingState = batchPinger != null ? pingMethod.name() + " (batched)" : pingMethod.name();
+        }
+    }
+
     /**
      * Enables or disables ARP pings. Will be automatically disabled if the destination
      * is not an IPv4 address. If the feature test for the native arping utility fails,
@@ -548,12 +567,18 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         withDestinationAddress(destinationAddress -> {
             try {
-                PingResult pingResult = networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(),
-                        timeout);
+                BatchPinger batchPinger = this.batchPinger;
+                PingResult pingResult;
+                if (batchPinger != null && destinationAddress instanceof Inet4Address) {
+                    pingResult = batchPinger.ping(destinationAddress.getHostAddress(), timeout)
+                            .get(timeout.plus(BatchPinger.MAX_DELAY).toMillis(), TimeUnit.MILLISECONDS);
+                } else {
+                    pingResult = networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeout);
+                }
                 if (pingResult != null && pingResult.isSuccess()) {
                     updateReachable(pdv, ICMP_PING, getLatency(pingResult));
                 }
-            } catch (IOException e) {
+            } catch (IOException | ExecutionException | CancellationException | TimeoutException e) {
                 logger.trace("Failed to execute a native ping for {}", hostname, e);
             } catch (InterruptedException e) {
                 // This can be ignored, the thread will end anyway
@@ -574,13 +599,26 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateReachable(DHCP_REQUEST, Duration.ZERO);
     }
 
+    /**
+     * Sets the {@link PresenceRefreshScheduler} used for automatic refreshes. The device is refreshed in the probe
+     * rounds of the binding then, together with the other devices that are due.
+     *
+     * @param refreshScheduler the refresh scheduler or <code>null</code> to refresh with an own scheduled runner
+     */
+    public void setRefreshScheduler(@Nullable PresenceRefreshScheduler refreshScheduler) {
+        this.refreshScheduler = refreshScheduler;
+    }
+
     /**
      * Start/Restart a fixed scheduled runner to update the devices reach-ability state.
      */
     public void startAutomaticRefresh() {
-        ScheduledFuture<?> future = refreshJob;
-        if (future != null && !future.isDone()) {
-            future.cancel(true);
+        stopRefreshJob();
+        PresenceRefreshScheduler refreshScheduler = this.refreshScheduler;
+        if (refreshScheduler != null) {
+            activeRefreshScheduler = refreshScheduler;
+            refreshScheduler.add(this);
+            return;
         }
         refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> {
             try {
@@ -592,25 +630,46 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Refreshes the reachability state without waiting for the result.
+     */
+    void refresh() {
+        logger.debug("Refreshing {} reachability state", hostname);
+        cache.getValue(this::performPresenceDetection).whenComplete((value, e) -> {
+            if (e != null) {
+                logger.debug("Failed to refresh {} presence detection", hostname, e);
+            }
+        });
+    }
+
     /**
      * Return <code>true</code> if automatic refreshing is enabled.
      */
     public boolean isAutomaticRefreshing() {
-        return refreshJob != null;
+        return refreshJob != null || activeRefreshScheduler != null;
     }
 
     /**
      * Stop automatic refreshing.
      */
     public void stopAutomaticRefresh() {
+        stopRefreshJob();
+        InetAddress cached = cachedDestination;
+        if (cached != null) {
+            disableDHCPListen(cached);
+        }
+    }
+
+    private void stopRefreshJob() {
         ScheduledFuture<?> future = refreshJob;
         if (future != null && !future.isDone()) {
             future.cancel(true);
             refreshJob = null;
         }
-        InetAddress cached = cachedDestination;
-        if (cached != null) {
-            disableDHCPListen(cached);
+        PresenceRefreshScheduler refreshScheduler = activeRefreshScheduler;
+        if (refreshScheduler != null) {
+            refreshScheduler.remove(this);
+            activeRefreshScheduler = null;
         }
     }
 
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.BatchPinger;
+
+/**
+ * The {@link PresenceRefreshScheduler} refreshes the presence detections of all Things of the binding in rounds.
+ * <p>
+ * A round runs every {@link #ROUND_INTERVAL} and starts the refreshes of all detections that are due at once, so
+ * their system pings are sent in the same batch by the {@link BatchPinger}. The detections with the same refresh
+ * interval are spread evenly over the interval by their position, so every round refreshes about the same number of
+ * devices.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceRefreshScheduler {
+
+    /**
+     * Time between two probe rounds
+     */
+    static final Duration ROUND_INTERVAL = Duration.ofSeconds(5);
+
+    private final ScheduledExecutorService scheduler;
+
+    // refresh schedules in the order the detections were added
+    private final Map<PresenceDetection, Schedule> schedules = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> roundJob;
+
+    private static class Schedule {
+        private final long intervalMillis;
+        private long offsetMillis;
+        private long nextRefreshMillis;
+
+        private Schedule(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+
+        /**
+         * Returns the first refresh time of this schedule after the given time.
+         */
+        private long nextRefreshAfter(long nowMillis) {
+            return offsetMillis + (Math.floorDiv(nowMillis - offsetMillis, intervalMillis) + 1) * intervalMillis;
+        }
+    }
+
+    /**
+     * @param scheduler the scheduler executing the probe rounds
+     */
+    public PresenceRefreshScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Refreshes the given detection immediately and then regularly with its refresh interval.
+     *
+     * @param detection the presence detection to refresh
+     */
+    public void add(PresenceDetection detection) {
+        synchronized (this) {
+            schedules.put(detection, new Schedule(Math.max(1, detection.getRefreshInterval().toMillis())));
+            spread(System.currentTimeMillis());
+            if (roundJob == null) {
+                roundJob = scheduler.scheduleAtFixedRate(this::runRound, ROUND_INTERVAL.toMillis(),
+                        ROUND_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        detection.refresh();
+    }
+
+    /**
+     * Stops refreshing the given detection.
+     *
+     * @param detection the presence detection to stop refreshing
+     */
+    public synchronized void remove(PresenceDetection detection) {
+        if (schedules.remove(detection) == null) {
+            return;
+        }
+        spread(System.currentTimeMillis());
+        ScheduledFuture<?> job = roundJob;
+        if (schedules.isEmpty() && job != null) {
+            job.cancel(false);
+            roundJob = null;
+        }
+    }
+
+    void runRound() {
+        runRound(System.currentTimeMillis());
+    }
+
+    /**
+     * Starts the refreshes of all detections that are due at the given time.
+     *
+     * @param nowMillis the current time in milliseconds since the epoch
+     */
+    void runRound(long nowMillis) {
+        List<PresenceDetection> due = new ArrayList<>();
+        synchronized (this) {
+            schedules.forEach((detection, schedule) -> {
+                if (schedule.nextRefreshMillis <= nowMillis) {
+                    due.add(detection);
+                    schedule.nextRefreshMillis = schedule.nextRefreshAfter(nowMillis);
+                }
+            });
+        }
+        // the refreshes only start the detections, so all pings of the round are requested at about the same time
+        due.forEach(PresenceDetection::refresh);
+    }
+
+    /**
+     * Spreads the detections with the same refresh interval evenly over the interval, according to their position.
+     */
+    private void spread(long nowMillis) {
+        Map<Long, List<Schedule>> byInterval = new LinkedHashMap<>();
+        schedules.values().forEach(s -> byInterval.computeIfAbsent(s.intervalMillis, i -> new ArrayList<>()).add(s));
+        byInterval.forEach((intervalMillis, group) -> {
+            for (int position = 0; position < group.size(); position++) {
+                Schedule schedule = group.get(position);
+                schedule.offsetMillis = position * intervalMillis / group.size();
+                schedule.nextRefreshMillis = schedule.nextRefreshAfter(nowMillis);
+            }
+        });
+    }
+}
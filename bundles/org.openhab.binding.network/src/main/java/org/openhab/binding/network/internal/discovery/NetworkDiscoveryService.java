@@ -100,6 +100,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         if (executorService != null) {
             executorService.shutdown();
         }
+        configuration.dispose();
         super.deactivate();
     }
 
@@ -146,6 +147,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             pd.setTimeout(PING_TIMEOUT);
             // Ping devices
             pd.setUseIcmpPing(true);
+            pd.setBatchPinger(configuration.getBatchPinger());
             pd.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
             // TCP devices
             pd.setServicePorts(tcpServicePorts);
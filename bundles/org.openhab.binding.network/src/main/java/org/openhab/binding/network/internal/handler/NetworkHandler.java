@@ -32,6 +32,7 @@ import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.WakeOnLanPacketSender;
 import org.openhab.binding.network.internal.action.NetworkActions;
+import org.openhab.binding.network.internal.utils.BatchPinger;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
@@ -65,6 +66,7 @@ public class NetworkHandler extends BaseThingHandler
     private @NonNullByDefault({}) WakeOnLanPacketSender wakeOnLanPacketSender;
 
     private boolean isTCPServiceDevice;
+    private boolean usesRefreshScheduler;
     private NetworkBindingConfiguration configuration;
 
     // How many retries before a device is deemed offline
@@ -171,6 +173,7 @@ public class NetworkHandler extends BaseThingHandler
         presenceDetection.setHostname(handlerConfiguration.hostname);
         presenceDetection.setNetworkInterfaceNames(handlerConfiguration.networkInterfaceNames);
         presenceDetection.setPreferResponseTimeAsLatency(configuration.preferResponseTimeAsLatency);
+        usesRefreshScheduler = false;
 
         if (isTCPServiceDevice) {
             Integer port = handlerConfiguration.port;
@@ -184,6 +187,7 @@ public class NetworkHandler extends BaseThingHandler
             // Hand over binding configurations to the network service
             presenceDetection.setUseDhcpSniffing(configuration.allowDHCPlisten);
             presenceDetection.setUseIcmpPing(configuration.allowSystemPings);
+            updateBatchPinger(presenceDetection);
             presenceDetection.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
         }
 
@@ -228,6 +232,27 @@ public class NetworkHandler extends BaseThingHandler
     public void bindingConfigurationChanged() {
         // Make sure that changed binding configuration is reflected
         presenceDetection.setPreferResponseTimeAsLatency(configuration.preferResponseTimeAsLatency);
+        if (!isTCPServiceDevice && updateBatchPinger(presenceDetection) && presenceDetection.isAutomaticRefreshing()) {
+            presenceDetection.startAutomaticRefresh();
+        }
+    }
+
+    /**
+     * Hands over the batch pinger of the binding. Only devices pinged by the batch pinger are refreshed in the probe
+     * rounds of the binding, all others keep their own refresh job with the configured interval.
+     *
+     * @return <code>true</code> if the way the device is refreshed has changed
+     */
+    private boolean updateBatchPinger(PresenceDetection presenceDetection) {
+        BatchPinger batchPinger = configuration.allowSystemPings ? configuration.getBatchPinger() : null;
+        presenceDetection.setBatchPinger(batchPinger);
+        boolean useRefreshScheduler = batchPinger != null;
+        if (useRefreshScheduler == usesRefreshScheduler) {
+            return false;
+        }
+        usesRefreshScheduler = useRefreshScheduler;
+        presenceDetection.setRefreshScheduler(useRefreshScheduler ? configuration.getRefreshScheduler() : null);
+        return true;
     }
 
     @Override
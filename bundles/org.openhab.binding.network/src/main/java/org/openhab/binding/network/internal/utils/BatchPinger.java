@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.openhab.binding.network.internal.utils.NetworkUtils.millisToDuration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link BatchPinger} sends ICMP pings to many hosts with the fping tool.
+ * <p>
+ * Ping requests are collected for a short time and then executed together, so the presence detection of many
+ * devices does not start one ping process per device and refresh cycle. One fping process is started for each batch
+ * of up to {@link #MAX_BATCH_SIZE} hosts and ends when all of them answered or timed out. Requests for the same host
+ * that arrive while a batch is collected share the result.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class BatchPinger {
+
+    /**
+     * Time requests are collected before a batch is executed
+     */
+    static final Duration BATCH_WINDOW = Duration.ofMillis(200);
+
+    /**
+     * Maximum number of hosts pinged by a single process
+     */
+    static final int MAX_BATCH_SIZE = 64;
+
+    /**
+     * Maximum time a result may arrive after the ping timeout, for collecting the batch and running the process
+     */
+    public static final Duration MAX_DELAY = BATCH_WINDOW.plusSeconds(2);
+
+    // This is how the output of fping -e looks like:
+    // 192.168.1.1 is alive (0.52 ms)
+    // 192.168.1.2 is unreachable
+    private static final Pattern RESULT_PATTERN = Pattern
+            .compile("^(?<host>\\S+) is (?<state>alive|unreachable)(?: \\((?<latency>[\\d.,]+) ms\\))?");
+
+    private final Logger logger = LoggerFactory.getLogger(BatchPinger.class);
+
+    private final String fpingToolPath;
+    private final ScheduledExecutorService scheduler;
+
+    // pending requests by timeout and host
+    private final Map<Long, Map<String, List<CompletableFuture<PingResult>>>> pending = new LinkedHashMap<>();
+    private @Nullable ScheduledFuture<?> batchJob;
+
+    /**
+     * @param fpingToolPath the path of the fping tool
+     * @param scheduler the scheduler executing the batches
+     */
+    public BatchPinger(String fpingToolPath, ScheduledExecutorService scheduler) {
+        this.fpingToolPath = fpingToolPath;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Requests a ping of the given host with the next batch.
+     *
+     * @param hostAddress the IP address of the host
+     * @param timeout the timeout before the ping is considered failed
+     * @return a future completed with the ping result, or exceptionally if the fping tool could not be executed
+     */
+    public synchronized CompletableFuture<PingResult> ping(String hostAddress, Duration timeout) {
+        CompletableFuture<PingResult> future = new CompletableFuture<>();
+        boolean firstRequest = pending.isEmpty();
+        pending.computeIfAbsent(timeout.toMillis(), t -> new LinkedHashMap<>())
+                .computeIfAbsent(hostAddress, h -> new ArrayList<>()).add(future);
+        if (firstRequest) {
+            batchJob = scheduler.schedule(this::executeBatches, BATCH_WINDOW.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Stops the batch execution. Pending requests are completed exceptionally.
+     */
+    public synchronized void dispose() {
+        ScheduledFuture<?> job = batchJob;
+        if (job != null) {
+            job.cancel(false);
+            batchJob = null;
+        }
+        IllegalStateException exception = new IllegalStateException("Batch ping has been stopped");
+        pending.values().forEach(hosts -> hosts.values()
+                .forEach(futures -> futures.forEach(future -> future.completeExceptionally(exception))));
+        pending.clear();
+    }
+
+    private void executeBatches() {
+        Map<Long, Map<String, List<CompletableFuture<PingResult>>>> batches;
+        synchronized (this) {
+            batches = new LinkedHashMap<>(pending);
+            pending.clear();
+            batchJob = null;
+        }
+
+        List<Runnable> jobs = new ArrayList<>();
+        batches.forEach((timeoutMillis, requests) -> {
+            List<Map.Entry<String, List<CompletableFuture<PingResult>>>> entries = new ArrayList<>(
+                    requests.entrySet());
+            for (int i = 0; i < entries.size(); i += MAX_BATCH_SIZE) {
+                List<Map.Entry<String, List<CompletableFuture<PingResult>>>> batch = entries.subList(i,
+                        Math.min(i + MAX_BATCH_SIZE, entries.size()));
+                jobs.add(() -> executeBatch(batch, timeoutMillis));
+            }
+        });
+        // the batches run in parallel, so every result arrives within the timeout and MAX_DELAY
+        for (int i = 1; i < jobs.size(); i++) {
+            try {
+                scheduler.execute(jobs.get(i));
+            } catch (RejectedExecutionException e) {
+                jobs.get(i).run();
+            }
+        }
+        if (!jobs.isEmpty()) {
+            jobs.get(0).run();
+        }
+    }
+
+    private void executeBatch(List<Map.Entry<String, List<CompletableFuture<PingResult>>>> batch, long timeoutMillis) {
+        Map<String, PingResult> results = new HashMap<>();
+        try {
+            execute(batch.stream().map(Map.Entry::getKey).toList(), timeoutMillis, results);
+        } catch (IOException e) {
+            logger.debug("Failed to execute batch ping of {} hosts", batch.size(), e);
+            batch.forEach(entry -> entry.getValue().forEach(future -> future.completeExceptionally(e)));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.forEach(entry -> entry.getValue().forEach(future -> future.cancel(false)));
+            return;
+        }
+        for (Map.Entry<String, List<CompletableFuture<PingResult>>> entry : batch) {
+            PingResult result = results.getOrDefault(entry.getKey(),
+                    new PingResult(false, Duration.ofMillis(timeoutMillis)));
+            entry.getValue().forEach(future -> future.complete(result));
+        }
+    }
+
+    private void execute(List<String> hosts, long timeoutMillis, Map<String, PingResult> results)
+            throws IOException, InterruptedException {
+        Instant execStartTime = Instant.now();
+        List<String> command = new ArrayList<>(
+                List.of(fpingToolPath, "-e", "-r", "0", "-t", String.valueOf(timeoutMillis)));
+        command.addAll(hosts);
+        Process proc = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        // The output of a batch fits into the pipe buffer, so it can be read after the process ended.
+        // The return code is 0 if all hosts are reachable and 1 if some are unreachable, the output tells which.
+        if (!proc.waitFor(timeoutMillis + MAX_DELAY.toMillis(), TimeUnit.MILLISECONDS)) {
+            proc.destroyForcibly();
+            throw new IOException("fping did not finish within " + (timeoutMillis + MAX_DELAY.toMillis()) + " ms");
+        }
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                parseResult(line, results);
+            }
+        }
+        logger.trace("Batch ping of {} hosts took {}", hosts.size(), Duration.between(execStartTime, Instant.now()));
+    }
+
+    /**
+     * Examine a single output line of the fping tool and add the contained result.
+     *
+     * @param inputLine single output line of fping
+     * @param results the results by host address
+     */
+    static void parseResult(String inputLine, Map<String, PingResult> results) {
+        Matcher m = RESULT_PATTERN.matcher(inputLine);
+        if (!m.find()) {
+            return;
+        }
+        String latency = m.group("latency");
+        if ("alive".equals(m.group("state")) && latency != null) {
+            Duration responseTime = millisToDuration(Double.parseDouble(latency.replace(",", ".")));
+            PingResult pingResult = new PingResult(true, responseTime);
+            pingResult.setResponseTime(responseTime);
+            results.put(m.group("host"), pingResult);
+        } else if ("alive".equals(m.group("state"))) {
+            results.put(m.group("host"), new PingResult(true, Duration.ZERO));
+        }
+    }
+}
@@ -285,6 +285,22 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Return true if the fping tool is available and executable on the given path.
+     */
+    public boolean isFpingAvailable(String fpingToolPath) {
+        if (fpingToolPath.isBlank()) {
+            return false;
+        }
+        // a slow or busy system may need more than a few milliseconds to start the tool
+        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(2), fpingToolPath, "-v");
+        if (result == null || !result.contains("fping")) {
+            logger.trace("The fping tool did not return a version");
+            return false;
+        }
+        return true;
+    }
+
     public enum IpPingMethodEnum {
         JAVA_PING,
         WINDOWS_PING,
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests cases for {@link PresenceRefreshScheduler}
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class PresenceRefreshSchedulerTest {
+
+    private static final Duration INTERVAL = Duration.ofMinutes(1);
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduledExecutorService;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> roundJob;
+
+    private @NonNullByDefault({}) PresenceRefreshScheduler subject;
+    private final List<PresenceDetection> detections = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(roundJob).when(scheduledExecutorService).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
+        subject = new PresenceRefreshScheduler(scheduledExecutorService);
+        for (int i = 0; i < 4; i++) {
+            PresenceDetection detection = mock(PresenceDetection.class);
+            when(detection.getRefreshInterval()).thenReturn(INTERVAL);
+            detections.add(detection);
+        }
+    }
+
+    @Test
+    public void detectionsAreRefreshedImmediatelyInOneRoundJob() {
+        detections.forEach(subject::add);
+
+        detections.forEach(detection -> verify(detection).refresh());
+        verify(scheduledExecutorService, times(1)).scheduleAtFixedRate(any(),
+                eq(PresenceRefreshScheduler.ROUND_INTERVAL.toMillis()),
+                eq(PresenceRefreshScheduler.ROUND_INTERVAL.toMillis()), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void detectionsAreSpreadByPosition() {
+        detections.forEach(subject::add);
+        // a full interval in the future, so no refreshes of the past are pending
+        long start = (System.currentTimeMillis() / INTERVAL.toMillis() + 1) * INTERVAL.toMillis();
+        subject.runRound(start - 1);
+        detections.forEach(detection -> clearInvocations(detection));
+
+        long quarter = INTERVAL.toMillis() / 4;
+        for (int i = 0; i < detections.size(); i++) {
+            subject.runRound(start + i * quarter);
+            for (int j = 0; j < detections.size(); j++) {
+                verify(detections.get(j), times(j <= i ? 1 : 0)).refresh();
+            }
+        }
+
+        // the next interval refreshes the first detection again
+        subject.runRound(start + INTERVAL.toMillis());
+        verify(detections.get(0), times(2)).refresh();
+        verify(detections.get(1), times(1)).refresh();
+    }
+
+    @Test
+    public void dueDetectionsAreRefreshedInTheSameRound() {
+        detections.forEach(subject::add);
+        long start = (System.currentTimeMillis() / INTERVAL.toMillis() + 1) * INTERVAL.toMillis();
+        subject.runRound(start - 1);
+        detections.forEach(detection -> clearInvocations(detection));
+
+        // a round after all detections were due
+        subject.runRound(start + INTERVAL.toMillis() - 1);
+
+        detections.forEach(detection -> verify(detection).refresh());
+    }
+
+    @Test
+    public void removedDetectionsAreNotRefreshed() {
+        detections.forEach(subject::add);
+        detections.subList(1, detections.size()).forEach(subject::remove);
+        verify(roundJob, never()).cancel(anyBoolean());
+        long start = (System.currentTimeMillis() / INTERVAL.toMillis() + 1) * INTERVAL.toMillis();
+        subject.runRound(start - 1);
+        detections.forEach(detection -> clearInvocations(detection));
+
+        subject.runRound(start + INTERVAL.toMillis() - 1);
+
+        verify(detections.get(0)).refresh();
+        detections.subList(1, detections.size()).forEach(detection -> verify(detection, never()).refresh());
+
+        subject.remove(detections.get(0));
+        verify(roundJob).cancel(false);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.network.internal.utils.NetworkUtils.durationToMillis;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link BatchPinger}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class BatchPingerTest {
+
+    @Test
+    public void parseAliveAndUnreachableTest() {
+        Map<String, PingResult> results = new HashMap<>();
+
+        BatchPinger.parseResult("192.168.1.1 is alive (0.52 ms)", results);
+        BatchPinger.parseResult("192.168.1.2 is unreachable", results);
+        BatchPinger.parseResult("ICMP Host Unreachable from 192.168.1.10 for ICMP Echo sent to 192.168.1.2", results);
+
+        assertEquals(1, results.size());
+        PingResult result = results.get("192.168.1.1");
+        assertNotNull(result);
+        assertTrue(result.isSuccess());
+        Duration responseTime = result.getResponseTime();
+        assertNotNull(responseTime);
+        assertEquals(0.52, durationToMillis(responseTime), 0.0001);
+    }
+
+    @Test
+    public void requestsAreCollectedTest() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        BatchPinger batchPinger = new BatchPinger("fping", scheduler);
+
+        CompletableFuture<PingResult> first = batchPinger.ping("192.168.1.1", Duration.ofSeconds(1));
+        CompletableFuture<PingResult> second = batchPinger.ping("192.168.1.2", Duration.ofSeconds(1));
+
+        // a single batch is scheduled for all requests
+        verify(scheduler, times(1)).schedule(any(Runnable.class), eq(BatchPinger.BATCH_WINDOW.toMillis()),
+                eq(TimeUnit.MILLISECONDS));
+        assertFalse(first.isDone());
+
+        batchPinger.dispose();
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+}
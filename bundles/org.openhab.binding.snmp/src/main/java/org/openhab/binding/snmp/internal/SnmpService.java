@@ -13,6 +13,8 @@
 package org.openhab.binding.snmp.internal;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -50,6 +52,9 @@ public interface SnmpService {
 
     /**
      * Send a PDU to the given target
+     * <p>
+     * The number of requests in flight to the same agent is limited, further requests are queued until a response is
+     * received or the request timed out.
      *
      * @param pdu the PDU
      * @param target the target
@@ -83,4 +88,37 @@ public interface SnmpService {
      * @return the engine id or {@code null} when engine id could not be determined
      */
     byte @Nullable [] getEngineId(Address address);
+
+    /**
+     * Get the delay for the first refresh of a target, so the refreshes of all targets are spread over time
+     *
+     * @param refresh the refresh interval of the target in s
+     * @return the delay in ms
+     */
+    long getRefreshDelay(int refresh);
+
+    /**
+     * Remove a target, the queue of its agent is dropped when no other target uses it (e.g. on dispose)
+     *
+     * @param target the target
+     */
+    void removeTarget(Target<?> target);
+
+    /**
+     * Get the round-trip statistics of the requests sent to each agent that is in use
+     *
+     * @return the statistics by agent address
+     */
+    Map<Address, RoundTripStatistics> getRoundTripStatistics();
+
+    /**
+     * Round-trip statistics of the requests sent to an agent
+     *
+     * @param responses the number of received responses
+     * @param timeouts the number of requests without response
+     * @param average the average round-trip time of the responses
+     * @param maximum the maximum round-trip time of the responses
+     */
+    record RoundTripStatistics(long responses, long timeouts, Duration average, Duration maximum) {
+    }
 }
@@ -14,13 +14,21 @@ package org.openhab.binding.snmp.internal;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -40,6 +48,7 @@ import org.snmp4j.CommandResponder;
 import org.snmp4j.PDU;
 import org.snmp4j.Snmp;
 import org.snmp4j.Target;
+import org.snmp4j.event.ResponseEvent;
 import org.snmp4j.event.ResponseListener;
 import org.snmp4j.mp.MPv3;
 import org.snmp4j.security.AuthHMAC128SHA224;
@@ -72,6 +81,9 @@ import org.snmp4j.transport.DefaultUdpTransportMapping;
 @NonNullByDefault
 @Component(configurationPid = "binding.snmp", service = SnmpService.class)
 public class SnmpServiceImpl implements SnmpService, NetworkAddressChangeListener {
+    // time between the first refreshes of two targets
+    private static final long REFRESH_SPREAD_MS = 250;
+
     private final Logger logger = LoggerFactory.getLogger(SnmpServiceImpl.class);
 
     private @Nullable Snmp snmp;
@@ -82,6 +94,10 @@ public class SnmpServiceImpl implements SnmpService, NetworkAddressChangeListene
     private final Set<UserEntry> userEntries = new HashSet<>();
     private Map<String, Object> config = new HashMap<>();
 
+    private final Map<Address, AgentQueue> agentQueues = new HashMap<>();
+    private final AtomicInteger refreshSlot = new AtomicInteger();
+    private volatile int maxInFlightRequests = 1;
+
     @Activate
     public SnmpServiceImpl(Map<String, Object> config, @Reference NetworkAddressService networkAddressService) {
         addProtocols();
@@ -97,6 +113,7 @@ public class SnmpServiceImpl implements SnmpService, NetworkAddressChangeListene
     protected void modified(Map<String, Object> config) {
         this.config = config;
         SnmpServiceConfiguration snmpCfg = new Configuration(config).as(SnmpServiceConfiguration.class);
+        maxInFlightRequests = Math.max(1, snmpCfg.maxInFlightRequests);
         try {
             shutdownSnmp();
 
@@ -165,6 +182,15 @@ public class SnmpServiceImpl implements SnmpService, NetworkAddressChangeListene
             snmp.close();
             this.snmp = null;
         }
+
+        // requests sent with the closed instance will not be answered
+        List<AgentQueue> queues;
+        synchronized (agentQueues) {
+            queues = new ArrayList<>(agentQueues.values());
+            agentQueues.clear();
+        }
+        IOException e = new IOException("SNMP service restarted");
+        queues.forEach(queue -> queue.clear().forEach(request -> request.fail(e)));
     }
 
     @Override
@@ -189,14 +215,93 @@ public class SnmpServiceImpl implements SnmpService, NetworkAddressChangeListene
     public void send(PDU pdu, Target<?> target, @Nullable Object userHandle, ResponseListener listener)
             throws IOException {
         Snmp snmp = this.snmp;
-        if (snmp != null) {
+        if (snmp == null) {
+            logger.warn("SNMP service not initialized, can't send {} to {}", pdu, target);
+            return;
+        }
+        Address address = target.getAddress();
+        if (address == null) {
             snmp.send(pdu, target, userHandle, listener);
             logger.trace("send {} to {}", pdu, target);
+            return;
+        }
+
+        AgentQueue agentQueue;
+        synchronized (agentQueues) {
+            agentQueue = Objects.requireNonNull(agentQueues.computeIfAbsent(address, AgentQueue::new));
+            agentQueue.addTarget(target);
+        }
+        QueuedRequest request = new QueuedRequest(agentQueue, pdu, target, userHandle, listener);
+        if (agentQueue.acquire(request, maxInFlightRequests)) {
+            try {
+                request.send(snmp);
+            } catch (IOException e) {
+                sendNext(agentQueue);
+                throw e;
+            }
         } else {
-            logger.warn("SNMP service not initialized, can't send {} to {}", pdu, target);
+            logger.trace("queued {} to {}", pdu, target);
+        }
+    }
+
+    /**
+     * send the next queued request of an agent, or release the slot if there is none
+     */
+    private void sendNext(AgentQueue agentQueue) {
+        QueuedRequest next;
+        while ((next = agentQueue.release()) != null) {
+            Snmp snmp = this.snmp;
+            try {
+                if (snmp == null) {
+                    throw new IOException("SNMP service not initialized");
+                }
+                next.send(snmp);
+                return;
+            } catch (IOException e) {
+                next.fail(e);
+            }
+        }
+        removeIfUnused(agentQueue);
+    }
+
+    /**
+     * remove the queue of an agent when no target uses it and no request is pending
+     */
+    private void removeIfUnused(AgentQueue agentQueue) {
+        synchronized (agentQueues) {
+            if (agentQueue.isUnused()) {
+                agentQueues.remove(agentQueue.address, agentQueue);
+            }
         }
     }
 
+    @Override
+    public void removeTarget(Target<?> target) {
+        List<AgentQueue> queues;
+        synchronized (agentQueues) {
+            queues = new ArrayList<>(agentQueues.values());
+        }
+        queues.forEach(queue -> {
+            if (queue.removeTarget(target)) {
+                removeIfUnused(queue);
+            }
+        });
+    }
+
+    @Override
+    public long getRefreshDelay(int refresh) {
+        return (refreshSlot.getAndIncrement() * REFRESH_SPREAD_MS) % Math.max(1000L, refresh * 1000L);
+    }
+
+    @Override
+    public Map<Address, RoundTripStatistics> getRoundTripStatistics() {
+        List<AgentQueue> queues;
+        synchronized (agentQueues) {
+            queues = new ArrayList<>(agentQueues.values());
+        }
+        return queues.stream().collect(Collectors.toMap(queue -> queue.address, AgentQueue::getStatistics));
+    }
+
     @Override
     public void addUser(UsmUser user, OctetString engineId) {
         UserEntry userEntry = new UserEntry(user, engineId);
@@ -227,6 +332,142 @@ public class SnmpServiceImpl implements SnmpService, NetworkAddressChangeListene
         return null;
     }
 
+    /**
+     * The requests to a single agent: limits the requests in flight and collects the round-trip times
+     */
+    private static class AgentQueue {
+        private final Address address;
+        private final Deque<QueuedRequest> queued = new ArrayDeque<>();
+        private final Set<Target<?>> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int inFlight = 0;
+
+        private long responses = 0;
+        private long timeouts = 0;
+        private long totalRoundTripNanos = 0;
+        private long maxRoundTripNanos = 0;
+
+        AgentQueue(Address address) {
+            this.address = address;
+        }
+
+        synchronized void addTarget(Target<?> target) {
+            targets.add(target);
+        }
+
+        /**
+         * @return true if the target used this queue
+         */
+        synchronized boolean removeTarget(Target<?> target) {
+            return targets.remove(target);
+        }
+
+        synchronized boolean isUnused() {
+            return targets.isEmpty() && queued.isEmpty() && inFlight == 0;
+        }
+
+        /**
+         * @return true if the request can be sent now, false if it was queued
+         */
+        synchronized boolean acquire(QueuedRequest request, int maxInFlight) {
+            if (inFlight < maxInFlight) {
+                inFlight++;
+                return true;
+            }
+            queued.add(request);
+            return false;
+        }
+
+        /**
+         * @return the next request, which takes over the slot of the finished request, or null if the slot is free
+         */
+        synchronized @Nullable QueuedRequest release() {
+            QueuedRequest next = queued.poll();
+            if (next == null) {
+                inFlight = Math.max(0, inFlight - 1);
+            }
+            return next;
+        }
+
+        synchronized List<QueuedRequest> clear() {
+            List<QueuedRequest> requests = new ArrayList<>(queued);
+            queued.clear();
+            inFlight = 0;
+            return requests;
+        }
+
+        synchronized void recordResponse(long roundTripNanos) {
+            responses++;
+            totalRoundTripNanos += roundTripNanos;
+            maxRoundTripNanos = Math.max(maxRoundTripNanos, roundTripNanos);
+        }
+
+        synchronized void recordTimeout() {
+            timeouts++;
+        }
+
+        synchronized RoundTripStatistics getStatistics() {
+            return new RoundTripStatistics(responses, timeouts,
+                    Duration.ofNanos(responses > 0 ? totalRoundTripNanos / responses : 0),
+                    Duration.ofNanos(maxRoundTripNanos));
+        }
+    }
+
+    /**
+     * A request passing its response to the original listener and releasing its slot in the {@link AgentQueue}
+     */
+    private class QueuedRequest implements ResponseListener {
+        private final AgentQueue agentQueue;
+        private final PDU pdu;
+        private final Target<?> target;
+        private final @Nullable Object userHandle;
+        private final ResponseListener listener;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private long sentNanos;
+
+        QueuedRequest(AgentQueue agentQueue, PDU pdu, Target<?> target, @Nullable Object userHandle,
+                ResponseListener listener) {
+            this.agentQueue = agentQueue;
+            this.pdu = pdu;
+            this.target = target;
+            this.userHandle = userHandle;
+            this.listener = listener;
+        }
+
+        void send(Snmp snmp) throws IOException {
+            sentNanos = System.nanoTime();
+            snmp.send(pdu, target, userHandle, this);
+            logger.trace("send {} to {}", pdu, target);
+        }
+
+        void fail(Exception e) {
+            listener.onResponse(new ResponseEvent<>(SnmpServiceImpl.this, null, pdu, null, userHandle, e));
+        }
+
+        @Override
+        public void onResponse(@Nullable ResponseEvent event) {
+            if (event == null || !done.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (event.getSource() instanceof Snmp snmp) {
+                    // always cancel async requests, see SnmpTargetHandler#onResponse
+                    snmp.cancel(event.getRequest(), this);
+                }
+                if (event.getResponse() != null) {
+                    long roundTripNanos = System.nanoTime() - sentNanos;
+                    agentQueue.recordResponse(roundTripNanos);
+                    logger.trace("received response from {} after {} ms", target.getAddress(),
+                            roundTripNanos / 1000000);
+                } else if (event.getError() == null) {
+                    agentQueue.recordTimeout();
+                }
+                listener.onResponse(event);
+            } finally {
+                sendNext(agentQueue);
+            }
+        }
+    }
+
     private static class UserEntry {
         public OctetString engineId;
         public UsmUser user;
@@ -17,8 +17,14 @@ import static org.openhab.binding.snmp.internal.SnmpBindingConstants.*;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -90,12 +96,20 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private static final Pattern HEX_STRING_VALIDITY = Pattern.compile("([A-Fa-f0-9]{2}[ :-]?)+");
     private static final Pattern HEX_STRING_EXTRACTOR = Pattern.compile("[^A-Fa-f0-9]");
 
+    // initial limit of variable bindings in a single GET request, reduced if the agent reports 'tooBig'
+    private static final int MAX_VARBINDS_PER_REQUEST = 64;
+    // minimum number of read channels in the same subtree (e.g. a table column) to walk it with GETBULK
+    private static final int BULK_MIN_INSTANCES = 4;
+    private static final int BULK_MAX_REPETITIONS = 25;
+    private static final int BULK_MAX_REQUESTS = 100;
+
     private final Logger logger = LoggerFactory.getLogger(SnmpTargetHandler.class);
 
     private @NonNullByDefault({}) SnmpTargetConfiguration config;
     private final SnmpService snmpService;
     private @Nullable ScheduledFuture<?> refresh;
     private int timeoutCounter = 0;
+    private volatile int maxVarbindsPerRequest = MAX_VARBINDS_PER_REQUEST;
 
     private @NonNullByDefault({}) AbstractTarget<UdpAddress> target;
     private @NonNullByDefault({}) String targetAddressString;
@@ -103,6 +117,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> readChannelSet;
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> writeChannelSet;
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> trapChannelSet;
+    private @NonNullByDefault({}) Set<OID> readOidSet;
 
     // SNMP v3
     private @Nullable UsmUser usmUser;
@@ -234,6 +249,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
             target.setAddress(null);
 
             timeoutCounter = 0;
+            maxVarbindsPerRequest = MAX_VARBINDS_PER_REQUEST;
         } catch (IllegalArgumentException e) {
             // some methods of SNMP4J throw an unchecked IllegalArgumentException if they receive invalid values
             String message = "Exception during initialization: " + e.getMessage();
@@ -242,7 +258,9 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
 
         updateStatus(ThingStatus.UNKNOWN);
-        refresh = scheduler.scheduleWithFixedDelay(this::refresh, 0, config.refresh, TimeUnit.SECONDS);
+        // the service spreads the refreshes of all targets over the refresh interval
+        refresh = scheduler.scheduleWithFixedDelay(this::refresh, snmpService.getRefreshDelay(config.refresh),
+                config.refresh * 1000L, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -252,6 +270,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
             r.cancel(true);
         }
         snmpService.removeCommandResponder(this);
+        snmpService.removeTarget(target);
 
         UsmUser user = usmUser;
         OctetString engineId = this.engineId;
@@ -298,6 +317,25 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
         logger.trace("{} received {}", thing.getUID(), response);
 
+        if (response.getErrorStatus() == PDU.tooBig) {
+            if (event.getUserObject() instanceof BulkWalk walk) {
+                logger.debug("{} GETBULK response too big, reading {} remaining variables with GET", thing.getUID(),
+                        walk.missing.size());
+                sendGet(new ArrayList<>(walk.missing));
+                return;
+            }
+            PDU request = event.getRequest();
+            if (request != null) {
+                splitRequest(request);
+            }
+            return;
+        }
+
+        if (event.getUserObject() instanceof BulkWalk walk) {
+            continueWalk(walk, response);
+            return;
+        }
+
         response.getVariableBindings().forEach(variable -> {
             if (variable != null) {
                 updateChannels(variable.getOid(), variable.getVariable(), readChannelSet);
@@ -419,6 +457,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 .collect(Collectors.toSet());
         this.trapChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.TRAP)
                 .collect(Collectors.toSet());
+        this.readOidSet = readChannelSet.stream().map(c -> c.oid).collect(Collectors.toSet());
     }
 
     private void updateChannels(OID oid, Variable value, Set<SnmpInternalChannelConfiguration> channelConfigs) {
@@ -590,10 +629,36 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 return;
             }
         }
-        PDU pdu = getPDU();
-        pdu.setType(PDU.GET);
-        readChannelSet.stream().map(c -> new VariableBinding(c.oid)).forEach(pdu::add);
-        if (!pdu.getVariableBindings().isEmpty()) {
+        List<OID> getOids = new ArrayList<>();
+        if (config.protocol.toInteger() == SnmpConstants.version1) {
+            // GETBULK is not available in SNMP v1
+            getOids.addAll(readOidSet);
+        } else {
+            // group the OIDs by their parent, for tables this is the column
+            Map<OID, NavigableSet<OID>> subtrees = new TreeMap<>();
+            readOidSet.forEach(oid -> subtrees
+                    .computeIfAbsent(new OID(oid.getValue(), 0, oid.size() - 1), k -> new TreeSet<>()).add(oid));
+            subtrees.forEach((prefix, oids) -> {
+                if (oids.size() >= BULK_MIN_INSTANCES) {
+                    OID first = oids.first();
+                    int[] start = first.getValue();
+                    sendBulk(new BulkWalk(prefix, oids), start[start.length - 1] > 0
+                            ? new OID(start, 0, start.length - 1).append(start[start.length - 1] - 1)
+                            : prefix);
+                } else {
+                    getOids.addAll(oids);
+                }
+            });
+        }
+        sendGet(getOids);
+    }
+
+    private void sendGet(List<OID> oids) {
+        int maxVarbinds = maxVarbindsPerRequest;
+        for (int i = 0; i < oids.size(); i += maxVarbinds) {
+            PDU pdu = getPDU();
+            pdu.setType(PDU.GET);
+            oids.subList(i, Math.min(i + maxVarbinds, oids.size())).forEach(oid -> pdu.add(new VariableBinding(oid)));
             try {
                 snmpService.send(pdu, target, null, this);
             } catch (IOException e) {
@@ -602,6 +667,79 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
     }
 
+    private void sendBulk(BulkWalk walk, OID start) {
+        PDU pdu = getPDU();
+        pdu.setType(PDU.GETBULK);
+        pdu.setNonRepeaters(0);
+        pdu.setMaxRepetitions(BULK_MAX_REPETITIONS);
+        pdu.add(new VariableBinding(start));
+        walk.requestCount++;
+        try {
+            snmpService.send(pdu, target, walk, this);
+        } catch (IOException e) {
+            logger.info("Could not send PDU", e);
+        }
+    }
+
+    /**
+     * process a GETBULK response and request the next rows if channels of the subtree are still missing
+     */
+    private void continueWalk(BulkWalk walk, PDU response) {
+        OID lastOid = null;
+        boolean endOfSubtree = response.getVariableBindings().isEmpty();
+        for (VariableBinding variable : response.getVariableBindings()) {
+            OID oid = variable.getOid();
+            if (variable.getVariable().isException() || !oid.startsWith(walk.prefix)) {
+                endOfSubtree = true;
+                break;
+            }
+            if (walk.missing.remove(oid)) {
+                updateChannels(oid, variable.getVariable(), readChannelSet);
+            }
+            lastOid = oid;
+        }
+        if (walk.missing.isEmpty()) {
+            return;
+        }
+        if (!endOfSubtree && lastOid != null && lastOid.compareTo(walk.missing.last()) < 0
+                && walk.requestCount < BULK_MAX_REQUESTS) {
+            sendBulk(walk, lastOid);
+        } else {
+            // the walk ended or gave up, read the remaining instances directly, the agent reports absent ones
+            sendGet(new ArrayList<>(walk.missing));
+        }
+    }
+
+    /**
+     * the agent could not send the response to the request in a single PDU, send it again in two parts
+     */
+    private void splitRequest(PDU request) {
+        List<OID> oids = request.getVariableBindings().stream().map(VariableBinding::getOid).toList();
+        if (request.getType() != PDU.GET || oids.size() < 2) {
+            logger.warn("{} could not process request {}: response too big", thing.getUID(), request);
+            return;
+        }
+        int half = (oids.size() + 1) / 2;
+        maxVarbindsPerRequest = Math.min(maxVarbindsPerRequest, half);
+        logger.debug("{} response too big, limiting requests to {} variables", thing.getUID(), half);
+        sendGet(oids.subList(0, half));
+        sendGet(oids.subList(half, oids.size()));
+    }
+
+    /**
+     * state of a GETBULK walk through a subtree, used as user handle of the requests
+     */
+    private static class BulkWalk {
+        private final OID prefix;
+        private final NavigableSet<OID> missing;
+        private int requestCount = 0;
+
+        BulkWalk(OID prefix, NavigableSet<OID> oids) {
+            this.prefix = prefix;
+            this.missing = new TreeSet<>(oids);
+        }
+    }
+
     private PDU getPDU() {
         if (config.protocol == SnmpProtocolVersion.v3 || config.protocol == SnmpProtocolVersion.V3) {
             return new ScopedPDU();
@@ -22,4 +22,5 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public class SnmpServiceConfiguration {
     public int port = 0;
+    public int maxInFlightRequests = 4;
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal.console;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.snmp.internal.SnmpService;
+import org.openhab.binding.snmp.internal.SnmpService.RoundTripStatistics;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.snmp4j.smi.Address;
+
+/**
+ * The {@link SnmpCommandExtension} is responsible for handling console commands
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class SnmpCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String STATISTICS = "statistics";
+
+    private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(List.of(STATISTICS), false);
+
+    private final SnmpService snmpService;
+
+    @Activate
+    public SnmpCommandExtension(final @Reference SnmpService snmpService) {
+        super("snmp", "Interact with the SNMP binding.");
+        this.snmpService = snmpService;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && STATISTICS.equals(args[0])) {
+            Map<Address, RoundTripStatistics> statistics = snmpService.getRoundTripStatistics();
+            if (statistics.isEmpty()) {
+                console.println("No requests were sent to the agents in use.");
+            }
+            statistics.forEach((address, s) -> console.printf(
+                    "%s: %d responses, %d timeouts, average %d ms, max %d ms%n", address, s.responses(), s.timeouts(),
+                    s.average().toMillis(), s.maximum().toMillis()));
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(STATISTICS, "show the round-trip statistics of each agent"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return (args, cursorArgumentIndex, cursorPosition, candidates) -> cursorArgumentIndex <= 0
+                && SUBCMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.snmp.internal.SnmpBindingConstants.THING_TYPE_TARGET;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.test.java.JavaTest;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.binding.ThingHandlerCallback;
+import org.openhab.core.thing.binding.builder.ChannelBuilder;
+import org.openhab.core.thing.binding.builder.ThingBuilder;
+import org.openhab.core.types.UnDefType;
+import org.snmp4j.PDU;
+import org.snmp4j.event.ResponseEvent;
+import org.snmp4j.smi.Counter32;
+import org.snmp4j.smi.Null;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * Tests cases for the requests of the {@link SnmpTargetHandler}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class SnmpRequestTest extends JavaTest {
+    private static final ThingUID THING_UID = new ThingUID(THING_TYPE_TARGET, "testthing");
+    private static final String COLUMN_OID = "1.3.6.1.2.1.2.2.1.10";
+    private static final String SCALAR_OID = "1.3.6.1.2.1.1.3.0";
+
+    private @Mock @NonNullByDefault({}) SnmpServiceImpl snmpService;
+    private @Mock @NonNullByDefault({}) ThingHandlerCallback thingHandlerCallback;
+
+    private @NonNullByDefault({}) SnmpTargetHandler thingHandler;
+    private @NonNullByDefault({}) AutoCloseable mocks;
+
+    @AfterEach
+    public void after() throws Exception {
+        thingHandler.dispose();
+        mocks.close();
+    }
+
+    @Test
+    public void testTableColumnIsWalkedWithGetBulk() throws IOException {
+        setup("v2c", List.of(COLUMN_OID + ".1", COLUMN_OID + ".2", COLUMN_OID + ".3", COLUMN_OID + ".5",
+                COLUMN_OID + ".6", SCALAR_OID));
+
+        ArgumentCaptor<PDU> pduCaptor = ArgumentCaptor.forClass(PDU.class);
+        ArgumentCaptor<Object> handleCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(snmpService, timeout(500).times(2)).send(pduCaptor.capture(), any(), handleCaptor.capture(),
+                eq(thingHandler));
+
+        PDU get = pduCaptor.getAllValues().stream().filter(p -> p.getType() == PDU.GET).findFirst().orElseThrow();
+        assertEquals(List.of(new OID(SCALAR_OID)), get.getVariableBindings().stream().map(VariableBinding::getOid)
+                .toList());
+
+        int bulkIndex = pduCaptor.getAllValues().get(0).getType() == PDU.GETBULK ? 0 : 1;
+        PDU bulk = pduCaptor.getAllValues().get(bulkIndex);
+        Object walk = handleCaptor.getAllValues().get(bulkIndex);
+        assertNotNull(walk);
+        assertEquals(25, bulk.getMaxRepetitions());
+        assertEquals(new OID(COLUMN_OID + ".0"), bulk.get(0).getOid());
+
+        // the agent returns the first rows only
+        respond(bulk, walk, List.of(row(1, 11), row(2, 12), row(3, 13)));
+        verify(snmpService, times(3)).send(pduCaptor.capture(), any(), handleCaptor.capture(), eq(thingHandler));
+        PDU next = pduCaptor.getValue();
+        assertEquals(PDU.GETBULK, next.getType());
+        assertEquals(new OID(COLUMN_OID + ".3"), next.get(0).getOid());
+        assertSame(walk, handleCaptor.getValue());
+
+        // row 5 is missing, the walk ends at the next column and the missing row is read with GET
+        respond(next, walk, List.of(row(4, 14), row(6, 16),
+                new VariableBinding(new OID("1.3.6.1.2.1.2.2.1.11.1"), new Counter32(1))));
+        verify(snmpService, times(4)).send(pduCaptor.capture(), any(), handleCaptor.capture(), eq(thingHandler));
+        PDU fallback = pduCaptor.getValue();
+        assertEquals(PDU.GET, fallback.getType());
+        assertEquals(List.of(new OID(COLUMN_OID + ".5")),
+                fallback.getVariableBindings().stream().map(VariableBinding::getOid).toList());
+        assertNull(handleCaptor.getValue());
+
+        thingHandler.onResponse(new ResponseEvent<>("test", null, fallback, new PDU(PDU.RESPONSE,
+                List.of(new VariableBinding(new OID(COLUMN_OID + ".5"), Null.noSuchInstance))), null));
+
+        verify(thingHandlerCallback).stateUpdated(eq(channelUID(COLUMN_OID + ".1")), eq(new DecimalType(11)));
+        verify(thingHandlerCallback).stateUpdated(eq(channelUID(COLUMN_OID + ".3")), eq(new DecimalType(13)));
+        verify(thingHandlerCallback).stateUpdated(eq(channelUID(COLUMN_OID + ".6")), eq(new DecimalType(16)));
+        verify(thingHandlerCallback).stateUpdated(eq(channelUID(COLUMN_OID + ".5")), eq(UnDefType.UNDEF));
+    }
+
+    @Test
+    public void testTooBigGetBulkFallsBackToGet() throws IOException {
+        setup("v2c", List.of(COLUMN_OID + ".1", COLUMN_OID + ".2", COLUMN_OID + ".3", COLUMN_OID + ".4"));
+
+        ArgumentCaptor<PDU> pduCaptor = ArgumentCaptor.forClass(PDU.class);
+        ArgumentCaptor<Object> handleCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(snmpService, timeout(500).times(1)).send(pduCaptor.capture(), any(), handleCaptor.capture(),
+                eq(thingHandler));
+        PDU bulk = pduCaptor.getValue();
+        assertEquals(PDU.GETBULK, bulk.getType());
+
+        PDU response = new PDU(PDU.RESPONSE, List.of());
+        response.setErrorStatus(PDU.tooBig);
+        thingHandler.onResponse(new ResponseEvent<>("test", null, bulk, response, handleCaptor.getValue()));
+
+        verify(snmpService, times(2)).send(pduCaptor.capture(), any(), handleCaptor.capture(), eq(thingHandler));
+        PDU get = pduCaptor.getValue();
+        assertEquals(PDU.GET, get.getType());
+        assertEquals(4, get.size());
+        assertNull(handleCaptor.getValue());
+        verify(thingHandlerCallback, never()).stateUpdated(any(), any());
+    }
+
+    @Test
+    public void testTooBigRequestIsSplit() throws IOException {
+        setup("v1", List.of(COLUMN_OID + ".1", COLUMN_OID + ".2", COLUMN_OID + ".3", COLUMN_OID + ".4"));
+
+        ArgumentCaptor<PDU> pduCaptor = ArgumentCaptor.forClass(PDU.class);
+        verify(snmpService, timeout(500).times(1)).send(pduCaptor.capture(), any(), eq(null), eq(thingHandler));
+        PDU request = pduCaptor.getValue();
+        assertEquals(PDU.GET, request.getType());
+        assertEquals(4, request.size());
+
+        PDU response = new PDU(PDU.RESPONSE, request.getVariableBindings());
+        response.setErrorStatus(PDU.tooBig);
+        thingHandler.onResponse(new ResponseEvent<>("test", null, request, response, null));
+
+        verify(snmpService, times(3)).send(pduCaptor.capture(), any(), eq(null), eq(thingHandler));
+        List<PDU> requests = pduCaptor.getAllValues();
+        assertEquals(2, requests.get(requests.size() - 2).size());
+        assertEquals(2, requests.get(requests.size() - 1).size());
+        verify(thingHandlerCallback, never()).stateUpdated(any(), any());
+    }
+
+    private void respond(PDU request, Object userObject, List<VariableBinding> variables) {
+        thingHandler.onResponse(
+                new ResponseEvent<>("test", null, request, new PDU(PDU.RESPONSE, variables), userObject));
+    }
+
+    private VariableBinding row(int index, int value) {
+        return new VariableBinding(new OID(COLUMN_OID + "." + index), new Counter32(value));
+    }
+
+    private ChannelUID channelUID(String oid) {
+        return new ChannelUID(THING_UID, oid.replace('.', '_'));
+    }
+
+    private void setup(String protocol, List<String> oids) {
+        mocks = MockitoAnnotations.openMocks(this);
+
+        Map<String, Object> thingConfig = new HashMap<>();
+        thingConfig.put("hostname", "localhost");
+        thingConfig.put("protocol", protocol);
+        ThingBuilder thingBuilder = ThingBuilder.create(THING_TYPE_TARGET, THING_UID).withLabel("Test thing")
+                .withConfiguration(new Configuration(thingConfig));
+        for (String oid : oids) {
+            Map<String, Object> channelConfig = new HashMap<>();
+            channelConfig.put("oid", oid);
+            channelConfig.put("mode", "READ");
+            thingBuilder.withChannel(ChannelBuilder.create(channelUID(oid), "Number")
+                    .withType(SnmpBindingConstants.CHANNEL_TYPE_UID_NUMBER)
+                    .withConfiguration(new Configuration(channelConfig)).build());
+        }
+
+        Thing thing = thingBuilder.build();
+        thingHandler = new SnmpTargetHandler(thing, snmpService);
+        thing.setHandler(thingHandler);
+        thingHandler.setCallback(thingHandlerCallback);
+        thingHandler.initialize();
+    }
+}
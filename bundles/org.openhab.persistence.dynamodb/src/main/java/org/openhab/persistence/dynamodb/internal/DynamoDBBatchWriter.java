@@ -0,0 +1,371 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+/**
+ * Writes items with BatchWriteItem requests.
+ *
+ * Items are queued and sent in batches of up to {@value #MAX_BATCH_SIZE} items, with at most one request in flight.
+ * A batch is sent as soon as it is full, or {@value #LINGER_MILLIS} ms after the first item was queued. The items of
+ * different tables and item types are sent in the same request, with one {@link WriteBatch} for each table.
+ *
+ * Unprocessed items and throttled requests are queued again after a jittered exponential backoff. Throttling also
+ * doubles the delay between requests, which is halved again with each request that is processed completely. This
+ * keeps the request rate close to the provisioned write capacity of the table.
+ *
+ * When the table does not exist, the items are written with {@link TableCreatingPutItem}, which creates the table.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+
+    /**
+     * Maximum number of items in a BatchWriteItem request, as defined by DynamoDB
+     */
+    static final int MAX_BATCH_SIZE = 25;
+    private static final long LINGER_MILLIS = 100;
+    static final int MAX_ATTEMPTS = 8;
+    private static final long BACKOFF_BASE_MILLIS = 100;
+    private static final long BACKOFF_MAX_MILLIS = 10_000;
+    static final long MIN_SEND_DELAY_MILLIS = 50;
+    private static final long MAX_SEND_DELAY_MILLIS = 5_000;
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDBPersistenceService service;
+    private final DynamoDbEnhancedAsyncClient client;
+    private final ExecutorService executor;
+    private final DynamoDBWriteStatistics statistics;
+
+    private final Deque<PendingWrite<?>> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // queued items, items in flight and items waiting for a retry
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long sendDelayMillis;
+
+    private static class PendingWrite<T extends DynamoDBItem<?>> {
+        private final DynamoDbAsyncTable<T> table;
+        private final T dto;
+        private final long queuedNanos = System.nanoTime();
+        private int attempts;
+
+        private PendingWrite(DynamoDbAsyncTable<T> table, T dto) {
+            this.table = table;
+            this.dto = dto;
+        }
+
+        private Key key() {
+            return table.keyFrom(dto);
+        }
+
+        private void putItemCreatingTable(DynamoDBPersistenceService service, CompletableFuture<Void> done) {
+            new TableCreatingPutItem<>(service, dto, table).putItemAsync().whenComplete((result, e) -> {
+                if (e == null) {
+                    done.complete(null);
+                } else {
+                    done.completeExceptionally(e);
+                }
+            });
+        }
+    }
+
+    public DynamoDBBatchWriter(DynamoDBPersistenceService service, DynamoDbEnhancedAsyncClient client,
+            ExecutorService executor, DynamoDBWriteStatistics statistics) {
+        this.service = service;
+        this.client = client;
+        this.executor = executor;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Queues an item for writing
+     *
+     * @param table table of the item
+     * @param dto item to write
+     */
+    public <T extends DynamoDBItem<?>> void add(DynamoDbAsyncTable<T> table, T dto) {
+        outstanding.incrementAndGet();
+        queue.add(new PendingWrite<>(table, dto));
+        queued.incrementAndGet();
+        schedule();
+    }
+
+    /**
+     * @return number of items not written yet
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Waits until all queued items are written or failed
+     *
+     * @param timeoutMillis maximum time to wait
+     * @return whether all items were written or failed in time
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            while (outstanding.get() > 0) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                Thread.sleep(20);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    private void schedule() {
+        if (queued.get() == 0 || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        long delay = Math.max(sendDelayMillis, queued.get() >= MAX_BATCH_SIZE ? 0 : LINGER_MILLIS);
+        runDelayed(delay, this::send);
+    }
+
+    /**
+     * Runs a task on the executor after the given delay
+     */
+    void runDelayed(long delayMillis, Runnable task) {
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, executor).execute(task);
+    }
+
+    private void sendCompleted() {
+        scheduled.set(false);
+        schedule();
+    }
+
+    private void send() {
+        List<PendingWrite<?>> batch = takeBatch();
+        if (batch.isEmpty()) {
+            sendCompleted();
+            return;
+        }
+        statistics.recordBatch(batch.size());
+        try {
+            client.batchWriteItem(BatchWriteItemEnhancedRequest.builder().writeBatches(writeBatches(batch)).build())
+                    .whenCompleteAsync((result, exception) -> {
+                        try {
+                            if (exception == null) {
+                                processResult(batch, result);
+                            } else {
+                                processFailure(batch, exception);
+                            }
+                        } finally {
+                            sendCompleted();
+                        }
+                    }, executor);
+        } catch (RuntimeException e) {
+            // client closed or request could not be built
+            logger.warn("BatchWriteItem: failed with {} {}. {} items not written.", e.getClass().getSimpleName(),
+                    e.getMessage(), batch.size());
+            failed(batch.size());
+            sendCompleted();
+        }
+    }
+
+    /**
+     * Takes the next batch from the queue. The batch may contain the items of several tables. Items with a key already
+     * in the batch for the same table are left for the next batch, since DynamoDB rejects requests with duplicate keys.
+     * Items left in the queue keep their order.
+     */
+    private List<PendingWrite<?>> takeBatch() {
+        List<PendingWrite<?>> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        List<PendingWrite<?>> skipped = new ArrayList<>();
+        // the item types of the new table schema share a table, so keys are unique per table name
+        Map<String, Set<Key>> keys = new HashMap<>();
+        PendingWrite<?> write;
+        while (batch.size() < MAX_BATCH_SIZE && (write = queue.poll()) != null) {
+            queued.decrementAndGet();
+            if (keys.computeIfAbsent(write.table.tableName(), name -> new HashSet<>()).add(write.key())) {
+                batch.add(write);
+            } else {
+                skipped.add(write);
+            }
+        }
+        for (int i = skipped.size() - 1; i >= 0; i--) {
+            queue.addFirst(skipped.get(i));
+            queued.incrementAndGet();
+        }
+        return batch;
+    }
+
+    /**
+     * Groups the items of a batch by their table
+     */
+    private static Collection<List<PendingWrite<?>>> byTable(List<PendingWrite<?>> batch) {
+        Map<DynamoDbAsyncTable<?>, List<PendingWrite<?>>> writes = new LinkedHashMap<>();
+        batch.forEach(write -> writes.computeIfAbsent(write.table, table -> new ArrayList<>()).add(write));
+        return writes.values();
+    }
+
+    private static List<WriteBatch> writeBatches(List<PendingWrite<?>> batch) {
+        return byTable(batch).stream().map(writes -> writeBatch(writes.get(0).table, writes)).toList();
+    }
+
+    @SuppressWarnings("unchecked") // all items of a batch belong to the given table
+    private static <T extends DynamoDBItem<?>> WriteBatch writeBatch(DynamoDbAsyncTable<T> table,
+            List<PendingWrite<?>> batch) {
+        WriteBatch.Builder<T> builder = WriteBatch.builder(table.tableSchema().itemType().rawClass())
+                .mappedTableResource(table);
+        for (PendingWrite<?> write : batch) {
+            builder.addPutItem((T) write.dto);
+        }
+        return builder.build();
+    }
+
+    private void processResult(List<PendingWrite<?>> batch, BatchWriteResult result) {
+        Map<String, Set<Key>> unprocessedKeys = new HashMap<>();
+        for (List<PendingWrite<?>> writes : byTable(batch)) {
+            PendingWrite<?> first = writes.get(0);
+            unprocessedKeys.computeIfAbsent(first.table.tableName(),
+                    name -> new HashSet<>(unprocessedKeys(first.table, result)));
+        }
+        List<PendingWrite<?>> unprocessed = new ArrayList<>();
+        long now = System.nanoTime();
+        for (PendingWrite<?> write : batch) {
+            if (unprocessedKeys.getOrDefault(write.table.tableName(), Set.of()).contains(write.key())) {
+                unprocessed.add(write);
+            } else {
+                statistics.recordWritten(now - write.queuedNanos);
+                outstanding.decrementAndGet();
+            }
+        }
+        if (unprocessed.isEmpty()) {
+            sendDelayMillis = sendDelayMillis < 2 * MIN_SEND_DELAY_MILLIS ? 0 : sendDelayMillis / 2;
+            logger.trace("BatchWriteItem: {} items written", batch.size());
+        } else {
+            logger.debug("BatchWriteItem: {} of {} items not processed, retrying", unprocessed.size(), batch.size());
+            throttled();
+            retry(unprocessed);
+        }
+    }
+
+    private static <T extends DynamoDBItem<?>> List<Key> unprocessedKeys(DynamoDbAsyncTable<T> table,
+            BatchWriteResult result) {
+        return result.unprocessedPutItemsForTable(table).stream().map(table::keyFrom).toList();
+    }
+
+    private void processFailure(List<PendingWrite<?>> batch, Throwable exception) {
+        Throwable cause = exception.getCause();
+        Throwable failure = exception instanceof CompletionException && cause != null ? cause : exception;
+        if (failure instanceof ResourceNotFoundException) {
+            logger.trace("BatchWriteItem: A table of {} was not present. Writing items one by one, creating the table",
+                    batch.stream().map(write -> write.table.tableName()).distinct().toList());
+            for (PendingWrite<?> write : batch) {
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                done.whenComplete((result, e) -> {
+                    if (e == null) {
+                        statistics.recordWritten(System.nanoTime() - write.queuedNanos);
+                        outstanding.decrementAndGet();
+                    } else {
+                        failed(1);
+                    }
+                });
+                try {
+                    write.putItemCreatingTable(service, done);
+                } catch (IllegalStateException e) {
+                    // service is not ready
+                    done.completeExceptionally(e);
+                }
+            }
+        } else if (failure instanceof SdkServiceException serviceException
+                && serviceException.isThrottlingException()) {
+            logger.debug("BatchWriteItem: request with {} items throttled, retrying", batch.size());
+            throttled();
+            retry(batch);
+        } else {
+            logger.warn("BatchWriteItem: failed (final) with {} {}. {} items not written.",
+                    failure.getClass().getSimpleName(), failure.getMessage(), batch.size());
+            failed(batch.size());
+        }
+    }
+
+    private void throttled() {
+        statistics.recordThrottle();
+        sendDelayMillis = Math.min(MAX_SEND_DELAY_MILLIS, Math.max(MIN_SEND_DELAY_MILLIS, 2 * sendDelayMillis));
+    }
+
+    /**
+     * Queues the items again after a backoff with full jitter. Items are given up after {@value #MAX_ATTEMPTS}
+     * attempts.
+     */
+    private void retry(List<PendingWrite<?>> writes) {
+        List<PendingWrite<?>> retried = new ArrayList<>(writes.size());
+        int maxAttempts = 0;
+        for (PendingWrite<?> write : writes) {
+            if (++write.attempts >= MAX_ATTEMPTS) {
+                logger.warn("BatchWriteItem: giving up writing {} after {} attempts", write.dto, write.attempts);
+                failed(1);
+            } else {
+                retried.add(write);
+                maxAttempts = Math.max(maxAttempts, write.attempts);
+            }
+        }
+        if (retried.isEmpty()) {
+            return;
+        }
+        statistics.recordRetried(retried.size());
+        long cap = Math.min(BACKOFF_MAX_MILLIS, BACKOFF_BASE_MILLIS << maxAttempts);
+        long backoff = ThreadLocalRandom.current().nextLong(cap + 1);
+        runDelayed(backoff, () -> {
+            for (int i = retried.size() - 1; i >= 0; i--) {
+                queue.addFirst(retried.get(i));
+                queued.incrementAndGet();
+            }
+            schedule();
+        });
+    }
+
+    private void failed(int count) {
+        statistics.recordFailed(count);
+        outstanding.addAndGet(-count);
+    }
+}
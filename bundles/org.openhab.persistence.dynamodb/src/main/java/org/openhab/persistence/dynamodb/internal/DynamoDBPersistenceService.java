@@ -104,10 +104,14 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
 
     private static final String DYNAMODB_THREADPOOL_NAME = "dynamodbPersistenceService";
 
+    private static final long FLUSH_TIMEOUT_MILLIS = 10_000;
+
     private final ItemRegistry itemRegistry;
     private final UnitProvider unitProvider;
     private @Nullable DynamoDbEnhancedAsyncClient client;
     private @Nullable DynamoDbAsyncClient lowLevelClient;
+    private @Nullable DynamoDBBatchWriter batchWriter;
+    private final DynamoDBWriteStatistics writeStatistics = new DynamoDBWriteStatistics();
     private final Logger logger = LoggerFactory.getLogger(DynamoDBPersistenceService.class);
     private boolean isProperlyConfigured;
     private @Nullable DynamoDBConfig dbConfig;
@@ -176,6 +180,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return dbConfig;
     }
 
+    DynamoDBWriteStatistics getWriteStatistics() {
+        return writeStatistics;
+    }
+
     @Activate
     public void activate(final @Nullable BundleContext bundleContext, final Map<String, Object> config) {
         disconnect();
@@ -206,6 +214,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         logger.debug("dynamodb persistence service deactivated");
         logIfManyQueuedTasks();
         disconnect();
+        logger.debug("dynamodb write statistics: {}", writeStatistics);
     }
 
     /**
@@ -241,7 +250,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
                         lowlevelClientBuilder.endpointOverride(endpointOverride);
                     }
                     DynamoDbAsyncClient lowlevelClient = lowlevelClientBuilder.build();
-                    client = DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(lowlevelClient).build();
+                    DynamoDbEnhancedAsyncClient localClient = DynamoDbEnhancedAsyncClient.builder()
+                            .dynamoDbClient(lowlevelClient).build();
+                    batchWriter = new DynamoDBBatchWriter(this, localClient, executor, writeStatistics);
+                    client = localClient;
                     this.lowLevelClient = lowlevelClient;
                 }
             } catch (Exception e) {
@@ -320,6 +332,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         if (client == null || localLowLevelClient == null) {
             return;
         }
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null && !localBatchWriter.flush(FLUSH_TIMEOUT_MILLIS)) {
+            logger.warn("{} items were not written before disconnecting", localBatchWriter.getOutstanding());
+        }
+        batchWriter = null;
         localLowLevelClient.close();
         lowLevelClient = null;
         client = null;
@@ -561,21 +578,25 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
+            DynamoDBBatchWriter localBatchWriter = batchWriter;
+            if (localBatchWriter == null) {
+                logger.warn("Not ready to store (config error?), not storing item {}.", item.getName());
+                return;
+            }
+            dto.accept(new DynamoDBItemVisitor<@Nullable Void>() {
 
                 @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
-                            getTable(DynamoDBBigDecimalItem.class));
+                public @Nullable Void visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                    localBatchWriter.add(getTable(DynamoDBBigDecimalItem.class), dynamoBigDecimalItem);
+                    return null;
                 }
 
                 @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
-                            getTable(DynamoDBStringItem.class));
+                public @Nullable Void visit(DynamoDBStringItem dynamoStringItem) {
+                    localBatchWriter.add(getTable(DynamoDBStringItem.class), dynamoStringItem);
+                    return null;
                 }
-            }).putItemAsync();
+            });
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counters of the {@link DynamoDBBatchWriter}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBWriteStatistics {
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedItems = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder throttles = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Records a sent BatchWriteItem request.
+     *
+     * @param size number of items in the request
+     */
+    void recordBatch(int size) {
+        batches.increment();
+        batchedItems.add(size);
+    }
+
+    /**
+     * Records a written item.
+     *
+     * @param latency time between storing and writing the item in nanoseconds
+     */
+    void recordWritten(long latency) {
+        written.increment();
+        latencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    void recordFailed(int count) {
+        failed.add(count);
+    }
+
+    void recordRetried(int count) {
+        retried.add(count);
+    }
+
+    void recordThrottle() {
+        throttles.increment();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return number of items sent again because they were not processed or the request was throttled
+     */
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    /**
+     * @return number of throttled requests and requests with unprocessed items
+     */
+    public long getThrottles() {
+        return throttles.sum();
+    }
+
+    public double getAverageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0 : (double) batchedItems.sum() / count;
+    }
+
+    /**
+     * @return average time between storing and writing an item in milliseconds
+     */
+    public double getAverageLatencyMillis() {
+        long count = written.sum();
+        return count == 0 ? 0 : latencyNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("batches=%d, averageBatchSize=%.1f, written=%d, failed=%d, retried=%d, throttles=%d, "
+                + "averageLatency=%.0f ms, maxLatency=%.0f ms",
+                getBatches(), getAverageBatchSize(), getWritten(), getFailed(), getRetried(), getThrottles(),
+                getAverageLatencyMillis(), getMaxLatencyMillis());
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Tests that bursts of values are written with BatchWriteItem requests.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class BatchWriteIntegrationTest extends BaseIntegrationTest {
+
+    public static final boolean LEGACY_MODE = false;
+    private static final String NAME = "number";
+    private static final int STATE_COUNT = 3 * DynamoDBBatchWriter.MAX_BATCH_SIZE;
+
+    @SuppressWarnings("null")
+    @Test
+    public void testBurstIsWrittenInBatches() throws InterruptedException {
+        ZonedDateTime storeStart = ZonedDateTime.now();
+        NumberItem item = (NumberItem) ITEMS.get(NAME);
+        for (int i = 0; i < STATE_COUNT; i++) {
+            item.setState(new DecimalType(i));
+            service.store(item);
+            // Add some delay to enforce different timestamps in ms accuracy
+            Thread.sleep(2);
+        }
+
+        waitForAssert(() -> {
+            FilterCriteria criteria = new FilterCriteria();
+            criteria.setItemName(NAME);
+            criteria.setBeginDate(storeStart);
+            criteria.setOrdering(Ordering.ASCENDING);
+            List<BigDecimal> actual = new ArrayList<>();
+            for (HistoricItem historicItem : service.query(criteria)) {
+                actual.add(((DecimalType) historicItem.getState()).toBigDecimal());
+            }
+            List<BigDecimal> expected = new ArrayList<>();
+            for (int i = 0; i < STATE_COUNT; i++) {
+                expected.add(BigDecimal.valueOf(i));
+            }
+            assertEquals(expected, actual);
+        });
+
+        DynamoDBWriteStatistics statistics = service.getWriteStatistics();
+        waitForAssert(() -> assertEquals(STATE_COUNT, statistics.getWritten()));
+        assertEquals(0, statistics.getFailed());
+        assertTrue(statistics.getBatches() < STATE_COUNT, statistics.toString());
+        assertTrue(statistics.getAverageBatchSize() > 1, statistics.toString());
+        assertTrue(statistics.getAverageBatchSize() <= DynamoDBBatchWriter.MAX_BATCH_SIZE, statistics.toString());
+        assertTrue(statistics.getMaxLatencyMillis() > 0, statistics.toString());
+    }
+}
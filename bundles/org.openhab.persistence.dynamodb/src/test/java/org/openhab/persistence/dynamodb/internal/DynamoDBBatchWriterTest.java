@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Tests the {@link DynamoDBBatchWriter} with a mocked client.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriterTest {
+
+    private static final String TABLE_NAME = "openhab";
+    private static final ZonedDateTime TIME = ZonedDateTime.parse("2024-01-01T00:00:00Z");
+
+    /**
+     * Runs tasks in the calling thread, so the test controls when requests are sent
+     */
+    private static class DirectExecutorService extends AbstractExecutorService {
+        private boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    private final DynamoDbEnhancedAsyncClient client = mock(DynamoDbEnhancedAsyncClient.class);
+    private final DynamoDBWriteStatistics statistics = new DynamoDBWriteStatistics();
+    private final List<BatchWriteItemEnhancedRequest> requests = new ArrayList<>();
+    private final Deque<CompletableFuture<BatchWriteResult>> responses = new ArrayDeque<>();
+    private final Deque<Runnable> delayedTasks = new ArrayDeque<>();
+    private final List<Long> delays = new ArrayList<>();
+
+    private @NonNullByDefault({}) DynamoDbAsyncTable<DynamoDBBigDecimalItem> numberTable;
+    private @NonNullByDefault({}) DynamoDbAsyncTable<DynamoDBStringItem> stringTable;
+    private @NonNullByDefault({}) DynamoDBBatchWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        // the tables only map the items, they never send requests themselves
+        DynamoDbEnhancedAsyncClient tableClient = DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(mock(DynamoDbAsyncClient.class)).build();
+        numberTable = tableClient.table(TABLE_NAME, DynamoDBBigDecimalItem.TABLE_SCHEMA_NEW);
+        stringTable = tableClient.table(TABLE_NAME, DynamoDBStringItem.TABLE_SCHEMA_NEW);
+
+        when(client.batchWriteItem(any(BatchWriteItemEnhancedRequest.class))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            CompletableFuture<BatchWriteResult> response = responses.poll();
+            return response != null ? response : written();
+        });
+        writer = new DynamoDBBatchWriter(mock(DynamoDBPersistenceService.class), client, new DirectExecutorService(),
+                statistics) {
+            @Override
+            void runDelayed(long delayMillis, Runnable task) {
+                delays.add(delayMillis);
+                delayedTasks.add(task);
+            }
+        };
+    }
+
+    @Test
+    public void testInterleavedTablesAreSentInOneRequest() {
+        for (int i = 0; i < 10; i++) {
+            writer.add(numberTable, number(i));
+            writer.add(stringTable, string(i));
+        }
+
+        runDelayedTasks();
+
+        assertEquals(1, requests.size());
+        assertEquals(2, requests.get(0).writeBatches().size());
+        assertEquals(20, itemCount(requests.get(0)));
+        assertEquals(20, statistics.getWritten());
+        assertEquals(0, writer.getOutstanding());
+    }
+
+    @Test
+    public void testRequestsAreLimitedToMaxBatchSize() {
+        for (int i = 0; i < 30; i++) {
+            writer.add(i % 2 == 0 ? numberTable : stringTable, i % 2 == 0 ? number(i) : string(i));
+        }
+
+        runDelayedTasks();
+
+        assertEquals(2, requests.size());
+        assertEquals(DynamoDBBatchWriter.MAX_BATCH_SIZE, itemCount(requests.get(0)));
+        assertEquals(30 - DynamoDBBatchWriter.MAX_BATCH_SIZE, itemCount(requests.get(1)));
+        assertEquals(30, statistics.getWritten());
+    }
+
+    @Test
+    public void testUnprocessedItemsAreRetried() {
+        DynamoDBBigDecimalItem unprocessed = number(1);
+        responses.add(CompletableFuture.completedFuture(unprocessed(unprocessed)));
+        writer.add(numberTable, number(0));
+        writer.add(numberTable, unprocessed);
+        writer.add(numberTable, number(2));
+
+        runDelayedTasks();
+
+        assertEquals(2, requests.size());
+        assertEquals(1, itemCount(requests.get(1)));
+        assertEquals(1, statistics.getRetried());
+        assertEquals(1, statistics.getThrottles());
+        assertEquals(3, statistics.getWritten());
+        assertEquals(0, statistics.getFailed());
+        assertEquals(0, writer.getOutstanding());
+    }
+
+    @Test
+    public void testThrottledRequestsAreRetriedWithBackoff() {
+        for (int i = 0; i < 3; i++) {
+            responses.add(CompletableFuture.failedFuture(throttled()));
+        }
+        writer.add(numberTable, number(0));
+        writer.add(numberTable, number(1));
+
+        runDelayedTasks();
+
+        assertEquals(4, requests.size());
+        requests.forEach(request -> assertEquals(2, itemCount(request)));
+        assertEquals(3, statistics.getThrottles());
+        assertEquals(6, statistics.getRetried());
+        assertEquals(2, statistics.getWritten());
+        // each throttled request doubles the delay between requests
+        assertEquals(4 * DynamoDBBatchWriter.MIN_SEND_DELAY_MILLIS, delays.get(delays.size() - 1));
+    }
+
+    @Test
+    public void testItemsAreGivenUpAfterMaxAttempts() {
+        for (int i = 0; i < DynamoDBBatchWriter.MAX_ATTEMPTS; i++) {
+            responses.add(CompletableFuture.failedFuture(throttled()));
+        }
+        writer.add(numberTable, number(0));
+        writer.add(numberTable, number(1));
+
+        runDelayedTasks();
+
+        assertEquals(DynamoDBBatchWriter.MAX_ATTEMPTS, requests.size());
+        assertEquals(2, statistics.getFailed());
+        assertEquals(0, statistics.getWritten());
+        assertEquals(0, writer.getOutstanding());
+    }
+
+    private void runDelayedTasks() {
+        Runnable task;
+        while ((task = delayedTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static DynamoDBBigDecimalItem number(int i) {
+        return new DynamoDBBigDecimalItem("number", BigDecimal.valueOf(i), TIME.plusSeconds(i), null);
+    }
+
+    private static DynamoDBStringItem string(int i) {
+        return new DynamoDBStringItem("string", String.valueOf(i), TIME.plusSeconds(i), null);
+    }
+
+    private static int itemCount(BatchWriteItemEnhancedRequest request) {
+        return request.writeBatches().stream().mapToInt(batch -> batch.writeRequests().size()).sum();
+    }
+
+    private static CompletableFuture<BatchWriteResult> written() {
+        return CompletableFuture.completedFuture(BatchWriteResult.builder().unprocessedRequests(Map.of()).build());
+    }
+
+    private BatchWriteResult unprocessed(DynamoDBBigDecimalItem item) {
+        WriteRequest request = WriteRequest.builder()
+                .putRequest(PutRequest.builder().item(numberTable.tableSchema().itemToMap(item, true)).build())
+                .build();
+        return BatchWriteResult.builder().unprocessedRequests(Map.of(TABLE_NAME, List.of(request))).build();
+    }
+
+    private static SdkServiceException throttled() {
+        return SdkServiceException.builder().statusCode(429).message("Throttled").build();
+    }
+}
@@ -14,9 +14,9 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -24,15 +24,16 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
@@ -56,6 +57,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
+import org.openhab.persistence.influxdb.internal.InfluxPointBuffer;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
 import org.osgi.framework.Constants;
@@ -97,7 +99,9 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
-    private static final int COMMIT_INTERVAL = 3; // in s
+    private static final long MIN_COMMIT_INTERVAL = 100; // in ms
+    private static final long MAX_COMMIT_INTERVAL = 3000; // in ms
+    private static final int MAX_CHUNKS_PER_COMMIT = 10;
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -109,8 +113,12 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private boolean serviceActivated;
 
     // storage
-    private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.influxdb");
+    private @Nullable ScheduledFuture<?> storeJob;
+    private final InfluxPointBuffer pointsBuffer;
+    private final Object commitLock = new Object();
+    private final AtomicBoolean bufferFull = new AtomicBoolean();
+    private volatile boolean writeFailing;
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -125,9 +133,11 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         if (configuration.isValid()) {
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
-            this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
-                    .scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
+            this.pointsBuffer = new InfluxPointBuffer(configuration.getBufferSize(),
+                    Path.of(OpenHAB.getUserDataFolder(), "persistence", "influxdb"),
+                    configuration.getSpillSize() * 1024L * 1024L);
             serviceActivated = true;
+            this.storeJob = scheduler.schedule(this::commitJob, MAX_COMMIT_INTERVAL, TimeUnit.MILLISECONDS);
         } else {
             throw new IllegalArgumentException("Configuration invalid.");
         }
@@ -149,13 +159,30 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
      */
     @Deactivate
     public void deactivate() {
-        serviceActivated = false;
+        synchronized (this) {
+            serviceActivated = false;
+            ScheduledFuture<?> job = storeJob;
+            if (job != null) {
+                job.cancel(false);
+            }
+            storeJob = null;
+        }
 
-        storeJob.cancel(false);
-        commit(); // ensure we at least tried to store the data;
+        synchronized (commitLock) {
+            commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
+            long remaining = pointsBuffer.size();
+            int lost = pointsBuffer.close();
+            if (lost > 0) {
+                logger.warn("InfluxDB failed to finally store {} points.", lost);
+            }
+            if (remaining > lost) {
+                logger.info("InfluxDB kept {} points on disk, they will be written on next start.", remaining - lost);
+            }
+        }
+        if (pointsBuffer.getSpilledCount() > 0 || pointsBuffer.getDroppedCount() > 0) {
+            logger.info("InfluxDB write buffer spilled {} and dropped {} points while the service was running.",
+                    pointsBuffer.getSpilledCount(), pointsBuffer.getDroppedCount());
         }
 
         influxDBRepository.disconnect();
@@ -209,10 +236,15 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 logger.trace("Ignoring item {}, conversion to an InfluxDB point failed.", item.getName());
                 return;
             }
-            if (pointsQueue.offer(point)) {
+            if (pointsBuffer.add(point)) {
                 logger.trace("Queued {} for item {}", point, item);
+                if (pointsBuffer.size() >= configuration.getBatchSize()) {
+                    requestCommit();
+                }
+            } else if (bufferFull.compareAndSet(false, true)) {
+                logger.warn("InfluxDB write buffer is full, dropping points until the database is reachable again.");
             } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+                logger.debug("Dropped {} for item {}, write buffer is full", point, item);
             }
         });
     }
@@ -277,18 +309,75 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
+    /**
+     * Commits buffered points and schedules the next run. The delay shrinks with the number of buffered points, so
+     * a small load is written every few seconds in one batch and a high load is written in full batches right away.
+     */
+    private void commitJob() {
+        long delay;
+        synchronized (commitLock) {
+            writeFailing = !commit();
+            delay = writeFailing ? MAX_COMMIT_INTERVAL : nextCommitDelay();
+        }
+        synchronized (this) {
+            if (serviceActivated) {
+                storeJob = scheduler.schedule(this::commitJob, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Brings the next commit forward if it is further away than the minimum interval. While writing fails, the
+     * regular interval is kept to not hammer an unreachable database.
+     */
+    private synchronized void requestCommit() {
+        ScheduledFuture<?> job = storeJob;
+        if (serviceActivated && !writeFailing && job != null
+                && job.getDelay(TimeUnit.MILLISECONDS) > MIN_COMMIT_INTERVAL && job.cancel(false)) {
+            storeJob = scheduler.schedule(this::commitJob, MIN_COMMIT_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private long nextCommitDelay() {
+        long depth = pointsBuffer.size();
+        int batchSize = configuration.getBatchSize();
+        if (depth >= batchSize) {
+            return MIN_COMMIT_INTERVAL;
+        }
+        return MAX_COMMIT_INTERVAL - (MAX_COMMIT_INTERVAL - MIN_COMMIT_INTERVAL) * depth / batchSize;
+    }
+
+    /**
+     * Writes buffered points in chunks of at most the configured batch size. Points are only removed from the buffer
+     * after they have been written.
+     *
+     * @return <code>false</code> if writing failed
+     */
+    private boolean commit() {
+        if (pointsBuffer.isEmpty()) {
+            return true;
+        }
+        if (!checkConnection()) {
+            return false;
+        }
+        for (int i = 0; i < MAX_CHUNKS_PER_COMMIT; i++) {
+            List<InfluxPoint> points = pointsBuffer.peek(configuration.getBatchSize());
+            if (points.isEmpty()) {
+                break;
+            }
             if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
+                logger.warn("Keeping {} buffered points, failed to write batch.", pointsBuffer.size());
                 influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
+                return false;
             }
+            pointsBuffer.remove();
+            logger.trace("Wrote {} elements to database", points.size());
+        }
+        if (bufferFull.compareAndSet(true, false)) {
+            logger.info("InfluxDB write buffer accepts points again, {} points were dropped so far.",
+                    pointsBuffer.getDroppedCount());
         }
+        return true;
     }
 
     /**
@@ -0,0 +1,490 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded write buffer for {@link InfluxPoint}s.
+ * <p />
+ * Points are kept in memory up to the configured capacity. Further points are appended to segment files in the
+ * spill folder until the spill limit is reached, after which new points are dropped. Chunks are handed out with
+ * {@link #peek(int)} and only removed with {@link #remove()} once they were written, so a failed write keeps them in
+ * the buffer without copying them around. In-memory points are handed out first, spilled points are replayed
+ * afterwards, oldest segment first. Segment files that are left over from a previous run are replayed as well.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointBuffer {
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".dat";
+    static final long SEGMENT_SIZE = 4L * 1024 * 1024;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_DECIMAL = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxPointBuffer.class);
+
+    private final Deque<InfluxPoint> memory = new ArrayDeque<>();
+    private final int capacity;
+    private final @Nullable Path spillFolder;
+    private final long maxSpillBytes;
+
+    // segment files ordered by their sequence number
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private long spillBytes;
+    private long spillCount;
+    private long nextSegment;
+    private @Nullable FileChannel writeChannel;
+    private long readOffset;
+
+    // state of the chunk returned by the last peek
+    private int pendingMemory;
+    private int pendingSegmentCount;
+    private long pendingReadOffset = -1;
+
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of points kept in memory
+     * @param spillFolder folder for the segment files, <code>null</code> disables spilling to disk
+     * @param maxSpillBytes maximum size of all segment files
+     */
+    public InfluxPointBuffer(int capacity, @Nullable Path spillFolder, long maxSpillBytes) {
+        this.capacity = capacity;
+        this.spillFolder = maxSpillBytes > 0 ? spillFolder : null;
+        this.maxSpillBytes = maxSpillBytes;
+        loadSegments();
+    }
+
+    private void loadSegments() {
+        Path folder = spillFolder;
+        if (folder == null || !Files.isDirectory(folder)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : stream) {
+                String name = segment.getFileName().toString();
+                try {
+                    long sequence = Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    Segment info = scanSegment(segment);
+                    segments.put(sequence, info);
+                    spillBytes += info.size;
+                    spillCount += info.count;
+                    nextSegment = Math.max(nextSegment, sequence + 1);
+                } catch (NumberFormatException e) {
+                    logger.debug("Ignoring unexpected file {} in buffer folder", segment);
+                } catch (IOException e) {
+                    logger.warn("Ignoring unreadable buffer segment {}: {}", segment, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read buffer folder {}: {}", folder, e.getMessage());
+        }
+        if (!segments.isEmpty()) {
+            logger.info("Found {} buffered points from a previous run, they will be written to InfluxDB.",
+                    spillCount);
+        }
+    }
+
+    /**
+     * Adds a point to the buffer.
+     *
+     * @param point the point to add
+     * @return <code>false</code> if the buffer is full and the point was dropped
+     */
+    public synchronized boolean add(InfluxPoint point) {
+        if (memory.size() < capacity) {
+            memory.addLast(point);
+            return true;
+        }
+        if (spill(point)) {
+            spilled.incrementAndGet();
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Returns the next chunk of points to write without removing it from the buffer.
+     *
+     * @param maxSize maximum number of points in the chunk
+     * @return the points, empty if the buffer is empty
+     */
+    public synchronized List<InfluxPoint> peek(int maxSize) {
+        pendingMemory = 0;
+        pendingSegmentCount = 0;
+        pendingReadOffset = -1;
+        List<InfluxPoint> chunk = new ArrayList<>(Math.min(maxSize, Math.max(memory.size(), 1)));
+        if (!memory.isEmpty()) {
+            Iterator<InfluxPoint> iterator = memory.iterator();
+            while (iterator.hasNext() && chunk.size() < maxSize) {
+                chunk.add(iterator.next());
+            }
+            pendingMemory = chunk.size();
+            return chunk;
+        }
+        if (!segments.isEmpty()) {
+            readSegment(chunk, maxSize);
+        }
+        return chunk;
+    }
+
+    /**
+     * Removes the chunk returned by the last {@link #peek(int)} from the buffer.
+     */
+    public synchronized void remove() {
+        for (int i = 0; i < pendingMemory; i++) {
+            memory.pollFirst();
+        }
+        pendingMemory = 0;
+        if (pendingReadOffset >= 0) {
+            Map.Entry<Long, Segment> segment = segments.firstEntry();
+            if (segment != null) {
+                Segment info = segment.getValue();
+                if (pendingReadOffset >= info.size) {
+                    deleteSegment(segment.getKey());
+                } else {
+                    readOffset = pendingReadOffset;
+                    info.count -= pendingSegmentCount;
+                    spillCount -= pendingSegmentCount;
+                }
+            }
+            pendingReadOffset = -1;
+            pendingSegmentCount = 0;
+        }
+    }
+
+    /**
+     * @return the number of points in the buffer, including the spilled points
+     */
+    public synchronized long size() {
+        return memory.size() + spillCount;
+    }
+
+    public synchronized boolean isEmpty() {
+        return memory.isEmpty() && segments.isEmpty();
+    }
+
+    /**
+     * @return number of points written to the spill folder since the buffer was created
+     */
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    /**
+     * @return number of points dropped because the buffer was full since the buffer was created
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Moves all in-memory points to the spill folder and closes open segment files. Used on shutdown to keep points
+     * that could not be written.
+     *
+     * @return number of points that were lost because they could not be spilled
+     */
+    public synchronized int close() {
+        int lost = 0;
+        while (!memory.isEmpty()) {
+            if (!spill(memory.pollFirst())) {
+                lost++;
+            }
+        }
+        closeWriteChannel();
+        return lost;
+    }
+
+    private boolean spill(InfluxPoint point) {
+        Path folder = spillFolder;
+        if (folder == null) {
+            return false;
+        }
+        try {
+            byte[] record = serialize(point);
+            if (spillBytes + record.length + Integer.BYTES > maxSpillBytes) {
+                return false;
+            }
+            FileChannel channel = writeChannel;
+            Segment segment = segments.isEmpty() ? null : segments.lastEntry().getValue();
+            if (channel == null || segment == null || segment.size >= SEGMENT_SIZE) {
+                closeWriteChannel();
+                Files.createDirectories(folder);
+                long sequence = nextSegment++;
+                channel = FileChannel.open(segmentPath(folder, sequence), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                writeChannel = channel;
+                segment = new Segment(0, 0);
+                segments.put(sequence, segment);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + record.length);
+            buffer.putInt(record.length).put(record).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            segment.size += buffer.limit();
+            segment.count++;
+            spillBytes += buffer.limit();
+            spillCount++;
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to spill point to {}: {}", folder, e.getMessage());
+            closeWriteChannel();
+            return false;
+        }
+    }
+
+    private void readSegment(List<InfluxPoint> chunk, int maxSize) {
+        Path folder = spillFolder;
+        Map.Entry<Long, Segment> segment = segments.firstEntry();
+        if (folder == null || segment == null) {
+            return;
+        }
+        if (segment.getKey().equals(segments.lastKey())) {
+            // start a new segment for further spills, so that the one being read is complete
+            closeWriteChannel();
+        }
+        long offset = readOffset;
+        long size = segment.getValue().size;
+        try (FileChannel channel = FileChannel.open(segmentPath(folder, segment.getKey()), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            while (chunk.size() < maxSize && offset < size) {
+                header.clear();
+                readFully(channel, header, offset);
+                int length = header.flip().getInt();
+                if (length <= 0 || offset + Integer.BYTES + length > size) {
+                    throw new EOFException("Truncated record at offset " + offset);
+                }
+                ByteBuffer record = ByteBuffer.allocate(length);
+                readFully(channel, record, offset + Integer.BYTES);
+                chunk.add(deserialize(record.array()));
+                offset += Integer.BYTES + length;
+                pendingSegmentCount++;
+            }
+        } catch (IOException e) {
+            logger.warn("Skipping unreadable remainder of buffer segment {}: {}", segment.getKey(), e.getMessage());
+            offset = size;
+        }
+        pendingReadOffset = offset;
+        if (chunk.isEmpty()) {
+            // nothing readable left in this segment
+            deleteSegment(segment.getKey());
+            pendingReadOffset = -1;
+            pendingSegmentCount = 0;
+        }
+    }
+
+    private void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, current);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            current += read;
+        }
+    }
+
+    private void deleteSegment(long sequence) {
+        Path folder = spillFolder;
+        Segment segment = segments.remove(sequence);
+        if (folder == null || segment == null) {
+            return;
+        }
+        if (segments.isEmpty() || segments.lastKey() < sequence) {
+            closeWriteChannel();
+        }
+        try {
+            Files.deleteIfExists(segmentPath(folder, sequence));
+        } catch (IOException e) {
+            logger.warn("Failed to delete buffer segment {}: {}", sequence, e.getMessage());
+        }
+        spillBytes -= segment.size;
+        spillCount -= segment.count;
+        readOffset = 0;
+    }
+
+    /**
+     * Counts the records of a segment file left from a previous run. A segment ending in a truncated or corrupt record
+     * is cut off after its last valid record.
+     */
+    private Segment scanSegment(Path path) throws IOException {
+        long size = Files.size(path);
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            long offset = 0;
+            while (offset < size) {
+                if (offset + Integer.BYTES > size) {
+                    logger.warn("Truncating buffer segment {} at offset {}: incomplete record header", path, offset);
+                    channel.truncate(offset);
+                    size = offset;
+                    break;
+                }
+                header.clear();
+                readFully(channel, header, offset);
+                int length = header.flip().getInt();
+                if (length <= 0 || length > size - offset - Integer.BYTES) {
+                    logger.warn("Truncating buffer segment {} at offset {}: invalid record length {}", path, offset,
+                            length);
+                    channel.truncate(offset);
+                    size = offset;
+                    break;
+                }
+                offset += Integer.BYTES + length;
+                count++;
+            }
+        }
+        return new Segment(size, count);
+    }
+
+    private void closeWriteChannel() {
+        FileChannel channel = writeChannel;
+        writeChannel = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close buffer segment: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static Path segmentPath(Path folder, long sequence) {
+        return folder.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    // Visible for testing
+    static byte[] serialize(InfluxPoint point) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, point.getMeasurementName());
+            Instant time = point.getTime();
+            out.writeLong(time.getEpochSecond());
+            out.writeInt(time.getNano());
+            Object value = point.getValue();
+            if (value == null) {
+                out.writeByte(TYPE_NULL);
+            } else if (value instanceof String string) {
+                out.writeByte(TYPE_STRING);
+                writeString(out, string);
+            } else if (value instanceof Boolean bool) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean(bool);
+            } else if (value instanceof BigDecimal decimal) {
+                out.writeByte(TYPE_DECIMAL);
+                writeString(out, decimal.toString());
+            } else if (value instanceof Double || value instanceof Float) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(((Number) value).doubleValue());
+            } else if (value instanceof Number number) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(number.longValue());
+            } else {
+                out.writeByte(TYPE_STRING);
+                writeString(out, value.toString());
+            }
+            Map<String, String> tags = point.getTags();
+            out.writeInt(tags.size());
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                writeString(out, tag.getKey());
+                writeString(out, tag.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    // Visible for testing
+    static InfluxPoint deserialize(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(readString(in));
+            builder.withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            byte type = in.readByte();
+            switch (type) {
+                case TYPE_NULL -> {
+                    // value stays unset
+                }
+                case TYPE_STRING -> builder.withValue(readString(in));
+                case TYPE_BOOLEAN -> builder.withValue(in.readBoolean());
+                case TYPE_LONG -> builder.withValue(in.readLong());
+                case TYPE_DOUBLE -> builder.withValue(in.readDouble());
+                case TYPE_DECIMAL -> builder.withValue(new BigDecimal(readString(in)));
+                default -> throw new IOException("Unknown value type " + type);
+            }
+            int tagCount = in.readInt();
+            for (int i = 0; i < tagCount; i++) {
+                builder.withTag(readString(in), readString(in));
+            }
+            return builder.build();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class Segment {
+        private long size;
+        private int count;
+
+        private Segment(long size, int count) {
+            this.size = size;
+            this.count = count;
+        }
+    }
+}
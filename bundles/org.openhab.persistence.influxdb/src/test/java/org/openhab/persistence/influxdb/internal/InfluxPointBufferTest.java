@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointBufferTest {
+    private @TempDir @NonNullByDefault({}) Path spillFolder;
+
+    @Test
+    public void serializedPointIsRestored() throws IOException {
+        InfluxPoint point = InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochSecond(1700000000, 123))
+                .withValue(new BigDecimal("1.25")).withTag("item", "number").withTag("label", "Ümlaut").build();
+
+        InfluxPoint restored = InfluxPointBuffer.deserialize(InfluxPointBuffer.serialize(point));
+
+        assertThat(restored.getMeasurementName(), is("measurement"));
+        assertThat(restored.getTime(), is(point.getTime()));
+        assertThat(restored.getValue(), is(new BigDecimal("1.25")));
+        assertThat(restored.getTags(), is(Map.of("item", "number", "label", "Ümlaut")));
+    }
+
+    @Test
+    public void pointsAreDroppedWhenBufferIsFullAndSpillingIsDisabled() {
+        InfluxPointBuffer buffer = new InfluxPointBuffer(2, null, 0);
+
+        assertThat(buffer.add(point(1)), is(true));
+        assertThat(buffer.add(point(2)), is(true));
+        assertThat(buffer.add(point(3)), is(false));
+
+        assertThat(buffer.size(), is(2L));
+        assertThat(buffer.getDroppedCount(), is(1L));
+        assertThat(buffer.getSpilledCount(), is(0L));
+    }
+
+    @Test
+    public void chunkStaysInBufferUntilRemoved() {
+        InfluxPointBuffer buffer = new InfluxPointBuffer(10, null, 0);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(point(i));
+        }
+
+        assertThat(values(buffer.peek(3)), contains(0L, 1L, 2L));
+        assertThat(values(buffer.peek(3)), contains(0L, 1L, 2L));
+        buffer.remove();
+        assertThat(values(buffer.peek(3)), contains(3L, 4L));
+        buffer.remove();
+        assertThat(buffer.isEmpty(), is(true));
+    }
+
+    @Test
+    public void overflowIsSpilledAndReplayedInChunks() {
+        InfluxPointBuffer buffer = new InfluxPointBuffer(2, spillFolder, 1024 * 1024);
+        for (int i = 0; i < 7; i++) {
+            assertThat(buffer.add(point(i)), is(true));
+        }
+        assertThat(buffer.getSpilledCount(), is(5L));
+        assertThat(buffer.size(), is(7L));
+
+        assertThat(values(buffer.peek(3)), contains(0L, 1L));
+        buffer.remove();
+        assertThat(values(buffer.peek(3)), contains(2L, 3L, 4L));
+        // a failed write does not advance the buffer
+        assertThat(values(buffer.peek(3)), contains(2L, 3L, 4L));
+        buffer.remove();
+        assertThat(values(buffer.peek(3)), contains(5L, 6L));
+        buffer.remove();
+
+        assertThat(buffer.isEmpty(), is(true));
+        assertThat(buffer.size(), is(0L));
+    }
+
+    @Test
+    public void spilledPointsSurviveRestart() {
+        InfluxPointBuffer buffer = new InfluxPointBuffer(2, spillFolder, 1024 * 1024);
+        for (int i = 0; i < 4; i++) {
+            buffer.add(point(i));
+        }
+        assertThat(buffer.close(), is(0));
+
+        InfluxPointBuffer restarted = new InfluxPointBuffer(2, spillFolder, 1024 * 1024);
+        assertThat(restarted.size(), is(4L));
+        assertThat(values(restarted.peek(10)), containsInAnyOrder(0L, 1L, 2L, 3L));
+        restarted.remove();
+        assertThat(restarted.isEmpty(), is(true));
+    }
+
+    @Test
+    public void corruptRecordLengthTruncatesSegment() throws IOException {
+        InfluxPointBuffer buffer = new InfluxPointBuffer(1, spillFolder, 1024 * 1024);
+        for (int i = 0; i < 3; i++) {
+            buffer.add(point(i));
+        }
+        assertThat(buffer.close(), is(0));
+
+        Path segment;
+        try (Stream<Path> files = Files.list(spillFolder)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        long validSize = Files.size(segment);
+        // a negative length would let the scan step back onto the same header
+        Files.write(segment, ByteBuffer.allocate(2 * Integer.BYTES).putInt(-4).putInt(0).array(),
+                StandardOpenOption.APPEND);
+
+        InfluxPointBuffer restarted = new InfluxPointBuffer(10, spillFolder, 1024 * 1024);
+        assertThat(restarted.size(), is(3L));
+        assertThat(Files.size(segment), is(validSize));
+        // the in-memory point was spilled last on close
+        assertThat(values(restarted.peek(10)), contains(1L, 2L, 0L));
+        restarted.remove();
+        assertThat(restarted.isEmpty(), is(true));
+    }
+
+    @Test
+    public void truncatedRecordHeaderTruncatesSegment() throws IOException {
+        Path segment = spillFolder.resolve(InfluxPointBuffer.SEGMENT_PREFIX + "000000000000"
+                + InfluxPointBuffer.SEGMENT_SUFFIX);
+        byte[] record = InfluxPointBuffer.serialize(point(7));
+        Files.write(segment, ByteBuffer.allocate(Integer.BYTES + record.length + 2).putInt(record.length).put(record)
+                .array());
+
+        InfluxPointBuffer restarted = new InfluxPointBuffer(10, spillFolder, 1024 * 1024);
+        assertThat(restarted.size(), is(1L));
+        assertThat(Files.size(segment), is((long) Integer.BYTES + record.length));
+        assertThat(values(restarted.peek(10)), contains(7L));
+    }
+
+    @Test
+    public void recordLengthBeyondEndOfSegmentTruncatesSegment() throws IOException {
+        Path segment = spillFolder.resolve(InfluxPointBuffer.SEGMENT_PREFIX + "000000000000"
+                + InfluxPointBuffer.SEGMENT_SUFFIX);
+        byte[] record = InfluxPointBuffer.serialize(point(7));
+        Files.write(segment, ByteBuffer.allocate(2 * (Integer.BYTES + record.length)).putInt(record.length).put(record)
+                .putInt(Integer.MAX_VALUE).put(record).array());
+
+        InfluxPointBuffer restarted = new InfluxPointBuffer(10, spillFolder, 1024 * 1024);
+        assertThat(restarted.size(), is(1L));
+        assertThat(Files.size(segment), is((long) Integer.BYTES + record.length));
+        assertThat(values(restarted.peek(10)), contains(7L));
+    }
+
+    @Test
+    public void pointsAreDroppedWhenSpillLimitIsReached() throws IOException {
+        int recordSize = InfluxPointBuffer.serialize(point(0)).length + Integer.BYTES;
+        InfluxPointBuffer buffer = new InfluxPointBuffer(1, spillFolder, recordSize * 2L);
+
+        for (int i = 0; i < 5; i++) {
+            buffer.add(point(i));
+        }
+
+        assertThat(buffer.getSpilledCount(), is(2L));
+        assertThat(buffer.getDroppedCount(), is(2L));
+    }
+
+    private static InfluxPoint point(long value) {
+        return InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochMilli(value)).withValue(value)
+                .withTag("item", "item").build();
+    }
+
+    private static List<Object> values(List<InfluxPoint> points) {
+        return points.stream().map(InfluxPoint::getValue).toList();
+    }
+}
@@ -0,0 +1,603 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link ItemHistory} holds the persisted states of one item, ordered by timestamp.
+ * <p>
+ * Timestamps are kept in a circular <code>long[]</code> (nanoseconds since the epoch), their time zone once per item
+ * or in a <code>ZoneId[]</code> as soon as entries with different zones are stored. Values of decimal, percent and
+ * quantity states are kept in a <code>double[]</code> with their scale in a <code>byte[]</code> and the unit stored
+ * once, enum states (e.g. ON/OFF) as ordinals in a <code>byte[]</code>. All other states, or values that would lose
+ * precision as double, switch the item to a plain <code>State[]</code>. Readers use an optimistic read of the
+ * {@link StampedLock} and only fall back to a read lock if a writer interfered.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+class ItemHistory {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] timestamps = new long[0];
+    // zone of all entries, unless they differ and are kept in zones
+    private ZoneId zone = ZoneOffset.UTC;
+    private @Nullable ZoneId @Nullable [] zones;
+    private @Nullable Column values;
+    private int head;
+    private int size;
+
+    /**
+     * Snapshot of a range of entries, in ascending order of time
+     */
+    record Entries(long[] timestamps, ZoneId[] zones, State[] states) {
+    }
+
+    /**
+     * Adds a state. An existing entry with the same timestamp is kept.
+     *
+     * @param timestamp the timestamp in nanoseconds
+     * @param timeZone the time zone of the timestamp, returned with the entry
+     * @param state the state
+     * @param maxEntries maximum number of entries, the oldest entries are removed, 0 for no limit
+     */
+    void add(long timestamp, ZoneId timeZone, State state, long maxEntries) {
+        long stamp = lock.writeLock();
+        try {
+            int index = lowerBound(timestamp);
+            if (index < size && timestampAt(index) == timestamp) {
+                return;
+            }
+            if (maxEntries > 0 && size >= maxEntries) {
+                if (index == 0) {
+                    // older than everything we keep
+                    return;
+                }
+                removeFirst();
+                index--;
+            }
+            ensureCapacity(size + 1, maxEntries);
+
+            if (size == 0) {
+                zone = timeZone;
+                zones = null;
+            } else if (zones == null && !zone.equals(timeZone)) {
+                @Nullable
+                ZoneId[] newZones = new @Nullable ZoneId[timestamps.length];
+                for (int i = 0; i < size; i++) {
+                    newZones[(head + i) % newZones.length] = zone;
+                }
+                zones = newZones;
+            }
+
+            Column column = values;
+            if (column == null) {
+                column = Column.forState(state, timestamps.length);
+                values = column;
+            } else if (!column.accepts(state)) {
+                column = column.toStates(head, size, timestamps.length);
+                values = column;
+            }
+
+            int capacity = timestamps.length;
+            if (index < size / 2) {
+                // move the older entries one slot to the left
+                head = (head - 1 + capacity) % capacity;
+                for (int i = 0; i < index; i++) {
+                    move(i + 1, i);
+                }
+            } else {
+                for (int i = size; i > index; i--) {
+                    move(i - 1, i);
+                }
+            }
+            int slot = (head + index) % capacity;
+            timestamps[slot] = timestamp;
+            @Nullable
+            ZoneId[] localZones = zones;
+            if (localZones != null) {
+                localZones[slot] = timeZone;
+            }
+            column.set(slot, state);
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the entries in the given time range.
+     *
+     * @param begin first timestamp to include in nanoseconds
+     * @param end last timestamp to include in nanoseconds
+     */
+    Entries get(long begin, long end) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Entries entries = copy(begin, end);
+                if (lock.validate(stamp)) {
+                    return entries;
+                }
+            } catch (RuntimeException e) {
+                // inconsistent view because of a concurrent write, retry with the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return copy(begin, end);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Removes entries in the given time range that match the filter.
+     *
+     * @param begin first timestamp to include in nanoseconds
+     * @param end last timestamp to include in nanoseconds
+     * @param filter filter for the states to remove
+     */
+    void remove(long begin, long end, Predicate<State> filter) {
+        long stamp = lock.writeLock();
+        try {
+            Column column = values;
+            if (column == null) {
+                return;
+            }
+            int from = lowerBound(begin);
+            int to = upperBound(end);
+            int capacity = timestamps.length;
+            int target = from;
+            for (int i = from; i < size; i++) {
+                if (i < to && filter.test(column.get((head + i) % capacity))) {
+                    continue;
+                }
+                if (target != i) {
+                    move(i, target);
+                }
+                target++;
+            }
+            for (int i = target; i < size; i++) {
+                column.clear((head + i) % capacity);
+            }
+            size = target;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the oldest entries until at most <code>maxEntries</code> are left.
+     *
+     * @param maxEntries maximum number of entries, 0 for no limit
+     */
+    void trim(long maxEntries) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            while (size > maxEntries) {
+                removeFirst();
+            }
+            if (timestamps.length > maxEntries) {
+                resize((int) maxEntries);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.tryOptimisticRead();
+        int result = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                result = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the timestamps of the oldest and newest entry in nanoseconds, <code>null</code> if there are no entries
+     */
+    long @Nullable [] range() {
+        long stamp = lock.readLock();
+        try {
+            if (size == 0) {
+                return null;
+            }
+            return new long[] { timestampAt(0), timestampAt(size - 1) };
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Entries copy(long begin, long end) {
+        long[] times = timestamps;
+        Column column = values;
+        int from = lowerBound(begin);
+        int to = upperBound(end);
+        if (column == null || to <= from) {
+            return new Entries(new long[0], new ZoneId[0], new State[0]);
+        }
+        @Nullable
+        ZoneId[] localZones = zones;
+        ZoneId localZone = zone;
+        int count = to - from;
+        long[] resultTimes = new long[count];
+        ZoneId[] resultZones = new ZoneId[count];
+        State[] resultStates = new State[count];
+        int start = head + from;
+        for (int i = 0; i < count; i++) {
+            int slot = (start + i) % times.length;
+            resultTimes[i] = times[slot];
+            resultZones[i] = localZones != null ? Objects.requireNonNull(localZones[slot]) : localZone;
+            resultStates[i] = column.get(slot);
+        }
+        return new Entries(resultTimes, resultZones, resultStates);
+    }
+
+    private long timestampAt(int index) {
+        return timestamps[(head + index) % timestamps.length];
+    }
+
+    /**
+     * @return index of the first entry with a timestamp equal to or after the given one
+     */
+    private int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return index of the first entry with a timestamp after the given one
+     */
+    private int upperBound(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void move(int from, int to) {
+        int capacity = timestamps.length;
+        int fromSlot = (head + from) % capacity;
+        int toSlot = (head + to) % capacity;
+        timestamps[toSlot] = timestamps[fromSlot];
+        @Nullable
+        ZoneId[] localZones = zones;
+        if (localZones != null) {
+            localZones[toSlot] = localZones[fromSlot];
+        }
+        Column column = values;
+        if (column != null) {
+            column.move(fromSlot, toSlot);
+        }
+    }
+
+    private void removeFirst() {
+        Column column = values;
+        if (column != null) {
+            column.clear(head);
+        }
+        head = (head + 1) % timestamps.length;
+        size--;
+    }
+
+    private void ensureCapacity(int required, long maxEntries) {
+        int capacity = timestamps.length;
+        if (required <= capacity) {
+            return;
+        }
+        long newCapacity = Math.max(INITIAL_CAPACITY, (long) capacity * 2);
+        if (maxEntries > 0) {
+            newCapacity = Math.min(newCapacity, maxEntries);
+        }
+        resize((int) Math.min(Math.max(newCapacity, required), Integer.MAX_VALUE - 8));
+    }
+
+    private void resize(int newCapacity) {
+        long[] newTimestamps = new long[newCapacity];
+        for (int i = 0; i < size; i++) {
+            newTimestamps[i] = timestampAt(i);
+        }
+        @Nullable
+        ZoneId[] localZones = zones;
+        if (localZones != null) {
+            @Nullable
+            ZoneId[] newZones = new @Nullable ZoneId[newCapacity];
+            for (int i = 0; i < size; i++) {
+                newZones[i] = localZones[(head + i) % localZones.length];
+            }
+            zones = newZones;
+        }
+        Column column = values;
+        if (column != null) {
+            values = column.resize(head, size, newCapacity);
+        }
+        timestamps = newTimestamps;
+        head = 0;
+    }
+
+    /**
+     * Converts an {@link Instant} to nanoseconds since the epoch, saturating at the bounds of <code>long</code> (the
+     * years 1677 and 2262).
+     */
+    static long toNanos(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    static Instant toInstant(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+
+    /**
+     * Storage for the values, indexed by the same slots as the timestamps
+     */
+    private abstract static class Column {
+
+        static Column forState(State state, int capacity) {
+            Column column;
+            if (state.getClass() == DecimalType.class) {
+                column = new NumberColumn(capacity, DecimalType.class, DecimalType::new, null);
+            } else if (state.getClass() == PercentType.class) {
+                column = new NumberColumn(capacity, PercentType.class, PercentType::new, null);
+            } else if (state.getClass() == QuantityType.class) {
+                Unit<?> unit = ((QuantityType<?>) state).getUnit();
+                column = new NumberColumn(capacity, QuantityType.class, value -> new QuantityType<>(value, unit), unit);
+            } else if (state instanceof Enum<?> enumState
+                    && enumState.getDeclaringClass().getEnumConstants().length <= Byte.MAX_VALUE) {
+                column = new EnumColumn(new byte[capacity], enumState.getDeclaringClass());
+            } else {
+                column = new StateColumn(capacity);
+            }
+            return column.accepts(state) ? column : new StateColumn(capacity);
+        }
+
+        abstract boolean accepts(State state);
+
+        abstract State get(int slot);
+
+        abstract void set(int slot, State state);
+
+        abstract void move(int fromSlot, int toSlot);
+
+        void clear(int slot) {
+        }
+
+        /**
+         * @return a column of the new capacity with the entries starting at slot 0
+         */
+        abstract Column resize(int head, int size, int capacity);
+
+        StateColumn toStates(int head, int size, int capacity) {
+            StateColumn column = new StateColumn(capacity);
+            for (int i = 0; i < size; i++) {
+                int slot = (head + i) % capacity;
+                column.set(slot, get(slot));
+            }
+            return column;
+        }
+    }
+
+    private static class NumberColumn extends Column {
+        private final double[] values;
+        // scale of the values, so that e.g. 100 is not restored as 100.0
+        private final byte[] scales;
+        private final Class<?> stateClass;
+        private final Function<BigDecimal, State> factory;
+        private final @Nullable Unit<?> unit;
+
+        NumberColumn(int capacity, Class<?> stateClass, Function<BigDecimal, State> factory, @Nullable Unit<?> unit) {
+            this(new double[capacity], new byte[capacity], stateClass, factory, unit);
+        }
+
+        private NumberColumn(double[] values, byte[] scales, Class<?> stateClass, Function<BigDecimal, State> factory,
+                @Nullable Unit<?> unit) {
+            this.values = values;
+            this.scales = scales;
+            this.stateClass = stateClass;
+            this.factory = factory;
+            this.unit = unit;
+        }
+
+        @Override
+        boolean accepts(State state) {
+            if (state.getClass() != stateClass) {
+                return false;
+            }
+            if (state instanceof QuantityType<?> quantity) {
+                Unit<?> columnUnit = unit;
+                if (columnUnit != null && !columnUnit.equals(quantity.getUnit())) {
+                    return false;
+                }
+            }
+            BigDecimal value = toBigDecimal(state);
+            // only keep values as double that can be restored without loss
+            return value.scale() >= Byte.MIN_VALUE && value.scale() <= Byte.MAX_VALUE
+                    && BigDecimal.valueOf(value.doubleValue()).compareTo(value) == 0;
+        }
+
+        @Override
+        State get(int slot) {
+            // exact, as the value has been accepted with this scale
+            return factory.apply(BigDecimal.valueOf(values[slot]).setScale(scales[slot]));
+        }
+
+        @Override
+        void set(int slot, State state) {
+            BigDecimal value = toBigDecimal(state);
+            values[slot] = value.doubleValue();
+            scales[slot] = (byte) value.scale();
+        }
+
+        @Override
+        void move(int fromSlot, int toSlot) {
+            values[toSlot] = values[fromSlot];
+            scales[toSlot] = scales[fromSlot];
+        }
+
+        @Override
+        Column resize(int head, int size, int capacity) {
+            double[] newValues = new double[capacity];
+            byte[] newScales = new byte[capacity];
+            for (int i = 0; i < size; i++) {
+                newValues[i] = values[(head + i) % values.length];
+                newScales[i] = scales[(head + i) % scales.length];
+            }
+            return new NumberColumn(newValues, newScales, stateClass, factory, unit);
+        }
+
+        private static BigDecimal toBigDecimal(State state) {
+            return state instanceof QuantityType<?> quantity ? quantity.toBigDecimal()
+                    : ((DecimalType) state).toBigDecimal();
+        }
+    }
+
+    private static class EnumColumn extends Column {
+        private final byte[] ordinals;
+        private final Class<?> enumClass;
+        private final Object[] constants;
+
+        EnumColumn(byte[] ordinals, Class<?> enumClass) {
+            this.ordinals = ordinals;
+            this.enumClass = enumClass;
+            this.constants = enumClass.getEnumConstants();
+        }
+
+        @Override
+        boolean accepts(State state) {
+            return state instanceof Enum<?> enumState && enumState.getDeclaringClass() == enumClass;
+        }
+
+        @Override
+        State get(int slot) {
+            return (State) constants[ordinals[slot]];
+        }
+
+        @Override
+        void set(int slot, State state) {
+            ordinals[slot] = (byte) ((Enum<?>) state).ordinal();
+        }
+
+        @Override
+        void move(int fromSlot, int toSlot) {
+            ordinals[toSlot] = ordinals[fromSlot];
+        }
+
+        @Override
+        Column resize(int head, int size, int capacity) {
+            byte[] newOrdinals = new byte[capacity];
+            for (int i = 0; i < size; i++) {
+                newOrdinals[i] = ordinals[(head + i) % ordinals.length];
+            }
+            return new EnumColumn(newOrdinals, enumClass);
+        }
+    }
+
+    private static class StateColumn extends Column {
+        private final @Nullable State[] states;
+
+        StateColumn(int capacity) {
+            this(new @Nullable State[capacity]);
+        }
+
+        private StateColumn(@Nullable State[] states) {
+            this.states = states;
+        }
+
+        @Override
+        boolean accepts(State state) {
+            return true;
+        }
+
+        @Override
+        State get(int slot) {
+            State state = states[slot];
+            if (state == null) {
+                throw new IllegalStateException("Empty slot " + slot);
+            }
+            return state;
+        }
+
+        @Override
+        void set(int slot, State state) {
+            states[slot] = state;
+        }
+
+        @Override
+        void move(int fromSlot, int toSlot) {
+            states[toSlot] = states[fromSlot];
+        }
+
+        @Override
+        void clear(int slot) {
+            states[slot] = null;
+        }
+
+        @Override
+        Column resize(int head, int size, int capacity) {
+            @Nullable
+            State[] newStates = new @Nullable State[capacity];
+            for (int i = 0; i < size; i++) {
+                newStates[i] = states[(head + i) % states.length];
+            }
+            return new StateColumn(newStates);
+        }
+    }
+}
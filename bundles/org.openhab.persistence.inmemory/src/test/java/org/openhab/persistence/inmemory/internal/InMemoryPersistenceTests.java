@@ -16,11 +16,13 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -34,6 +36,7 @@ import org.mockito.quality.Strictness;
 import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.PercentType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -275,4 +278,72 @@ public class InMemoryPersistenceTests {
 
         // begin date is before first date is already covered by case #1
     }
+
+    @Test
+    public void maxEntriesRemovesOldestEntries() {
+        service.activate(Map.of("maxEntries", 2));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start.plusHours(1), new DecimalType(2));
+        service.store(item, start.plusHours(2), new DecimalType(3));
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(3), new DecimalType(4));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(3, 4));
+    }
+
+    @Test
+    public void storeDifferentStateTypesForOneItem() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, OnOffType.ON);
+        service.store(item, start.plusHours(2), OnOffType.OFF);
+        service.store(item, start.plusHours(1), new StringType("value"));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+
+        List<State> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState()));
+
+        assertThat(resultSet, contains(OnOffType.ON, new StringType("value"), OnOffType.OFF));
+    }
+
+    @Test
+    public void queryWithStateFilter() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1.5));
+        service.store(item, start.plusHours(1), new DecimalType(2.5));
+        service.store(item, start.plusHours(2), new DecimalType(3.5));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        filterCriteria.setState(new DecimalType(2));
+        filterCriteria.setOperator(FilterCriteria.Operator.GT);
+
+        List<State> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState()));
+
+        assertThat(resultSet, contains(new DecimalType(2.5), new DecimalType(3.5)));
+    }
+
+    @Test
+    public void storeKeepsTimestampAndValue() {
+        ZonedDateTime time1 = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 123456789, ZoneId.of("America/New_York"));
+        ZonedDateTime time2 = ZonedDateTime.of(2022, 05, 31, 18, 0, 0, 1, ZoneId.of("UTC"));
+        service.store(item, time1, new DecimalType(new BigDecimal("100")));
+        service.store(item, time2, new DecimalType(new BigDecimal("20.50")));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<HistoricItem> storedStates = new ArrayList<>();
+        service.query(filterCriteria).forEach(storedStates::add);
+
+        assertThat(storedStates, hasSize(2));
+        assertThat(storedStates.get(0).getTimestamp(), is(time1));
+        assertThat(storedStates.get(0).getState().toString(), is("100"));
+        assertThat(storedStates.get(1).getTimestamp(), is(time2));
+        assertThat(storedStates.get(1).getState().toString(), is("20.50"));
+    }
 }
@@ -15,16 +15,20 @@ package org.openhab.persistence.jdbc.internal;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.Aggregation;
 import org.openhab.persistence.jdbc.internal.utils.MovingAverage;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
@@ -66,6 +70,16 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int batchSize = 100;
+    private int batchInterval = 250;
+    private int queueCapacity = 100000;
+    private int writerThreads = 1;
+
+    private int queryMaxPoints = 0;
+    private Set<String> queryMaxPointsItems = Set.of();
+    private Aggregation queryAggregation = Aggregation.AVG;
+    private int queryFetchSize = 1000;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -191,6 +205,59 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Math.max(1, Integer.parseInt(bs));
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bi = (String) configuration.get("batchInterval");
+        if (bi != null && !bi.isBlank() && isNumericPattern.matcher(bi).matches()) {
+            batchInterval = Integer.parseInt(bi);
+            logger.debug("JDBC::updateConfig: batchInterval={}", batchInterval);
+        }
+
+        String qc = (String) configuration.get("queueCapacity");
+        if (qc != null && !qc.isBlank() && isNumericPattern.matcher(qc).matches()) {
+            queueCapacity = Math.max(1, Integer.parseInt(qc));
+            logger.debug("JDBC::updateConfig: queueCapacity={}", queueCapacity);
+        }
+
+        String wt = (String) configuration.get("writerThreads");
+        if (wt != null && !wt.isBlank() && isNumericPattern.matcher(wt).matches()) {
+            writerThreads = Math.max(1, Integer.parseInt(wt));
+            logger.debug("JDBC::updateConfig: writerThreads={}", writerThreads);
+        }
+
+        String mp = (String) configuration.get("queryMaxPoints");
+        if (mp != null && !mp.isBlank() && isNumericPattern.matcher(mp).matches()) {
+            queryMaxPoints = Integer.parseInt(mp);
+            logger.debug("JDBC::updateConfig: queryMaxPoints={}", queryMaxPoints);
+        }
+
+        String mpi = (String) configuration.get("queryMaxPointsItems");
+        if (mpi != null && !mpi.isBlank()) {
+            queryMaxPointsItems = Stream.of(mpi.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet());
+            logger.debug("JDBC::updateConfig: queryMaxPointsItems={}", queryMaxPointsItems);
+        }
+
+        String qa = (String) configuration.get("queryAggregation");
+        if (qa != null && !qa.isBlank()) {
+            try {
+                queryAggregation = Aggregation.valueOf(qa.trim().toUpperCase(Locale.ROOT));
+                logger.debug("JDBC::updateConfig: queryAggregation={}", queryAggregation);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid queryAggregation '{}', using {}", qa, queryAggregation);
+            }
+        }
+
+        String fs = (String) configuration.get("queryFetchSize");
+        if (fs != null && !fs.isBlank() && isNumericPattern.matcher(fs).matches()) {
+            queryFetchSize = Integer.parseInt(fs);
+            logger.debug("JDBC::updateConfig: queryFetchSize={}", queryFetchSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -375,6 +442,38 @@ public class JdbcConfiguration {
         return errReconnectThreshold;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    public int getQueryMaxPoints() {
+        return queryMaxPoints;
+    }
+
+    public Set<String> getQueryMaxPointsItems() {
+        return queryMaxPointsItems;
+    }
+
+    public Aggregation getQueryAggregation() {
+        return queryAggregation;
+    }
+
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
     public boolean getRebuildTableNames() {
         return rebuildTableNames;
     }
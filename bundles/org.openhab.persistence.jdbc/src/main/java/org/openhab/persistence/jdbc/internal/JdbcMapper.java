@@ -13,13 +13,17 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.sql.SQLInvalidAuthorizationSpecException;
+import java.time.Duration;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -28,14 +32,16 @@ import org.knowm.yank.Yank;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemUtil;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
-import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
@@ -51,15 +57,17 @@ import com.zaxxer.hikari.pool.HikariPool.PoolInitializationException;
 @NonNullByDefault
 public class JdbcMapper {
     private static final int MIGRATION_PERCENTAGE_THRESHOLD = 50;
+    private static final long[] BUCKET_SECONDS = { 1, 2, 5, 10, 15, 30, 60, 120, 300, 600, 900, 1800, 3600, 7200,
+            10800, 21600, 43200, 86400 };
 
     private final Logger logger = LoggerFactory.getLogger(JdbcMapper.class);
     private final TimeZoneProvider timeZoneProvider;
 
-    // Error counter - used to reconnect to database on error
-    protected int errCnt;
+    // Error counter - used to reconnect to database on error, also reset by the writer threads
+    protected volatile int errCnt;
     protected boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
-    protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    protected final Map<String, String> itemNameToTableNameMap = new ConcurrentHashMap<>();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
@@ -212,17 +220,76 @@ public class JdbcMapper {
         logTime("alterTableColumn", timerStart, System.currentTimeMillis());
     }
 
-    protected void storeItemValue(Item item, State itemState, @Nullable ZonedDateTime date) throws JdbcException {
-        logger.debug("JDBC::storeItemValue: item={} state={} date={}", item, itemState, date);
-        String tableName = getTable(item);
+    /**
+     * Resolves the item table of each queued value, creating missing tables on the way.
+     *
+     * @param values the queued values
+     * @return values grouped by item table, in queue order
+     */
+    protected Map<String, List<PendingItemValue>> groupItemValuesByTable(List<PendingItemValue> values) {
+        Map<String, List<PendingItemValue>> valuesByTable = new LinkedHashMap<>();
+        for (PendingItemValue value : values) {
+            try {
+                String tableName = getTable(value.getItem());
+                valuesByTable.computeIfAbsent(tableName, t -> new ArrayList<>()).add(value);
+            } catch (JdbcException e) {
+                logger.warn("JDBC::groupItemValuesByTable: Unable to find table for item '{}': {}",
+                        value.getItem().getName(), e.getMessage());
+            }
+        }
+        return valuesByTable;
+    }
+
+    /**
+     * Stores queued values of a single item table. Values with an explicit date and values stored with the time of
+     * the database are written as separate batches. If a batch is rejected, its values are stored one by one, so that
+     * a single bad row does not discard the others.
+     *
+     * @param tableName the item table
+     * @param values the values to store
+     * @return number of values stored
+     */
+    protected int storeItemValues(String tableName, List<PendingItemValue> values) {
+        logger.debug("JDBC::storeItemValues: table={} count={}", tableName, values.size());
         long timerStart = System.currentTimeMillis();
-        if (date == null) {
-            conf.getDBDAO().doStoreItemValue(item, itemState, new ItemVO(tableName, null));
-        } else {
-            conf.getDBDAO().doStoreItemValue(item, itemState, new ItemVO(tableName, null), date);
+        Map<Boolean, List<PendingItemValue>> valuesByDate = values.stream()
+                .collect(Collectors.partitioningBy(PendingItemValue::isExplicitDate));
+        int stored = 0;
+        for (List<PendingItemValue> batch : valuesByDate.values()) {
+            if (!batch.isEmpty()) {
+                stored += storeItemValueBatch(tableName, batch);
+            }
         }
-        logTime("storeItemValue", timerStart, System.currentTimeMillis());
-        errCnt = 0;
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        if (stored > 0) {
+            errCnt = 0;
+        }
+        return stored;
+    }
+
+    private int storeItemValueBatch(String tableName, List<PendingItemValue> values) {
+        try {
+            return conf.getDBDAO().doStoreItemValues(tableName, values);
+        } catch (JdbcSQLException e) {
+            logger.debug("JDBC::storeItemValues: Batch for table '{}' failed, storing values one by one: {}",
+                    tableName, e.getMessage());
+        }
+        int stored = 0;
+        for (PendingItemValue value : values) {
+            try {
+                if (value.isExplicitDate()) {
+                    conf.getDBDAO().doStoreItemValue(value.getItem(), value.getState(), new ItemVO(tableName, null),
+                            value.getDate());
+                } else {
+                    conf.getDBDAO().doStoreItemValue(value.getItem(), value.getState(), new ItemVO(tableName, null));
+                }
+                stored++;
+            } catch (JdbcSQLException | ClassCastException | UnsupportedOperationException e) {
+                logger.warn("JDBC::storeItemValues: Unable to store state '{}' for item '{}': {}", value.getState(),
+                        value.getItem().getName(), e.getMessage());
+            }
+        }
+        return stored;
     }
 
     public long getRowCount(String tableName) throws JdbcSQLException {
@@ -235,13 +302,55 @@ public class JdbcMapper {
                 "JDBC::getHistItemFilterQuery filter='{}' numberDecimalcount='{}' table='{}' item='{}' itemName='{}'",
                 true, numberDecimalcount, table, item, item.getName());
         long timerStart = System.currentTimeMillis();
-        List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
-                item.getName(), timeZoneProvider.getTimeZone());
+        JdbcBaseDAO dao = conf.getDBDAO();
+        ZoneId timeZone = timeZoneProvider.getTimeZone();
+        List<HistoricItem> result = null;
+        // only explicitly listed items are downsampled, the persistence extensions need the stored values
+        if (conf.getQueryMaxPointsItems().contains(item.getName()) && dao.isAggregatedQuerySupported()) {
+            long bucketSeconds = getBucketSeconds(filter, item, conf.getQueryMaxPoints(), ZonedDateTime.now());
+            // the rows are only counted if the query may be downsampled at all
+            if (bucketSeconds > 0 && dao.doGetHistItemFilterCount(filter, table, timeZone) > conf.getQueryMaxPoints()) {
+                result = dao.doGetHistItemAggregatedQuery(item, filter, numberDecimalcount, table, timeZone,
+                        bucketSeconds, conf.getQueryAggregation(), conf.getQueryFetchSize());
+            }
+        }
+        if (result == null) {
+            result = dao.doGetHistItemFilterQuery(item, filter, numberDecimalcount, table, item.getName(), timeZone,
+                    conf.getQueryFetchSize());
+        }
         logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
         errCnt = 0;
         return result;
     }
 
+    /**
+     * Determines the bucket width for downsampling a query to at most {@code maxPoints} values. Only complete time
+     * ranges of number items are downsampled, paged queries are always answered with the stored values. The width is
+     * rounded up to a whole number of seconds, minutes, hours or days.
+     *
+     * @param now end of the time range if the filter has no end date
+     * @return the bucket width in seconds, or 0 if the query must not be downsampled
+     */
+    static long getBucketSeconds(FilterCriteria filter, Item item, int maxPoints, ZonedDateTime now) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (maxPoints <= 0 || !(item instanceof NumberItem) || beginDate == null
+                || filter.getPageSize() != Integer.MAX_VALUE || filter.getPageNumber() != 0) {
+            return 0;
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        long rangeSeconds = Duration.between(beginDate, endDate != null ? endDate : now).getSeconds();
+        if (rangeSeconds <= 0) {
+            return 0;
+        }
+        long minimum = (rangeSeconds + maxPoints - 1) / maxPoints;
+        for (long bucketSeconds : BUCKET_SECONDS) {
+            if (bucketSeconds >= minimum) {
+                return bucketSeconds;
+            }
+        }
+        return (minimum + 86399) / 86400 * 86400;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -482,7 +591,7 @@ public class JdbcMapper {
     /*****************
      * H E L P E R S *
      *****************/
-    private void logTime(String me, long timerStart, long timerStop) {
+    private synchronized void logTime(String me, long timerStart, long timerStop) {
         if (conf.enableLogTime && logger.isInfoEnabled()) {
             conf.timerCount++;
             int timerDiff = (int) (timerStop - timerStart);
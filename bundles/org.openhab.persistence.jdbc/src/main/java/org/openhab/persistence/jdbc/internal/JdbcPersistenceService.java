@@ -21,8 +21,16 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -46,8 +54,9 @@ import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
-import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+import org.openhab.persistence.jdbc.internal.utils.WriteStatistics;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
@@ -76,6 +85,11 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
+    private volatile @Nullable ExecutorService writers;
+    private volatile BlockingQueue<PendingItemValue> pendingValues = new LinkedBlockingQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final WriteStatistics writeStatistics = new WriteStatistics();
 
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
@@ -120,6 +134,20 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        // write what is still queued before shutting down
+        try {
+            scheduler.submit(this::flush).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("JDBC::deactivate: Unable to store {} queued values", pendingValues.size());
+        }
+        scheduler.shutdownNow();
+        ExecutorService writers = this.writers;
+        if (writers != null) {
+            writers.shutdownNow();
+            this.writers = null;
+        }
         // closeConnection();
         initialized = false;
     }
@@ -137,48 +165,141 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        queue(item, ZonedDateTime.now(), false, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        queue(item, ZonedDateTime.now(), false, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        queue(item, date, true, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, date, state));
+        queue(item, date, true, state);
     }
 
-    private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
+    private void queue(Item item, ZonedDateTime date, boolean explicitDate, State state) {
         // Do not store undefined/uninitialized data
         if (state instanceof UnDefType) {
             logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
             return;
         }
+        BlockingQueue<PendingItemValue> queue = pendingValues;
+        if (!queue.offer(new PendingItemValue(item, state, date, explicitDate))) {
+            writeStatistics.recordDropped(1);
+            logger.warn("JDBC::store: Write queue is full ({} values). Cannot persist state '{}' for item '{}'!",
+                    queue.size(), state, item.getName());
+            return;
+        }
+        writeStatistics.recordQueued();
+        if (queue != pendingValues) {
+            // the configuration has been updated in the meantime
+            transferPendingValues(queue);
+        }
+        if (pendingValues.size() >= conf.getBatchSize()) {
+            if (flushRequested.compareAndSet(false, true)) {
+                scheduler.execute(this::flush);
+            }
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, conf.getBatchInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all queued values. Values are grouped per item table, and each table is written as one batch on the
+     * writer pool. Runs on the single scheduler thread only, so table creation is never done concurrently.
+     */
+    private void flush() {
+        flushRequested.set(false);
+        flushScheduled.set(false);
+        List<PendingItemValue> values = new ArrayList<>(pendingValues.size());
+        pendingValues.drainTo(values);
+        if (values.isEmpty()) {
+            return;
+        }
         if (!checkDBAccessability()) {
+            writeStatistics.recordDropped(values.size());
             logger.warn(
-                    "JDBC::store: No connection to database. Cannot persist state '{}' for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
-                    state, item, errCnt, conf.getErrReconnectThreshold());
+                    "JDBC::store: No connection to database. Cannot persist {} queued states! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    values.size(), errCnt, conf.getErrReconnectThreshold());
             return;
         }
-        try {
-            long timerStart = System.currentTimeMillis();
-            storeItemValue(item, state, date);
-            if (logger.isDebugEnabled()) {
-                logger.debug("JDBC: Stored item '{}' as '{}' in SQL database at {} in {} ms.", item.getName(), state,
-                        new Date(), System.currentTimeMillis() - timerStart);
+        long flushStart = System.nanoTime();
+        Map<String, List<PendingItemValue>> valuesByTable = groupItemValuesByTable(values);
+        ExecutorService writers = this.writers;
+        int stored = 0;
+        if (writers == null || valuesByTable.size() == 1) {
+            for (Entry<String, List<PendingItemValue>> entry : valuesByTable.entrySet()) {
+                stored += storeItemValues(entry.getKey(), entry.getValue());
             }
-        } catch (JdbcException e) {
-            logger.warn("JDBC::store: Unable to store item", e);
+        } else {
+            List<Future<Integer>> results = new ArrayList<>(valuesByTable.size());
+            for (Entry<String, List<PendingItemValue>> entry : valuesByTable.entrySet()) {
+                results.add(writers.submit(() -> storeItemValues(entry.getKey(), entry.getValue())));
+            }
+            for (Future<Integer> result : results) {
+                try {
+                    stored += result.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    logger.warn("JDBC::store: Unable to store values", e.getCause());
+                }
+            }
+        }
+        long flushEnd = System.nanoTime();
+        long queueDuration = values.stream().mapToLong(v -> flushEnd - v.getQueuedAt()).sum();
+        writeStatistics.recordFlush(stored, values.size() - stored, flushEnd - flushStart, queueDuration);
+        logger.debug("JDBC: Stored {} of {} values into {} tables in {} ms.", stored, values.size(),
+                valuesByTable.size(), TimeUnit.NANOSECONDS.toMillis(flushEnd - flushStart));
+    }
+
+    /**
+     * Moves the values of a replaced write queue to the current one.
+     */
+    private void transferPendingValues(BlockingQueue<PendingItemValue> oldValues) {
+        List<PendingItemValue> values = new ArrayList<>(oldValues.size());
+        oldValues.drainTo(values);
+        if (values.isEmpty()) {
+            return;
+        }
+        BlockingQueue<PendingItemValue> queue = pendingValues;
+        int dropped = 0;
+        for (PendingItemValue value : values) {
+            if (!queue.offer(value)) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            writeStatistics.recordDropped(dropped);
+            logger.warn("JDBC::updateConfig: Write queue is full ({} values). Cannot persist {} queued states!",
+                    queue.size(), dropped);
         }
+        // a flush scheduled before may still use the batch interval of the previous configuration
+        flushScheduled.set(true);
+        scheduler.schedule(this::flush, conf.getBatchInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the number of values waiting to be written.
+     */
+    public int getQueueSize() {
+        return pendingValues.size();
+    }
+
+    /**
+     * Get the statistics of the write queue.
+     */
+    public WriteStatistics getWriteStatistics() {
+        return writeStatistics;
     }
 
     @Override
@@ -257,6 +378,16 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         logger.debug("JDBC::updateConfig");
 
         conf = new JdbcConfiguration(configuration);
+        ExecutorService writers = this.writers;
+        this.writers = Executors.newFixedThreadPool(conf.getWriterThreads(),
+                new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID + "-writer"));
+        if (writers != null) {
+            writers.shutdown();
+        }
+        BlockingQueue<PendingItemValue> oldValues = pendingValues;
+        pendingValues = new LinkedBlockingQueue<>(conf.getQueueCapacity());
+        // values queued with the previous configuration are written with the new one
+        transferPendingValues(oldValues);
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
             try {
@@ -13,22 +13,26 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
 
+import org.apache.commons.dbutils.QueryRunner;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
@@ -56,10 +60,12 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.dto.Aggregation;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -457,26 +463,171 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores a number of values into the same item table within a single JDBC batch. Either all values have an
+     * explicit date, or none of them has one and the database stores them with its own time, like
+     * {@link #doStoreItemValue(Item, State, ItemVO)}.
+     *
+     * @param tableName the item table to write to
+     * @param values the values to store, all belonging to the item of {@code tableName}
+     * @return number of values handed to the database
+     * @throws JdbcSQLException if the batch could not be executed
+     */
+    public int doStoreItemValues(String tableName, List<PendingItemValue> values) throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        boolean dated = values.get(0).isExplicitDate();
+        ItemVO storedVO = null;
+        List<Object[]> params = new ArrayList<>(values.size());
+        for (PendingItemValue value : values) {
+            if (value.isExplicitDate() != dated) {
+                throw new IllegalArgumentException("Values with and without date cannot be stored in one batch");
+            }
+            try {
+                storedVO = storeItemValueProvider(value.getItem(), value.getState(), new ItemVO(tableName, null));
+                Object[] valueParams = storeItemValuesParamsProvider(storedVO);
+                if (!dated) {
+                    params.add(valueParams);
+                } else {
+                    Object[] rowParams = new Object[valueParams.length + 1];
+                    rowParams[0] = storeItemValuesTimeProvider(value.getDate());
+                    System.arraycopy(valueParams, 0, rowParams, 1, valueParams.length);
+                    params.add(rowParams);
+                }
+            } catch (ClassCastException | UnsupportedOperationException e) {
+                // skip the single value instead of failing the whole batch
+                logger.warn("JDBC::doStoreItemValues: Unable to convert state '{}' of item '{}': {}", value.getState(),
+                        value.getItem().getName(), e.getMessage());
+            }
+        }
+        if (storedVO == null) {
+            return 0;
+        }
+        String sql = storeItemValuesProvider(storedVO, dated ? "?" : sqlTypes.get("tablePrimaryValue"));
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.size());
+        try {
+            Yank.executeBatch(sql, params.toArray(new Object[0][]));
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        return params.size();
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
-            String table, String name, ZoneId timeZone) throws JdbcSQLException {
+            String table, String name, ZoneId timeZone, int fetchSize) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
         logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
-        List<Object[]> m;
+        return queryHistoricItems(item, sql, fetchSize);
+    }
+
+    /**
+     * @return whether {@link #doGetHistItemAggregatedQuery} is supported by the database
+     */
+    public boolean isAggregatedQuerySupported() {
+        return timeBucketProvider("time", 1) != null;
+    }
+
+    /**
+     * Queries the values of a number item downsampled to one value per time bucket.
+     *
+     * @param bucketSeconds width of the time buckets in seconds
+     * @param aggregation the value returned for each bucket
+     * @return the downsampled values, or null if the database does not support downsampled queries
+     * @throws JdbcSQLException if the query failed
+     */
+    public @Nullable List<HistoricItem> doGetHistItemAggregatedQuery(Item item, FilterCriteria filter,
+            int numberDecimalcount, String table, ZoneId timeZone, long bucketSeconds, Aggregation aggregation,
+            int fetchSize) throws JdbcSQLException {
+        String sql = histItemAggregatedQueryProvider(filter, numberDecimalcount, table, timeZone, bucketSeconds,
+                aggregation);
+        if (sql == null) {
+            return null;
+        }
+        logger.debug("JDBC::doGetHistItemAggregatedQuery sql={}", sql);
+        return queryHistoricItems(item, sql, fetchSize);
+    }
+
+    /**
+     * Counts the rows of an item table matching the time range of the filter.
+     */
+    public long doGetHistItemFilterCount(FilterCriteria filter, String table, ZoneId timeZone)
+            throws JdbcSQLException {
+        String sql = StringUtilsExt.replaceArrayMerge(sqlGetRowCount, new String[] { "#tableName#" },
+                new String[] { formattedIdentifier(table) }) + resolveTimeFilter(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterCount sql={}", sql);
         try {
-            m = Yank.queryObjectArrays(sql, null);
+            final @Nullable Long result = Yank.queryScalar(sql, Long.class, null);
+            return Objects.requireNonNullElse(result, 0L);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
-        if (m == null) {
-            logger.debug("JDBC::doGetHistItemFilterQuery Query failed. Returning an empty list.");
-            return List.of();
-        }
+    }
+
+    /**
+     * Runs a query returning time and value columns on the Yank connection pool. The driver is asked to read the
+     * result {@code fetchSize} rows per round trip, so that it does not buffer the raw rows of the complete result in
+     * addition to the returned items. Whether it does depends on the driver, see {@link #isFetchSizeTransactional()}.
+     *
+     * @param fetchSize number of rows fetched per round trip, 0 to use the driver default
+     */
+    protected List<HistoricItem> queryHistoricItems(Item item, String sql, int fetchSize) throws JdbcSQLException {
         // we already retrieve the unit here once as it is a very costly operation
         String itemName = item.getName();
         Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
-        return m.stream()
-                .map(o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsInstant(o[0])))
-                .collect(Collectors.<HistoricItem> toList());
+        QueryRunner queryRunner = new QueryRunner() {
+            @Override
+            protected PreparedStatement prepareStatement(@Nullable Connection connection, @Nullable String query)
+                    throws SQLException {
+                PreparedStatement statement = super.prepareStatement(connection, query);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }
+        };
+        boolean transactional = fetchSize > 0 && isFetchSizeTransactional();
+        try (Connection connection = Yank.getDefaultConnectionPool().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            if (transactional) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                return queryRunner.query(connection, sql, resultSet -> {
+                    List<HistoricItem> items = new ArrayList<>();
+                    int skipped = 0;
+                    while (resultSet.next()) {
+                        Object time = resultSet.getObject(1);
+                        Object value = resultSet.getObject(2);
+                        if (time == null || value == null) {
+                            skipped++;
+                            continue;
+                        }
+                        items.add(new JdbcHistoricItem(itemName, objectAsState(item, unit, value),
+                                objectAsInstant(time)));
+                    }
+                    if (skipped > 0) {
+                        logger.warn("JDBC::queryHistoricItems: Skipped {} rows of item '{}' without time or value",
+                                skipped, itemName);
+                    }
+                    return items;
+                });
+            } finally {
+                if (transactional) {
+                    // the query does not change anything, end its transaction before the connection is reused
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+        } catch (SQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    /**
+     * @return whether the driver only reads results {@code fetchSize} rows at a time within a transaction, so queries
+     *         are run with auto-commit disabled
+     */
+    protected boolean isFetchSizeTransactional() {
+        return false;
     }
 
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
@@ -529,6 +680,60 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Provides a query returning one row per time bucket, or null if the database does not support downsampled
+     * queries. The time of a row is the time of the first value in the bucket, or of the last value for
+     * {@link Aggregation#LAST}.
+     */
+    protected @Nullable String histItemAggregatedQueryProvider(FilterCriteria filter, int numberDecimalcount,
+            String table, ZoneId timeZone, long bucketSeconds, Aggregation aggregation) {
+        String bucket = timeBucketProvider("time", bucketSeconds);
+        if (bucket == null) {
+            return null;
+        }
+        String tableName = formattedIdentifier(table);
+        String filterString = resolveTimeFilter(filter, timeZone);
+        String ordering = filter.getOrdering() == Ordering.ASCENDING ? " ASC" : " DESC";
+        String aggregate = aggregateProvider(aggregation);
+        if (aggregate != null) {
+            String time = aggregation == Aggregation.LAST ? "MAX(time)" : "MIN(time)";
+            return "SELECT " + time + ", " + roundedValueProvider(aggregate, numberDecimalcount) + " FROM "
+                    + tableName + filterString + " GROUP BY " + bucket + " ORDER BY 1" + ordering;
+        }
+        // the most recent value of each bucket, found by its time which is the primary key
+        return "SELECT t.time, " + roundedValueProvider("t.value", numberDecimalcount) + " FROM " + tableName
+                + " t JOIN (SELECT MAX(time) AS last_time FROM " + tableName + filterString + " GROUP BY " + bucket
+                + ") b ON t.time = b.last_time ORDER BY t.time" + ordering;
+    }
+
+    /**
+     * Provides an expression with the same value for all times of a bucket, or null if the database does not support
+     * downsampled queries. Uses integer division of the epoch seconds.
+     *
+     * @param column the time column
+     * @param bucketSeconds width of the buckets in seconds
+     */
+    protected @Nullable String timeBucketProvider(String column, long bucketSeconds) {
+        return "UNIX_TIMESTAMP(" + column + ") DIV " + bucketSeconds;
+    }
+
+    /**
+     * Provides the aggregate function computing the value of a bucket, or null to select the value of the last row
+     * of the bucket with a join.
+     */
+    protected @Nullable String aggregateProvider(Aggregation aggregation) {
+        return switch (aggregation) {
+            case AVG -> "AVG(value)";
+            case MIN -> "MIN(value)";
+            case MAX -> "MAX(value)";
+            case LAST -> null;
+        };
+    }
+
+    protected String roundedValueProvider(String expression, int numberDecimalcount) {
+        return numberDecimalcount > -1 ? "ROUND(" + expression + "," + numberDecimalcount + ")" : expression;
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -554,6 +759,32 @@ public class JdbcBaseDAO {
         return filterString;
     }
 
+    /**
+     * Provides the insert statement used for batched stores.
+     *
+     * @param timeValue the value of the time column, the database time or a parameter
+     */
+    protected String storeItemValuesProvider(ItemVO vo, @Nullable String timeValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
+                new String[] { formattedIdentifier(vo.getTableName()), vo.getDbType(), timeValue });
+    }
+
+    /**
+     * Provides the value parameters matching {@link #storeItemValuesProvider(ItemVO, String)} for a single row. The
+     * time parameter of dated values is added in front of them.
+     */
+    protected Object[] storeItemValuesParamsProvider(ItemVO vo) {
+        return new Object[] { vo.getValue(), vo.getValue() };
+    }
+
+    /**
+     * Provides the parameter for the time column of a dated value.
+     */
+    protected Object storeItemValuesTimeProvider(ZonedDateTime date) {
+        return new java.sql.Timestamp(date.toInstant().toEpochMilli());
+    }
+
     private String updateItemTableNamesProvider(ItemVO itemTable) {
         String newTableName = itemTable.getNewTableName();
         if (newTableName == null) {
@@ -19,6 +19,7 @@ import java.time.ZonedDateTime;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
 import org.openhab.core.items.Item;
@@ -27,6 +28,7 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
@@ -225,6 +227,13 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
         doStoreItemValue(item, itemState, vo, ZonedDateTime.now());
     }
 
+    @Override
+    public int doStoreItemValues(String tableName, List<PendingItemValue> values) throws JdbcSQLException {
+        // the merge statement always takes the time as parameter, so values are stored with the time they were queued
+        return super.doStoreItemValues(tableName, values.stream().map(value -> value.isExplicitDate() ? value
+                : new PendingItemValue(value.getItem(), value.getState(), value.getDate(), true)).toList());
+    }
+
     @Override
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
@@ -243,6 +252,16 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
     /****************************
      * SQL generation Providers *
      ****************************/
+    @Override
+    protected @Nullable String timeBucketProvider(String column, long bucketSeconds) {
+        // downsampled queries are not supported
+        return null;
+    }
+
+    @Override
+    protected Object[] storeItemValuesParamsProvider(ItemVO vo) {
+        return new Object[] { vo.getValue() };
+    }
 
     @Override
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
@@ -15,8 +15,10 @@ package org.openhab.persistence.jdbc.internal.db;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
 import org.openhab.core.items.Item;
@@ -44,6 +46,9 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
     private static final String DRIVER_CLASS_NAME = org.postgresql.Driver.class.getName();
     @SuppressWarnings("unused")
     private static final String DATA_SOURCE_CLASS_NAME = org.postgresql.ds.PGSimpleDataSource.class.getName();
+    // buckets that can be computed with date_trunc, other widths use the epoch seconds
+    private static final Map<Long, String> DATE_TRUNC_FIELDS = Map.of(1L, "second", 60L, "minute", 3600L, "hour",
+            86400L, "day");
 
     private final Logger logger = LoggerFactory.getLogger(JdbcPostgresqlDAO.class);
 
@@ -127,6 +132,7 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         // databaseProps.setProperty("dataSource.cachePrepStmts", "true");
         // databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
         // databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        databaseProps.setProperty("dataSource.reWriteBatchedInserts", "true");// multi-row inserts for batches
 
         // Properties for HikariCP
         databaseProps.setProperty("driverClassName", DRIVER_CLASS_NAME);
@@ -247,6 +253,29 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
     /****************************
      * SQL generation Providers *
      ****************************/
+    @Override
+    protected @Nullable String timeBucketProvider(String column, long bucketSeconds) {
+        String field = DATE_TRUNC_FIELDS.get(bucketSeconds);
+        return field != null ? "date_trunc('" + field + "', " + column + ")"
+                : "FLOOR(EXTRACT(EPOCH FROM " + column + ") / " + bucketSeconds + ")";
+    }
+
+    @Override
+    protected String roundedValueProvider(String expression, int numberDecimalcount) {
+        return numberDecimalcount > -1 ? "ROUND(CAST (" + expression + " AS numeric)," + numberDecimalcount + ")"
+                : expression;
+    }
+
+    @Override
+    protected boolean isFetchSizeTransactional() {
+        // the driver ignores the fetch size in auto-commit mode and reads the complete result at once
+        return true;
+    }
+
+    @Override
+    protected Object[] storeItemValuesParamsProvider(ItemVO vo) {
+        return new Object[] { vo.getValue() };
+    }
 
     @Override
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
@@ -12,7 +12,9 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -39,6 +41,8 @@ public class JdbcSqliteDAO extends JdbcBaseDAO {
     private static final String DRIVER_CLASS_NAME = org.sqlite.JDBC.class.getName();
     @SuppressWarnings("unused")
     private static final String DATA_SOURCE_CLASS_NAME = org.sqlite.SQLiteDataSource.class.getName();
+    // format of the default value of the time column, see tablePrimaryValue
+    private static final DateTimeFormatter SQLITE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
 
     private final Logger logger = LoggerFactory.getLogger(JdbcSqliteDAO.class);
 
@@ -131,7 +135,7 @@ public class JdbcSqliteDAO extends JdbcBaseDAO {
         String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
                 new String[] { formattedIdentifier(storedVO.getTableName()), storedVO.getDbType(), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
+        Object timestamp = storeItemValuesTimeProvider(date);
         Object[] params = { timestamp, storedVO.getValue() };
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
@@ -144,6 +148,26 @@ public class JdbcSqliteDAO extends JdbcBaseDAO {
     /****************************
      * SQL generation Providers *
      ****************************/
+    @Override
+    protected @Nullable String timeBucketProvider(String column, long bucketSeconds) {
+        // values written with a bound java.sql.Timestamp by older versions are stored as epoch milliseconds
+        return "(CASE WHEN typeof(" + column + ") = 'integer' THEN " + column + " / 1000 ELSE CAST(strftime('%s', "
+                + column + ") AS INTEGER) END) / " + bucketSeconds;
+    }
+
+    @Override
+    protected Object[] storeItemValuesParamsProvider(ItemVO vo) {
+        return new Object[] { vo.getValue() };
+    }
+
+    /**
+     * SQLite has no timestamp type, so the time is stored as text like the default value of the time column. Bound
+     * {@link java.sql.Timestamp}s would be stored as numbers, which are not found by the time filters of queries.
+     */
+    @Override
+    protected Object storeItemValuesTimeProvider(ZonedDateTime date) {
+        return SQLITE_DATE_FORMAT.format(date.withZoneSameInstant(ZoneId.systemDefault()));
+    }
 
     /*****************
      * H E L P E R S *
@@ -16,8 +16,10 @@ import java.util.List;
 import java.util.Properties;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.persistence.jdbc.internal.dto.Aggregation;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -77,4 +79,17 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
             throw new JdbcSQLException(e);
         }
     }
+
+    /****************************
+     * SQL generation Providers *
+     ****************************/
+    @Override
+    protected @Nullable String timeBucketProvider(String column, long bucketSeconds) {
+        return "time_bucket(INTERVAL '" + bucketSeconds + " seconds', " + column + ")";
+    }
+
+    @Override
+    protected @Nullable String aggregateProvider(Aggregation aggregation) {
+        return aggregation == Aggregation.LAST ? "last(value, time)" : super.aggregateProvider(aggregation);
+    }
 }
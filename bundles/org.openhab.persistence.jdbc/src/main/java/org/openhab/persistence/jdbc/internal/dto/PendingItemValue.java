@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+
+/**
+ * Represents an item state waiting in the write queue to be stored.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class PendingItemValue {
+
+    private final Item item;
+    private final State state;
+    private final ZonedDateTime date;
+    private final boolean explicitDate;
+    private final long queuedAt;
+
+    /**
+     * @param date the date of the value, or the time it has been queued if it has no explicit date
+     * @param explicitDate whether the date has been given for the value, otherwise it is stored with the time of the
+     *            database
+     */
+    public PendingItemValue(Item item, State state, ZonedDateTime date, boolean explicitDate) {
+        this.item = item;
+        this.state = state;
+        this.date = date;
+        this.explicitDate = explicitDate;
+        this.queuedAt = System.nanoTime();
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public ZonedDateTime getDate() {
+        return date;
+    }
+
+    public boolean isExplicitDate() {
+        return explicitDate;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} at the moment the value was queued
+     */
+    public long getQueuedAt() {
+        return queuedAt;
+    }
+}
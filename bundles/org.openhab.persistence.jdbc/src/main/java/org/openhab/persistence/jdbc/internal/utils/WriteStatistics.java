@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Collects counters of the write queue, shown by the console command.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class WriteStatistics {
+
+    private final long startedAt = System.nanoTime();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public void recordQueued() {
+        queued.increment();
+    }
+
+    public void recordDropped(int count) {
+        dropped.add(count);
+    }
+
+    /**
+     * Records a completed flush.
+     *
+     * @param storedCount values written to the database
+     * @param failedCount values that could not be written
+     * @param duration time spent in the flush in nanoseconds
+     * @param queueDuration sum of the time the stored values spent in the queue in nanoseconds
+     */
+    public void recordFlush(int storedCount, int failedCount, long duration, long queueDuration) {
+        flushes.increment();
+        stored.add(storedCount);
+        failed.add(failedCount);
+        flushNanos.add(duration);
+        queueNanos.add(queueDuration);
+        maxFlushNanos.accumulateAndGet(duration, Math::max);
+    }
+
+    public long getQueued() {
+        return queued.sum();
+    }
+
+    public long getStored() {
+        return stored.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    /**
+     * @return average number of values written per second since the service was started
+     */
+    public double getThroughput() {
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt);
+        return seconds == 0 ? 0 : (double) stored.sum() / seconds;
+    }
+
+    public double getAverageBatchSize() {
+        long count = flushes.sum();
+        return count == 0 ? 0 : (double) (stored.sum() + failed.sum()) / count;
+    }
+
+    public double getAverageFlushMillis() {
+        long count = flushes.sum();
+        return count == 0 ? 0 : flushNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return average time between queueing and storing a value in milliseconds
+     */
+    public double getAverageQueueMillis() {
+        long count = stored.sum() + failed.sum();
+        return count == 0 ? 0 : queueNanos.sum() / 1_000_000.0 / count;
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.StringItem;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.Aggregation;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the downsampling decision of the {@link JdbcMapper}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcMapperTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2024, 3, 1, 12, 0, 0, 0, ZoneId.of("UTC"));
+    private static final NumberItem NUMBER_ITEM = new NumberItem("power");
+
+    private @NonNullByDefault({}) FilterCriteria filter;
+
+    @BeforeEach
+    void setup() {
+        filter = new FilterCriteria();
+        filter.setBeginDate(NOW.minusDays(30));
+    }
+
+    @Test
+    void testBucketIsRoundedUpToNextStep() {
+        // 30 days with 1000 points need 2592 seconds per bucket
+        assertThat(JdbcMapper.getBucketSeconds(filter, NUMBER_ITEM, 1000, NOW), is(3600L));
+        assertThat(JdbcMapper.getBucketSeconds(filter, NUMBER_ITEM, 10000, NOW), is(300L));
+    }
+
+    @Test
+    void testBucketIsRoundedUpToWholeDays() {
+        filter.setBeginDate(NOW.minusYears(10));
+        assertThat(JdbcMapper.getBucketSeconds(filter, NUMBER_ITEM, 1000, NOW), is(4 * 86400L));
+    }
+
+    @Test
+    void testEndDateLimitsRange() {
+        filter.setEndDate(NOW.minusDays(29));
+        assertThat(JdbcMapper.getBucketSeconds(filter, NUMBER_ITEM, 1000, NOW), is(120L));
+    }
+
+    @Test
+    void testQueriesAreNotDownsampledWhenDisabledPagedOrNotNumeric() {
+        assertThat(JdbcMapper.getBucketSeconds(filter, NUMBER_ITEM, 0, NOW), is(0L));
+        assertThat(JdbcMapper.getBucketSeconds(filter, new StringItem("text"), 1000, NOW), is(0L));
+        filter.setPageSize(10);
+        assertThat(JdbcMapper.getBucketSeconds(filter, NUMBER_ITEM, 1000, NOW), is(0L));
+    }
+
+    @Test
+    void testQueriesWithoutBeginDateAreNotDownsampled() {
+        assertThat(JdbcMapper.getBucketSeconds(new FilterCriteria(), NUMBER_ITEM, 1000, NOW), is(0L));
+    }
+
+    @Test
+    void testRowsAreOnlyCountedForListedItems() throws JdbcSQLException {
+        JdbcBaseDAO dao = mock(JdbcBaseDAO.class);
+        when(dao.isAggregatedQuerySupported()).thenReturn(true);
+        JdbcMapper mapper = createMapper(dao, Set.of("other"));
+
+        mapper.getHistItemFilterQuery(filter, 3, "table", NUMBER_ITEM);
+
+        verify(dao, never()).doGetHistItemFilterCount(any(), any(), any());
+        verify(dao).doGetHistItemFilterQuery(eq(NUMBER_ITEM), eq(filter), eq(3), eq("table"), eq("power"), any(),
+                eq(100));
+    }
+
+    @Test
+    void testListedItemIsDownsampledWhenThereAreTooManyRows() throws JdbcSQLException {
+        JdbcBaseDAO dao = mock(JdbcBaseDAO.class);
+        when(dao.isAggregatedQuerySupported()).thenReturn(true);
+        when(dao.doGetHistItemFilterCount(any(), any(), any())).thenReturn(5000L);
+        when(dao.doGetHistItemAggregatedQuery(any(), any(), anyInt(), any(), any(), anyLong(), any(), anyInt()))
+                .thenReturn(List.of());
+        JdbcMapper mapper = createMapper(dao, Set.of("power"));
+
+        mapper.getHistItemFilterQuery(filter, 3, "table", NUMBER_ITEM);
+
+        verify(dao).doGetHistItemAggregatedQuery(eq(NUMBER_ITEM), eq(filter), eq(3), eq("table"), any(), anyLong(),
+                eq(Aggregation.AVG), eq(100));
+        verify(dao, never()).doGetHistItemFilterQuery(any(), any(), anyInt(), any(), any(), any(), anyInt());
+    }
+
+    private JdbcMapper createMapper(JdbcBaseDAO dao, Set<String> queryMaxPointsItems) {
+        JdbcConfiguration conf = mock(JdbcConfiguration.class);
+        when(conf.getDBDAO()).thenReturn(dao);
+        when(conf.getQueryMaxPoints()).thenReturn(1000);
+        when(conf.getQueryMaxPointsItems()).thenReturn(queryMaxPointsItems);
+        when(conf.getQueryAggregation()).thenReturn(Aggregation.AVG);
+        when(conf.getQueryFetchSize()).thenReturn(100);
+        TimeZoneProvider timeZoneProvider = mock(TimeZoneProvider.class);
+        when(timeZoneProvider.getTimeZone()).thenReturn(ZoneId.of("UTC"));
+        JdbcMapper mapper = new JdbcMapper(timeZoneProvider);
+        mapper.conf = conf;
+        return mapper;
+    }
+}
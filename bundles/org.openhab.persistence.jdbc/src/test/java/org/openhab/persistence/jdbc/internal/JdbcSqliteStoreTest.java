@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.test.java.JavaTest;
+
+/**
+ * Stores values through the write queue into an SQLite database and reads them back with time filtered queries.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcSqliteStoreTest extends JavaTest {
+
+    private static final String ITEM_NAME = "sqliteItem";
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    private final NumberItem item = new NumberItem(ITEM_NAME);
+    private @NonNullByDefault({}) JdbcPersistenceService service;
+
+    @BeforeEach
+    public void setUp() throws ItemNotFoundException {
+        ItemRegistry itemRegistry = mock(ItemRegistry.class);
+        when(itemRegistry.getItem(ITEM_NAME)).thenReturn(item);
+        TimeZoneProvider timeZoneProvider = mock(TimeZoneProvider.class);
+        when(timeZoneProvider.getTimeZone()).thenReturn(ZoneId.systemDefault());
+        service = new JdbcPersistenceService(itemRegistry, timeZoneProvider);
+
+        Map<Object, Object> configuration = new HashMap<>();
+        configuration.put("url", "jdbc:sqlite:" + tempDir.resolve("openhab.db"));
+        configuration.put("batchInterval", "50");
+        service.updateConfig(configuration);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.deactivate(0);
+        service.closeConnection();
+    }
+
+    @Test
+    public void queuedValuesAreFoundByTimeFilter() {
+        ZonedDateTime now = ZonedDateTime.now();
+        item.setState(new DecimalType(1));
+        service.store(item);
+        service.store(item, now.minusHours(2), new DecimalType(2));
+        service.store(item, now.minusMinutes(10), new DecimalType(3));
+
+        waitForAssert(() -> assertThat(query(now.minusDays(1), null).size(), is(3)));
+
+        List<HistoricItem> recent = query(now.minusHours(1), null);
+        assertThat(recent.size(), is(2));
+        assertThat(recent.get(0).getState(), is(new DecimalType(3)));
+        assertThat(recent.get(1).getState(), is(new DecimalType(1)));
+
+        List<HistoricItem> old = query(now.minusDays(1), now.minusHours(1));
+        assertThat(old.size(), is(1));
+        assertThat(old.get(0).getState(), is(new DecimalType(2)));
+    }
+
+    private List<HistoricItem> query(ZonedDateTime beginDate, @Nullable ZonedDateTime endDate) {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ITEM_NAME);
+        filter.setBeginDate(beginDate);
+        filter.setEndDate(endDate);
+        filter.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<HistoricItem> items = new ArrayList<>();
+        service.query(filter).forEach(items::add);
+        return items;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.test.java.JavaTest;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+
+/**
+ * Tests the write queue of the {@link JdbcPersistenceService}: values are queued by store(), grouped per table and
+ * written as batches by the writer threads.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteQueueTest extends JavaTest {
+
+    private final List<String> storedTables = new CopyOnWriteArrayList<>();
+    private final List<PendingItemValue> storedValues = new CopyOnWriteArrayList<>();
+    private final List<String> writerThreads = new CopyOnWriteArrayList<>();
+
+    private final JdbcPersistenceService service = new JdbcPersistenceService(mock(ItemRegistry.class),
+            mock(TimeZoneProvider.class)) {
+        @Override
+        protected boolean checkDBAccessability() {
+            return true;
+        }
+
+        @Override
+        protected void checkDBSchema() {
+        }
+
+        @Override
+        protected Map<String, List<PendingItemValue>> groupItemValuesByTable(List<PendingItemValue> values) {
+            Map<String, List<PendingItemValue>> valuesByTable = new LinkedHashMap<>();
+            for (PendingItemValue value : values) {
+                valuesByTable.computeIfAbsent(value.getItem().getName(), t -> new ArrayList<>()).add(value);
+            }
+            return valuesByTable;
+        }
+
+        @Override
+        protected int storeItemValues(String tableName, List<PendingItemValue> values) {
+            storedTables.add(tableName);
+            storedValues.addAll(values);
+            writerThreads.add(Thread.currentThread().getName());
+            return values.size();
+        }
+    };
+
+    private static Map<Object, Object> configuration(int batchSize, int batchInterval) {
+        Map<Object, Object> configuration = new HashMap<>();
+        configuration.put("url", "jdbc:h2:mem:test");
+        configuration.put("batchSize", String.valueOf(batchSize));
+        configuration.put("batchInterval", String.valueOf(batchInterval));
+        configuration.put("writerThreads", "2");
+        return configuration;
+    }
+
+    @Test
+    public void fullBatchIsWrittenPerTableByWriterThreads() {
+        service.updateConfig(configuration(4, 60000));
+        NumberItem first = new NumberItem("first");
+        NumberItem second = new NumberItem("second");
+        service.store(first, ZonedDateTime.now(), new DecimalType(1));
+        service.store(second, ZonedDateTime.now(), new DecimalType(2));
+        service.store(first, ZonedDateTime.now(), new DecimalType(3));
+        assertThat(storedValues.size(), is(0));
+        service.store(second, ZonedDateTime.now(), new DecimalType(4));
+
+        waitForAssert(() -> assertThat(storedValues.size(), is(4)));
+        assertThat(storedTables.size(), is(2));
+        assertThat(storedTables.containsAll(List.of("first", "second")), is(true));
+        assertThat(writerThreads.stream().allMatch(name -> name.contains("-writer")), is(true));
+        assertThat(service.getQueueSize(), is(0));
+        service.deactivate(0);
+    }
+
+    @Test
+    public void valuesAreWrittenAfterBatchInterval() {
+        service.updateConfig(configuration(100, 50));
+        service.store(new NumberItem("item"), ZonedDateTime.now(), new DecimalType(1));
+
+        waitForAssert(() -> assertThat(storedValues.size(), is(1)));
+        assertThat(storedValues.get(0).getState(), is(new DecimalType(1)));
+        service.deactivate(0);
+    }
+
+    @Test
+    public void queuedValuesAreKeptOnConfigurationUpdate() {
+        service.updateConfig(configuration(100, 60000));
+        service.store(new NumberItem("item"), ZonedDateTime.now(), new DecimalType(1));
+        service.store(new NumberItem("item"), ZonedDateTime.now(), new DecimalType(2));
+        assertThat(service.getQueueSize(), is(2));
+
+        service.updateConfig(configuration(100, 50));
+        assertThat(service.getQueueSize(), is(2));
+
+        waitForAssert(() -> assertThat(storedValues.size(), is(2)));
+        assertThat(storedValues.get(0).getState(), is(new DecimalType(1)));
+        assertThat(storedValues.get(1).getState(), is(new DecimalType(2)));
+        service.deactivate(0);
+    }
+
+    @Test
+    public void queuedValuesAreWrittenOnDeactivation() {
+        service.updateConfig(configuration(100, 60000));
+        service.store(new NumberItem("item"), ZonedDateTime.now(), new DecimalType(1));
+
+        service.deactivate(0);
+        assertThat(storedValues.size(), is(1));
+    }
+}
@@ -66,6 +66,8 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.Aggregation;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -249,6 +251,84 @@ public class JdbcBaseDAOTest {
                         + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
     }
 
+    @Test
+    void testStoreItemValuesProviderUsesDatabaseTimeForUndatedValues() {
+        ItemVO vo = new ItemVO(DB_TABLE_NAME, null);
+        vo.setValueTypes("DOUBLE", Double.class);
+
+        String sql = jdbcBaseDAO.storeItemValuesProvider(vo, jdbcBaseDAO.sqlTypes.get("tablePrimaryValue"));
+        assertThat(sql, is("INSERT INTO " + DB_TABLE_NAME
+                + " (time, value) VALUES( NOW(), ? ) ON DUPLICATE KEY UPDATE VALUE= ?"));
+    }
+
+    @Test
+    void testStoreItemValuesProviderBindsTimeOfDatedValues() {
+        ItemVO vo = new ItemVO(DB_TABLE_NAME, null);
+        vo.setValueTypes("DOUBLE", Double.class);
+
+        String sql = jdbcBaseDAO.storeItemValuesProvider(vo, "?");
+        assertThat(sql, is("INSERT INTO " + DB_TABLE_NAME
+                + " (time, value) VALUES( ?, ? ) ON DUPLICATE KEY UPDATE VALUE= ?"));
+    }
+
+    @Test
+    void testStoreItemValuesParamsProviderReturnsValue() {
+        ItemVO vo = new ItemVO(DB_TABLE_NAME, null);
+        vo.setValue(7.3);
+
+        Object[] params = jdbcBaseDAO.storeItemValuesParamsProvider(vo);
+        assertThat(params, is(new Object[] { 7.3, 7.3 }));
+    }
+
+    @Test
+    void testStoreItemValuesTimeProviderReturnsTimestamp() {
+        ZonedDateTime date = parseDateTimeString("2022-01-10T15:01:44");
+
+        assertThat(jdbcBaseDAO.storeItemValuesTimeProvider(date),
+                is(new java.sql.Timestamp(date.toInstant().toEpochMilli())));
+    }
+
+    @Test
+    void testHistItemAggregatedQueryProviderGroupsByTimeBucket() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcBaseDAO.histItemAggregatedQueryProvider(filter, 3, DB_TABLE_NAME, UTC_ZONE_ID, 300,
+                Aggregation.AVG);
+        assertThat(sql, is("SELECT MIN(time), ROUND(AVG(value),3) FROM " + DB_TABLE_NAME + " WHERE TIME>='"
+                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
+                + "' GROUP BY UNIX_TIMESTAMP(time) DIV 300 ORDER BY 1 ASC"));
+    }
+
+    @Test
+    void testHistItemAggregatedQueryProviderSelectsLastValueOfBucket() {
+        String sql = jdbcBaseDAO.histItemAggregatedQueryProvider(filter, -1, DB_TABLE_NAME, UTC_ZONE_ID, 60,
+                Aggregation.LAST);
+        assertThat(sql, is("SELECT t.time, t.value FROM " + DB_TABLE_NAME
+                + " t JOIN (SELECT MAX(time) AS last_time FROM " + DB_TABLE_NAME
+                + " GROUP BY UNIX_TIMESTAMP(time) DIV 60) b ON t.time = b.last_time ORDER BY t.time DESC"));
+    }
+
+    @Test
+    void testTimeBucketProviderIsDialectSpecific() {
+        assertThat(new JdbcH2DAO().timeBucketProvider("time", 60),
+                is("DATEDIFF('SECOND', TIMESTAMP '1970-01-01 00:00:00', time) / 60"));
+        assertThat(new JdbcPostgresqlDAO().timeBucketProvider("time", 3600), is("date_trunc('hour', time)"));
+        assertThat(new JdbcPostgresqlDAO().timeBucketProvider("time", 300),
+                is("FLOOR(EXTRACT(EPOCH FROM time) / 300)"));
+        assertThat(new JdbcTimescaledbDAO().timeBucketProvider("time", 300),
+                is("time_bucket(INTERVAL '300 seconds', time)"));
+        assertThat(new JdbcDerbyDAO().isAggregatedQuerySupported(), is(false));
+    }
+
+    @Test
+    void testTimescaledbAggregatedQueryProviderUsesLastFunction() {
+        String sql = new JdbcTimescaledbDAO().histItemAggregatedQueryProvider(filter, 2, DB_TABLE_NAME, UTC_ZONE_ID,
+                300, Aggregation.LAST);
+        assertThat(sql, is("SELECT MAX(time), ROUND(CAST (last(value, time) AS numeric),2) FROM " + DB_TABLE_NAME
+                + " GROUP BY time_bucket(INTERVAL '300 seconds', time) ORDER BY 1 DESC"));
+    }
+
     private ZonedDateTime parseDateTimeString(String dts) {
         return ZonedDateTime.of(LocalDateTime.parse(dts, DATE_PARSER), UTC_ZONE_ID);
     }
@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.math.BigDecimal;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,12 +36,18 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_BATCH_SIZE = "batchsize";
+    private static final String CFG_BATCH_INTERVAL = "batchinterval";
+    private static final String CFG_QUEUE_CAPACITY = "queuecapacity";
 
     public final String dbConnectionUrl;
     public final String dbDriverClass;
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final int batchSize;
+    public final int batchInterval;
+    public final int queueCapacity;
 
     public JpaConfiguration(final Map<String, @Nullable Object> properties) throws IllegalArgumentException {
         logger.debug("Creating JPA config...");
@@ -81,6 +88,23 @@ public class JpaConfiguration {
         }
         dbSyncMapping = param == null ? "" : param;
 
+        batchSize = Math.max(1, getInt(properties, CFG_BATCH_SIZE, 1));
+        batchInterval = Math.max(0, getInt(properties, CFG_BATCH_INTERVAL, 250));
+        queueCapacity = Math.max(1, getInt(properties, CFG_QUEUE_CAPACITY, 10000));
+
         logger.debug("Creating JPA config... done");
     }
+
+    private int getInt(final Map<String, @Nullable Object> properties, String key, int defaultValue) {
+        Object param = properties.get(key);
+        logger.debug("{}: {}", key, param);
+        if (param == null || param.toString().isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return new BigDecimal(param.toString().trim()).intValue();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + " '" + param + "' in JPA configuration!");
+        }
+    }
 }
@@ -16,9 +16,7 @@ import java.text.DateFormat;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import javax.measure.Unit;
 
@@ -94,18 +92,6 @@ public class JpaHistoricItem implements HistoricItem {
         return DateFormat.getDateTimeInstance().format(getTimestamp()) + ": " + name + " -> " + state;
     }
 
-    /**
-     * This method maps {@link JpaPersistentItem}s to {@link HistoricItem}s.
-     *
-     * @param jpaQueryResult the result with jpa items
-     * @param item used for query information, like the state (State)
-     * @return list of historic items
-     */
-    public static List<HistoricItem> fromResultList(List<JpaPersistentItem> jpaQueryResult, Item item) {
-        return jpaQueryResult.stream().map(pItem -> fromPersistedItem(pItem, item)).filter(Objects::nonNull)
-                .map(Objects::requireNonNull).collect(Collectors.toList());
-    }
-
     /**
      * Converts the string value of the persisted item to the state of a {@link HistoricItem}.
      *
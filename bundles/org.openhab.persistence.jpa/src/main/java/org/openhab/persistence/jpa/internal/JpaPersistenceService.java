@@ -12,12 +12,17 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -47,7 +52,7 @@ import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
-import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 
 /**
  * JPA based implementation of QueryablePersistenceService.
@@ -64,12 +69,16 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     private static final String SERVICE_ID = "jpa";
     private static final String SERVICE_LABEL = "JPA";
     protected static final String CONFIG_URI = "persistence:jpa";
+    private static final int MAX_IDLE_READERS = 4;
 
     private final Logger logger = LoggerFactory.getLogger(JpaPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
 
     private @Nullable EntityManagerFactory emf;
+    private @Nullable JpaWriter writer;
+    // idle entity managers for queries
+    private final BlockingQueue<EntityManager> readers = new ArrayBlockingQueue<>(MAX_IDLE_READERS);
 
     private @NonNullByDefault({}) JpaConfiguration config;
 
@@ -83,6 +92,9 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         try {
             config = new JpaConfiguration(properties);
             initialized = true;
+            if (config.batchSize > 1) {
+                writer = new JpaWriter(this::getEntityManagerFactory, config);
+            }
         } catch (IllegalArgumentException e) {
             logger.warn("{}", e.getMessage());
         }
@@ -93,7 +105,7 @@ public class JpaPersistenceService implements QueryablePersistenceService {
      *
      * @return EntityManagerFactory
      */
-    protected EntityManagerFactory getEntityManagerFactory() {
+    protected synchronized EntityManagerFactory getEntityManagerFactory() {
         EntityManagerFactory emf = this.emf;
         if (emf == null) {
             emf = newEntityManagerFactory();
@@ -108,6 +120,15 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating JPA persistence service");
+        JpaWriter writer = this.writer;
+        if (writer != null) {
+            writer.stop();
+            this.writer = null;
+        }
+        EntityManager em;
+        while ((em = readers.poll()) != null) {
+            em.close();
+        }
         closeEntityManagerFactory();
     }
 
@@ -156,6 +177,15 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         pItem.setRealName(item.getName());
         pItem.setTimestamp(new Date());
 
+        JpaWriter writer = this.writer;
+        if (writer != null) {
+            if (writer.offer(pItem)) {
+                logger.debug("Queued item for persisting");
+                return;
+            }
+            logger.debug("JPA write queue is full, persisting item directly");
+        }
+
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             logger.debug("Persisting item...");
@@ -212,62 +242,80 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             sortOrder = "DESC";
         }
 
-        boolean hasBeginDate = false;
-        boolean hasEndDate = false;
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
         String queryString = "SELECT n FROM " + JpaPersistentItem.class.getSimpleName()
                 + " n WHERE n.realName = :itemName";
-        if (filter.getBeginDate() != null) {
+        if (beginDate != null) {
             queryString += " AND n.timestamp >= :beginDate";
-            hasBeginDate = true;
         }
-        if (filter.getEndDate() != null) {
+        if (endDate != null) {
             queryString += " AND n.timestamp <= :endDate";
-            hasEndDate = true;
         }
         queryString += " ORDER BY n.timestamp " + sortOrder;
 
         logger.debug("The query: {}", queryString);
 
-        EntityManager em = getEntityManagerFactory().createEntityManager();
-        try {
-            // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
-            em.getTransaction().begin();
+        JpaWriter writer = this.writer;
+        if (writer != null) {
+            // include the values that are still queued
+            writer.flush();
+        }
 
-            logger.debug("Creating query...");
-            Query query = em.createQuery(queryString);
+        EntityManager em = acquireReader();
+        try {
+            TypedQuery<JpaPersistentItem> query = em.createQuery(queryString, JpaPersistentItem.class);
             query.setParameter("itemName", item.getName());
-            if (hasBeginDate) {
-                query.setParameter("beginDate", Date.from(filter.getBeginDate().toInstant()));
+            if (beginDate != null) {
+                query.setParameter("beginDate", Date.from(beginDate.toInstant()));
             }
-            if (hasEndDate) {
-                query.setParameter("endDate", Date.from(filter.getEndDate().toInstant()));
+            if (endDate != null) {
+                query.setParameter("endDate", Date.from(endDate.toInstant()));
             }
 
-            query.setFirstResult(filter.getPageNumber() * filter.getPageSize());
-            query.setMaxResults(filter.getPageSize());
-            logger.debug("Creating query...done");
-
-            logger.debug("Retrieving result list...");
-            @SuppressWarnings("unchecked")
-            List<JpaPersistentItem> result = query.getResultList();
-            logger.debug("Retrieving result list...done");
+            // only restrict the result if requested, so the database does not have to count rows
+            long firstResult = (long) filter.getPageNumber() * filter.getPageSize();
+            if (firstResult > 0) {
+                query.setFirstResult((int) Math.min(firstResult, Integer.MAX_VALUE));
+            }
+            if (filter.getPageSize() < Integer.MAX_VALUE) {
+                query.setMaxResults(filter.getPageSize());
+            }
 
-            List<HistoricItem> historicList = JpaHistoricItem.fromResultList(result, item);
+            List<HistoricItem> historicList = query.getResultList().stream()
+                    .map(pItem -> JpaHistoricItem.fromPersistedItem(pItem, item)).filter(Objects::nonNull)
+                    .map(Objects::requireNonNull).collect(Collectors.toList());
             logger.debug("Convert to HistoricItem: {}", historicList.size());
 
-            em.getTransaction().commit();
-
+            releaseReader(em);
             return historicList;
         } catch (Exception e) {
             logger.error("Error while querying database!", e);
-            em.getTransaction().rollback();
-        } finally {
             em.close();
         }
 
         return List.of();
     }
 
+    /**
+     * Gets an idle entity manager for a query or creates a new one.
+     */
+    private EntityManager acquireReader() {
+        EntityManager em = readers.poll();
+        return em != null && em.isOpen() ? em : getEntityManagerFactory().createEntityManager();
+    }
+
+    /**
+     * Keeps an entity manager for the next query, or closes it if enough are idle.
+     */
+    private void releaseReader(EntityManager em) {
+        // the queried items are not needed any more
+        em.clear();
+        if (!readers.offer(em)) {
+            em.close();
+        }
+    }
+
     /**
      * Creates a new EntityManagerFactory with properties read from openhab.cfg via JpaConfiguration.
      *
@@ -288,6 +336,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         if (config.dbUserName.isBlank() && config.dbPassword.isBlank()) {
             logger.info("It is recommended to use a password to protect the JPA persistence data store");
         }
+        if (config.batchSize > 1) {
+            // persist the items of a write batch with JDBC batch statements
+            properties.put("openjpa.jdbc.DBDictionary", "batchLimit=" + config.batchSize);
+        }
         if (!config.dbSyncMapping.isBlank()) {
             logger.info("You are setting openjpa.jdbc.SynchronizeMappings, I hope you know what you're doing!");
             properties.put("openjpa.jdbc.SynchronizeMappings", config.dbSyncMapping);
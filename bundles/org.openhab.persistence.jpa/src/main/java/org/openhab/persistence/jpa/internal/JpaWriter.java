@@ -0,0 +1,267 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The {@link JpaWriter} persists queued items on a dedicated thread.
+ * <p>
+ * Items are collected until the batch size is reached or the first item has waited for the batch interval, and are
+ * then persisted in one transaction with the {@link EntityManager} owned by the writer thread. {@link #flush()} waits
+ * until all items queued before have been persisted, so queries see them.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class JpaWriter implements Runnable {
+
+    private static final long STOP_TIMEOUT_MS = 30000;
+    private static final long FLUSH_TIMEOUT_MS = 10000;
+    // wait for further items in short steps, so a flush or stop does not wait for the whole batch interval
+    private static final long POLL_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final Logger logger = LoggerFactory.getLogger(JpaWriter.class);
+
+    private final Supplier<EntityManagerFactory> entityManagerFactory;
+    private final int batchSize;
+    private final long batchIntervalNanos;
+    private final BlockingQueue<JpaPersistentItem> queue;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile boolean stopped;
+    private final AtomicInteger flushRequests = new AtomicInteger();
+    private @Nullable EntityManager em;
+
+    // number of items queued and number of items the writer is done with (persisted or failed)
+    private final Object countLock = new Object();
+    private long queuedCount;
+    private long processedCount;
+
+    /**
+     * @param entityManagerFactory supplies the factory for the entity manager of the writer thread
+     * @param config the configuration containing the batch size, batch interval and queue capacity
+     */
+    public JpaWriter(Supplier<EntityManagerFactory> entityManagerFactory, JpaConfiguration config) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = config.batchSize;
+        this.batchIntervalNanos = TimeUnit.MILLISECONDS.toNanos(config.batchInterval);
+        this.queue = new ArrayBlockingQueue<>(config.queueCapacity);
+        this.thread = new NamedThreadFactory("jpa-writer").newThread(this);
+        thread.start();
+    }
+
+    /**
+     * Queues an item for persisting.
+     *
+     * @param pItem the item to persist
+     * @return false if the queue is full or the writer has been stopped
+     */
+    public boolean offer(JpaPersistentItem pItem) {
+        synchronized (countLock) {
+            if (running && queue.offer(pItem)) {
+                queuedCount++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Waits until all items queued before have been persisted.
+     */
+    public void flush() {
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MS;
+        flushRequests.incrementAndGet();
+        try {
+            synchronized (countLock) {
+                long target = queuedCount;
+                while (processedCount < target && !stopped) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        logger.warn("Stopped waiting for the JPA writer, {} queued items are not persisted yet",
+                                target - processedCount);
+                        return;
+                    }
+                    countLock.wait(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            flushRequests.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stops the writer after all queued items have been persisted.
+     */
+    public void stop() {
+        running = false;
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warn("Stopped waiting for the JPA writer, {} queued items may be lost", queue.size());
+        }
+    }
+
+    @Override
+    public void run() {
+        List<JpaPersistentItem> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                JpaPersistentItem first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + batchIntervalNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    JpaPersistentItem next;
+                    if (running && flushRequests.get() == 0 && remaining > 0) {
+                        next = queue.poll(Math.min(remaining, POLL_STEP_NANOS), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            continue;
+                        }
+                    } else {
+                        // do not wait for more items when flushing or stopping
+                        next = queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+                processed(batch.size());
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            logger.debug("JPA writer interrupted, {} queued items are lost", queue.size() + batch.size());
+        } finally {
+            closeEntityManager();
+            stopped = true;
+            processed(0);
+        }
+    }
+
+    private void processed(int count) {
+        synchronized (countLock) {
+            processedCount += count;
+            countLock.notifyAll();
+        }
+    }
+
+    private void write(List<JpaPersistentItem> batch) {
+        if (persist(batch)) {
+            logger.debug("Persisted {} items", batch.size());
+            return;
+        }
+        if (batch.size() > 1) {
+            // a single failing item (e.g. a duplicate timestamp) rolls back the whole transaction
+            logger.debug("Failed to persist {} items in one transaction, persisting them one by one", batch.size());
+            for (JpaPersistentItem pItem : batch) {
+                persist(List.of(copy(pItem)));
+            }
+        }
+    }
+
+    private boolean persist(List<JpaPersistentItem> items) {
+        EntityManager em = this.em;
+        try {
+            if (em == null || !em.isOpen()) {
+                em = entityManagerFactory.get().createEntityManager();
+                this.em = em;
+            }
+            // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
+            em.getTransaction().begin();
+            for (JpaPersistentItem pItem : items) {
+                em.persist(pItem);
+            }
+            em.getTransaction().commit();
+            return true;
+        } catch (Exception e) {
+            if (items.size() == 1) {
+                if (e.getCause() instanceof EntityExistsException) {
+                    // there's a UNIQUE constraint in the database, and we tried to write
+                    // a duplicate timestamp. Just ignore
+                    logger.debug("Failed to persist item {} because of duplicate timestamp", items.get(0).getName());
+                } else {
+                    logger.error("Error while persisting item! Rolling back!", e);
+                }
+            }
+            if (em != null) {
+                try {
+                    if (em.getTransaction().isActive()) {
+                        em.getTransaction().rollback();
+                    }
+                } catch (RuntimeException re) {
+                    logger.debug("Rollback failed: {}", re.getMessage());
+                }
+            }
+            // the persistence context is in an undefined state after a failed transaction
+            closeEntityManager();
+            return false;
+        } finally {
+            EntityManager localEm = this.em;
+            if (localEm != null) {
+                // persisted items are not needed any more
+                localEm.clear();
+            }
+        }
+    }
+
+    private JpaPersistentItem copy(JpaPersistentItem pItem) {
+        JpaPersistentItem copy = new JpaPersistentItem();
+        copy.setName(pItem.getName());
+        copy.setRealName(pItem.getRealName());
+        copy.setValue(pItem.getValue());
+        copy.setTimestamp(Date.from(pItem.getInstant()));
+        return copy;
+    }
+
+    private void closeEntityManager() {
+        EntityManager em = this.em;
+        this.em = null;
+        if (em != null && em.isOpen()) {
+            try {
+                em.close();
+            } catch (RuntimeException e) {
+                logger.debug("Failed to close entity manager: {}", e.getMessage());
+            }
+        }
+    }
+}
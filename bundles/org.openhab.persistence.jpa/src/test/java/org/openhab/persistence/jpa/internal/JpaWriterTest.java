@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.jpa.internal.model.JpaPersistentItem;
+
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.RollbackException;
+
+/**
+ * Tests for {@link JpaWriter}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class JpaWriterTest {
+
+    // names of the items of each committed transaction
+    private final List<List<String>> commits = new CopyOnWriteArrayList<>();
+    // names of items that violate the unique constraint of the database
+    private final Set<String> duplicates = new HashSet<>();
+
+    private final List<String> transaction = new ArrayList<>();
+    private boolean active;
+
+    private @NonNullByDefault({}) EntityManagerFactory emf;
+    private @Nullable JpaWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        EntityTransaction tx = mock(EntityTransaction.class);
+        doAnswer(invocation -> {
+            transaction.clear();
+            active = true;
+            return null;
+        }).when(tx).begin();
+        doAnswer(invocation -> {
+            active = false;
+            if (transaction.stream().anyMatch(duplicates::contains)) {
+                throw new RollbackException(new EntityExistsException());
+            }
+            commits.add(List.copyOf(transaction));
+            return null;
+        }).when(tx).commit();
+        doAnswer(invocation -> {
+            active = false;
+            return null;
+        }).when(tx).rollback();
+        when(tx.isActive()).thenAnswer(invocation -> active);
+
+        EntityManager em = mock(EntityManager.class);
+        when(em.isOpen()).thenReturn(true);
+        when(em.getTransaction()).thenReturn(tx);
+        doAnswer(invocation -> {
+            transaction.add(((JpaPersistentItem) invocation.getArgument(0)).getName());
+            return null;
+        }).when(em).persist(any());
+
+        emf = mock(EntityManagerFactory.class);
+        when(emf.createEntityManager()).thenReturn(em);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JpaWriter writer = this.writer;
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    public void itemsArePersistedInOneTransaction() {
+        JpaWriter writer = createWriter(3);
+        assertTrue(writer.offer(item("a")));
+        assertTrue(writer.offer(item("b")));
+        assertTrue(writer.offer(item("c")));
+
+        writer.flush();
+
+        assertEquals(List.of(List.of("a", "b", "c")), commits);
+    }
+
+    @Test
+    public void failedBatchIsPersistedOneByOne() {
+        duplicates.add("b");
+        JpaWriter writer = createWriter(3);
+        writer.offer(item("a"));
+        writer.offer(item("b"));
+        writer.offer(item("c"));
+
+        writer.flush();
+
+        // the duplicate is skipped, the other items are persisted in transactions of their own
+        assertEquals(List.of(List.of("a"), List.of("c")), commits);
+        // the entity manager is recreated after each failed transaction
+        verify(emf, times(3)).createEntityManager();
+    }
+
+    @Test
+    public void flushDoesNotWaitForTheBatchInterval() {
+        JpaWriter writer = createWriter(100);
+        writer.offer(item("a"));
+
+        writer.flush();
+
+        assertEquals(List.of(List.of("a")), commits);
+    }
+
+    @Test
+    public void queuedItemsArePersistedOnStop() {
+        JpaWriter writer = createWriter(100);
+        for (int i = 0; i < 5; i++) {
+            writer.offer(item("item" + i));
+        }
+
+        writer.stop();
+
+        assertEquals(List.of("item0", "item1", "item2", "item3", "item4"),
+                commits.stream().flatMap(List::stream).toList());
+        assertFalse(writer.offer(item("late")));
+    }
+
+    private JpaWriter createWriter(int batchSize) {
+        Map<String, @Nullable Object> properties = new HashMap<>();
+        properties.put("url", "jdbc:derby:memory:openhab;create=true");
+        properties.put("driver", "org.apache.derby.jdbc.EmbeddedDriver");
+        properties.put("batchsize", String.valueOf(batchSize));
+        // long enough that only a full batch, a flush or a stop lets the writer persist the items
+        properties.put("batchinterval", "60000");
+        JpaWriter writer = new JpaWriter(() -> emf, new JpaConfiguration(properties));
+        this.writer = writer;
+        return writer;
+    }
+
+    private static JpaPersistentItem item(String name) {
+        JpaPersistentItem pItem = new JpaPersistentItem();
+        pItem.setName(name);
+        pItem.setRealName(name);
+        pItem.setValue("1");
+        return pItem;
+    }
+}
@@ -24,9 +24,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -34,6 +35,8 @@ import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -48,22 +51,29 @@ import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 /**
  * This is the implementation of the MapDB {@link PersistenceService}. To learn more about MapDB please visit their
  * <a href="http://www.mapdb.org/">website</a>.
+ * <p>
+ * All stored states are also kept in memory, so queries and the restore on startup never have to read the database.
+ * Changes are written in groups: all states stored within the commit interval are written with a single commit.
  *
  * @author Jens Viebig - Initial contribution
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
@@ -71,24 +81,46 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String LEGACY_MAP_NAME = "itemStore";
+    private static final String MAP_NAME = "itemStates";
+
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final long COMMIT_INTERVAL_DEFAULT = 1000;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
+
+    /**
+     * holds the last stored state of all items, the database is only read on activation
+     */
+    private final Map<String, MapDbItem> items = new ConcurrentHashMap<>();
+
+    /**
+     * holds the states that are not yet written to the database
+     */
+    private final Map<String, MapDbItem> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean commitScheduled = new AtomicBoolean();
+    private final Object commitLock = new Object();
+
+    private long commitInterval = COMMIT_INTERVAL_DEFAULT;
 
     private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
+        modified(config);
 
         try {
             Files.createDirectories(DB_DIR);
@@ -100,8 +132,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
-            db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            openDatabase(dbFile);
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException cnf) {
@@ -132,8 +163,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                     return;
                 }
 
-                db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                openDatabase(dbFile);
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
@@ -142,14 +172,78 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        commitInterval = Math.max(0, ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Long.class,
+                COMMIT_INTERVAL_DEFAULT));
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            commit();
             db.close();
         }
     }
 
+    private void openDatabase(File dbFile) {
+        db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
+        map = db.createTreeMap(MAP_NAME).makeOrGet();
+        if (db.exists(LEGACY_MAP_NAME)) {
+            migrateLegacyMap();
+        }
+        loadItems();
+    }
+
+    /**
+     * Converts the JSON entries written by previous versions to the binary format. Entries that cannot be converted are
+     * kept in the legacy map, which is only deleted once it is empty.
+     */
+    private void migrateLegacyMap() {
+        Map<String, String> legacyMap = db.getTreeMap(LEGACY_MAP_NAME);
+        int total = legacyMap.size();
+        int migrated = 0;
+        for (String key : List.copyOf(legacyMap.keySet())) {
+            String json = legacyMap.get(key);
+            Optional<MapDbItem> item;
+            try {
+                item = json == null ? Optional.empty() : deserialize(json);
+            } catch (JsonParseException e) {
+                logger.debug("Couldn't parse legacy MapDB entry '{}': {}", key, e.getMessage());
+                item = Optional.empty();
+            }
+            if (item.isPresent()) {
+                map.put(key, MapDbStateSerializer.serialize(item.get()));
+                legacyMap.remove(key);
+                migrated++;
+            } else {
+                logger.warn("Couldn't migrate MapDB entry '{}' to the binary format, keeping it", key);
+            }
+        }
+        if (legacyMap.isEmpty()) {
+            db.delete(LEGACY_MAP_NAME);
+        }
+        db.commit();
+        logger.info("Migrated {} of {} MapDB entries to the binary format", migrated, total);
+    }
+
+    /**
+     * Reads all entries of the database in a single pass. Entries that cannot be read are skipped, but kept in the
+     * database until the item is stored again.
+     */
+    private void loadItems() {
+        items.clear();
+        for (Map.Entry<String, byte[]> entry : map.entrySet()) {
+            try {
+                items.put(entry.getKey(), MapDbStateSerializer.deserialize(entry.getKey(), entry.getValue()));
+            } catch (IOException e) {
+                logger.warn("Couldn't deserialize state of '{}', skipping it: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        logger.debug("Loaded {} items from MapDB database", items.size());
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -162,8 +256,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        return Set.copyOf(items.values());
     }
 
     @Override
@@ -186,26 +279,39 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
-        });
+        items.put(localAlias, mItem);
+        pending.put(localAlias, mItem);
+        if (commitScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::commit, commitInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
-    @Override
-    public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
-            return List.of();
+    /**
+     * Writes all pending states to the database with a single commit.
+     */
+    private void commit() {
+        synchronized (commitLock) {
+            // states stored from now on schedule the next commit
+            commitScheduled.set(false);
+            if (pending.isEmpty() || db == null || db.isClosed()) {
+                return;
+            }
+            int count = 0;
+            for (MapDbItem item : pending.values()) {
+                map.put(item.getName(), MapDbStateSerializer.serialize(item));
+                pending.remove(item.getName(), item);
+                count++;
+            }
+            db.commit();
+            logger.debug("Committed {} states to MapDB database", count);
         }
-        Optional<MapDbItem> item = deserialize(json);
-        return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    @Override
+    public Iterable<HistoricItem> query(FilterCriteria filter) {
+        String itemName = filter.getItemName();
+        MapDbItem item = itemName == null ? null : items.get(itemName);
+        return item == null ? List.of() : List.of(item);
     }
 
     @SuppressWarnings("null")
@@ -221,10 +327,6 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return Optional.of(item);
     }
 
-    private static <T> Stream<T> streamOptional(Optional<T> opt) {
-        return opt.isPresent() ? Stream.of(opt.get()) : Stream.empty();
-    }
-
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.RESTORE, PersistenceStrategy.Globals.CHANGE);
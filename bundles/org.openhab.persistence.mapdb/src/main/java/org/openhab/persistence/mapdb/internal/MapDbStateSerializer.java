@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.openhab.core.types.util.UnitUtils;
+
+/**
+ * The {@link MapDbStateSerializer} writes {@link MapDbItem}s in a compact binary format.
+ * <p>
+ * The most common state types are written as tagged binary values, all other states are written as type name and
+ * full string like the {@link StateTypeAdapter} does. The item name is the key of the map and is not repeated in
+ * the value.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbStateSerializer {
+
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_GENERIC = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_PERCENT = 2;
+    private static final byte TYPE_QUANTITY = 3;
+    private static final byte TYPE_ON_OFF = 4;
+    private static final byte TYPE_OPEN_CLOSED = 5;
+    private static final byte TYPE_STRING = 6;
+
+    private static final Map<String, Unit<?>> UNITS = new ConcurrentHashMap<>();
+
+    private MapDbStateSerializer() {
+        // utility class
+    }
+
+    /**
+     * Serializes the state and timestamp of an item.
+     *
+     * @param item the item to serialize
+     * @return the binary representation of the item
+     */
+    public static byte[] serialize(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(item.getInstant().toEpochMilli());
+            writeState(out, item.getState());
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes an item written by {@link #serialize(MapDbItem)}.
+     *
+     * @param name the name of the item
+     * @param data the binary representation of the item
+     * @return the item
+     * @throws IOException if the data is corrupt or the state cannot be restored
+     */
+    public static MapDbItem deserialize(String name, byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version);
+        }
+        MapDbItem item = new MapDbItem();
+        item.setName(name);
+        item.setTimestamp(new Date(in.readLong()));
+        item.setState(readState(in));
+        return item;
+    }
+
+    private static void writeState(DataOutputStream out, State state) throws IOException {
+        Class<?> type = state.getClass();
+        if (type == DecimalType.class) {
+            out.writeByte(TYPE_DECIMAL);
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (type == PercentType.class) {
+            out.writeByte(TYPE_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (type == QuantityType.class && isParsable(((QuantityType<?>) state).getUnit())) {
+            QuantityType<?> quantity = (QuantityType<?>) state;
+            out.writeByte(TYPE_QUANTITY);
+            writeDecimal(out, quantity.toBigDecimal());
+            writeString(out, quantity.getUnit().toString());
+        } else if (type == OnOffType.class) {
+            out.writeByte(TYPE_ON_OFF);
+            out.writeBoolean(state == OnOffType.ON);
+        } else if (type == OpenClosedType.class) {
+            out.writeByte(TYPE_OPEN_CLOSED);
+            out.writeBoolean(state == OpenClosedType.OPEN);
+        } else if (type == StringType.class) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TYPE_GENERIC);
+            writeString(out, type.getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    private static State readState(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TYPE_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TYPE_QUANTITY:
+                return readQuantity(readDecimal(in), readString(in));
+            case TYPE_ON_OFF:
+                return OnOffType.from(in.readBoolean());
+            case TYPE_OPEN_CLOSED:
+                return in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_GENERIC:
+                return readGeneric(readString(in), readString(in));
+            default:
+                throw new IOException("Unknown state type " + type);
+        }
+    }
+
+    private static State readQuantity(BigDecimal value, String symbol) throws IOException {
+        Unit<?> unit = parseUnit(symbol);
+        if (unit == null) {
+            return readGeneric(QuantityType.class.getName(), value.toPlainString() + " " + symbol);
+        }
+        return new QuantityType<>(value, unit);
+    }
+
+    private static boolean isParsable(Unit<?> unit) {
+        return unit.equals(parseUnit(unit.toString()));
+    }
+
+    private static @Nullable Unit<?> parseUnit(String symbol) {
+        Unit<?> unit = UNITS.get(symbol);
+        if (unit == null) {
+            unit = UnitUtils.parseUnit(symbol);
+            if (unit != null) {
+                UNITS.put(symbol, unit);
+            }
+        }
+        return unit;
+    }
+
+    private static State readGeneric(String typeName, String value) throws IOException {
+        State state;
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends State> stateType = (Class<? extends State>) Class.forName(typeName);
+            state = TypeParser.parseState(List.of(stateType), value);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Unknown state type " + typeName, e);
+        }
+        if (state == null) {
+            throw new IOException("Cannot parse '" + value + "' as " + typeName);
+        }
+        return state;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readInt()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -12,19 +12,31 @@
  */
 package org.openhab.persistence.mongodb.internal;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.BSONException;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -50,10 +62,16 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -71,10 +89,18 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
+    private static final int DEFAULT_WRITE_BUFFER_TIME = 1000; // in ms
+    // buffered documents kept while the database is not reachable, the oldest are dropped first
+    private static final int MAX_PENDING_DOCUMENTS = 10000;
+
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private int writeBufferSize;
+    private int writeBufferTime = DEFAULT_WRITE_BUFFER_TIME;
+    private int queryMaxPoints;
+    private Set<String> queryMaxPointsItems = Set.of();
 
     private boolean initialized = false;
 
@@ -82,6 +108,17 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     private @Nullable MongoClient cl;
 
+    // collections with ensured index by name
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+
+    // documents waiting to be written by collection name
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.mongodb");
+    private final Map<String, List<Document>> pendingDocuments = new HashMap<>();
+    private int pendingCount;
+    private boolean flushFailed;
+    private final Object flushLock = new Object();
+    private @Nullable ScheduledFuture<?> flushJob;
+
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
@@ -113,6 +150,15 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        writeBufferSize = getIntConfig(config, "writeBufferSize", 0);
+        writeBufferTime = getIntConfig(config, "writeBufferTime", DEFAULT_WRITE_BUFFER_TIME);
+        queryMaxPoints = getIntConfig(config, "queryMaxPoints", 0);
+        queryMaxPointsItems = Stream.of(Objects.toString(config.get("queryMaxPointsItems"), "").split(","))
+                .map(String::trim).filter(name -> !name.isEmpty()).collect(Collectors.toUnmodifiableSet());
+        if (queryMaxPoints > 0 && queryMaxPointsItems.isEmpty()) {
+            logger.info("mongodb:queryMaxPoints is set, but no items are listed in mongodb:queryMaxPointsItems");
+        }
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
@@ -123,9 +169,37 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        flush();
+        synchronized (pendingDocuments) {
+            ScheduledFuture<?> job = flushJob;
+            if (job != null) {
+                job.cancel(false);
+                flushJob = null;
+            }
+            if (pendingCount > 0) {
+                logger.warn("mongodb: No connection to database. {} buffered values are lost!", pendingCount);
+            }
+            pendingDocuments.clear();
+            pendingCount = 0;
+        }
         disconnectFromDatabase();
     }
 
+    private int getIntConfig(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value instanceof String string && !string.isBlank()) {
+            try {
+                return Integer.parseInt(string.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for mongodb:{}, using {}", string, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public String getId() {
         return "mongodb";
@@ -206,11 +280,15 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     }
 
     /**
-     * Connects to the Collection
+     * Connects to the Collection. The index is only created the first time a collection is used after connecting.
      *
      * @return The collection object when collection creation was successful. Null otherwise.
      */
     private @Nullable MongoCollection<Document> connectToCollection(String collectionName) {
+        MongoCollection<Document> cachedCollection = collections.get(collectionName);
+        if (cachedCollection != null) {
+            return cachedCollection;
+        }
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -226,6 +304,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
             mongoCollection.createIndex(idx);
 
+            collections.put(collectionName, mongoCollection);
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
@@ -237,6 +316,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
      * Disconnects from the database
      */
     private synchronized void disconnectFromDatabase() {
+        collections.clear();
         MongoClient localCl = cl;
         if (localCl != null) {
             localCl.close();
@@ -247,6 +327,9 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
+        // buffered values must be part of the result
+        flush();
+
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
@@ -276,9 +359,17 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         logger.debug("Query: {}", query);
 
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
+        if (isDownsamplingRequired(filter, item, collection, query)) {
+            return queryDownsampled(filter, item, realItemName, collection, query, sortDir);
+        }
+
         MongoCursor<Document> cursor = null;
         try {
-            cursor = collection.find(query).sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
+            cursor = collection.find(query)
+                    .projection(Projections.fields(Projections.include(MongoDBFields.FIELD_REALNAME,
+                            MongoDBFields.FIELD_TIMESTAMP, MongoDBFields.FIELD_VALUE, MongoDBFields.FIELD_UNIT),
+                            Projections.excludeId()))
+                    .sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
                     .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator();
 
             while (cursor.hasNext()) {
@@ -297,6 +388,62 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         return items;
     }
 
+    /**
+     * Checks if a query asks for the complete values of a numeric item in a time range (as charts do) and would
+     * return more than the configured maximum number of values. Only items that are explicitly configured are
+     * downsampled, because the persistence extensions (e.g. minimumSince or sumSince) would otherwise compute their
+     * results from averages instead of the stored values.
+     */
+    private boolean isDownsamplingRequired(FilterCriteria filter, Item item, MongoCollection<Document> collection,
+            Document query) {
+        Item baseItem = item instanceof GroupItem groupItem ? groupItem.getBaseItem() : item;
+        if (queryMaxPoints <= 0 || !queryMaxPointsItems.contains(item.getName()) || !(baseItem instanceof NumberItem)
+                || filter.getState() != null || filter.getBeginDate() == null || filter.getEndDate() == null
+                || filter.getPageNumber() != 0 || filter.getPageSize() != Integer.MAX_VALUE) {
+            return false;
+        }
+        return collection.countDocuments(query) > queryMaxPoints;
+    }
+
+    /**
+     * Splits the time range of the filter into intervals and lets the database average the values of each interval.
+     *
+     * @return one value per interval that contains values, with the start of the interval as timestamp
+     */
+    private List<HistoricItem> queryDownsampled(FilterCriteria filter, Item item, String realItemName,
+            MongoCollection<Document> collection, Document query, Integer sortDir) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        if (beginDate == null || endDate == null) {
+            return List.of();
+        }
+        Date begin = Date.from(beginDate.toInstant());
+        long interval = Math.max(1, Duration.between(beginDate, endDate).toMillis() / queryMaxPoints);
+        logger.debug("Query {} with values averaged over {} ms", query, interval);
+
+        String timestamp = "$" + MongoDBFields.FIELD_TIMESTAMP;
+        // timestamp - ((timestamp - begin) % interval) is the start of the interval containing the timestamp
+        Document intervalStart = new Document("$subtract", List.of(timestamp,
+                new Document("$mod", List.of(new Document("$subtract", List.of(timestamp, begin)), interval))));
+        Document group = new Document(MongoDBFields.FIELD_ID, intervalStart)
+                .append(MongoDBFields.FIELD_VALUE, new Document("$avg", "$" + MongoDBFields.FIELD_VALUE))
+                .append(MongoDBFields.FIELD_UNIT, new Document("$first", "$" + MongoDBFields.FIELD_UNIT));
+
+        List<HistoricItem> items = new ArrayList<>();
+        for (Document obj : collection.aggregate(List.of(Aggregates.match(query),
+                Aggregates.project(Projections.include(MongoDBFields.FIELD_TIMESTAMP, MongoDBFields.FIELD_VALUE,
+                        MongoDBFields.FIELD_UNIT)),
+                Aggregates.match(Filters.type(MongoDBFields.FIELD_VALUE, "number")),
+                new Document("$group", group), Aggregates.sort(new Document(MongoDBFields.FIELD_ID, sortDir))))) {
+            if (obj.get(MongoDBFields.FIELD_UNIT) == null) {
+                obj.remove(MongoDBFields.FIELD_UNIT);
+            }
+            final State state = MongoDBTypeConversions.getStateFromDocument(item, obj);
+            items.add(new MongoDBItem(realItemName, state, obj.getDate(MongoDBFields.FIELD_ID).toInstant()));
+        }
+        return items;
+    }
+
     private @Nullable Item getItem(String itemName) {
         try {
             return itemRegistry.getItem(itemName);
@@ -346,7 +493,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
-        if (!tryConnectToDatabase()) {
+        if (writeBufferSize <= 0 && !tryConnectToDatabase()) {
             logger.warn(
                     "mongodb: No connection to database. Cannot persist item '{}'! Will retry connecting to database next time.",
                     item);
@@ -355,15 +502,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
         String realItemName = item.getName();
         String collectionName = collectionPerItem ? realItemName : this.collection;
-
-        @Nullable
-        MongoCollection<Document> collection = connectToCollection(collectionName);
-
-        if (collection == null) {
-            // Logging is done in connectToCollection()
-            return;
-        }
-
         String name = (alias != null) ? alias : realItemName;
         Object value = MongoDBTypeConversions.convertValue(state);
 
@@ -376,6 +514,21 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         if (item instanceof NumberItem && state instanceof QuantityType<?>) {
             obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
         }
+
+        if (writeBufferSize > 0) {
+            buffer(collectionName, obj);
+            logger.debug("MongoDB buffer {}={}", name, value);
+            return;
+        }
+
+        @Nullable
+        MongoCollection<Document> collection = connectToCollection(collectionName);
+
+        if (collection == null) {
+            // Logging is done in connectToCollection()
+            return;
+        }
+
         try {
             collection.insertOne(obj);
         } catch (org.bson.BsonMaximumSizeExceededException e) {
@@ -385,6 +538,110 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         logger.debug("MongoDB save {}={}", name, value);
     }
 
+    /**
+     * Adds a document to the write buffer. The buffer is written when it is full or when the first buffered document
+     * has waited for the configured time.
+     */
+    private void buffer(String collectionName, Document obj) {
+        synchronized (pendingDocuments) {
+            pendingDocuments.computeIfAbsent(collectionName, c -> new ArrayList<>()).add(obj);
+            pendingCount++;
+            // while the database is not reachable, the retry scheduled by flush() is not brought forward
+            if (pendingCount >= writeBufferSize && !flushFailed) {
+                ScheduledFuture<?> job = flushJob;
+                if (job != null) {
+                    job.cancel(false);
+                }
+                flushJob = scheduler.schedule(this::flush, 0, TimeUnit.MILLISECONDS);
+            } else if (flushJob == null) {
+                flushJob = scheduler.schedule(this::flush, writeBufferTime, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Writes all buffered documents with one unordered bulk insert per collection. Returns after documents written
+     * concurrently by another thread have been written as well.
+     */
+    private void flush() {
+        synchronized (flushLock) {
+            Map<String, List<Document>> documents;
+            synchronized (pendingDocuments) {
+                ScheduledFuture<?> job = flushJob;
+                if (job != null) {
+                    job.cancel(false);
+                    flushJob = null;
+                }
+                if (pendingDocuments.isEmpty()) {
+                    return;
+                }
+                documents = new HashMap<>(pendingDocuments);
+                pendingDocuments.clear();
+                pendingCount = 0;
+            }
+
+            if (!tryConnectToDatabase()) {
+                int count = documents.values().stream().mapToInt(List::size).sum();
+                int dropped = requeue(documents);
+                logger.warn("mongodb: No connection to database. Persisting {} buffered values later, {} are lost.",
+                        count - dropped, dropped);
+                return;
+            }
+            synchronized (pendingDocuments) {
+                flushFailed = false;
+            }
+
+            documents.forEach((collectionName, collectionDocuments) -> {
+                @Nullable
+                MongoCollection<Document> collection = connectToCollection(collectionName);
+                if (collection == null) {
+                    // Logging is done in connectToCollection()
+                    return;
+                }
+                try {
+                    collection.insertMany(collectionDocuments, new InsertManyOptions().ordered(false));
+                    logger.debug("MongoDB saved {} values to {}", collectionDocuments.size(), collectionName);
+                } catch (MongoBulkWriteException e) {
+                    logger.warn("Failed to persist {} of {} values to {}: {}", e.getWriteErrors().size(),
+                            collectionDocuments.size(), collectionName, e.getMessage());
+                } catch (MongoException | BSONException | IllegalArgumentException e) {
+                    logger.warn("Failed to persist {} values to {}: {}", collectionDocuments.size(), collectionName,
+                            e.getMessage());
+                    collections.remove(collectionName);
+                }
+            });
+        }
+    }
+
+    /**
+     * Puts documents that could not be written back in front of the write buffer and schedules another attempt. The
+     * buffer keeps at most {@value #MAX_PENDING_DOCUMENTS} documents, older documents are dropped.
+     *
+     * @return the number of dropped documents
+     */
+    private int requeue(Map<String, List<Document>> documents) {
+        synchronized (pendingDocuments) {
+            int dropped = 0;
+            for (Map.Entry<String, List<Document>> entry : documents.entrySet()) {
+                List<Document> failed = entry.getValue();
+                int space = Math.max(0, MAX_PENDING_DOCUMENTS - pendingCount);
+                if (failed.size() > space) {
+                    dropped += failed.size() - space;
+                    failed = failed.subList(failed.size() - space, failed.size());
+                }
+                if (!failed.isEmpty()) {
+                    pendingDocuments.computeIfAbsent(entry.getKey(), c -> new ArrayList<>()).addAll(0, failed);
+                    pendingCount += failed.size();
+                }
+            }
+            flushFailed = true;
+            if (flushJob == null && pendingCount > 0) {
+                flushJob = scheduler.schedule(this::flush, writeBufferTime, TimeUnit.MILLISECONDS);
+            }
+            return dropped;
+        }
+    }
+
     @Nullable
     public MongoCollection<Document> prepareCollection(FilterCriteria filter) {
         if (!initialized || !tryConnectToDatabase()) {
@@ -465,6 +722,9 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     @Override
     public boolean remove(FilterCriteria filter) {
+        // buffered values must be removed as well
+        flush();
+
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
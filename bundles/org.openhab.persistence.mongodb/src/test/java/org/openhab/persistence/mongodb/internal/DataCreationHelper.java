@@ -18,6 +18,7 @@ import static org.mockito.Mockito.when;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -291,6 +292,24 @@ public class DataCreationHelper {
         return obj;
     }
 
+    /**
+     * Creates a Document for a given item name, value, and exact timestamp.
+     *
+     * @param itemName The name of the item.
+     * @param value The value of the item.
+     * @param timestamp The timestamp of the item.
+     * @return The created Document.
+     */
+    public static Document createDocument(String itemName, double value, Instant timestamp) {
+        Document obj = new Document();
+        obj.put(MongoDBFields.FIELD_ID, new ObjectId());
+        obj.put(MongoDBFields.FIELD_ITEM, itemName);
+        obj.put(MongoDBFields.FIELD_REALNAME, itemName);
+        obj.put(MongoDBFields.FIELD_TIMESTAMP, Date.from(timestamp));
+        obj.put(MongoDBFields.FIELD_VALUE, value);
+        return obj;
+    }
+
     /**
      * Creates a FilterCriteria for a given item name.
      *
@@ -23,6 +23,7 @@ import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -990,4 +991,249 @@ public class MongoDBPersistenceServiceTest {
             dbContainer.stop();
         }
     }
+
+    /**
+     * Tests the store method of MongoDBPersistenceService with a write buffer.
+     *
+     * This test checks if buffered values are not written immediately and are written before a query is executed.
+     */
+    @Test
+    public void testStoreBuffered() {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+
+            NumberItem itemReg = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg);
+            } catch (ItemNotFoundException e) {
+            }
+
+            setupResult.config.put("writeBufferSize", "100");
+            setupResult.config.put("writeBufferTime", "60000");
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            for (int i = 0; i < 10; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem", i), null);
+            }
+
+            // Verification
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+            assertEquals(0, collection.countDocuments());
+
+            Iterable<HistoricItem> result = service.query(DataCreationHelper.createFilterCriteria("TestItem"));
+            VerificationHelper.verifyQueryResult(result, 0, 1, 10);
+            assertEquals(10, collection.countDocuments());
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests the store method of MongoDBPersistenceService with a write buffer while the database is not reachable.
+     *
+     * This test checks if buffered values are kept when they cannot be written and are written once the database
+     * can be reached.
+     */
+    @Test
+    public void testStoreBufferedWithoutConnection() {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+
+            NumberItem itemReg = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg);
+            } catch (ItemNotFoundException e) {
+            }
+
+            setupResult.config.put("writeBufferSize", "5");
+            setupResult.config.put("writeBufferTime", "60000");
+            Map<String, Object> unreachableConfig = new HashMap<>(setupResult.config);
+            unreachableConfig.put("url", "mongodb://127.0.0.1:1/?serverSelectionTimeoutMS=100");
+            service.activate(setupResult.bundleContext, unreachableConfig);
+
+            for (int i = 0; i < 10; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem", i), null);
+            }
+            // the query fails to write the buffer as well
+            service.query(DataCreationHelper.createFilterCriteria("TestItem"));
+
+            // Execution
+            service.activate(setupResult.bundleContext, setupResult.config);
+            Iterable<HistoricItem> result = service.query(DataCreationHelper.createFilterCriteria("TestItem"));
+
+            // Verification
+            VerificationHelper.verifyQueryResult(result, 0, 1, 10);
+            assertEquals(10, database.getCollection("testCollection").countDocuments());
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests the query method of MongoDBPersistenceService with queryMaxPoints and more values in the time range.
+     *
+     * This test checks if the values are averaged over equal intervals by the database.
+     * It uses different database backends provided by the provideDatabaseBackends method.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testQueryDownsampled(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem"))
+                        .thenReturn(DataCreationHelper.createNumberItem("TestItem", 0));
+            } catch (ItemNotFoundException e) {
+            }
+
+            setupResult.config.put("queryMaxPoints", "10");
+            setupResult.config.put("queryMaxPointsItems", "OtherItem, TestItem");
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            // Store one value per minute
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+            Instant begin = Instant.now().truncatedTo(ChronoUnit.MINUTES).minus(3, ChronoUnit.HOURS);
+            for (int i = 0; i < 100; i++) {
+                Instant timestamp = begin.plus(i, ChronoUnit.MINUTES);
+                collection.insertOne(DataCreationHelper.createDocument("TestItem", i, timestamp));
+            }
+
+            // Execution
+            FilterCriteria filter = DataCreationHelper.createFilterCriteria("TestItem",
+                    ZonedDateTime.ofInstant(begin, ZoneId.systemDefault()),
+                    ZonedDateTime.ofInstant(begin.plus(100, ChronoUnit.MINUTES), ZoneId.systemDefault()));
+            filter.setPageSize(Integer.MAX_VALUE);
+            List<HistoricItem> result = new ArrayList<>();
+            service.query(filter).forEach(result::add);
+
+            // Verification: one average per 10 minutes, at the start of the interval
+            assertEquals(10, result.size());
+            for (int i = 0; i < 10; i++) {
+                HistoricItem item = result.get(i);
+                assertEquals(i * 10 + 4.5, ((DecimalType) item.getState()).doubleValue(), 0.001);
+                assertEquals(begin.plus(i * 10, ChronoUnit.MINUTES), item.getTimestamp().toInstant());
+            }
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests the query method of MongoDBPersistenceService with queryMaxPoints and queries that are not downsampled.
+     *
+     * This test checks if all values are returned if the time range does not contain more values than queryMaxPoints
+     * or if the query asks for a page of values.
+     * It uses different database backends provided by the provideDatabaseBackends method.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testQueryMaxPoints(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem"))
+                        .thenReturn(DataCreationHelper.createNumberItem("TestItem", 0));
+            } catch (ItemNotFoundException e) {
+            }
+
+            setupResult.config.put("queryMaxPoints", "100");
+            setupResult.config.put("queryMaxPointsItems", "TestItem");
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+            Instant begin = Instant.now().truncatedTo(ChronoUnit.MINUTES).minus(3, ChronoUnit.HOURS);
+            for (int i = 0; i < 100; i++) {
+                Instant timestamp = begin.plus(i, ChronoUnit.MINUTES);
+                collection.insertOne(DataCreationHelper.createDocument("TestItem", i, timestamp));
+            }
+            ZonedDateTime beginDate = ZonedDateTime.ofInstant(begin, ZoneId.systemDefault());
+            ZonedDateTime endDate = beginDate.plusMinutes(200);
+
+            // Execution: as many values as queryMaxPoints
+            FilterCriteria filter = DataCreationHelper.createFilterCriteria("TestItem", beginDate, endDate);
+            filter.setPageSize(Integer.MAX_VALUE);
+            Iterable<HistoricItem> allResult = service.query(filter);
+
+            // Execution: more values than queryMaxPoints, but only one page is queried
+            Instant lastTimestamp = begin.plus(100, ChronoUnit.MINUTES);
+            collection.insertOne(DataCreationHelper.createDocument("TestItem", 100, lastTimestamp));
+            Iterable<HistoricItem> pageResult = service
+                    .query(DataCreationHelper.createFilterCriteria("TestItem", beginDate, endDate));
+
+            // Verification
+            VerificationHelper.verifyQueryResult(allResult, 0, 1, 100);
+            VerificationHelper.verifyQueryResult(pageResult, 0, 1, 10);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests the query method of MongoDBPersistenceService with queryMaxPoints for an item that is not listed in
+     * queryMaxPointsItems.
+     *
+     * This test checks if all stored values are returned, so that the persistence extensions are not affected.
+     * It uses different database backends provided by the provideDatabaseBackends method.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testQueryMaxPointsUnlistedItem(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem"))
+                        .thenReturn(DataCreationHelper.createNumberItem("TestItem", 0));
+            } catch (ItemNotFoundException e) {
+            }
+
+            setupResult.config.put("queryMaxPoints", "10");
+            setupResult.config.put("queryMaxPointsItems", "OtherItem");
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+            Instant begin = Instant.now().truncatedTo(ChronoUnit.MINUTES).minus(3, ChronoUnit.HOURS);
+            for (int i = 0; i < 100; i++) {
+                Instant timestamp = begin.plus(i, ChronoUnit.MINUTES);
+                collection.insertOne(DataCreationHelper.createDocument("TestItem", i, timestamp));
+            }
+
+            // Execution
+            FilterCriteria filter = DataCreationHelper.createFilterCriteria("TestItem",
+                    ZonedDateTime.ofInstant(begin, ZoneId.systemDefault()),
+                    ZonedDateTime.ofInstant(begin.plus(100, ChronoUnit.MINUTES), ZoneId.systemDefault()));
+            filter.setPageSize(Integer.MAX_VALUE);
+            Iterable<HistoricItem> result = service.query(filter);
+
+            // Verification
+            VerificationHelper.verifyQueryResult(result, 0, 1, 100);
+        } finally {
+            dbContainer.stop();
+        }
+    }
 }
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDbPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RRD4jDatabaseCache} keeps the most recently used databases open.
+ * <p>
+ * The cache holds its own reference of each database from the {@link RrdDbPool}, so the pool does not have to re-open
+ * the file for every access. Users still request and close their own reference, evicting a database only releases
+ * the reference of the cache and never closes a database that is in use.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDatabaseCache {
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jDatabaseCache.class);
+
+    private final int capacity;
+    private final Map<String, RrdDb> databases = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RRD4jDatabaseCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Marks a database as used. Must be called before the database is requested from the pool, so that a hit can be
+     * told apart from a file that had to be opened.
+     *
+     * @param name the name of the database
+     * @return <code>true</code> if the database is kept open by the cache
+     */
+    public boolean touch(String name) {
+        boolean hit;
+        synchronized (databases) {
+            hit = databases.get(name) != null;
+        }
+        if (hit) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return hit;
+    }
+
+    /**
+     * Keeps a database open. The cache requests an additional reference from the pool of the given database.
+     *
+     * @param name the name of the database
+     * @param db a database that was opened through the pool
+     */
+    public void retain(String name, RrdDb db) {
+        synchronized (databases) {
+            if (databases.containsKey(name)) {
+                return;
+            }
+        }
+        RrdDb reference;
+        try {
+            reference = RrdDb.getBuilder().setPool(RRD4jPersistenceService.getDatabasePool()).setPath(db.getPath())
+                    .build();
+        } catch (IOException e) {
+            logger.debug("Could not keep rrd4j database '{}' open: {}", name, e.getMessage());
+            return;
+        }
+
+        List<RrdDb> released = new ArrayList<>();
+        synchronized (databases) {
+            RrdDb previous = databases.put(name, reference);
+            if (previous != null) {
+                released.add(previous);
+            }
+            Iterator<RrdDb> iterator = databases.values().iterator();
+            while (databases.size() > capacity && iterator.hasNext()) {
+                released.add(iterator.next());
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+        released.forEach(this::release);
+    }
+
+    /**
+     * Releases the reference of the cache to a database, e.g. before its file is deleted.
+     *
+     * @param name the name of the database
+     */
+    public void invalidate(String name) {
+        RrdDb db;
+        synchronized (databases) {
+            db = databases.remove(name);
+        }
+        if (db != null) {
+            release(db);
+        }
+    }
+
+    /**
+     * Releases all references held by the cache.
+     */
+    public void clear() {
+        List<RrdDb> released;
+        synchronized (databases) {
+            released = new ArrayList<>(databases.values());
+            databases.clear();
+        }
+        released.forEach(this::release);
+    }
+
+    public int getSize() {
+        synchronized (databases) {
+            return databases.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private void release(RrdDb db) {
+        try {
+            db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+        }
+    }
+}
@@ -21,18 +21,23 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -113,6 +118,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private record PendingValue(long timestamp, double value) {
+    }
+
     public static final String SERVICE_ID = "rrd4j";
 
     private static final String DEFAULT_OTHER = "default_other";
@@ -122,8 +130,18 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
+    private static final int WRITER_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final int MAX_OPEN_DATABASES = 150;
+
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory("RRD4j"));
+    private final ExecutorService writers = Executors.newFixedThreadPool(WRITER_THREADS,
+            new NamedThreadFactory("RRD4j-writer"));
+    private final RRD4jDatabaseCache databaseCache = new RRD4jDatabaseCache(MAX_OPEN_DATABASES);
+
+    private final LongAdder writeCount = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
 
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
@@ -135,6 +153,14 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    // last update time of each database in seconds, so charts do not have to open the files to check for changes
+    private static final Map<String, Long> LAST_UPDATE_TIMES = new ConcurrentHashMap<>();
+
+    static {
+        // leave room for queries and charts next to the databases kept open by the cache
+        DATABASE_POOL.setCapacity(Math.max(DATABASE_POOL.getCapacity(), MAX_OPEN_DATABASES + 50));
+    }
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
@@ -147,6 +173,34 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    /**
+     * Returns the time of the last update of a database. The database is only read the first time, later updates are
+     * recorded by the service.
+     *
+     * @param name the name of the database
+     * @return the time of the last update in seconds since the epoch, 0 if the database can't be read
+     */
+    public static long getLastUpdateTime(String name) {
+        Long time = LAST_UPDATE_TIMES.get(name);
+        if (time != null) {
+            return time;
+        }
+        long lastUpdateTime;
+        try {
+            RrdDb db = RrdDb.getBuilder().setPool(DATABASE_POOL).setPath(getDatabasePath(name).toString()).build();
+            try {
+                lastUpdateTime = db.getLastUpdateTime();
+            } finally {
+                db.close();
+            }
+        } catch (IOException e) {
+            lastUpdateTime = 0;
+        }
+        // a concurrent write has already recorded a more recent time
+        time = LAST_UPDATE_TIMES.putIfAbsent(name, lastUpdateTime);
+        return time != null ? time : lastUpdateTime;
+    }
+
     private final ScheduledFuture<?> storeJob;
 
     @Activate
@@ -272,6 +326,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+
+        writers.shutdown();
+        databaseCache.clear();
     }
 
     @Override
@@ -337,22 +394,48 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private void doStore(boolean force) {
+    private synchronized void doStore(boolean force) {
         long now = System.currentTimeMillis() / 1000;
+        Map<String, List<PendingValue>> pending = new LinkedHashMap<>();
         while (!storageMap.isEmpty()) {
             Key key = storageMap.firstKey();
             if (now > key.timestamp || force) {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
                 Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
+                pending.computeIfAbsent(key.name, k -> new ArrayList<>())
+                        .add(new PendingValue(key.timestamp, value));
             } else {
-                return;
+                break;
             }
         }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        if (pending.size() == 1 || writers.isShutdown()) {
+            pending.forEach(this::writePointsToDatabase);
+            return;
+        }
+        // each database is written by a single task and different databases in parallel, we wait for all of them and
+        // runs never overlap, so that the values of one database never overtake each other between two runs
+        List<Callable<@Nullable Void>> tasks = new ArrayList<>(pending.size());
+        pending.forEach((name, values) -> tasks.add(() -> {
+            writePointsToDatabase(name, values);
+            return null;
+        }));
+        try {
+            writers.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RejectedExecutionException e) {
+            // the service is shutting down
+            pending.forEach(this::writePointsToDatabase);
+        }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
+    private void writePointsToDatabase(String name, List<PendingValue> values) {
+        long start = System.nanoTime();
         RrdDb db = null;
         try {
             db = getDB(name, true);
@@ -363,6 +446,28 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        try {
+            for (PendingValue value : values) {
+                writePointToDatabase(db, name, value.value(), value.timestamp());
+            }
+            LAST_UPDATE_TIMES.put(name, db.getLastUpdateTime());
+        } catch (IOException e) {
+            logger.debug("Error reading last update time of rrd4j database '{}': {}", name, e.getMessage());
+            LAST_UPDATE_TIMES.remove(name);
+        } finally {
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+        }
+        long duration = System.nanoTime() - start;
+        writeCount.add(values.size());
+        writeNanos.add(duration);
+        maxWriteNanos.accumulateAndGet(duration, Math::max);
+    }
+
+    private void writePointToDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -397,11 +502,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
     }
 
     @Override
@@ -538,9 +638,10 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
+        databaseCache.touch(alias);
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
@@ -570,9 +671,55 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             // this happens if the system is shut down
             logger.debug("Could not create rrd4j database file '{}': {}", path, e.getMessage());
         }
+        if (db != null && active) {
+            databaseCache.retain(alias, db);
+        }
         return db;
     }
 
+    /**
+     * Releases a database kept open by the service, e.g. before its file is deleted.
+     *
+     * @param alias the name of the database
+     */
+    public void closeDB(String alias) {
+        databaseCache.invalidate(alias);
+        LAST_UPDATE_TIMES.remove(alias);
+    }
+
+    public RRD4jDatabaseCache getDatabaseCache() {
+        return databaseCache;
+    }
+
+    /**
+     * @return number of values waiting to be written
+     */
+    public int getPendingCount() {
+        return storageMap.size();
+    }
+
+    /**
+     * @return number of values written since the service was started
+     */
+    public long getWriteCount() {
+        return writeCount.sum();
+    }
+
+    /**
+     * @return average time to write one value in milliseconds
+     */
+    public double getAverageWriteMillis() {
+        long count = writeCount.sum();
+        return count == 0 ? 0 : writeNanos.sum() / 1_000_000.0 / count;
+    }
+
+    /**
+     * @return longest time to write the pending values of one database in milliseconds
+     */
+    public double getMaxWriteMillis() {
+        return maxWriteNanos.get() / 1_000_000.0;
+    }
+
     private @Nullable RrdDefConfig getRrdDefConfig(String itemName) {
         RrdDefConfig useRdc = null;
         for (Map.Entry<String, RrdDefConfig> e : rrdDefs.entrySet()) {
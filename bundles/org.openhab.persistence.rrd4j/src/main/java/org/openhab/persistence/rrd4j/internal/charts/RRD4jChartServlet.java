@@ -17,12 +17,28 @@ import static java.util.Map.entry;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.imageio.ImageIO;
 import javax.servlet.Servlet;
@@ -30,9 +46,12 @@ import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
@@ -66,6 +85,9 @@ import org.slf4j.LoggerFactory;
  * <li>items: A comma separated list of item names to display
  * <li>groups: A comma separated list of group names, whose members should be displayed
  * </ul>
+ * Rendered charts are cached. A cached chart is used as long as none of the displayed databases was updated and the
+ * time axis did not move by more than a pixel. Its ETag is derived from the same information, so unchanged charts are
+ * answered with 304 without rendering. Concurrent requests for the same chart wait for a single rendering.
  *
  * @author Kai Kreuzer - Initial contribution
  * @author Chris Jackson - a few improvements
@@ -93,6 +115,12 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
 
     private static final Duration DEFAULT_PERIOD = Duration.ofDays(1);
 
+    private static final int MAX_CACHED_CHARTS = 50;
+    private static final int RENDER_THREADS = 2;
+    private static final int RENDER_QUEUE_SIZE = 20;
+    private static final long RENDER_TIMEOUT = 30; // in s
+    private static final long MIN_CHART_LIFETIME = 5000; // in ms
+
     private static final Map<String, Duration> PERIODS = Map.ofEntries( //
             entry("h", Duration.ofHours(1)), entry("4h", Duration.ofHours(4)), //
             entry("8h", Duration.ofHours(8)), entry("12h", Duration.ofHours(12)), //
@@ -107,12 +135,39 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     private final ItemUIRegistry itemUIRegistry;
     private final TimeZoneProvider timeZoneProvider;
 
+    private record ChartKey(@Nullable String items, @Nullable String groups, Duration period, int width, int height,
+            @Nullable String theme) {
+    }
+
+    private record RenderedChart(String etag, byte[] image) {
+    }
+
+    /**
+     * A chart in the version identified by its ETag
+     */
+    private record ChartVersion(ChartKey key, String etag) {
+    }
+
+    private final Map<ChartKey, RenderedChart> chartCache = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<ChartKey, RenderedChart> eldest) {
+                    return size() > MAX_CACHED_CHARTS;
+                }
+            });
+    private final Map<ChartVersion, CompletableFuture<RenderedChart>> renderings = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor renderExecutor = new ThreadPoolExecutor(RENDER_THREADS, RENDER_THREADS, 60,
+            TimeUnit.SECONDS, new ArrayBlockingQueue<>(RENDER_QUEUE_SIZE), new NamedThreadFactory("RRD4j-chart"));
+
     @Activate
     public RRD4jChartServlet(final @Reference HttpService httpService, final @Reference ItemUIRegistry itemUIRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
         this.httpService = httpService;
         this.itemUIRegistry = itemUIRegistry;
         this.timeZoneProvider = timeZoneProvider;
+        renderExecutor.allowCoreThreadTimeOut(true);
     }
 
     @Activate
@@ -128,6 +183,10 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Deactivate
     protected void deactivate() {
         httpService.unregister(SERVLET_NAME);
+        renderExecutor.shutdownNow();
+        // release the requests waiting for renderings that will never run
+        renderings.values().forEach(rendering -> rendering.cancel(false));
+        chartCache.clear();
     }
 
     @Override
@@ -138,24 +197,130 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         int height = parseInt(req.getParameter("h"), DEFAULT_HEIGHT);
         String periodParam = req.getParameter("period");
         Duration period = periodParam == null ? DEFAULT_PERIOD : PERIODS.getOrDefault(periodParam, DEFAULT_PERIOD);
-
-        // Create the start and stop time
-        ZonedDateTime timeEnd = ZonedDateTime.now(timeZoneProvider.getTimeZone());
-        ZonedDateTime timeBegin = timeEnd.minus(period);
+        ChartKey key = new ChartKey(req.getParameter("items"), req.getParameter("groups"), period, width, height,
+                req.getParameter("theme"));
 
         try {
-            BufferedImage chart = createChart(null, null, timeBegin, timeEnd, height, width, req.getParameter("items"),
-                    req.getParameter("groups"), null, null);
+            String etag = getETag(key);
+            if (req instanceof HttpServletRequest httpReq && etag.equals(httpReq.getHeader("If-None-Match"))
+                    && res instanceof HttpServletResponse httpRes) {
+                httpRes.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                httpRes.setHeader("ETag", etag);
+                return;
+            }
+
+            RenderedChart chart = chartCache.get(key);
+            if (chart == null || !chart.etag().equals(etag)) {
+                chart = render(key, etag);
+                chartCache.put(key, chart);
+            }
+
             // Set the content type to that provided by the chart provider
             res.setContentType("image/" + getChartType());
-            ImageIO.write(chart, getChartType().toString(), res.getOutputStream());
+            if (res instanceof HttpServletResponse httpRes) {
+                httpRes.setHeader("ETag", etag);
+                httpRes.setHeader("Cache-Control", "no-cache");
+            }
+            res.setContentLength(chart.image().length);
+            res.getOutputStream().write(chart.image());
         } catch (ItemNotFoundException e) {
             logger.debug("Item not found error while generating chart", e);
             throw new ServletException("Item not found error while generating chart: " + e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.debug("Illegal argument in chart", e);
             throw new ServletException("Illegal argument in chart: " + e.getMessage());
+        } catch (RejectedExecutionException e) {
+            logger.debug("Too many charts waiting to be rendered, rejecting request {}", req);
+            if (res instanceof HttpServletResponse httpRes) {
+                httpRes.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            } else {
+                throw new ServletException("Too many charts waiting to be rendered");
+            }
+        }
+    }
+
+    /**
+     * Renders a chart, or waits for a rendering of the same chart that is already running.
+     */
+    private RenderedChart render(ChartKey key, String etag) throws ItemNotFoundException, IOException {
+        ChartVersion version = new ChartVersion(key, etag);
+        CompletableFuture<RenderedChart> rendering = renderings.get(version);
+        if (rendering == null) {
+            CompletableFuture<RenderedChart> newRendering = new CompletableFuture<>();
+            rendering = renderings.putIfAbsent(version, newRendering);
+            if (rendering == null) {
+                rendering = newRendering;
+                // removed when done, even if all requests waiting for it timed out
+                newRendering.whenComplete((chart, e) -> renderings.remove(version, newRendering));
+                try {
+                    renderExecutor.execute(() -> {
+                        try {
+                            newRendering.complete(renderChart(key, etag));
+                        } catch (ItemNotFoundException | IOException | RuntimeException e) {
+                            newRendering.completeExceptionally(e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    newRendering.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        try {
+            return rendering.get(RENDER_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering chart");
+        } catch (TimeoutException e) {
+            throw new IOException("Timeout while rendering chart");
+        } catch (CancellationException e) {
+            throw new IOException("Chart rendering was cancelled");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ItemNotFoundException infe) {
+                throw infe;
+            } else if (cause instanceof IOException ioe) {
+                throw ioe;
+            } else if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("Error rendering chart", cause);
+        }
+    }
+
+    private RenderedChart renderChart(ChartKey key, String etag) throws ItemNotFoundException, IOException {
+        ZonedDateTime timeEnd = ZonedDateTime.now(timeZoneProvider.getTimeZone());
+        ZonedDateTime timeBegin = timeEnd.minus(key.period());
+        BufferedImage chart = createChart(null, key.theme(), timeBegin, timeEnd, key.height(), key.width(),
+                key.items(), key.groups(), null, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(chart, getChartType().toString(), out);
+        return new RenderedChart(etag, out.toByteArray());
+    }
+
+    /**
+     * Creates the ETag of a chart. It contains all parameters of the chart and changes when one of the displayed
+     * databases is updated or the time axis moves by a pixel, but at most every {@link #MIN_CHART_LIFETIME} ms.
+     */
+    private String getETag(ChartKey key) throws ItemNotFoundException {
+        long version = 17;
+        for (Item item : getItems(key.items(), key.groups())) {
+            version = 31 * version + item.getName().hashCode();
+            version = 31 * version + RRD4jPersistenceService.getLastUpdateTime(item.getName());
         }
+        long lifetime = Math.max(MIN_CHART_LIFETIME, key.period().toMillis() / Math.max(1, key.width()));
+        long slot = System.currentTimeMillis() / lifetime;
+
+        // length prefixes keep the parameters apart, whatever they contain
+        StringBuilder parameters = new StringBuilder();
+        for (Object parameter : new @Nullable Object[] { key.items(), key.groups(), key.period(), key.width(),
+                key.height(), key.theme() }) {
+            String value = parameter == null ? "" : parameter.toString();
+            parameters.append(parameter == null ? -1 : value.length()).append(':').append(value);
+        }
+        return "\"" + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(parameters.toString().getBytes(StandardCharsets.UTF_8)) + "-"
+                + Long.toHexString(version) + "-" + Long.toHexString(slot) + "\"";
     }
 
     private int parseInt(@Nullable String s, int defaultValue) {
@@ -252,13 +417,37 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         graphDef.setFont(FontTag.DEFAULT, new Font("SansSerif", Font.PLAIN, 11));
 
         int seriesCounter = 0;
+        for (Item item : getItems(items, groups)) {
+            addLine(graphDef, item, seriesCounter++);
+        }
 
+        // Write the chart as a PNG image
+        try {
+            RrdGraph graph = new RrdGraph(graphDef);
+            BufferedImage bi = new BufferedImage(graph.getRrdGraphInfo().getWidth(),
+                    graph.getRrdGraphInfo().getHeight(), BufferedImage.TYPE_INT_RGB);
+            graph.render(bi.getGraphics());
+            return bi;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error generating RrdGraph", e);
+        }
+    }
+
+    /**
+     * Resolves the items to display.
+     *
+     * @param items comma separated list of item names
+     * @param groups comma separated list of group names, whose members should be displayed
+     * @return the items
+     * @throws ItemNotFoundException if an item or group is not found or a group is not a group item
+     */
+    private List<Item> getItems(@Nullable String items, @Nullable String groups) throws ItemNotFoundException {
+        List<Item> result = new ArrayList<>();
         // Loop through all the items
         if (items != null) {
             String[] itemNames = items.split(",");
             for (String itemName : itemNames) {
-                Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, seriesCounter++);
+                result.add(itemUIRegistry.getItem(itemName));
             }
         }
 
@@ -268,25 +457,13 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             for (String groupName : groupNames) {
                 Item item = itemUIRegistry.getItem(groupName);
                 if (item instanceof GroupItem groupItem) {
-                    for (Item member : groupItem.getMembers()) {
-                        addLine(graphDef, member, seriesCounter++);
-                    }
+                    result.addAll(groupItem.getMembers());
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
                 }
             }
         }
-
-        // Write the chart as a PNG image
-        try {
-            RrdGraph graph = new RrdGraph(graphDef);
-            BufferedImage bi = new BufferedImage(graph.getRrdGraphInfo().getWidth(),
-                    graph.getRrdGraphInfo().getHeight(), BufferedImage.TYPE_INT_RGB);
-            graph.render(bi.getGraphics());
-            return bi;
-        } catch (IOException e) {
-            throw new UncheckedIOException("Error generating RrdGraph", e);
-        }
+        return result;
     }
 
     @Override
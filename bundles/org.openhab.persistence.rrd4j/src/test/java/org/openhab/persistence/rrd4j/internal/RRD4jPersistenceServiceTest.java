@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Tests for concurrent storing and querying in {@link RRD4jPersistenceService}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jPersistenceServiceTest {
+
+    private static final int THREADS = 4;
+    private static final int ITEMS_PER_THREAD = 3;
+    private static final long DURATION_MILLIS = 2500;
+
+    static {
+        // the databases are created in the userdata folder
+        try {
+            System.setProperty("openhab.userdata", Files.createTempDirectory("rrd4j").toString());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final List<NumberItem> items = new ArrayList<>();
+    private @NonNullByDefault({}) RRD4jPersistenceService service;
+
+    @BeforeEach
+    public void setUp() throws ItemNotFoundException {
+        ItemRegistry itemRegistry = mock(ItemRegistry.class);
+        for (int i = 0; i < THREADS * ITEMS_PER_THREAD; i++) {
+            NumberItem item = new NumberItem("RRD4jTest_" + i + "_" + System.nanoTime());
+            items.add(item);
+            when(itemRegistry.getItem(item.getName())).thenReturn(item);
+        }
+        service = new RRD4jPersistenceService(itemRegistry, Map.of());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        for (NumberItem item : items) {
+            service.closeDB(item.getName());
+            Files.deleteIfExists(RRD4jPersistenceService.getDatabasePath(item.getName()));
+        }
+    }
+
+    @Test
+    public void testConcurrentStoreAndQuery() throws Exception {
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2 * THREADS);
+        long end = System.currentTimeMillis() + DURATION_MILLIS;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            List<NumberItem> ownItems = items.subList(t * ITEMS_PER_THREAD, (t + 1) * ITEMS_PER_THREAD);
+            futures.add(executor.submit(() -> {
+                int value = 0;
+                while (System.currentTimeMillis() < end) {
+                    value++;
+                    for (NumberItem item : ownItems) {
+                        item.setState(new DecimalType(value));
+                        service.store(item);
+                    }
+                    Thread.sleep(5);
+                }
+                return null;
+            }));
+            futures.add(executor.submit(() -> {
+                while (System.currentTimeMillis() < end) {
+                    for (NumberItem item : ownItems) {
+                        try {
+                            service.query(lastValueFilter(item.getName())).forEach(HistoricItem::getState);
+                        } catch (RuntimeException e) {
+                            errors.add(e);
+                        }
+                    }
+                    Thread.sleep(5);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(DURATION_MILLIS + 10000, TimeUnit.MILLISECONDS);
+        }
+        executor.shutdown();
+
+        // writes all remaining values
+        service.deactivate();
+
+        assertTrue(errors.isEmpty(), () -> "Errors while querying: " + errors);
+        for (NumberItem item : items) {
+            Iterator<HistoricItem> result = service.query(lastValueFilter(item.getName())).iterator();
+            assertTrue(result.hasNext(), item.getName());
+            assertEquals(item.getState(), result.next().getState(), item.getName());
+        }
+    }
+
+    private static FilterCriteria lastValueFilter(String itemName) {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(itemName);
+        filter.setOrdering(Ordering.DESCENDING);
+        filter.setPageSize(1);
+        return filter;
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal.charts;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.ui.items.ItemUIRegistry;
+import org.osgi.service.http.HttpService;
+
+/**
+ * Tests for the chart cache of {@link RRD4jChartServlet}.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jChartServletTest {
+
+    /**
+     * Servlet that renders an empty image instead of reading the databases
+     */
+    private static class TestServlet extends RRD4jChartServlet {
+        private final AtomicInteger renderCount = new AtomicInteger();
+        private CountDownLatch renderLatch = new CountDownLatch(0);
+
+        TestServlet(HttpService httpService, ItemUIRegistry itemUIRegistry, TimeZoneProvider timeZoneProvider) {
+            super(httpService, itemUIRegistry, timeZoneProvider);
+        }
+
+        @Override
+        public BufferedImage createChart(@Nullable String service, @Nullable String theme, ZonedDateTime startTime,
+                ZonedDateTime endTime, int height, int width, @Nullable String items, @Nullable String groups,
+                @Nullable Integer dpi, @Nullable Boolean legend) throws ItemNotFoundException {
+            renderCount.incrementAndGet();
+            try {
+                renderLatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+    }
+
+    /**
+     * Status, headers and content of a response
+     */
+    private static class Response {
+        private final HttpServletResponse servletResponse = mock(HttpServletResponse.class);
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        Response() throws IOException {
+            when(servletResponse.getOutputStream()).thenReturn(new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    content.write(b);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(@Nullable WriteListener writeListener) {
+                }
+            });
+        }
+
+        @Nullable
+        String getETag() {
+            ArgumentCaptor<String> etag = ArgumentCaptor.forClass(String.class);
+            verify(servletResponse, atLeast(0)).setHeader(eq("ETag"), etag.capture());
+            return etag.getAllValues().isEmpty() ? null : etag.getValue();
+        }
+    }
+
+    private @NonNullByDefault({}) TestServlet servlet;
+
+    @BeforeEach
+    public void setUp() throws ItemNotFoundException {
+        ItemUIRegistry itemUIRegistry = mock(ItemUIRegistry.class);
+        when(itemUIRegistry.getItem("Temperature")).thenReturn(new NumberItem("Temperature"));
+        TimeZoneProvider timeZoneProvider = mock(TimeZoneProvider.class);
+        when(timeZoneProvider.getTimeZone()).thenReturn(ZoneId.of("UTC"));
+        servlet = new TestServlet(mock(HttpService.class), itemUIRegistry, timeZoneProvider);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        servlet.deactivate();
+    }
+
+    @Test
+    public void testUnchangedChartIsAnsweredWithNotModified() throws Exception {
+        Response first = request(Map.of("items", "Temperature"), null);
+        String etag = first.getETag();
+        assertNotNull(etag);
+        assertTrue(first.content.size() > 0);
+
+        Response second = request(Map.of("items", "Temperature"), etag);
+
+        verify(second.servletResponse).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(second.servletResponse, never()).getOutputStream();
+        assertEquals(etag, second.getETag());
+        assertEquals(1, servlet.renderCount.get());
+    }
+
+    @Test
+    public void testCachedChartIsSentWithoutRendering() throws Exception {
+        Response first = request(Map.of("items", "Temperature"), null);
+        Response second = request(Map.of("items", "Temperature"), "\"other\"");
+
+        assertEquals(first.getETag(), second.getETag());
+        assertArrayEquals(first.content.toByteArray(), second.content.toByteArray());
+        assertEquals(1, servlet.renderCount.get());
+    }
+
+    @Test
+    public void testDifferentChartsHaveDifferentETags() throws Exception {
+        Response first = request(Map.of("items", "Temperature", "w", "480"), null);
+        Response second = request(Map.of("items", "Temperature", "w", "481"), first.getETag());
+
+        assertNotEquals(first.getETag(), second.getETag());
+        verify(second.servletResponse, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        assertEquals(2, servlet.renderCount.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsShareRendering() throws Exception {
+        servlet.renderLatch = new CountDownLatch(1);
+        Response[] responses = new Response[2];
+        Thread first = new Thread(() -> responses[0] = requestUnchecked());
+        first.start();
+        waitFor(() -> servlet.renderCount.get() == 1);
+
+        Thread second = new Thread(() -> responses[1] = requestUnchecked());
+        second.start();
+        // the second request waits for the rendering of the first one
+        waitFor(() -> second.getState() == Thread.State.TIMED_WAITING);
+        servlet.renderLatch.countDown();
+        first.join(10000);
+        second.join(10000);
+
+        assertEquals(1, servlet.renderCount.get());
+        Response firstResponse = responses[0];
+        Response secondResponse = responses[1];
+        assertNotNull(firstResponse);
+        assertNotNull(secondResponse);
+        assertEquals(firstResponse.getETag(), secondResponse.getETag());
+        assertArrayEquals(firstResponse.content.toByteArray(), secondResponse.content.toByteArray());
+    }
+
+    private Response requestUnchecked() {
+        try {
+            return request(Map.of("items", "Temperature"), null);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Response request(Map<String, String> parameters, @Nullable String ifNoneMatch) throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getParameter(anyString())).thenAnswer(invocation -> parameters.get(invocation.getArgument(0)));
+        when(request.getHeader("If-None-Match")).thenReturn(ifNoneMatch);
+        Response response = new Response();
+        servlet.service(request, response.servletResponse);
+        return response;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < end, "Timeout");
+            Thread.sleep(10);
+        }
+    }
+}
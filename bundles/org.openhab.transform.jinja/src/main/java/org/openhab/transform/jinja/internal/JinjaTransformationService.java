@@ -24,6 +24,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.openhab.transform.jinja.internal.renderer.JinjaTemplateRenderer;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,8 @@ import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
+ * <p>
+ * Parsed templates are cached, and the input is only parsed as JSON if the template refers to <code>value_json</code>.
  *
  * @author Jochen Klein - Initial contribution
  *
@@ -46,7 +49,11 @@ public class JinjaTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
-    private final Jinjava jinjava = new Jinjava();
+    private static final String VALUE_JSON = "value_json";
+    private static final int MAX_CACHED_TEMPLATES = 256;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final JinjaTemplateRenderer renderer = new JinjaTemplateRenderer(new Jinjava(), MAX_CACHED_TEMPLATES);
 
     /**
      * Transforms the input <code>value</code> by Jinja template.
@@ -64,15 +71,17 @@ public class JinjaTransformationService implements TransformationService {
 
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        if (template.contains(VALUE_JSON)) {
+            try {
+                JsonNode tree = OBJECT_MAPPER.readTree(value);
+                bindings.put(VALUE_JSON, toObject(tree));
+            } catch (IOException e) {
+                // ok, then value_json is null...
+            }
         }
 
         try {
-            transformationResult = jinjava.render(template, bindings);
+            transformationResult = renderer.render(template, bindings);
         } catch (FatalTemplateErrorsException e) {
             throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
         }
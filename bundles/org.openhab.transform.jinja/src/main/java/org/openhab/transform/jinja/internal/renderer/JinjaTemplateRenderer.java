@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal.renderer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpretException;
+import com.hubspot.jinjava.interpret.InvalidInputException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.interpret.TemplateSyntaxException;
+import com.hubspot.jinjava.tree.Node;
+
+/**
+ * Renders templates like {@link Jinjava#render(String, Map)}, but parses each template only once and renders the
+ * cached tree with a fresh interpreter.
+ * <p>
+ * Like {@link Jinjava#render(String, Map)}, every failure of the interpreter is reported as a
+ * {@link FatalTemplateErrorsException}, whose first error is the one that aborted rendering. Templates with syntax
+ * errors are not cached.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class JinjaTemplateRenderer {
+
+    private final Jinjava jinjava;
+    private final Map<String, Node> templateCache;
+
+    /**
+     * @param jinjava the Jinjava instance providing the global context, configuration, filters and tags
+     * @param maxCachedTemplates maximum number of parsed templates kept, least recently used ones are dropped first
+     */
+    public JinjaTemplateRenderer(Jinjava jinjava, int maxCachedTemplates) {
+        this.jinjava = jinjava;
+        this.templateCache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Node> eldest) {
+                return size() > maxCachedTemplates;
+            }
+        };
+    }
+
+    /**
+     * Renders a template with the given bindings.
+     *
+     * @param template Jinja template
+     * @param bindings variables available to the template
+     * @return the rendered template
+     * @throws FatalTemplateErrorsException if the template cannot be parsed or rendered
+     */
+    public String render(String template, Map<String, @Nullable Object> bindings)
+            throws FatalTemplateErrorsException {
+        Node root = getParsedTemplate(template);
+
+        Context context = new Context(jinjava.getGlobalContext(), bindings, jinjava.getGlobalConfig().getDisabled());
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            String result = interpreter.render(root);
+            checkErrors(template, interpreter);
+            return result;
+        } catch (RuntimeException e) {
+            throw toFatalErrors(template, interpreter, e);
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    private Node getParsedTemplate(String template) throws FatalTemplateErrorsException {
+        synchronized (templateCache) {
+            Node root = templateCache.get(template);
+            if (root != null) {
+                return root;
+            }
+        }
+
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, new Context(jinjava.getGlobalContext()),
+                jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        Node root;
+        try {
+            root = interpreter.parse(template);
+            checkErrors(template, interpreter);
+        } catch (RuntimeException e) {
+            throw toFatalErrors(template, interpreter, e);
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+
+        synchronized (templateCache) {
+            templateCache.put(template, root);
+        }
+        return root;
+    }
+
+    /**
+     * @return whether the parsed template is in the cache
+     */
+    boolean isCached(String template) {
+        synchronized (templateCache) {
+            return templateCache.containsKey(template);
+        }
+    }
+
+    private static void checkErrors(String template, JinjavaInterpreter interpreter)
+            throws FatalTemplateErrorsException {
+        List<TemplateError> fatalErrors = interpreter.getErrorsCopy().stream()
+                .filter(error -> error.getSeverity() == ErrorType.FATAL).toList();
+        if (!fatalErrors.isEmpty()) {
+            throw new FatalTemplateErrorsException(template, fatalErrors);
+        }
+    }
+
+    /**
+     * Converts an exception thrown by the interpreter into template errors, the way
+     * {@link Jinjava#renderForResult(String, Map)} does.
+     */
+    private static FatalTemplateErrorsException toFatalErrors(String template, JinjavaInterpreter interpreter,
+            RuntimeException e) {
+        if (e instanceof FatalTemplateErrorsException fatalErrors) {
+            return fatalErrors;
+        }
+        TemplateError error;
+        if (e instanceof TemplateSyntaxException syntaxException) {
+            error = TemplateError.fromException(syntaxException);
+        } else if (e instanceof InvalidInputException invalidInputException) {
+            error = TemplateError.fromInvalidInputException(invalidInputException);
+        } else if (e instanceof InterpretException interpretException) {
+            error = TemplateError.fromSyntaxError(interpretException);
+        } else {
+            error = TemplateError.fromException(e);
+        }
+        List<TemplateError> errors = new ArrayList<>();
+        errors.add(error);
+        interpreter.getErrorsCopy().stream().filter(other -> other.getSeverity() == ErrorType.FATAL)
+                .forEach(errors::add);
+        return new FatalTemplateErrorsException(template, errors);
+    }
+}
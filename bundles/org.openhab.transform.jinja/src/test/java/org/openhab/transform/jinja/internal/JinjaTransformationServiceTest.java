@@ -113,4 +113,20 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testCachedTemplateIsRenderedWithNewValues() throws TransformationException {
+        String template = "{{ value_json.temperature }} {{ value }}";
+
+        assertEquals("4.7 {\"temperature\": 4.7}", processor.transform(template, "{\"temperature\": 4.7}"));
+        assertEquals("5.1 {\"temperature\": 5.1}", processor.transform(template, "{\"temperature\": 5.1}"));
+    }
+
+    @Test
+    public void testTemplateErrorIsNotCached() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(TransformationException.class,
+                    () -> processor.transform("Hello {{{ value_json.string }}!", "{\"string\": \"world\"}"));
+        }
+    }
 }
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal.renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.lib.filter.Filter;
+
+/**
+ * @author Martin Gerczuk - Initial contribution
+ */
+public class JinjaTemplateRendererTest {
+
+    @Test
+    public void testCachedTemplateIsRenderedWithNewBindings() {
+        JinjaTemplateRenderer renderer = new JinjaTemplateRenderer(new Jinjava(), 2);
+
+        assertEquals("Hello world!", renderer.render("Hello {{ value }}!", Map.of("value", "world")));
+        assertEquals("Hello openHAB!", renderer.render("Hello {{ value }}!", Map.of("value", "openHAB")));
+        assertTrue(renderer.isCached("Hello {{ value }}!"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTemplateIsDropped() {
+        JinjaTemplateRenderer renderer = new JinjaTemplateRenderer(new Jinjava(), 2);
+
+        renderer.render("{{ value }} A", Map.of("value", "1"));
+        renderer.render("{{ value }} B", Map.of("value", "1"));
+        // uses A again, so B is the least recently used template
+        renderer.render("{{ value }} A", Map.of("value", "1"));
+        renderer.render("{{ value }} C", Map.of("value", "1"));
+
+        assertTrue(renderer.isCached("{{ value }} A"));
+        assertFalse(renderer.isCached("{{ value }} B"));
+        assertTrue(renderer.isCached("{{ value }} C"));
+        assertEquals("2 B", renderer.render("{{ value }} B", Map.of("value", "2")));
+    }
+
+    @Test
+    public void testSyntaxErrorIsFatal() {
+        JinjaTemplateRenderer renderer = new JinjaTemplateRenderer(new Jinjava(), 2);
+
+        assertThrows(FatalTemplateErrorsException.class, () -> renderer.render("{% if %}", Map.of()));
+        assertFalse(renderer.isCached("{% if %}"));
+        // templates with errors are not cached, so they fail again
+        assertThrows(FatalTemplateErrorsException.class, () -> renderer.render("{% if %}", Map.of()));
+    }
+
+    @Test
+    public void testRuntimeExceptionIsFatal() {
+        Jinjava jinjava = new Jinjava();
+        jinjava.getGlobalContext().registerFilter(new Filter() {
+            @Override
+            public String getName() {
+                return "fail";
+            }
+
+            @Override
+            public Object filter(Object var, JinjavaInterpreter interpreter, String... args) {
+                throw new IllegalStateException("failed");
+            }
+        });
+        JinjaTemplateRenderer renderer = new JinjaTemplateRenderer(jinjava, 2);
+
+        assertThrows(FatalTemplateErrorsException.class,
+                () -> renderer.render("{{ value | fail }}", Map.of("value", 1)));
+    }
+}
@@ -12,7 +12,9 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -21,9 +23,11 @@ import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.UnDefType;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -31,6 +35,10 @@ import com.jayway.jsonpath.PathNotFoundException;
 
 /**
  * The implementation of a {@link TransformationService} which transforms the input by JSonPath Expressions.
+ * <p>
+ * Compiled expressions are kept in a bounded cache. Parsed documents are kept for a short time, so that several
+ * expressions applied to the same payload, e.g. for the channels of a single HTTP or MQTT update, share one parse.
+ * Expired documents are dropped on the next parse, and both caches are emptied when the service is deactivated.
  *
  * @author Gaël L'hopital - Initial contribution
  * @author Sebastian Janzen - Initial contribution
@@ -39,8 +47,43 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_PATHS = 256;
+    private static final int MAX_CACHED_DOCUMENTS = 8;
+    private static final long DOCUMENT_TTL_MS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Map<String, JsonPath> pathCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+            return size() > MAX_CACHED_PATHS;
+        }
+    };
+
+    private final Map<String, ParsedDocument> documentCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ParsedDocument> eldest) {
+            return size() > MAX_CACHED_DOCUMENTS;
+        }
+    };
+
+    private record ParsedDocument(DocumentContext context, long parsed) {
+    }
+
+    @Deactivate
+    public void deactivate() {
+        synchronized (pathCache) {
+            pathCache.clear();
+        }
+        synchronized (documentCache) {
+            documentCache.clear();
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +105,7 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = getDocument(source).read(getPath(jsonPathExpression));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +121,37 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath getPath(String jsonPathExpression) {
+        synchronized (pathCache) {
+            JsonPath path = pathCache.get(jsonPathExpression);
+            if (path == null) {
+                path = JsonPath.compile(jsonPathExpression);
+                pathCache.put(jsonPathExpression, path);
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Returns the parsed document for the source. A document is only read by the transformations and can be shared
+     * between threads.
+     */
+    private DocumentContext getDocument(String source) {
+        long now = System.currentTimeMillis();
+        synchronized (documentCache) {
+            ParsedDocument document = documentCache.get(source);
+            if (document != null && now - document.parsed() < DOCUMENT_TTL_MS) {
+                return document.context();
+            }
+        }
+        DocumentContext context = JsonPath.parse(source);
+        synchronized (documentCache) {
+            documentCache.values().removeIf(document -> now - document.parsed() >= DOCUMENT_TTL_MS);
+            documentCache.put(source, new ParsedDocument(context, now));
+        }
+        return context;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -59,6 +59,15 @@ public class JSonPathTransformationServiceTest {
         assertEquals("2", transformedResponse);
     }
 
+    @Test
+    public void testSeveralPathsOnSamePayload() throws TransformationException {
+        for (int i = 0; i < 2; i++) {
+            assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+            assertEquals("alice", processor.transform("$[1].name", JSON_ARRAY));
+            assertEquals("[1, 2]", processor.transform("$.*.id", JSON_ARRAY));
+        }
+    }
+
     @Test
     public void testInvalidPathThrowsException() {
         assertThrows(TransformationException.class, () -> processor.transform("$$", JSON_ARRAY));
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link RegExPatternCache} is a bounded cache of compiled {@link Pattern}s. Patterns are immutable and can be
+ * shared between threads.
+ * <p>
+ * When the cache is full, an arbitrary entry is dropped for every new pattern. The number of different expressions
+ * used by a system is usually far below the capacity, so the cache does not need a stricter eviction order.
+ *
+ * @author Martin Gerczuk - Initial contribution
+ */
+@NonNullByDefault
+public class RegExPatternCache {
+
+    private final int capacity;
+    private final Map<Key, Pattern> patterns = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private record Key(String regex, int flags, boolean anchored) {
+    }
+
+    public RegExPatternCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the compiled pattern of a regular expression.
+     *
+     * @param regex the regular expression
+     * @param flags the match flags, see {@link Pattern#compile(String, int)}
+     * @param anchored <code>true</code> if the expression has to match the whole input, the expression is compiled
+     *            as <code>^regex$</code>
+     * @return the compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+     */
+    public Pattern get(String regex, int flags, boolean anchored) {
+        Key key = new Key(regex, flags, anchored);
+        Pattern pattern = patterns.get(key);
+        if (pattern != null) {
+            hits.increment();
+            return pattern;
+        }
+        misses.increment();
+        pattern = Pattern.compile(anchored ? "^" + regex + "$" : regex, flags);
+        if (patterns.size() >= capacity) {
+            Iterator<Key> iterator = patterns.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        patterns.put(key, pattern);
+        return pattern;
+    }
+
+    public int getSize() {
+        return patterns.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -30,6 +30,9 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>Note:</b> the given Regular Expression must contain exactly one group!
  *
+ * <p>
+ * Compiled patterns are cached, so this service and the profiles using it compile each expression only once.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
@@ -39,6 +42,9 @@ public class RegExTransformationService implements TransformationService {
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+    private static final int MAX_CACHED_PATTERNS = 512;
+
+    private final RegExPatternCache patternCache = new RegExPatternCache(MAX_CACHED_PATTERNS);
 
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
@@ -49,6 +55,7 @@ public class RegExTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, regExpression);
 
         String result = "";
+        String input = source.trim();
 
         Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
         if (substMatcher.matches()) {
@@ -56,17 +63,18 @@ public class RegExTransformationService implements TransformationService {
             String regex = substMatcher.group(1);
             String substitution = substMatcher.group(2);
             String options = substMatcher.group(3);
+            Matcher matcher = patternCache.get(regex, 0, false).matcher(input);
             if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
+                result = matcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = matcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = patternCache.get(regExpression, Pattern.DOTALL, true).matcher(input);
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +102,11 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    /**
+     * @return the cache of compiled patterns, e.g. to read its statistics
+     */
+    public RegExPatternCache getPatternCache() {
+        return patternCache;
+    }
 }
@@ -75,4 +75,15 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testCompiledPatternIsReused() throws TransformationException {
+        assertEquals("44.0", processor.transform("temp=(.*?)'C", "temp=44.0'C"));
+        assertEquals("21.5", processor.transform("temp=(.*?)'C", "temp=21.5'C"));
+        assertEquals("48.312", processor.transform("s/(.{2})(.{3})/$1.$2/g", "48312"));
+        assertEquals("12.345", processor.transform("s/(.{2})(.{3})/$1.$2/g", "12345"));
+
+        assertEquals(2, processor.getPatternCache().getMisses());
+        assertEquals(2, processor.getPatternCache().getHits());
+    }
 }
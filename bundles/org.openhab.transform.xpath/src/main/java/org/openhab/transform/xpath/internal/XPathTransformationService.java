@@ -13,12 +13,18 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -26,6 +32,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -34,6 +41,11 @@ import org.xml.sax.InputSource;
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
+ * <p>
+ * Neither DOM documents nor compiled expressions are thread-safe, so every transformation borrows a context with its
+ * own bounded cache of compiled expressions and the last parsed document from a pool. Several expressions applied to
+ * the same payload, e.g. for the channels of a single HTTP update, share one parse. The pool is emptied when the
+ * service is deactivated.
  *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
@@ -41,8 +53,18 @@ import org.xml.sax.InputSource;
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_EXPRESSIONS = 128;
+    private static final long DOCUMENT_TTL_MS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final Queue<TransformationContext> idleContexts = new ConcurrentLinkedQueue<>();
+
+    @Deactivate
+    public void deactivate() {
+        idleContexts.clear();
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,9 +73,49 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
+        TransformationContext context = idleContexts.poll();
         try {
+            if (context == null) {
+                context = new TransformationContext();
+            }
+
+            Document doc = context.getDocument(source);
+            XPathExpression expr = context.getExpression(xpathExpression);
+
+            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+
+            logger.debug("transformation resulted in '{}'", transformationResult);
+
+            return transformationResult;
+        } catch (Exception e) {
+            throw new TransformationException("transformation throws exceptions", e);
+        } finally {
+            if (context != null) {
+                idleContexts.offer(context);
+            }
+        }
+    }
+
+    /**
+     * The parser, compiled expressions and last parsed document, used by one thread at a time.
+     */
+    private static class TransformationContext {
+        private final DocumentBuilder builder;
+        private final XPath xpath = XPathFactory.newInstance().newXPath();
+        private final Map<String, XPathExpression> expressions = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > MAX_CACHED_EXPRESSIONS;
+            }
+        };
+
+        private @Nullable String lastSource;
+        private @Nullable Document lastDocument;
+        private long lastParsed;
+
+        TransformationContext() throws ParserConfigurationException {
             DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
             // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
             domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
@@ -63,28 +125,38 @@ public class XPathTransformationService implements TransformationService {
             domFactory.setExpandEntityReferences(false);
             domFactory.setNamespaceAware(true);
             domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
-
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
-
-            Document doc = builder.parse(inputSource);
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            builder = domFactory.newDocumentBuilder();
+        }
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+        Document getDocument(String source) throws Exception {
+            long now = System.currentTimeMillis();
+            Document document = lastDocument;
+            if (document != null && now - lastParsed < DOCUMENT_TTL_MS && source.equals(lastSource)) {
+                return document;
+            }
+            // do not keep a stale document if parsing fails
+            lastDocument = null;
+            lastSource = null;
 
-            logger.debug("transformation resulted in '{}'", transformationResult);
+            try (StringReader stringReader = new StringReader(source)) {
+                InputSource inputSource = new InputSource(stringReader);
+                inputSource.setEncoding("UTF-8");
+                builder.reset();
+                document = builder.parse(inputSource);
+            }
+            lastDocument = document;
+            lastSource = source;
+            lastParsed = now;
+            return document;
+        }
 
-            return transformationResult;
-        } catch (Exception e) {
-            throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+        XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+            XPathExpression expr = expressions.get(xpathExpression);
+            if (expr == null) {
+                expr = xpath.compile(xpathExpression);
+                expressions.put(xpathExpression, expr);
             }
+            return expr;
         }
     }
 }
@@ -38,4 +38,13 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testSeveralExpressionsOnSamePayload() throws TransformationException {
+        for (int i = 0; i < 2; i++) {
+            assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+            assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+        }
+        assertEquals("1", processor.transform("/a/@b", "<a b=\"1\"/>"));
+    }
 }
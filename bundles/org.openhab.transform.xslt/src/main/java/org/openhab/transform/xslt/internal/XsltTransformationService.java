@@ -12,12 +12,19 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -25,24 +32,67 @@ import javax.xml.transform.stream.StreamSource;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
+ * <p>
+ * Compiled stylesheets are cached as {@link Templates} and dropped when the stylesheet file changes. Idle
+ * {@link Transformer}s of every stylesheet are kept for reuse, as a transformer must not be used by two threads at the
+ * same time.
  *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XSLT" })
-public class XsltTransformationService implements TransformationService {
+public class XsltTransformationService implements TransformationService, WatchService.WatchEventListener {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final WatchService watchService;
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<Path, Stylesheet> templatesCache = new ConcurrentHashMap<>();
+
+    private final LongAdder compileCount = new LongAdder();
+    private final LongAdder compileNanos = new LongAdder();
+    private final LongAdder transformCount = new LongAdder();
+    private final LongAdder transformNanos = new LongAdder();
+
+    /**
+     * A compiled stylesheet and its idle transformers
+     */
+    private record Stylesheet(Templates templates, Queue<Transformer> idleTransformers) {
+    }
+
+    @Activate
+    public XsltTransformationService(
+            final @Reference(target = WatchService.CONFIG_WATCHER_FILTER) WatchService watchService) {
+        this.watchService = watchService;
+        watchService.registerListener(this, Path.of(TransformationService.TRANSFORM_FOLDER_NAME), true);
+    }
+
+    @Deactivate
+    public void deactivate() {
+        watchService.unregisterListener(this);
+        templatesCache.clear();
+    }
+
+    @Override
+    public void processWatchEvent(WatchService.Kind kind, Path path) {
+        if (templatesCache.keySet().removeIf(file -> file.endsWith(path))) {
+            logger.debug("stylesheet '{}' changed, removed it from the cache", path);
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +110,11 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Path path;
 
         try {
-            String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
-                    + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            path = Path.of(OpenHAB.getConfigFolder(), TransformationService.TRANSFORM_FOLDER_NAME, filename)
+                    .normalize();
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -73,16 +122,26 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, path);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
-            transformer.transform(new StreamSource(xml), new StreamResult(out));
+            Stylesheet stylesheet = getStylesheet(path);
+            Transformer transformer = stylesheet.idleTransformers().poll();
+            if (transformer == null) {
+                transformer = stylesheet.templates().newTransformer();
+            }
+            long start = System.nanoTime();
+            try {
+                transformer.transform(new StreamSource(xml), new StreamResult(out));
+            } finally {
+                transformer.reset();
+                stylesheet.idleTransformers().offer(transformer);
+                transformCount.increment();
+                transformNanos.add(System.nanoTime() - start);
+            }
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
@@ -92,4 +151,55 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    private Stylesheet getStylesheet(Path path) throws TransformerConfigurationException {
+        Stylesheet stylesheet = templatesCache.get(path);
+        return stylesheet != null ? stylesheet : compile(path);
+    }
+
+    private Stylesheet compile(Path path) throws TransformerConfigurationException {
+        // the factory is not thread-safe
+        synchronized (transformerFactory) {
+            Stylesheet stylesheet = templatesCache.get(path);
+            if (stylesheet == null) {
+                long start = System.nanoTime();
+                Templates templates = transformerFactory.newTemplates(new StreamSource(path.toFile()));
+                long duration = System.nanoTime() - start;
+                compileCount.increment();
+                compileNanos.add(duration);
+                logger.debug("compiled stylesheet '{}' in {} ms", path, TimeUnit.NANOSECONDS.toMillis(duration));
+                stylesheet = new Stylesheet(templates, new ConcurrentLinkedQueue<>());
+                templatesCache.put(path, stylesheet);
+            }
+            return stylesheet;
+        }
+    }
+
+    /**
+     * @return the number of stylesheets that were compiled
+     */
+    public long getCompileCount() {
+        return compileCount.sum();
+    }
+
+    /**
+     * @return the total time in nanoseconds spent compiling stylesheets
+     */
+    public long getCompileNanos() {
+        return compileNanos.sum();
+    }
+
+    /**
+     * @return the number of transformations
+     */
+    public long getTransformCount() {
+        return transformCount.sum();
+    }
+
+    /**
+     * @return the total time in nanoseconds spent transforming
+     */
+    public long getTransformNanos() {
+        return transformNanos.sum();
+    }
 }
@@ -13,6 +13,7 @@
 package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -23,6 +24,7 @@ import java.nio.file.StandardCopyOption;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 
 /**
@@ -40,7 +42,7 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
             Files.createDirectories(transformHttpPath);
         }
 
-        processor = new XsltTransformationService();
+        processor = new XsltTransformationService(mock(WatchService.class));
     }
 
     @Test
@@ -54,4 +56,20 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testStylesheetIsCompiledOnceUntilChanged() throws TransformationException, IOException {
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"),
+                transformHttpPath.resolve("google_weather.xsl"), StandardCopyOption.REPLACE_EXISTING);
+
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals(1, processor.getCompileCount());
+        assertEquals(2, processor.getTransformCount());
+
+        processor.processWatchEvent(WatchService.Kind.MODIFY, Path.of("http", "google_weather.xsl"));
+
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals(2, processor.getCompileCount());
+    }
 }